@@ -0,0 +1,70 @@
+//******************************************************************************
+//                          TokenManagerBenchmark.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark of the authentication check done for each request.
+ * The active sessions are seeded as restored from the database, so that their
+ * creation does not write in the database.
+ * @author agent <agent@local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenManagerBenchmark {
+
+    @Param({"10", "1000"})
+    public int activeSessions;
+
+    private TokenManager tokenManager;
+    private final List<String> sessionsIds = new ArrayList<>();
+    private String lastSessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenManager = TokenManager.Instance();
+        for (int i = 0; i < activeSessions; i++) {
+            Session session = new Session("2019-11-14 10:00:00", null, "token" + i, "user" + i + "@opensilex.org");
+            tokenManager.createTokenFromBD(session);
+            sessionsIds.add(session.getId());
+        }
+        lastSessionId = sessionsIds.get(sessionsIds.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (String sessionId : sessionsIds) {
+            tokenManager.removeSession(sessionId);
+        }
+        sessionsIds.clear();
+    }
+
+    @Benchmark
+    public boolean checkActiveSession() {
+        return tokenManager.checkAuthentication(lastSessionId);
+    }
+
+    @Benchmark
+    public boolean checkUnknownSession() {
+        return tokenManager.checkAuthentication("unknown");
+    }
+}
@@ -0,0 +1,158 @@
+//******************************************************************************
+//                            BenchmarkDataset.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import opensilex.service.dao.manager.Rdf4jDAO;
+import opensilex.service.ontology.Oeso;
+import opensilex.service.ontology.Owl;
+import opensilex.service.ontology.Rdf;
+import opensilex.service.ontology.Rdfs;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+
+/**
+ * Seeded dataset used by the benchmarks.
+ * Loads a small ontology and a generated platform (experiments, variables,
+ * sensors and plots) in an in memory triplestore. The generation is seeded so
+ * that two runs measure the same data.
+ * @author agent <agent@local>
+ */
+public class BenchmarkDataset {
+
+    public final static String PLATFORM = "http://www.opensilex.org/benchmark/";
+    public final static String CONCEPT_PLOT = "http://www.opensilex.org/vocabulary/oeso#Plot";
+
+    public final static int SEED = 42;
+    public final static int EXPERIMENTS = 50;
+    public final static int VARIABLES = 200;
+    public final static int SENSORS = 100;
+    public final static int PLOTS = 5000;
+    public final static int VARIABLES_BY_EXPERIMENT = 10;
+    public final static int SENSORS_BY_EXPERIMENT = 5;
+    public final static int SENSOR_MAX_SERIAL_NUMBERS = 1;
+
+    private final Repository repository;
+    private final List<String> experiments = new ArrayList<>();
+    private final List<String> sensors = new ArrayList<>();
+    private final List<String> plots = new ArrayList<>();
+
+    public BenchmarkDataset() {
+        repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+
+        Model model = new LinkedHashModel();
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        Random random = new Random(SEED);
+
+        addOntology(model, factory);
+
+        List<IRI> variableIris = new ArrayList<>();
+        for (int i = 0; i < VARIABLES; i++) {
+            IRI variable = factory.createIRI(PLATFORM + "id/variables/v" + String.format("%03d", i));
+            model.add(variable, iri(factory, Rdf.RELATION_TYPE.toString()), iri(factory, Oeso.CONCEPT_VARIABLE.toString()));
+            model.add(variable, iri(factory, Rdfs.RELATION_LABEL.toString()), factory.createLiteral("variable_" + i));
+            variableIris.add(variable);
+        }
+
+        List<IRI> sensorIris = new ArrayList<>();
+        for (int i = 0; i < SENSORS; i++) {
+            IRI sensor = factory.createIRI(PLATFORM + "2019/s19" + String.format("%03d", i));
+            model.add(sensor, iri(factory, Rdf.RELATION_TYPE.toString()), iri(factory, Oeso.CONCEPT_CAMERA.toString()));
+            model.add(sensor, iri(factory, Rdfs.RELATION_LABEL.toString()), factory.createLiteral("camera_" + i));
+            model.add(sensor, iri(factory, Oeso.RELATION_HAS_SERIAL_NUMBER.toString()), factory.createLiteral("SN" + i));
+            sensorIris.add(sensor);
+            sensors.add(sensor.stringValue());
+        }
+
+        List<IRI> experimentIris = new ArrayList<>();
+        for (int i = 0; i < EXPERIMENTS; i++) {
+            IRI experiment = factory.createIRI(PLATFORM + "BENCH2019-" + i);
+            model.add(experiment, iri(factory, Rdf.RELATION_TYPE.toString()), iri(factory, Oeso.CONCEPT_EXPERIMENT.toString()));
+            for (int j = 0; j < VARIABLES_BY_EXPERIMENT; j++) {
+                model.add(experiment, iri(factory, Oeso.RELATION_MEASURES.toString()), variableIris.get(random.nextInt(VARIABLES)));
+            }
+            for (int j = 0; j < SENSORS_BY_EXPERIMENT; j++) {
+                model.add(sensorIris.get(random.nextInt(SENSORS)), iri(factory, Oeso.RELATION_PARTICIPATES_IN.toString()), experiment);
+            }
+            experimentIris.add(experiment);
+            experiments.add(experiment.stringValue());
+        }
+
+        for (int i = 0; i < PLOTS; i++) {
+            IRI plot = factory.createIRI(PLATFORM + "2019/o19" + String.format("%06d", i));
+            model.add(plot, iri(factory, Rdf.RELATION_TYPE.toString()), iri(factory, CONCEPT_PLOT));
+            model.add(plot, iri(factory, Rdfs.RELATION_LABEL.toString()), factory.createLiteral("plot_" + i));
+            model.add(plot, iri(factory, Oeso.RELATION_PARTICIPATES_IN.toString()), experimentIris.get(random.nextInt(EXPERIMENTS)));
+            plots.add(plot.stringValue());
+        }
+
+        try (RepositoryConnection connection = repository.getConnection()) {
+            connection.add(model);
+        }
+    }
+
+    /**
+     * Adds the part of the ontology read by the benchmarked queries: the
+     * hierarchies of the scientific objects and of the sensing devices and a
+     * cardinality restriction on the sensors.
+     * @param model
+     * @param factory
+     */
+    private void addOntology(Model model, ValueFactory factory) {
+        IRI subClassOf = iri(factory, Rdfs.RELATION_SUBCLASS_OF.toString());
+        model.add(iri(factory, CONCEPT_PLOT), subClassOf, iri(factory, Oeso.CONCEPT_SCIENTIFIC_OBJECT.toString()));
+        model.add(iri(factory, Oeso.CONCEPT_CAMERA.toString()), subClassOf, iri(factory, Oeso.CONCEPT_SENSING_DEVICE.toString()));
+
+        BNode restriction = factory.createBNode();
+        model.add(restriction, iri(factory, Rdf.RELATION_TYPE.toString()), iri(factory, Owl.CONCEPT_RESTRICTION.toString()));
+        model.add(restriction, iri(factory, Owl.RELATION_ON_PROPERTY.toString()), iri(factory, Oeso.RELATION_HAS_SERIAL_NUMBER.toString()));
+        model.add(restriction, iri(factory, Owl.RELATION_MAX_CARDINALITY.toString()), factory.createLiteral(SENSOR_MAX_SERIAL_NUMBERS));
+        model.add(iri(factory, Oeso.CONCEPT_CAMERA.toString()), subClassOf, restriction);
+    }
+
+    private static IRI iri(ValueFactory factory, String uri) {
+        return factory.createIRI(uri);
+    }
+
+    /**
+     * Replaces the HTTP connection of a DAO by a connection to the in memory
+     * triplestore.
+     * @param dao
+     */
+    public void connect(Rdf4jDAO<?> dao) {
+        dao.getConnection().close();
+        dao.setConnection(repository.getConnection());
+    }
+
+    public void shutDown() {
+        repository.shutDown();
+    }
+
+    public List<String> getExperiments() {
+        return experiments;
+    }
+
+    public List<String> getSensors() {
+        return sensors;
+    }
+
+    public List<String> getPlots() {
+        return plots;
+    }
+}
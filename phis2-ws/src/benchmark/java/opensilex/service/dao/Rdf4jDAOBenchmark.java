@@ -0,0 +1,143 @@
+//******************************************************************************
+//                            Rdf4jDAOBenchmark.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import opensilex.service.benchmark.BenchmarkDataset;
+import opensilex.service.dao.manager.TriplestoreQueryCache;
+import opensilex.service.model.Experiment;
+import opensilex.service.ontology.Oeso;
+import opensilex.service.resource.dto.rdfResourceDefinition.PropertyPostDTO;
+import opensilex.service.utils.POSTResultsReturn;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks of the triplestore DAOs hot paths: the SPARQL builder output and
+ * the evaluation of the generated queries on the seeded in memory dataset.
+ * The class is in the DAO package to reach the protected query builders.
+ * The queries are evaluated with and without the triplestore cache.
+ * @see BenchmarkDataset
+ * @author agent <agent@local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Rdf4jDAOBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    // If false, the triplestore cache is emptied before each invocation
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private BenchmarkDataset dataset;
+    private ScientificObjectRdf4jDAO scientificObjectDAO;
+    private ExperimentRdf4jDAO experimentDAO;
+    private PropertyDAO propertyDAO;
+
+    private HashMap<String, ArrayList<PropertyPostDTO>> propertiesBySensor;
+    private HashMap<String, String> rdfTypesBySensor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = new BenchmarkDataset();
+
+        scientificObjectDAO = new ScientificObjectRdf4jDAO();
+        dataset.connect(scientificObjectDAO);
+        experimentDAO = new ExperimentRdf4jDAO();
+        dataset.connect(experimentDAO);
+        propertyDAO = new PropertyDAO();
+        dataset.connect(propertyDAO);
+
+        propertiesBySensor = new HashMap<>();
+        rdfTypesBySensor = new HashMap<>();
+        for (String sensor : dataset.getSensors().subList(0, Math.min(pageSize, BenchmarkDataset.SENSORS))) {
+            PropertyPostDTO serialNumber = new PropertyPostDTO();
+            serialNumber.setRdfType(Oeso.CONCEPT_CAMERA.toString());
+            serialNumber.setRelation(Oeso.RELATION_HAS_SERIAL_NUMBER.toString());
+            serialNumber.setValue("SN-new");
+            ArrayList<PropertyPostDTO> properties = new ArrayList<>();
+            properties.add(serialNumber);
+            propertiesBySensor.put(sensor, properties);
+            rdfTypesBySensor.put(sensor, Oeso.CONCEPT_CAMERA.toString());
+        }
+        // Loads the ontology rules once, as a running web service does
+        PropertyDAO.invalidateOntologyRules();
+        propertyDAO.checkCardinalities(propertiesBySensor, rdfTypesBySensor);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        if (!cached) {
+            TriplestoreQueryCache.getInstance().clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scientificObjectDAO.getConnection().close();
+        experimentDAO.getConnection().close();
+        propertyDAO.getConnection().close();
+        dataset.shutDown();
+    }
+
+    @Benchmark
+    public String buildScientificObjectsSearchQuery() {
+        return scientificObjectDAO.prepareSearchQuery(false, 0, pageSize, null, null, null, null).toString();
+    }
+
+    @Benchmark
+    public int searchScientificObjectsPage() {
+        String query = scientificObjectDAO.prepareSearchQuery(false, 3, pageSize, null, null, null, null).toString();
+        int size = 0;
+        try (TupleQueryResult result = scientificObjectDAO.getConnection()
+                .prepareTupleQuery(QueryLanguage.SPARQL, query)
+                .evaluate()) {
+            while (result.hasNext()) {
+                result.next();
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Benchmark
+    public boolean existScientificObject() {
+        return scientificObjectDAO.existScientificObject(dataset.getPlots().get(BenchmarkDataset.PLOTS / 2));
+    }
+
+    @Benchmark
+    public List<Experiment> setVariablesAndSensors() {
+        List<Experiment> experiments = new ArrayList<>();
+        for (String uri : dataset.getExperiments().subList(0, Math.min(pageSize, BenchmarkDataset.EXPERIMENTS))) {
+            experiments.add(new Experiment(uri));
+        }
+        experimentDAO.setVariablesAndSensors(experiments);
+        return experiments;
+    }
+
+    @Benchmark
+    public HashMap<String, POSTResultsReturn> checkCardinalities() {
+        return propertyDAO.checkCardinalities(propertiesBySensor, rdfTypesBySensor);
+    }
+}
@@ -0,0 +1,71 @@
+//******************************************************************************
+//                       CustomJsonWriterReaderBenchmark.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import opensilex.service.benchmark.BenchmarkDataset;
+import opensilex.service.model.Project;
+import opensilex.service.resource.dto.project.ProjectDTO;
+import opensilex.service.result.ResultForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the serialization of a page of results by the JSON writer of
+ * the web service.
+ * @author agent <agent@local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomJsonWriterReaderBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private final CustomJsonWriterReader<ResultForm<ProjectDTO>> writer = new CustomJsonWriterReader<>();
+    private ResultForm<ProjectDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkDataset.SEED);
+        ArrayList<ProjectDTO> projects = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Project project = new Project();
+            project.setUri(BenchmarkDataset.PLATFORM + "projects/p" + i);
+            project.setName("Project " + i);
+            project.setShortname("P" + i);
+            project.setObjective("Objective " + random.nextInt());
+            project.setStartDate("2019-01-" + String.format("%02d", 1 + random.nextInt(28)));
+            projects.add(new ProjectDTO(project));
+        }
+        page = new ResultForm<>(pageSize, 0, projects, true, pageSize * 10);
+    }
+
+    @Benchmark
+    public int writeResultPage() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.writeTo(page, ResultForm.class, ResultForm.class, new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+        return output.size();
+    }
+}
@@ -34,6 +34,8 @@ import opensilex.service.view.brapi.form.ResponseFormPOST;
 
 /**
  * Application init configuration
+ * @update [agent] 18 Oct. 2026: restore the active sessions at startup when
+ * sessionRestore is enabled
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 @ApplicationPath("/rest")
@@ -128,5 +130,8 @@ public class ApplicationInitConfig extends ResourceConfig {
             LOGGER.error("Can't change rights on log directory");
         }
         TokenManager.Instance();
+        if (Boolean.parseBoolean(PropertiesFileManager.getConfigFileProperty("service", "sessionRestore"))) {
+            TokenManager.Instance().restoreSessions();
+        }
     }
 }
@@ -131,6 +131,24 @@ public class PropertiesFileManager {
         }
     }
 
+    /**
+     * Reads a configuration file and returns an integer attribute.
+     * @param configurationFileName
+     * @param attribute
+     * @param defaultValue value returned if the attribute is missing or is not an integer
+     * @return the attribute value
+     */
+    public static int getConfigFileIntegerProperty(String configurationFileName, String attribute, int defaultValue) {
+        try {
+            final Properties props = parseFile(configurationFileName);
+            return Integer.parseInt(props.getProperty(attribute).trim());
+        } catch (Exception ex) {
+            LOGGER.info("Can't parse " + attribute + " property in " + configurationFileName
+                    + " properties file. Default value is " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Reads a configuration file and returns the SQL connection URL with the 
      * database name, the user and the server name.
@@ -0,0 +1,164 @@
+//******************************************************************************
+//                            AsyncRequestManager.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.async;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.metrics.Backend;
+import opensilex.service.metrics.RequestMetrics;
+import opensilex.service.view.brapi.Status;
+import opensilex.service.view.brapi.form.ResponseFormGET;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the asynchronous requests of the I/O bound resources.
+ * Each backend has its own bounded pool of workers, so that slow queries on a
+ * backend do not hold the container threads nor the requests to the other
+ * backends. The requests are resumed with a 503 response if the queue of their
+ * backend is full or if they time out. A timed out request is interrupted, its
+ * triplestore and PostgreSQL queries are bounded by the remaining time and its
+ * next backend calls fail.
+ * @see RequestDeadline
+ * @see opensilex.service.resource.ResourceService#resumeAsync(javax.ws.rs.container.AsyncResponse, opensilex.service.metrics.Backend, java.util.concurrent.Callable)
+ * @author agent <agent@local>
+ */
+public class AsyncRequestManager {
+
+    final static Logger LOGGER = LoggerFactory.getLogger(AsyncRequestManager.class);
+    final static String PROPS_FILE_NAME = "service";
+    final static int DEFAULT_WORKERS = 10;
+    final static int DEFAULT_QUEUE_SIZE = 100;
+    final static int DEFAULT_TIMEOUT = 60;
+
+    private final static int TIMEOUT = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "asyncRequestTimeout", DEFAULT_TIMEOUT);
+
+    private final Map<Backend, ThreadPoolExecutor> executors = new EnumMap<>(Backend.class);
+
+    private AsyncRequestManager() {
+        int queueSize = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "asyncQueueSize", DEFAULT_QUEUE_SIZE);
+        for (Backend backend : Backend.values()) {
+            // e.g. asyncTriplestoreWorkers
+            String name = backend.toString();
+            int workers = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, 
+                    "async" + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "Workers", 
+                    DEFAULT_WORKERS);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    workers, workers,
+                    60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    new AsyncThreadFactory(name));
+            executor.allowCoreThreadTimeOut(true);
+            executors.put(backend, executor);
+        }
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class AsyncRequestManagerHolder {
+        final private static AsyncRequestManager INSTANCE = new AsyncRequestManager();
+    }
+
+    /**
+     * @return the unique instance of the manager
+     */
+    public static AsyncRequestManager getInstance() {
+        return AsyncRequestManagerHolder.INSTANCE;
+    }
+
+    /**
+     * Processes a request in the workers of a backend. The request metrics
+     * follow the request in the worker thread.
+     * @param backend backend mostly called by the request
+     * @param asyncResponse suspended response of the request
+     * @param operation builds the response of the request
+     */
+    public void submit(Backend backend, AsyncResponse asyncResponse, Callable<Response> operation) {
+        // The request goes on in a worker thread
+        RequestMetrics metrics = RequestMetrics.end();
+        RequestDeadline deadline = new RequestDeadline(TIMEOUT, TimeUnit.SECONDS);
+        AtomicReference<Future<?>> future = new AtomicReference<>();
+
+        asyncResponse.setTimeoutHandler((timedOutResponse) -> {
+            deadline.cancel();
+            Future<?> runningOperation = future.get();
+            if (runningOperation != null) {
+                runningOperation.cancel(true);
+            }
+            timedOutResponse.resume(getUnavailableResponse(StatusCodeMsg.REQUEST_TIMEOUT, 
+                    "The request took more than " + TIMEOUT + " seconds"));
+        });
+        asyncResponse.setTimeout(TIMEOUT, TimeUnit.SECONDS);
+
+        try {
+            future.set(executors.get(backend).submit(() -> {
+                RequestMetrics.attach(metrics);
+                RequestDeadline.attach(deadline);
+                try {
+                    if (!deadline.isExpired()) {
+                        asyncResponse.resume(operation.call());
+                    }
+                } catch (CancellationException ex) {
+                    LOGGER.debug(ex.getMessage());
+                } catch (Throwable ex) {
+                    if (!deadline.isExpired()) {
+                        // Mapped as for a synchronous request
+                        asyncResponse.resume(ex);
+                    }
+                } finally {
+                    RequestDeadline.detach();
+                    RequestMetrics.end();
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            LOGGER.warn("Too many " + backend + " requests waiting");
+            asyncResponse.resume(getUnavailableResponse(StatusCodeMsg.REQUEST_QUEUE_FULL, null));
+        }
+    }
+
+    private static Response getUnavailableResponse(String message, String details) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(new ResponseFormGET(new Status(message, StatusCodeMsg.ERR, details)))
+                .build();
+    }
+
+    /**
+     * Names the workers threads. Workers are daemons so that they do not
+     * prevent the container from stopping.
+     */
+    static class AsyncThreadFactory implements ThreadFactory {
+        private final String backend;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        AsyncThreadFactory(String backend) {
+            this.backend = backend;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "async-" + backend + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+//******************************************************************************
+//                                  FanOut.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.metrics.RequestMetrics;
+
+/**
+ * Runs independent backend calls of a request concurrently.
+ * The calls are processed by a shared bounded pool of workers. A call is run in
+ * the thread of the request when the queue of the pool is full. The workers
+ * take the metrics and the deadline of the request. The results are joined
+ * within the deadline of the request; a failed or timed out call cancels the
+ * other calls of the fan-out.
+ * The calls must not share a triplestore connection nor start another fan-out.
+ * @example
+ * try (FanOut fanOut = new FanOut()) {
+ *     Future<Integer> count = fanOut.submit(() -> new DataDAO().count());
+ *     Future<List<Data>> page = fanOut.submit(() -> new DataDAO().find());
+ *     return fanOut.join(page) + fanOut.join(count);
+ * }
+ * @see AsyncRequestManager
+ * @author agent <agent@local>
+ */
+public class FanOut implements AutoCloseable {
+
+    final static int DEFAULT_WORKERS = 20;
+
+    private final static int TIMEOUT = PropertiesFileManager.getConfigFileIntegerProperty(
+            AsyncRequestManager.PROPS_FILE_NAME, "asyncRequestTimeout", AsyncRequestManager.DEFAULT_TIMEOUT);
+
+    private final RequestMetrics metrics = RequestMetrics.current();
+    private final RequestDeadline deadline = RequestDeadline.current();
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    /**
+     * Safe thread.
+     */
+    private static class ExecutorHolder {
+        final private static ThreadPoolExecutor EXECUTOR;
+        static {
+            int workers = PropertiesFileManager.getConfigFileIntegerProperty(
+                    AsyncRequestManager.PROPS_FILE_NAME, "fanOutWorkers", DEFAULT_WORKERS);
+            int queueSize = PropertiesFileManager.getConfigFileIntegerProperty(
+                    AsyncRequestManager.PROPS_FILE_NAME, "fanOutQueueSize", AsyncRequestManager.DEFAULT_QUEUE_SIZE);
+            EXECUTOR = new ThreadPoolExecutor(
+                    workers, workers,
+                    60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    new AsyncRequestManager.AsyncThreadFactory("fanout"));
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * Starts a call.
+     * @param <T>
+     * @param call
+     * @return the future result of the call
+     */
+    public <T> Future<T> submit(Callable<T> call) {
+        Future<T> future;
+        try {
+            future = ExecutorHolder.EXECUTOR.submit(() -> {
+                RequestMetrics.attach(metrics);
+                RequestDeadline.attach(deadline);
+                try {
+                    RequestDeadline.check();
+                    return call.call();
+                } finally {
+                    RequestDeadline.detach();
+                    RequestMetrics.end();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // The thread of the request already has its metrics and deadline
+            FutureTask<T> task = new FutureTask<>(call);
+            task.run();
+            future = task;
+        }
+        futures.add(future);
+        return future;
+    }
+
+    /**
+     * Waits for the result of a call.
+     * @param <T>
+     * @param future future returned by {@link #submit(java.util.concurrent.Callable)}
+     * @return the result of the call
+     * @throws CancellationException if the request has timed out or has been
+     * cancelled
+     * @throws Exception the exception thrown by the call
+     */
+    public <T> T join(Future<T> future) throws Exception {
+        long timeout = deadline != null ? deadline.getRemainingNanos() : TimeUnit.SECONDS.toNanos(TIMEOUT);
+        try {
+            return future.get(Math.max(0, timeout), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            cancelAll();
+            throw new CancellationException("Request cancelled or timed out");
+        } catch (ExecutionException ex) {
+            cancelAll();
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        } catch (InterruptedException ex) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Request cancelled or timed out");
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Cancels the calls not joined.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+}
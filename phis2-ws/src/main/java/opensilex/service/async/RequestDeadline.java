@@ -0,0 +1,106 @@
+//******************************************************************************
+//                              RequestDeadline.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of an asynchronous request.
+ * The deadline is bound to the thread processing the request. The backend
+ * calls interceptors read it to bound the duration of the queries and to stop
+ * the request when it has timed out or has been cancelled.
+ * @see AsyncRequestManager
+ * @see FanOut
+ * @see opensilex.service.metrics.TriplestoreCallsInterceptor
+ * @see opensilex.service.metrics.PostgreSQLCallsInterceptor
+ * @see opensilex.service.dao.manager.MongoDAO
+ * @author agent <agent@local>
+ */
+public class RequestDeadline {
+
+    private final static ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long expirationTime;
+    private volatile boolean cancelled = false;
+
+    /**
+     * @param timeout
+     * @param unit 
+     */
+    public RequestDeadline(long timeout, TimeUnit unit) {
+        this.expirationTime = System.nanoTime() + unit.toNanos(timeout);
+    }
+
+    /**
+     * @return the deadline of the request processed by the current thread,
+     * null if the request is synchronous
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    static void attach(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Checks that the request processed by the current thread can go on.
+     * Called before each backend call.
+     * @throws CancellationException if the request has timed out or has been
+     * cancelled
+     */
+    public static void check() throws CancellationException {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new CancellationException("Request cancelled or timed out");
+        }
+    }
+
+    /**
+     * Cancels the request: its next backend calls fail.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the request has timed out or has been cancelled
+     */
+    public boolean isExpired() {
+        return cancelled || System.nanoTime() - expirationTime >= 0;
+    }
+
+    /**
+     * @return the time left in nanoseconds, negative if the deadline has passed
+     */
+    public long getRemainingNanos() {
+        return expirationTime - System.nanoTime();
+    }
+
+    /**
+     * @return the time left, in milliseconds rounded up, at least 1 
+     * millisecond
+     */
+    public long getRemainingMillis() {
+        long remainingNanos = expirationTime - System.nanoTime();
+        return Math.max(1, (remainingNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * @return the time left, in seconds rounded up, at least 1 second
+     */
+    public int getRemainingSeconds() {
+        long remainingNanos = expirationTime - System.nanoTime();
+        return (int) Math.max(1, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
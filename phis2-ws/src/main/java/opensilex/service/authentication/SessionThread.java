@@ -7,6 +7,9 @@
 //******************************************************************************
 package opensilex.service.authentication;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import opensilex.service.PropertiesFileManager;
@@ -16,20 +19,25 @@ import opensilex.service.PropertiesFileManager;
  * @see DbConnector
  * @update [Arnaud Charleroy] May 2016: Add TokenDAO, logs. Modifications of
  * the property files
+ * @update [agent] 18 Oct. 2026: the sessions share the scheduler 
+ * of the token manager instead of running a thread each
  * @author Samuël Chérimont
  */
-public class SessionThread extends Thread {
+public class SessionThread implements Runnable {
     private static final String propsFileName = "service";
     final static Logger LOGGER = LoggerFactory.getLogger(SessionThread.class);
     
     private final String id, username;
-    private boolean cmp;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean cmp;
+    private volatile ScheduledFuture<?> future;
     private Integer sessionTime; //sleep en millisecond
 
-    public SessionThread(String id, String username) {
+    public SessionThread(String id, String username, ScheduledExecutorService scheduler) {
         this.id = id;
         this.username = username;
-        cmp = true;     
+        this.scheduler = scheduler;
+        cmp = false;     
         this.setTimeSession();
     }
     
@@ -42,34 +50,49 @@ public class SessionThread extends Thread {
     }
 
     /**
-     * Runs the current thread. It is paused for a certain amount of time which 
-     * can be extended according to the user's behaviour.
-     * Deletes the corresponding session from the active sessions list.
+     * Starts the session time.
+     */
+    public void start() {
+        future = scheduler.schedule(this, sessionTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs at the end of the session time. The session time starts again if 
+     * it has been increased according to the user's behaviour, else the 
+     * corresponding session is deleted from the active sessions list.
      * @see phenomeapi.service.model.brapi.authentication.TokenDaoPhisBraphi,TokenManager.removeSession()
      * @update [Arnaud Charleroy] 9 Feb. 2016: doesn't update the database 
      * anymore. Moved to the manager + session time properties.
      */
     @Override
     public void run() {
-        try {
-            while (cmp != false) {
-                cmp = false;
-                SessionThread.sleep(this.sessionTime);
-            }
-        } catch (InterruptedException ex) {
-             LOGGER.info("The session was interrupted", ex);
+        if (cmp) {
+            cmp = false;
+            start();
+            return;
         }
         TokenManager.Instance().removeSession(this.id);
-        this.interrupt();
     }
 
     /**
-     * Increases a user connection time. It pauses the thread which delays the 
-     * session end.
+     * Increases a user connection time. It delays the session end.
      */
     public void addTime() {
         this.cmp = true;
     }
+
+    /**
+     * Cancels the session end.
+     */
+    public void interrupt() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    public boolean isAlive() {
+        return future != null && !future.isDone();
+    }
     
     public String getSessionId() {
         return this.id;
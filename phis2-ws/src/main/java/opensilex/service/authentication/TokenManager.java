@@ -8,7 +8,11 @@
 package opensilex.service.authentication;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import org.joda.time.DateTime;
@@ -22,51 +26,57 @@ import opensilex.service.view.brapi.form.ResponseFormGET;
 /**
  * Session manager.
  * Manages sessions and authentications using the singleton pattern.
+ * @update [agent] 18 Oct. 2026: sessions indexed by id, one 
+ * scheduler for all the sessions ends, active sessions optionally restored in
+ * the background at startup
  * @author Samuël Chérimont
  */
 public class TokenManager {
 
     static final Logger LOGGER = LoggerFactory.getLogger(TokenManager.class);
-    private ArrayList<Session> listSession;
-    private ArrayList<SessionThread> listThread;
-    private static TokenManager _instance = null;
+    // Active sessions by id
+    private final Map<String, Session> listSession = new ConcurrentHashMap<>();
+    // Sessions ends by session id
+    private final Map<String, SessionThread> listThread = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TokenManager() {
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class TokenManagerHolder {
+        final private static TokenManager INSTANCE = new TokenManager();
+    }
 
     /**
      * Constructs a unique instance.
      * @return a unique instance
      */
     public static TokenManager Instance() {
-        if (_instance == null) {
-            _instance = new TokenManager();
-        }
-        return _instance;
+        return TokenManagerHolder.INSTANCE;
     }
 
     /**
-     * Creates and runs a new thread for each new user.
+     * Schedules the end of a new session.
      * @param sessionId
      * @param username
      */
     private void addThread(String sessionId, String username) {
-        if (this.listThread == null) {
-            this.listThread = new ArrayList();
-        }
-        this.removeEmptyThread();
-        SessionThread newThread = new SessionThread(sessionId, username);
-        listThread.add(newThread);
+        SessionThread newThread = new SessionThread(sessionId, username, scheduler);
+        listThread.put(sessionId, newThread);
         newThread.start();
     }
 
     private void removeThread(String id) {
-        int i = 0;
-        boolean interrupted = false;
-        while (i < listThread.size() && !interrupted) {
-            if (listThread.get(i).getSessionId().equals(id)) {
-                listThread.get(i).interrupt();
-                listThread.remove(listThread.get(i));
-                interrupted = true;
-            }
-            i++;
+        SessionThread thread = listThread.remove(id);
+        if (thread != null) {
+            thread.interrupt();
         }
     }
     
@@ -76,60 +86,33 @@ public class TokenManager {
      * @see SessionThread
      */
     public void reloadToken(String userConnectionId) {
-        if (userConnectionId != null && (listThread != null && !listThread.isEmpty())) {
-            int i = 0;
-            while (i < listThread.size()) {
-                if (this.listThread.get(i).getSessionId().equals(userConnectionId)) {
-                    this.listThread.get(i).addTime();
-                    return;
-                }
-                i++;
+        if (userConnectionId != null) {
+            SessionThread thread = listThread.get(userConnectionId);
+            if (thread != null) {
+                thread.addTime();
             }
         }
     }
 
-    /**
-     * Removes every finished session thread from the active thread list.
-     */
-    private void removeEmptyThread() {
-        int i = 0;
-        while (i < listThread.size()) {
-            if (!listThread.get(i).isAlive()) {
-                listThread.remove(listThread.get(i));
-            }
-            i++;
-        }
-    }
-
     /**
      * Searches if a user belongs to the active sessions list.
      * @param userName
      * @return the session id or nothing if not found.
      */
     public String searchSession(String userName) {
-        if (listSession != null && !listSession.isEmpty()) {
-            int i = 0;
-            while (i < listSession.size()) {
-                if (userName.equals(listSession.get(i).getName())) {
-                    return listSession.get(i).getId();
-                }
-                i++;
+        for (Session session : listSession.values()) {
+            if (userName.equals(session.getName())) {
+                return session.getId();
             }
         }
         return null;
     }
 
     public Session getSession(String id) {
-        if (listSession != null && !listSession.isEmpty()) {
-            int i = 0;
-            while (i < listSession.size()) {
-                if (id.equals(listSession.get(i).getId())) {
-                    return listSession.get(i);
-                }
-                i++;
-            }
+        if (id == null) {
+            return null;
         }
-        return null;
+        return listSession.get(id);
     }
 
     /**
@@ -143,10 +126,7 @@ public class TokenManager {
      * //\SILEX:todo
      */
     public void addSession(Session newActiveSession) {
-        if (this.listSession == null) {
-            this.listSession = new ArrayList();
-        }
-        this.listSession.add(newActiveSession);
+        this.listSession.put(newActiveSession.getId(), newActiveSession);
 
         SessionDAO sessionDao = new SessionDAO(); 
         try {
@@ -165,20 +145,9 @@ public class TokenManager {
      * @param sessionId
      */
     public void removeSession(String sessionId) {
-        if (listSession == null || listSession.isEmpty()) {
-            return;
-        }
-        SessionDAO sessionDao = new SessionDAO(); 
-        int i = 0;
-        boolean find = false;
-        while (i < listSession.size() && !find) {
-           String sessionid = listSession.get(i).getId(); 
-            if (sessionId.equals(sessionid)) { 
-                sessionDao.endSession(sessionid); 
-                listSession.remove(i);
-                find = true;
-            }
-            i++;
+        if (listSession.remove(sessionId) != null) {
+            SessionDAO sessionDao = new SessionDAO(); 
+            sessionDao.endSession(sessionId); 
         }
         this.removeThread(sessionId);
     }
@@ -199,12 +168,39 @@ public class TokenManager {
      * @param newActiveSession 
      */ 
     public void createTokenFromBD(Session newActiveSession) { 
-        if (this.listSession == null) { 
-            this.listSession = new ArrayList(); 
-        } 
-        this.listSession.add(newActiveSession); 
-        this.addThread(newActiveSession.getId(), newActiveSession.getName()); 
+        if (listSession.putIfAbsent(newActiveSession.getId(), newActiveSession) == null) {
+            this.addThread(newActiveSession.getId(), newActiveSession.getName()); 
+        }
     } 
+
+    /**
+     * Adds former sessions to the active sessions list.
+     * @param activeSessions
+     * @see #createTokenFromBD(opensilex.service.authentication.Session) 
+     */
+    public void createTokensFromBD(List<Session> activeSessions) {
+        for (Session activeSession : activeSessions) {
+            createTokenFromBD(activeSession);
+        }
+    }
+
+    /**
+     * Restores the active sessions of the database in the background, the 
+     * most recent first. A session is only accepted once it has been restored.
+     * @see SessionDAO#reloadActiveSession() 
+     */
+    public void restoreSessions() {
+        Thread restoreThread = new Thread(() -> {
+            try {
+                new SessionDAO().reloadActiveSession();
+                LOGGER.info(listSession.size() + " active sessions restored");
+            } catch (Exception ex) {
+                LOGGER.error("Can't restore the active sessions", ex);
+            }
+        }, "session-restore");
+        restoreThread.setDaemon(true);
+        restoreThread.start();
+    }
     
     /**
      * Checks that the session is still valid and adds connection time if it is
@@ -214,27 +210,15 @@ public class TokenManager {
      *         false if not
      */
     public boolean checkAuthentication(String sessionId) {
-        if (sessionId != null && (this.listSession != null && !this.listSession.isEmpty())) {
-            int i = 0;
-            while (i < listSession.size()) {
-                if (sessionId.equals(listSession.get(i).getId())) {
-                    return true;
-                }
-                i++;
-            }
-        }
-        return false;
+        return sessionId != null && listSession.containsKey(sessionId);
     }
 
     public void shutdown() {
-        if (this.listSession != null && !this.listSession.isEmpty() && listThread != null && !listThread.isEmpty()) {
-            int i = 0;
-            while (i < listThread.size()) {
-                this.removeSession(listThread.get(i).getSessionId()); 
-                listThread.get(i).interrupt();
-                listThread.remove(listThread.get(i));
+        if (!this.listSession.isEmpty() && !listThread.isEmpty()) {
+            for (String sessionId : listThread.keySet()) {
+                this.removeSession(sessionId); 
             }
-            listThread = null;
         }
+        scheduler.shutdownNow();
     }
 }
@@ -30,4 +30,5 @@ public final class GlobalWebserviceValues {
     public static final String AUTHORIZATION = "Authorization";
     public static final String PAGE_SIZE = "pageSize";
     public static final String PAGE = "page";
+    public static final String TOTAL_COUNT = "totalCount";
 }
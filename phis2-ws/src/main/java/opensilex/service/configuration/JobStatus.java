@@ -0,0 +1,56 @@
+//******************************************************************************
+//                              JobStatus.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.configuration;
+
+/**
+ * List of the states of an asynchronous job.
+ * @see opensilex.service.job.JobManager
+ * @author agent <agent@local>
+ */
+public enum JobStatus {
+    PENDING {
+        @Override
+        public String toString(){
+            return "pending";
+        }
+    },
+    RUNNING {
+        @Override
+        public String toString(){
+            return "running";
+        }
+    },
+    SUCCEEDED {
+        @Override
+        public String toString(){
+            return "succeeded";
+        }
+    },
+    FAILED {
+        @Override
+        public String toString(){
+            return "failed";
+        }
+    },
+    CANCELLED {
+        @Override
+        public String toString(){
+            return "cancelled";
+        }
+    };
+
+    /**
+     * @param status
+     * @return true if the job with the given status will not change anymore
+     */
+    public static boolean isFinished(String status) {
+        return SUCCEEDED.toString().equals(status)
+                || FAILED.toString().equals(status)
+                || CANCELLED.toString().equals(status);
+    }
+}
@@ -0,0 +1,82 @@
+//******************************************************************************
+//                               RollupPeriod.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.configuration;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List of the periods of the measures rollups, from the finest to the
+ * coarsest. The periods are aligned on UTC.
+ * @see opensilex.service.dao.RollupDAO
+ * @author agent <agent@local>
+ */
+public enum RollupPeriod {
+    HOUR(TimeUnit.HOURS.toMillis(1)) {
+        @Override
+        public String toString(){
+            return "hour";
+        }
+    },
+    DAY(TimeUnit.DAYS.toMillis(1)) {
+        @Override
+        public String toString(){
+            return "day";
+        }
+    };
+
+    private final long duration;
+
+    RollupPeriod(long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * @return the duration of the period in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @param date
+     * @return the start of the period containing the date
+     */
+    public Date getStart(Date date) {
+        return new Date(date.getTime() - Math.floorMod(date.getTime(), duration));
+    }
+
+    /**
+     * @param date
+     * @return true if the date is the start of a period
+     */
+    public boolean isStart(Date date) {
+        return Math.floorMod(date.getTime(), duration) == 0;
+    }
+
+    /**
+     * Returns the coarsest period whose rollups can be summed to get the 
+     * intervals of the given duration between the given dates.
+     * @param interval duration in milliseconds
+     * @param start start date, null if there is no start date
+     * @param end end date, null if there is no end date
+     * @return the coarsest period dividing the interval and starting at the
+     *         given dates, null if there is no such period
+     */
+    public static RollupPeriod getCoarsest(long interval, Date start, Date end) {
+        RollupPeriod coarsest = null;
+        for (RollupPeriod period : values()) {
+            if (interval > 0 && interval % period.getDuration() == 0
+                    && (start == null || period.isStart(start))
+                    && (end == null || period.isStart(end))) {
+                coarsest = period;
+            }
+        }
+        return coarsest;
+    }
+}
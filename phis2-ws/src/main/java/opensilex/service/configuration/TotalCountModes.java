@@ -0,0 +1,51 @@
+//******************************************************************************
+//                              TotalCountModes.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.configuration;
+
+/**
+ * List of the ways to get the total count of the results of a search.
+ * The exact counts are kept a short time for the next pages of the search.
+ * @see opensilex.service.dao.manager.CountCache
+ * @author agent <agent@local>
+ */
+public enum TotalCountModes {
+    
+    EXACT {
+        @Override
+        public String toString(){
+            return "exact";
+        }
+    },
+    // From the collection metadata when possible, exact otherwise
+    ESTIMATED {
+        @Override
+        public String toString(){
+            return "estimated";
+        }
+    },
+    // Not counted, the pagination only tells if there is a next page
+    NONE {
+        @Override
+        public String toString(){
+            return "none";
+        }
+    };
+
+    /**
+     * @param value
+     * @return the mode, null if the value is not a mode
+     */
+    public static TotalCountModes fromString(String value) {
+        for (TotalCountModes mode : values()) {
+            if (mode.toString().equals(value)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
@@ -10,6 +10,7 @@ package opensilex.service.dao;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import opensilex.service.PropertiesFileManager;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.eclipse.rdf4j.query.MalformedQueryException;
@@ -45,44 +46,172 @@ public class AcquisitionSessionDAO extends Rdf4jDAO<MetadataFileDTO> {
      */
     public String vectorRdfType;
     
+    /**
+     * Time to live of the cached metadata lists, in seconds.
+     */
+    private static final int FILE_METADATA_CACHE_TTL = PropertiesFileManager.getConfigFileIntegerProperty("service", "acquisitionSessionCacheTTL", 600);
+    
+    /**
+     * Cached metadata lists, shared by all the requests. Null if outdated.
+     */
+    private static volatile FileMetadataLists fileMetadataLists;
+    
+    /**
+     * All the metadata lists used to generate the acquisition session files.
+     */
+    private static class FileMetadataLists {
+        final long creationTime = System.currentTimeMillis();
+        List<Experiment> experiments = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        List<Sensor> cameras = new ArrayList<>();
+        List<Vector> uavs = new ArrayList<>();
+        List<RadiometricTarget> radiometricTargets = new ArrayList<>();
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() - creationTime > FILE_METADATA_CACHE_TTL * 1000L;
+        }
+    }
+    
+    /**
+     * Marks the cached metadata lists as outdated. 
+     * Called when experiments, users, sensors, vectors or radiometric targets are created.
+     */
+    public static void invalidateFileMetadataCache() {
+        fileMetadataLists = null;
+    }
+    
+    /**
+     * @return the metadata lists, loaded from the storages if the cache is outdated.
+     */
+    private static FileMetadataLists getFileMetadataLists() {
+        FileMetadataLists lists = fileMetadataLists;
+        if (lists == null || lists.isExpired()) {
+            synchronized (AcquisitionSessionDAO.class) {
+                lists = fileMetadataLists;
+                if (lists == null || lists.isExpired()) {
+                    lists = loadFileMetadataLists();
+                    fileMetadataLists = lists;
+                }
+            }
+        }
+        return lists;
+    }
+    
+    /**
+     * Loads all the metadata lists (the DAOs are used with a single page 
+     * containing all the elements).
+     * @return the loaded lists
+     */
+    private static FileMetadataLists loadFileMetadataLists() {
+        FileMetadataLists lists = new FileMetadataLists();
+        
+        //1. group plots (just the experiments in this version)
+        ExperimentSQLDAO experimentDAO = new ExperimentSQLDAO();
+        int experimentsCount = experimentDAO.count();
+        if (experimentsCount > 0) {
+            experimentDAO.setPage(0);
+            experimentDAO.setPageSize(experimentsCount);
+            lists.experiments = experimentDAO.getAllExperimentsForAcquisitionSessionFile();
+        }
+        
+        //2. pilots
+        UserDAO userDAO = new UserDAO();
+        int usersCount = userDAO.count();
+        if (usersCount > 0) {
+            userDAO.setPage(0);
+            userDAO.setPageSize(usersCount);
+            lists.users = userDAO.getAllUsersEmails();
+        }
+        
+        //3. cameras
+        SensorDAO sensorDAO = new SensorDAO();
+        int camerasCount = sensorDAO.countCameras();
+        if (camerasCount > 0) {
+            sensorDAO.setPage(0);
+            sensorDAO.setPageSize(camerasCount);
+            lists.cameras = sensorDAO.getCameras();
+        }
+        
+        //4. vectors
+        VectorDAO vectorDAO = new VectorDAO();
+        vectorDAO.rdfType = Oeso.CONCEPT_UAV.toString();
+        int uavsCount = vectorDAO.countUAVs();
+        if (uavsCount > 0) {
+            vectorDAO.setPage(0);
+            vectorDAO.setPageSize(uavsCount);
+            lists.uavs = vectorDAO.getUAVs();
+        }
+        
+        //5. radiometric targets
+        RadiometricTargetDAO radiometricTargetDAO = new RadiometricTargetDAO();
+        int radiometricTargetsCount = radiometricTargetDAO.count();
+        if (radiometricTargetsCount > 0) {
+            radiometricTargetDAO.setPage(0);
+            radiometricTargetDAO.setPageSize(radiometricTargetsCount);
+            lists.radiometricTargets = radiometricTargetDAO.allPaginate();
+        }
+        
+        LOGGER.debug("Acquisition session metadata lists loaded");
+        return lists;
+    }
+    
+    /**
+     * Checks if the vector type is a subclass of the given class. 
+     * The super classes of the type are read from the ontology rules kept by 
+     * the PropertyDAO.
+     * @param superClass
+     * @return true if the vector type is a subclass of superClass
+     */
+    private boolean isVectorSubClassOf(String superClass) {
+        try {
+            return new PropertyDAO().getSuperClasses(vectorRdfType).contains(superClass);
+        } catch (DAOPersistenceException ex) {
+            throw new RepositoryException(ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * @param list
+     * @return the elements of the current page
+     */
+    private <T> List<T> getPageSlice(List<T> list) {
+        int fromIndex = Math.min(getPage() * getPageSize(), list.size());
+        int toIndex = Math.min(fromIndex + getPageSize(), list.size());
+        return list.subList(fromIndex, toIndex);
+    }
+    
     /**
      * Counts the number of rows of the metadata file.
      * @return The number of rows
      */
     public Integer countFileMetadataRows() throws RepositoryException, MalformedQueryException, QueryEvaluationException {
-        UriDAO uriDao = new UriDAO();
         //size of the higher list to generate all the FileMetadataDTO
         ArrayList<Integer> sizes = new ArrayList<>();
         
         //if the vector is an uav or a field robot, it has specific file metadata
-        if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_FIELD_ROBOT.toString())
-                || uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_UAV.toString())) {
+        if (isVectorSubClassOf(Oeso.CONCEPT_FIELD_ROBOT.toString())
+                || isVectorSubClassOf(Oeso.CONCEPT_UAV.toString())) {
+            FileMetadataLists lists = getFileMetadataLists();
             //Common metadata
             //1. get the number of group plots (just the experiments in this version)
-            ExperimentSQLDAO experimentDAO = new ExperimentSQLDAO();
-            sizes.add(experimentDAO.count());
+            sizes.add(lists.experiments.size());
             
             //2. get the number of pilots
-            UserDAO userDAO = new UserDAO();
-            sizes.add(userDAO.count());
+            sizes.add(lists.users.size());
             
             //3. platform
             sizes.add(1);
             
             //UAV
-            if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_UAV.toString())) {
+            if (isVectorSubClassOf(Oeso.CONCEPT_UAV.toString())) {
                 //3. get the number of cameras
-                SensorDAO sensorDAO = new SensorDAO();
-                sizes.add(sensorDAO.countCameras());
+                sizes.add(lists.cameras.size());
 
                 //4. get the number of vectors
-                VectorDAO vectorDAO = new VectorDAO();
-                vectorDAO.rdfType = Oeso.CONCEPT_UAV.toString();
-                sizes.add(vectorDAO.countUAVs());
+                sizes.add(lists.uavs.size());
 
                 //5. get the number of radiometric targets
-                RadiometricTargetDAO radiometricTargetDAO = new RadiometricTargetDAO();
-                sizes.add(radiometricTargetDAO.count());
+                sizes.add(lists.radiometricTargets.size());
             }
         }
         
@@ -92,65 +221,53 @@ public class AcquisitionSessionDAO extends Rdf4jDAO<MetadataFileDTO> {
     /**
      * Gets all the required information to generate the hidden PHIS part of the excel file for 4P.
      * The content of the metadata depends of the acquisition session vector type.
+     * The metadata lists are cached, only the current page is returned.
      * @see AcquisitionSessionDAO#allPaginateFileMetadata() 
      * @return the content of the metadata required.
      */
     private ArrayList<MetadataFileDTO> getFileMetadata() {
         ArrayList<MetadataFileDTO> fileMetadataList = new ArrayList<>();
-        UriDAO uriDao = new UriDAO();
         //size of the higher list to generate all the FileMetadataDTO
         ArrayList<Integer> sizes = new ArrayList<>();
         
+        boolean isFieldRobot = isVectorSubClassOf(Oeso.CONCEPT_FIELD_ROBOT.toString());
+        boolean isUAV = isVectorSubClassOf(Oeso.CONCEPT_UAV.toString());
+        
         //Lists of metadata per concept
-        ArrayList<Experiment> experiments = new ArrayList<>();
-        ArrayList<String> installations = new ArrayList<>();
-        ArrayList<User> users = new ArrayList<>();
-        ArrayList<Sensor> sensors = new ArrayList<>();
-        ArrayList<Vector> vectors = new ArrayList<>();
-        ArrayList<RadiometricTarget> radiometricTargets = new ArrayList<>();
+        List<Experiment> experiments = new ArrayList<>();
+        List<String> installations = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        List<Sensor> sensors = new ArrayList<>();
+        List<Vector> vectors = new ArrayList<>();
+        List<RadiometricTarget> radiometricTargets = new ArrayList<>();
         
         //if the vector is an uav or a field robot, it has specific file metadata
-        if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_FIELD_ROBOT.toString())
-                || uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_UAV.toString())) {
+        if (isFieldRobot || isUAV) {
+            FileMetadataLists lists = getFileMetadataLists();
             //Common metadata
             //1. get the group plot list with the alias, uri and species (just the experiments in this version)
-            ExperimentSQLDAO experimentDAO = new ExperimentSQLDAO();
-            experimentDAO.setPage(page);
-            experimentDAO.setPageSize(pageSize);
-            experiments = experimentDAO.getAllExperimentsForAcquisitionSessionFile();
+            experiments = getPageSlice(lists.experiments);
             sizes.add(experiments.size());
             
             //2. get the pilots list
-            UserDAO userDAO = new UserDAO();
-            userDAO.setPage(page);
-            userDAO.setPageSize(pageSize);
-            users = userDAO.getAllUsersEmails();
+            users = getPageSlice(lists.users);
             sizes.add(users.size());
             
             //3. platform
             installations.add(Oeso.PLATFORM_URI.toString());
             
             //Metadata for the uav
-            if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_UAV.toString())) {
+            if (isUAV) {
                 //3. get the camera list
-                SensorDAO sensorDAO = new SensorDAO();
-                sensorDAO.setPage(page);
-                sensorDAO.setPageSize(pageSize);
-                sensors = sensorDAO.getCameras();
+                sensors = getPageSlice(lists.cameras);
                 sizes.add(sensors.size());
 
                 //4. get the vectors list
-                VectorDAO vectorDAO = new VectorDAO();
-                vectorDAO.setPage(page);
-                vectorDAO.setPageSize(pageSize);
-                vectors = vectorDAO.getUAVs();
+                vectors = getPageSlice(lists.uavs);
                 sizes.add(vectors.size());
 
                 // 5. get the radiometric targets
-                RadiometricTargetDAO radiometricTargetDAO = new RadiometricTargetDAO();
-                radiometricTargetDAO.setPage(page);
-                radiometricTargetDAO.setPageSize(pageSize);
-                radiometricTargets = radiometricTargetDAO.allPaginate();
+                radiometricTargets = getPageSlice(lists.radiometricTargets);
                 sizes.add(radiometricTargets.size());
             }
         }
@@ -158,7 +275,7 @@ public class AcquisitionSessionDAO extends Rdf4jDAO<MetadataFileDTO> {
         // generates the file metadata list
         int maxListSize = Collections.max(sizes);
         // field robot metadata
-        if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_FIELD_ROBOT.toString())) {
+        if (isFieldRobot) {
             for (int i = 0; i < maxListSize; i++) {
                 MetadataFilePhenomobileDTO fileMetadata = new MetadataFilePhenomobileDTO();
                 
@@ -175,7 +292,7 @@ public class AcquisitionSessionDAO extends Rdf4jDAO<MetadataFileDTO> {
                 
                 fileMetadataList.add(fileMetadata);
             }
-        } else if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_UAV.toString())) {
+        } else if (isUAV) {
             // UAV metadata
             for (int i = 0; i < maxListSize; i++) {
                 MetadataFileUAVDTO fileMetadata = new MetadataFileUAVDTO();
@@ -227,8 +344,7 @@ public class AcquisitionSessionDAO extends Rdf4jDAO<MetadataFileDTO> {
      */
     public ArrayList<MetadataFileDTO> allPaginateFileMetadata() {
         // Check if the rdf type is a subclass of vector
-        UriDAO uriDao = new UriDAO();
-        if (uriDao.isSubClassOf(vectorRdfType, Oeso.CONCEPT_VECTOR.toString())) {
+        if (isVectorSubClassOf(Oeso.CONCEPT_VECTOR.toString())) {
             return getFileMetadata();
         } else {
             return null;
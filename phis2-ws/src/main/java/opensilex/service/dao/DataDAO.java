@@ -16,6 +16,7 @@ import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Sorts;
@@ -23,7 +24,9 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.ws.rs.core.Response;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
@@ -33,7 +36,10 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.async.RequestDeadline;
 import opensilex.service.configuration.DateFormat;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.dao.manager.CountCache;
 import opensilex.service.dao.manager.MongoDAO;
 import opensilex.service.documentation.StatusCodeMsg;
 import opensilex.service.ontology.Oeso;
@@ -44,6 +50,14 @@ import opensilex.service.model.Data;
 
 /**
  * Data DAO.
+ * @update [agent] 18 Oct. 2026: find all the data of a search as
+ * an iterable, for the exports.
+ * @update [agent] 18 Oct. 2026: find the distinct objects and 
+ * provenances of a search, for the columnar exports.
+ * @update [agent] 18 Oct. 2026: increment the rollups of the data
+ * at insert time.
+ * @update [agent] 18 Oct. 2026: keep the searches counts a short
+ * time and estimate them from the collections metadata.
  * @author Vincent Migot <vincent.migot@inra.fr>
  */
 public class DataDAO extends MongoDAO<Data> {
@@ -58,6 +72,9 @@ public class DataDAO extends MongoDAO<Data> {
     private final static String DB_FIELD_DATE = "date";
     private final static String DB_FIELD_VALUE = "value";
     private final static String DB_FIELD_SENSOR = "sensor";
+
+    // Number of documents read by batch during an export
+    private final static int EXPORT_BATCH_SIZE = PropertiesFileManager.getConfigFileIntegerProperty("service", "exportBatchSize", 5000);
     
     public String variableUri;
     public String startDate;
@@ -237,7 +254,26 @@ public class DataDAO extends MongoDAO<Data> {
             }
         });
 
-        //4. Prepare result to return
+        //4. Increment the rollups of the data in the same transaction
+        if (!hasError.get()) {
+            RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_DATA);
+            dataList.forEach((data) -> {
+                rollupDAO.addMeasure(data.getVariableUri(), data.getDate(), data.getObjectUri(), data.getProvenanceUri(), data.getValue());
+            });
+            try {
+                rollupDAO.increment(session);
+            } catch (MongoException ex) {
+                hasError.set(true);
+                LOGGER.error("Exception during rollups update", ex);
+                status.add(new Status(
+                        StatusCodeMsg.UNEXPECTED_ERROR,
+                        StatusCodeMsg.ERR,
+                        StatusCodeMsg.DATA_REJECTED + " - " + ex.getMessage()
+                ));
+            }
+        }
+
+        //5. Prepare result to return
         result = new POSTResultsReturn(hasError.get());
         result.statusList = status;
 
@@ -246,6 +282,10 @@ public class DataDAO extends MongoDAO<Data> {
             session.commitTransaction();
             result.setHttpStatus(Response.Status.CREATED);
             result.createdResources = createdResources;
+            // The counts of the searches on the variables are not exact anymore
+            dataListToInsertByVariable.keySet().forEach((variableUri) -> {
+                CountCache.SEARCHES.invalidate(getCountCacheKeyPrefix(variableUri));
+            });
         } else {
             // If errors abort transaction
             session.abortTransaction();
@@ -280,7 +320,7 @@ public class DataDAO extends MongoDAO<Data> {
         BasicDBObject query = prepareSearchQuery();
         
         // Get paginated documents
-        FindIterable<Document> dataMongo = dataVariableCollection.find(query);
+        FindIterable<Document> dataMongo = withDeadline(dataVariableCollection.find(query));
         
         //SILEX:info
         //Measures are always sort by date, either ascending or descending depending on dateSortAsc parameter
@@ -303,6 +343,7 @@ public class DataDAO extends MongoDAO<Data> {
         // For each document, create a data Instance and add it to the result list
         try (MongoCursor<Document> measuresCursor = dataMongo.iterator()) {
             while (measuresCursor.hasNext()) {
+                RequestDeadline.check();
                 Document dataDocument = measuresCursor.next();
                 
                 // Create and define the data object
@@ -392,7 +433,7 @@ public class DataDAO extends MongoDAO<Data> {
         BasicDBObject query = prepareSearchQuery();
         
         // Return the document count
-        return (int)dataVariableCollection.countDocuments(query);
+        return (int)dataVariableCollection.countDocuments(query, getDeadlineCountOptions());
     }
     
     /**
@@ -485,7 +526,37 @@ public class DataDAO extends MongoDAO<Data> {
         
         BasicDBObject query = prepareSearchQuery(variableUri, startDate, endDate, objectsUris, provenancesUris);
         
-        return (int)dataCollection.countDocuments(query);
+        // The count is kept a short time, for the next pages of the search
+        return CountCache.SEARCHES.get(getCountCacheKeyPrefix(variableUri) + query.toJson(), 
+                () -> (int)dataCollection.countDocuments(query, getDeadlineCountOptions()));
+    }
+    
+    /**
+     * Get an estimation of the number of the data for the given search 
+     * parameters. Without other filter than the variable, the number of data 
+     * of the variable collection is read from the collection metadata. 
+     * Otherwise the data are counted.
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param objectsUris
+     * @param provenancesUris
+     * @return the estimated number of data.
+     */
+    public int estimatedCount(String variableUri, String startDate, String endDate, List<String> objectsUris, List<String> provenancesUris) {
+        if (startDate == null && endDate == null && objectsUris.isEmpty() && provenancesUris.isEmpty()) {
+            return (int)database.getCollection(getCollectionFromVariable(variableUri)).estimatedDocumentCount();
+        }
+        return count(variableUri, startDate, endDate, objectsUris, provenancesUris);
+    }
+    
+    /**
+     * @param variableUri
+     * @return the beginning of the keys of the counts of the variable data in
+     *         the count cache
+     */
+    private String getCountCacheKeyPrefix(String variableUri) {
+        return DataDAO.class.getSimpleName() + " " + getCollectionFromVariable(variableUri) + " ";
     }
 
     /**
@@ -500,7 +571,7 @@ public class DataDAO extends MongoDAO<Data> {
         BasicDBObject query = new BasicDBObject();
         query.append(DB_FIELD_URI, uri);
         
-        return database.getCollection(variableCollection).countDocuments(query) > 0; 
+        return database.getCollection(variableCollection).countDocuments(query, getDeadlineCountOptions()) > 0; 
     }
     
     /**
@@ -523,7 +594,7 @@ public class DataDAO extends MongoDAO<Data> {
         BasicDBObject query = prepareSearchQuery(variableUri, startDate, endDate, objectsUris, provenancesUris);
         
         // Get paginated documents
-        FindIterable<Document> dataMongo = dataVariableCollection.find(query);
+        FindIterable<Document> dataMongo = withDeadline(dataVariableCollection.find(query));
         
         //SILEX:info
         //Measures are always sort by date, either ascending or descending depending on dateSortAsc parameter
@@ -546,35 +617,110 @@ public class DataDAO extends MongoDAO<Data> {
         // For each document, create a data Instance and add it to the result list
         try (MongoCursor<Document> measuresCursor = dataMongo.iterator()) {
             while (measuresCursor.hasNext()) {
-                Document dataDocument = measuresCursor.next();
-                
-                // Create and define the data object
-                Data data = new Data();
-                data.setVariableUri(variableUri);
-                if (dataDocument.getString(DB_FIELD_URI) != null) {
-                    data.setUri(dataDocument.getString(DB_FIELD_URI));
-                }
-                data.setDate(dataDocument.getDate(DB_FIELD_DATE));
-                data.setValue(dataDocument.get(DB_FIELD_VALUE));
-                
-                if (dataDocument.getString(DB_FIELD_OBJECT) != null) {
-                    data.setObjectUri(dataDocument.getString(DB_FIELD_OBJECT));
-                }
-                
-                if (dataDocument.getString(DB_FIELD_PROVENANCE) != null) {
-                    data.setProvenanceUri(dataDocument.getString(DB_FIELD_PROVENANCE));
-                } else {
-                    data.setProvenanceUri(dataDocument.getString(DB_FIELD_SENSOR));
-                }
-                
-                // Add data to the list
-                dataList.add(data);
+                RequestDeadline.check();
+                dataList.add(getDataFromDocument(variableUri, measuresCursor.next()));
             }
         }
         
         return dataList;
     }
 
+    /**
+     * Find all the data by the given search params, sorted by date according
+     * to dateSortAsc. The data are read from the database while the returned
+     * iterable is consumed, in batches of EXPORT_BATCH_SIZE documents.
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param objectsUris
+     * @param provenancesUris
+     * @return the data iterable
+     */
+    public MongoIterable<Data> findAll(String variableUri, String startDate, String endDate, List<String> objectsUris, List<String> provenancesUris) {
+        MongoCollection<Document> dataVariableCollection = database.getCollection(getCollectionFromVariable(variableUri));
+        
+        BasicDBObject query = prepareSearchQuery(variableUri, startDate, endDate, objectsUris, provenancesUris);
+        
+        return dataVariableCollection.find(query)
+                .sort(dateSortAsc ? Sorts.ascending(DB_FIELD_DATE) : Sorts.descending(DB_FIELD_DATE))
+                .batchSize(EXPORT_BATCH_SIZE)
+                .map(dataDocument -> getDataFromDocument(variableUri, dataDocument));
+    }
+    
+    /**
+     * Find the distinct objects of the data corresponding to the given search 
+     * params.
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param objectsUris
+     * @param provenancesUris
+     * @return the objects URIs
+     */
+    public Set<String> findObjects(String variableUri, String startDate, String endDate, List<String> objectsUris, List<String> provenancesUris) {
+        MongoCollection<Document> dataVariableCollection = database.getCollection(getCollectionFromVariable(variableUri));
+        
+        BasicDBObject query = prepareSearchQuery(variableUri, startDate, endDate, objectsUris, provenancesUris);
+        
+        Set<String> objects = new HashSet<>();
+        dataVariableCollection.distinct(DB_FIELD_OBJECT, query, String.class).into(objects);
+        objects.remove(null);
+        return objects;
+    }
+    
+    /**
+     * Find the distinct provenances of the data corresponding to the given 
+     * search params. The sensor is the provenance of the data without 
+     * provenance.
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param objectsUris
+     * @param provenancesUris
+     * @return the provenances URIs
+     */
+    public Set<String> findProvenances(String variableUri, String startDate, String endDate, List<String> objectsUris, List<String> provenancesUris) {
+        MongoCollection<Document> dataVariableCollection = database.getCollection(getCollectionFromVariable(variableUri));
+        
+        BasicDBObject query = prepareSearchQuery(variableUri, startDate, endDate, objectsUris, provenancesUris);
+        
+        Set<String> provenances = new HashSet<>();
+        dataVariableCollection.distinct(DB_FIELD_PROVENANCE, query, String.class).into(provenances);
+        if (provenancesUris.isEmpty()) {
+            query.append(DB_FIELD_PROVENANCE, new BasicDBObject("$exists", false));
+            dataVariableCollection.distinct(DB_FIELD_SENSOR, query, String.class).into(provenances);
+        }
+        provenances.remove(null);
+        return provenances;
+    }
+    
+    /**
+     * Creates a data from a document of a variable collection.
+     * @param variableUri
+     * @param dataDocument
+     * @return the data
+     */
+    private Data getDataFromDocument(String variableUri, Document dataDocument) {
+        Data data = new Data();
+        data.setVariableUri(variableUri);
+        if (dataDocument.getString(DB_FIELD_URI) != null) {
+            data.setUri(dataDocument.getString(DB_FIELD_URI));
+        }
+        data.setDate(dataDocument.getDate(DB_FIELD_DATE));
+        data.setValue(dataDocument.get(DB_FIELD_VALUE));
+
+        if (dataDocument.getString(DB_FIELD_OBJECT) != null) {
+            data.setObjectUri(dataDocument.getString(DB_FIELD_OBJECT));
+        }
+
+        if (dataDocument.getString(DB_FIELD_PROVENANCE) != null) {
+            data.setProvenanceUri(dataDocument.getString(DB_FIELD_PROVENANCE));
+        } else {
+            data.setProvenanceUri(dataDocument.getString(DB_FIELD_SENSOR));
+        }
+        return data;
+    }
+
     @Override
     public List<Data> create(List<Data> objects) throws DAOPersistenceException, Exception {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
@@ -7,18 +7,19 @@
 //******************************************************************************
 package opensilex.service.dao;
 
-import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Sorts;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import javax.ws.rs.core.Response;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
@@ -34,7 +35,6 @@ import opensilex.service.resource.dto.AgronomicalDataDTO;
 import opensilex.service.resource.dto.DatasetDTO;
 import opensilex.service.utils.POSTResultsReturn;
 import opensilex.service.view.brapi.Status;
-import opensilex.service.model.ScientificObject;
 import opensilex.service.model.AgronomicalData;
 import opensilex.service.model.Dataset;
 
@@ -137,6 +137,13 @@ public class DatasetDAO extends MongoDAO<Dataset> {
     // MongoDB documents label for the incertitude of data
     private final static String DB_FIELDS_INCERTITUDE = "incertitude";  
     
+    // True when the search index of the data collection has been created
+    private final static AtomicBoolean INDEXES_CREATED = new AtomicBoolean(false);
+    
+    // Scientific objects of the searched experiment, retrieved once
+    private boolean experimentScientificObjectsLoaded = false;
+    private List<String> experimentScientificObjects = new ArrayList<>();
+    
     /**
      * Searches by variable, start date, end date, scientific object.
      * @return the search query
@@ -164,12 +171,7 @@ public class DatasetDAO extends MongoDAO<Dataset> {
         
         if (scientificObjects != null && !scientificObjects.isEmpty()) {
             if (scientificObjects.size() > 1) {
-                BasicDBList or = new BasicDBList();
-                for (String agronomicalObject : scientificObjects) {
-                    BasicDBObject clause = new BasicDBObject(DB_FIELD_SCIENTIFIC_OBJECT, agronomicalObject);
-                    or.add(clause);
-                }
-                query.append("$or", or);
+                query.append(DB_FIELD_SCIENTIFIC_OBJECT, new BasicDBObject("$in", scientificObjects));
             } else {
                 query.append(DB_FIELD_SCIENTIFIC_OBJECT, scientificObjects.get(0));
             }
@@ -199,41 +201,78 @@ public class DatasetDAO extends MongoDAO<Dataset> {
     }
 
     /**
-     * Gets experiment's scientific objects and add them to the searched
-     * scientific objects list.
+     * Creates the index used by the dataset searches on the data collection. 
+     * Done once, Mongo won't create the index if it already exists.
      */
-    private void updateScientificObjectsWithExperimentsScientificObjects() {
-        ScientificObjectRdf4jDAO agronomicalObjectDao = new ScientificObjectRdf4jDAO();
-        
-        ArrayList<ScientificObject> scientificObjectsSearched = agronomicalObjectDao.find(null, null, null, null, experiment, null);
+    private void createIndexesIfNeeded() {
+        if (INDEXES_CREATED.compareAndSet(false, true)) {
+            dataCollection.createIndex(Indexes.ascending(
+                    DB_FIELD_SCIENTIFIC_OBJECT, 
+                    DB_FIELD_VARIABLE, 
+                    DB_FIELD_DATE));
+        }
+    }
+
+    /**
+     * Gets experiment's scientific objects URIs and add them to the searched
+     * scientific objects list. Only the URIs are retrieved.
+     * @return false if the experiment has no scientific object
+     */
+    private boolean updateScientificObjectsWithExperimentsScientificObjects() {
+        if (!experimentScientificObjectsLoaded) {
+            ScientificObjectRdf4jDAO scientificObjectDao = new ScientificObjectRdf4jDAO();
+            experimentScientificObjects = scientificObjectDao.findUrisByExperiment(experiment);
+            this.scientificObjects.addAll(experimentScientificObjects);
+            experimentScientificObjectsLoaded = true;
+        }
+        return !experimentScientificObjects.isEmpty();
+    }
+    
+    /**
+     * Counts the data corresponding to search parameters (experiment, 
+     * scientific objects, variable, date start, date end).
+     * @return the number of data
+     */
+    public int count() {
+        if (experiment != null && !updateScientificObjectsWithExperimentsScientificObjects()) {
+            return 0;
+        }
+        createIndexesIfNeeded();
         
-        scientificObjectsSearched.forEach((scientificObject) -> {
-            this.scientificObjects.add(scientificObject.getUri());
-        });
+        BasicDBObject query = prepareSearchQuery();
+        LOGGER.trace(getTraceabilityLogs() + " count query : " + query.toString());
+        return (int) dataCollection.countDocuments(query);
     }
     
     /**
      * Gets all the datasets corresponding to search parameters (experiment, 
-     * scientific objects, variable, date start, date end).
+     * scientific objects, variable, date start, date end). The data are 
+     * paginated if a page size is given, a page size of 0 returns all the data.
      * @return datasets list, empty if no search result.
      */
     public ArrayList<Dataset> allPaginate() {
+        ArrayList<Dataset> phenotypes = new ArrayList<>();
+        Dataset phenotype = new Dataset();
+        phenotype.setExperiment(experiment);
+        phenotype.setVariableURI(variable);
+        
         //If search by experiment, get experiment's scientific objects.
-        if (experiment != null) {
-            updateScientificObjectsWithExperimentsScientificObjects();
+        if (experiment != null && !updateScientificObjectsWithExperimentsScientificObjects()) {
+            phenotypes.add(phenotype);
+            return phenotypes;
         }
+        createIndexesIfNeeded();
         
         BasicDBObject query = prepareSearchQuery();
         
         LOGGER.trace(getTraceabilityLogs() + " query : " + query.toString());
         FindIterable<Document> datasetMongo = dataCollection
                 .find(query)
-                .sort(Sorts.ascending(DB_FIELD_DATE));
+                .sort(Sorts.ascending(DB_FIELD_DATE))
+                .skip(getPage() * getPageSize())
+                .limit(getPageSize());
 
-        ArrayList<Dataset> phenotypes = new ArrayList<>();
-        Dataset phenotype = new Dataset();
-        phenotype.setExperiment(experiment);
-        phenotype.setVariableURI(variable);
+        SimpleDateFormat df = new SimpleDateFormat(DateFormats.YMD_FORMAT);
         
         try (MongoCursor<Document> datasetCursor = datasetMongo.iterator()) {
             while (datasetCursor.hasNext()) {
@@ -241,7 +280,7 @@ public class DatasetDAO extends MongoDAO<Dataset> {
                 
                 AgronomicalData data = new AgronomicalData();
                 data.setAgronomicalObject(datasetDocument.getString(DB_FIELD_SCIENTIFIC_OBJECT));
-                data.setDate(new SimpleDateFormat(DateFormats.YMD_FORMAT).format(datasetDocument.getDate(DB_FIELD_DATE)));
+                data.setDate(df.format(datasetDocument.getDate(DB_FIELD_DATE)));
                 data.setValue(Double.toString(datasetDocument.getDouble(DB_FIELD_VALUE)));
                 data.setVariable(datasetDocument.getString(DB_FIELD_VARIABLE));
                 if (datasetDocument.getString(DB_FIELDS_SENSOR) != null) {
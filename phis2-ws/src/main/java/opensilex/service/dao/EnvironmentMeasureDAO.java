@@ -9,22 +9,39 @@ package opensilex.service.dao;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.ws.rs.core.Response;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
@@ -33,16 +50,27 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.async.RequestDeadline;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DateFormats;
 import opensilex.service.dao.manager.MongoDAO;
 import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.job.JobContext;
 import opensilex.service.utils.POSTResultsReturn;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.model.EnvironmentMeasure;
 
 /**
  * Environmental measures DAO.
+ * @update [agent] 18 Oct. 2026: find all the measures of a search
+ * as an iterable, for the exports.
+ * @update [agent] 18 Oct. 2026: find the distinct sensors of a 
+ * search, for the columnar exports.
+ * @update [agent] 18 Oct. 2026: optional storage of the measures in
+ * time buckets, with their migration.
+ * @update [agent] 18 Oct. 2026: increment the rollups of the 
+ * measures at insert time.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
@@ -55,6 +83,45 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
     private final static String DB_FIELD_DATE = "date";
     private final static String DB_FIELD_VALUE = "value";
     
+    // Number of documents read by batch during an export
+    private final static int EXPORT_BATCH_SIZE = PropertiesFileManager.getConfigFileIntegerProperty("service", "exportBatchSize", 5000);
+    
+    //SILEX:info
+    // With the buckets storage, the measures of a sensor and a variable are
+    // grouped by time bucket, in one document by bucket:
+    // { sensor, variable, bucketStart, bucketEnd, count, min, max, measures: [{ date, value }] }
+    // The buckets are saved in the <variable collection>_buckets collection.
+    // The layout of each variable is saved in the environmentLayouts 
+    // collection: { _id: variable, layout: "migrating" | "buckets" }. Without
+    // layout document, a variable with measures keeps the legacy layout.
+    //\SILEX:info
+    private final static boolean BUCKETS_STORAGE = 
+            Boolean.valueOf(PropertiesFileManager.getConfigFileProperty("service", "environmentBucketsStorage"));
+    private final static long BUCKET_SPAN = TimeUnit.SECONDS.toMillis(
+            PropertiesFileManager.getConfigFileIntegerProperty("service", "environmentBucketSpan", 3600));
+    private final static String BUCKETS_COLLECTION_SUFFIX = "_buckets";
+    private final static String DB_FIELD_BUCKET_START = "bucketStart";
+    private final static String DB_FIELD_BUCKET_END = "bucketEnd";
+    private final static String DB_FIELD_COUNT = "count";
+    private final static String DB_FIELD_MIN = "min";
+    private final static String DB_FIELD_MAX = "max";
+    private final static String DB_FIELD_MEASURES = "measures";
+    private final static String DB_FIELD_MEASURES_DATE = DB_FIELD_MEASURES + "." + DB_FIELD_DATE;
+    // Number of measures written by each bulk write of a migration
+    private final static int MIGRATION_BATCH_SIZE = 1000;
+    // Number of times a batch of a migration is written again when a 
+    // measure has been inserted in its buckets in the meantime
+    private final static int MIGRATION_BATCH_ATTEMPTS = 3;
+    private final static String DB_FIELD_LAYOUT = "layout";
+    private final static String LAYOUT_LEGACY = "legacy";
+    private final static String LAYOUT_MIGRATING = "migrating";
+    private final static String LAYOUT_BUCKETS = "buckets";
+    // Variables read from the buckets. Their layout can't change anymore.
+    private final static Set<String> BUCKETS_VARIABLES = ConcurrentHashMap.newKeySet();
+    
+    private final MongoCollection<Document> layoutsCollection = database.getCollection(
+            PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "environmentLayouts"));
+    
     /**
      * Variable URI when querying for environment measures (required)
      * @example http://www.phenome-fppn.fr/diaphen/id/variable/ev000070
@@ -89,6 +156,10 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
      * @return the document count
      */
     public int count() {
+        if (readsBuckets(variableUri)) {
+            return countInBuckets();
+        }
+        
         // Get the collection corresponding to variable uri
         String variableCollection = this.getEnvironmentCollectionFromVariable(variableUri);
         MongoCollection<Document> environmentMeasureVariableCollection = database.getCollection(variableCollection);
@@ -97,7 +168,7 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
         BasicDBObject query = prepareSearchQuery();
         
         // Return the document count
-        return (int)environmentMeasureVariableCollection.count(query);
+        return (int)environmentMeasureVariableCollection.count(query, getDeadlineCountOptions());
     }
 
     /**
@@ -118,28 +189,10 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
     protected BasicDBObject prepareSearchQuery() {
         BasicDBObject query = new BasicDBObject();
         
-        try {
-            SimpleDateFormat df = new SimpleDateFormat(DateFormat.YMDTHMSZ.toString());
-
-            // Define date filter depending if start date and/or end date are defined
-            if (startDate != null) {
-                Date start = df.parse(startDate);
-
-                if (endDate != null) {
-                    // In case of start date AND end date defined
-                    Date end = df.parse(endDate);
-                    query.append(DB_FIELD_DATE, BasicDBObjectBuilder.start("$gte", start).add("$lte", end).get());
-                } else {
-                    // In case of start date ONLY is defined
-                    query.append(DB_FIELD_DATE, BasicDBObjectBuilder.start("$gte", start).get());
-                }
-            } else if (endDate != null) {
-                // In case of end date ONLY is defined
-                Date end = df.parse(endDate);
-                query.append(DB_FIELD_DATE, BasicDBObjectBuilder.start("$lte", end).get());
-            }
-        } catch (ParseException ex) {
-            LOGGER.error("Invalid date format", ex);
+        // Define date filter depending if start date and/or end date are defined
+        BasicDBObject dateFilter = prepareDateFilter(parseDate(startDate), parseDate(endDate));
+        if (dateFilter != null) {
+            query.append(DB_FIELD_DATE, dateFilter);
         }
         
         // Add filter if a sensor uri is defined
@@ -153,6 +206,197 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
         
         return query;
     }
+    
+    /**
+     * @param date
+     * @return the parsed date, null if there is no date or if it is invalid
+     */
+    private Date parseDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return new SimpleDateFormat(DateFormat.YMDTHMSZ.toString()).parse(date);
+        } catch (ParseException ex) {
+            LOGGER.error("Invalid date format", ex);
+            return null;
+        }
+    }
+    
+    /**
+     * @param start
+     * @param end
+     * @return the filter of the dates between start and end, null if there is
+     *         no start and no end
+     */
+    private BasicDBObject prepareDateFilter(Date start, Date end) {
+        BasicDBObject dateFilter = new BasicDBObject();
+        if (start != null) {
+            dateFilter.append("$gte", start);
+        }
+        if (end != null) {
+            dateFilter.append("$lte", end);
+        }
+        return dateFilter.isEmpty() ? null : dateFilter;
+    }
+    
+    /**
+     * Prepares the search query of the buckets containing the measures 
+     * searched with the given parameters.
+     * @return the buckets search query
+     * @example
+     *  {
+     *      "bucketStart": { $lte: ISODate("2018-06-15T10:51:00+0200") },
+     *      "bucketEnd": { $gt: ISODate("2010-06-15T10:51:00+0200") },
+     *      "sensor": "http://www.phenome-fppn.fr/diaphen/2018/s18001",
+     *      "variable": "http://www.phenome-fppn.fr/diaphen/id/variable/v0000001"
+     *  }
+     */
+    private BasicDBObject prepareBucketsSearchQuery() {
+        BasicDBObject query = new BasicDBObject();
+        
+        Date end = parseDate(endDate);
+        if (end != null) {
+            query.append(DB_FIELD_BUCKET_START, new BasicDBObject("$lte", end));
+        }
+        Date start = parseDate(startDate);
+        if (start != null) {
+            query.append(DB_FIELD_BUCKET_END, new BasicDBObject("$gt", start));
+        }
+        if (sensorUri != null) {
+            query.append(DB_FIELD_SENSOR, sensorUri);
+        }
+        query.append(DB_FIELD_VARIABLE, variableUri);
+        
+        LOGGER.debug(getTraceabilityLogs() + " buckets query : " + query.toString());
+        
+        return query;
+    }
+    
+    /**
+     * Prepares the aggregation which unpacks the measures of the buckets 
+     * searched, sorted by date. The unpacked measures have the fields of the 
+     * measures documents.
+     * @param paginate true to get the page of the DAO only
+     * @return the aggregation pipeline
+     */
+    private List<Bson> prepareBucketsMeasuresPipeline(boolean paginate) {
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(prepareBucketsSearchQuery()));
+        pipeline.add(Aggregates.unwind("$" + DB_FIELD_MEASURES));
+        
+        BasicDBObject dateFilter = prepareDateFilter(parseDate(startDate), parseDate(endDate));
+        if (dateFilter != null) {
+            pipeline.add(Aggregates.match(new BasicDBObject(DB_FIELD_MEASURES_DATE, dateFilter)));
+        }
+        pipeline.add(Aggregates.sort(dateSortAsc 
+                ? Sorts.ascending(DB_FIELD_MEASURES_DATE) 
+                : Sorts.descending(DB_FIELD_MEASURES_DATE)));
+        if (paginate) {
+            pipeline.add(Aggregates.skip(page * pageSize));
+            pipeline.add(Aggregates.limit(pageSize));
+        }
+        pipeline.add(Aggregates.project(Projections.fields(
+                Projections.excludeId(),
+                Projections.include(DB_FIELD_SENSOR),
+                Projections.computed(DB_FIELD_DATE, "$" + DB_FIELD_MEASURES_DATE),
+                Projections.computed(DB_FIELD_VALUE, "$" + DB_FIELD_MEASURES + "." + DB_FIELD_VALUE))));
+        return pipeline;
+    }
+    
+    /**
+     * Gets the storage layout of the measures of a variable. Once the buckets
+     * storage is enabled, a variable with measures keeps the legacy layout 
+     * until its migration. During the migration, the new measures are 
+     * inserted in the buckets but the measures are still read from the 
+     * variable collection. A variable without measures directly uses the 
+     * buckets.
+     * @param variableUri
+     * @return LAYOUT_LEGACY, LAYOUT_MIGRATING or LAYOUT_BUCKETS
+     */
+    private String getLayout(String variableUri) {
+        if (!BUCKETS_STORAGE) {
+            return LAYOUT_LEGACY;
+        }
+        if (BUCKETS_VARIABLES.contains(variableUri)) {
+            return LAYOUT_BUCKETS;
+        }
+        
+        String layout;
+        Document layoutDocument = layoutsCollection.find(Filters.eq(DB_FIELD_ID, variableUri)).first();
+        if (layoutDocument != null) {
+            layout = layoutDocument.getString(DB_FIELD_LAYOUT);
+        } else if (database.getCollection(getEnvironmentCollectionFromVariable(variableUri))
+                .find(new BasicDBObject(DB_FIELD_VARIABLE, variableUri)).first() == null) {
+            layout = LAYOUT_BUCKETS;
+        } else {
+            layout = LAYOUT_LEGACY;
+        }
+        if (LAYOUT_BUCKETS.equals(layout)) {
+            BUCKETS_VARIABLES.add(variableUri);
+        }
+        return layout;
+    }
+    
+    /**
+     * @param variableUri
+     * @return true if the measures of the variable are read from its buckets
+     */
+    private boolean readsBuckets(String variableUri) {
+        return LAYOUT_BUCKETS.equals(getLayout(variableUri));
+    }
+    
+    /**
+     * @param variableUri
+     * @return true if the new measures of the variable are inserted in its 
+     *         buckets
+     */
+    private boolean writesBuckets(String variableUri) {
+        return !LAYOUT_LEGACY.equals(getLayout(variableUri));
+    }
+    
+    /**
+     * Saves the storage layout of a variable.
+     * @param variableUri
+     * @param layout 
+     */
+    private void setLayout(String variableUri, String layout) {
+        layoutsCollection.updateOne(
+                Filters.eq(DB_FIELD_ID, variableUri), 
+                Updates.set(DB_FIELD_LAYOUT, layout), 
+                new UpdateOptions().upsert(true));
+        if (LAYOUT_BUCKETS.equals(layout)) {
+            BUCKETS_VARIABLES.add(variableUri);
+        }
+    }
+    
+    /**
+     * @return the buckets collection of the variable
+     */
+    private MongoCollection<Document> getBucketsCollection(String variableUri) {
+        return database.getCollection(getEnvironmentCollectionFromVariable(variableUri) + BUCKETS_COLLECTION_SUFFIX);
+    }
+    
+    /**
+     * Counts the measures of the buckets. Without date filter, the count is 
+     * the sum of the buckets counts.
+     * @return the measures count
+     */
+    private int countInBuckets() {
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(prepareBucketsSearchQuery()));
+        BasicDBObject dateFilter = prepareDateFilter(parseDate(startDate), parseDate(endDate));
+        if (dateFilter != null) {
+            pipeline.add(Aggregates.unwind("$" + DB_FIELD_MEASURES));
+            pipeline.add(Aggregates.match(new BasicDBObject(DB_FIELD_MEASURES_DATE, dateFilter)));
+            pipeline.add(Aggregates.count(DB_FIELD_COUNT));
+        } else {
+            pipeline.add(Aggregates.group(null, Accumulators.sum(DB_FIELD_COUNT, "$" + DB_FIELD_COUNT)));
+        }
+        
+        Document result = withDeadline(getBucketsCollection(variableUri).aggregate(pipeline)).allowDiskUse(true).first();
+        return result == null ? 0 : ((Number) result.get(DB_FIELD_COUNT)).intValue();
+    }
 
     /**
      * Returns the paginated list of environmental measures corresponding to the 
@@ -160,6 +404,15 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
      * @return List of measures
      */
     public ArrayList<EnvironmentMeasure> allPaginate() {
+        if (readsBuckets(variableUri)) {
+            ArrayList<EnvironmentMeasure> measures = new ArrayList<>();
+            withDeadline(getBucketsCollection(variableUri).aggregate(prepareBucketsMeasuresPipeline(true)))
+                    .allowDiskUse(true)
+                    .map(this::getMeasureFromDocument)
+                    .into(measures);
+            return measures;
+        }
+        
         // Get the collection corresponding to variable uri
         String variableCollection = this.getEnvironmentCollectionFromVariable(variableUri);
         MongoCollection<Document> environmentMeasureVariableCollection = database.getCollection(variableCollection);
@@ -168,7 +421,7 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
         BasicDBObject query = prepareSearchQuery();
         
         // Get paginated documents
-        FindIterable<Document> measuresMongo = environmentMeasureVariableCollection.find(query);
+        FindIterable<Document> measuresMongo = withDeadline(environmentMeasureVariableCollection.find(query));
         
         //SILEX:info
         // Measures are always sort by date, either ascending or descending depending on dateSortAsc parameter
@@ -190,23 +443,76 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
         // For each document, create a EnvironmentMeasure Instance and add it to the result list
         try (MongoCursor<Document> measuresCursor = measuresMongo.iterator()) {
             while (measuresCursor.hasNext()) {
-                Document measureDocument = measuresCursor.next();
-                
-                // Create and define the EnvironmentMeasure
-                EnvironmentMeasure measure = new EnvironmentMeasure();
-                measure.setVariableUri(variableUri);
-                measure.setDate(measureDocument.getDate(DB_FIELD_DATE));
-                measure.setValue(new BigDecimal(measureDocument.get(DB_FIELD_VALUE).toString()));
-                measure.setSensorUri(measureDocument.getString(DB_FIELD_SENSOR));
-                
+                RequestDeadline.check();
                 // Add the measure to the list
-                measures.add(measure);
+                measures.add(getMeasureFromDocument(measuresCursor.next()));
             }
         }
         
         return measures;
     }
     
+    /**
+     * Returns all the environmental measures corresponding to the given 
+     * parameters, sorted by date according to dateSortAsc. The measures are 
+     * read from the database while the returned iterable is consumed, in 
+     * batches of EXPORT_BATCH_SIZE documents.
+     * @return the measures iterable
+     */
+    public MongoIterable<EnvironmentMeasure> findAll() {
+        if (readsBuckets(variableUri)) {
+            return getBucketsCollection(variableUri).aggregate(prepareBucketsMeasuresPipeline(false))
+                    .allowDiskUse(true)
+                    .batchSize(EXPORT_BATCH_SIZE)
+                    .map(this::getMeasureFromDocument);
+        }
+        
+        MongoCollection<Document> environmentMeasureVariableCollection = 
+                database.getCollection(getEnvironmentCollectionFromVariable(variableUri));
+        
+        return environmentMeasureVariableCollection.find(prepareSearchQuery())
+                .sort(dateSortAsc ? Sorts.ascending(DB_FIELD_DATE) : Sorts.descending(DB_FIELD_DATE))
+                .batchSize(EXPORT_BATCH_SIZE)
+                .map(this::getMeasureFromDocument);
+    }
+    
+    /**
+     * Returns the distinct sensors of the environmental measures corresponding
+     * to the given parameters.
+     * @return the sensors URIs
+     */
+    public Set<String> findSensors() {
+        if (readsBuckets(variableUri)) {
+            Set<String> sensors = new HashSet<>();
+            getBucketsCollection(variableUri).distinct(DB_FIELD_SENSOR, prepareBucketsSearchQuery(), String.class).into(sensors);
+            sensors.remove(null);
+            return sensors;
+        }
+        
+        MongoCollection<Document> environmentMeasureVariableCollection = 
+                database.getCollection(getEnvironmentCollectionFromVariable(variableUri));
+        
+        Set<String> sensors = new HashSet<>();
+        environmentMeasureVariableCollection.distinct(DB_FIELD_SENSOR, prepareSearchQuery(), String.class).into(sensors);
+        sensors.remove(null);
+        return sensors;
+    }
+    
+    /**
+     * Creates an environmental measure from a document of the variable 
+     * collection.
+     * @param measureDocument
+     * @return the measure
+     */
+    private EnvironmentMeasure getMeasureFromDocument(Document measureDocument) {
+        EnvironmentMeasure measure = new EnvironmentMeasure();
+        measure.setVariableUri(variableUri);
+        measure.setDate(measureDocument.getDate(DB_FIELD_DATE));
+        measure.setValue(new BigDecimal(measureDocument.get(DB_FIELD_VALUE).toString()));
+        measure.setSensorUri(measureDocument.getString(DB_FIELD_SENSOR));
+        return measure;
+    }
+    
     /**
      * Checks the given list of environmental measures.
      * @param environmentMeasures
@@ -289,24 +595,79 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
     }
     
     /**
-     * Inserts the given environmental measures in the MongoDB database.
+     * Inserts the given environmental measures in the MongoDB database, in 
+     * the variables collections or in the buckets depending on the layout of 
+     * each variable.
      * @param environmentMeasures
      * @return the insertion result
      */
     private POSTResultsReturn insert(List<EnvironmentMeasure> environmentMeasures) {
-        //SILEX:information
-        //We create a collection for each variable. The environment measures are sorted by variable
-        //\SILEX:information
+        List<EnvironmentMeasure> legacyMeasures = new ArrayList<>();
+        List<EnvironmentMeasure> bucketsMeasures = new ArrayList<>();
+        Map<String, Boolean> bucketsVariables = new HashMap<>();
+        environmentMeasures.forEach((environmentMeasure) -> {
+            if (bucketsVariables.computeIfAbsent(environmentMeasure.getVariableUri(), this::writesBuckets)) {
+                bucketsMeasures.add(environmentMeasure);
+            } else {
+                legacyMeasures.add(environmentMeasure);
+            }
+        });
         
         // Initialize transaction
         MongoClient client = MongoDAO.getMongoClient();
         ClientSession session = client.startSession();
         session.startTransaction();
         
-        POSTResultsReturn result;
         List<Status> status = new ArrayList<>();
         List<String> createdResources = new ArrayList<>(); 
         
+        boolean hasError = false;
+        if (!legacyMeasures.isEmpty()) {
+            hasError = !insertInCollections(session, legacyMeasures, status, createdResources);
+        }
+        if (!hasError && !bucketsMeasures.isEmpty()) {
+            hasError = !insertInBuckets(session, bucketsMeasures, status, createdResources);
+        }
+        
+        // Increment the rollups of the measures in the same transaction
+        if (!hasError) {
+            hasError = !incrementRollups(session, environmentMeasures, status);
+        }
+        
+        // Prepare result to return
+        POSTResultsReturn result = new POSTResultsReturn(hasError);
+        result.statusList = status;
+        
+        if (!hasError) {
+            // If no errors commit transaction
+            session.commitTransaction();
+            result.setHttpStatus(Response.Status.CREATED);
+            result.createdResources = createdResources;
+        } else {
+            // If errors abort transaction
+            session.abortTransaction();
+            result.setHttpStatus(Response.Status.BAD_REQUEST);
+        }
+        
+        // Close transaction session
+        session.close();
+        return result;
+    }
+    
+    /**
+     * Inserts the given environmental measures in their variable collection.
+     * @param session transaction of the insertion
+     * @param environmentMeasures
+     * @param status the status list to complete
+     * @param createdResources the variables of the inserted measures
+     * @return true if the measures have been inserted
+     */
+    private boolean insertInCollections(ClientSession session, List<EnvironmentMeasure> environmentMeasures, 
+            List<Status> status, List<String> createdResources) {
+        //SILEX:information
+        //We create a collection for each variable. The environment measures are sorted by variable
+        //\SILEX:information
+        
         HashMap<String, List<Document>> environmentsToInsertByVariable = new HashMap<>();
         
         //1. Prepare all the documents to insert (we will do one insert by variable)
@@ -376,26 +737,359 @@ public class EnvironmentMeasureDAO extends MongoDAO<EnvironmentMeasure> {
             }
         });
         
-        //4. Prepare result to return
-        result = new POSTResultsReturn(hasError.get());
-        result.statusList = status;
+        return !hasError.get();
+    }
+    
+    /**
+     * Increments the rollups of the given measures in the transaction 
+     * inserting them.
+     * @param session
+     * @param environmentMeasures
+     * @param status the status list to complete if the rollups update fails
+     * @return true if the rollups have been updated
+     */
+    private boolean incrementRollups(ClientSession session, List<EnvironmentMeasure> environmentMeasures, List<Status> status) {
+        RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_ENVIRONMENT);
+        environmentMeasures.forEach((measure) -> {
+            rollupDAO.addMeasure(measure.getVariableUri(), measure.getDate(), measure.getSensorUri(), null, measure.getValue());
+        });
+        try {
+            rollupDAO.increment(session);
+            return true;
+        } catch (MongoException ex) {
+            LOGGER.error("Exception during rollups update", ex);
+            status.add(new Status(
+                StatusCodeMsg.UNEXPECTED_ERROR, 
+                StatusCodeMsg.ERR, 
+                StatusCodeMsg.DATA_REJECTED + " - " + ex.getMessage()
+            ));
+            return false;
+        }
+    }
+    
+    /**
+     * @param date
+     * @return the start of the bucket of the date
+     */
+    static Date getBucketStart(Date date) {
+        return new Date(date.getTime() - Math.floorMod(date.getTime(), BUCKET_SPAN));
+    }
+    
+    /**
+     * Prepares the update adding measures to their bucket. The bucket is 
+     * created if it does not exist. If one of the measures dates is already 
+     * in the bucket, the filter does not match and the creation of the bucket 
+     * fails on the unique index, so the duplicated measures are rejected.
+     * @param sensorUri
+     * @param variableUri
+     * @param bucketStart
+     * @param measures measures of the bucket
+     * @example
+     * filter : 
+     * {
+     *      "bucketStart": { "$date" : 1497513600000 },
+     *      "sensor" : "http://www.phenome-fppn.fr/diaphen/2018/s18521", 
+     *      "variable" : "http://www.phenome-fppn.fr/id/variables/v001", 
+     *      "measures.date": { "$nin": [{ "$date" : 1497516660000 }] }
+     * }
+     * update :
+     * {
+     *      "$setOnInsert": { "bucketEnd": { "$date" : 1497517200000 } },
+     *      "$push": { "measures": { "$each": [{ "date": { "$date" : 1497516660000 }, "value": 0.5 }] } },
+     *      "$inc": { "count": 1 },
+     *      "$min": { "min": 0.5 },
+     *      "$max": { "max": 0.5 }
+     * }
+     * @return the bucket update
+     */
+    private static UpdateOneModel<Document> prepareBucketUpdate(String sensorUri, String variableUri, Date bucketStart, List<EnvironmentMeasure> measures) {
+        List<Document> measuresDocuments = new ArrayList<>();
+        List<Date> dates = new ArrayList<>();
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (EnvironmentMeasure measure : measures) {
+            measuresDocuments.add(new Document(DB_FIELD_DATE, measure.getDate()).append(DB_FIELD_VALUE, measure.getValue()));
+            dates.add(measure.getDate());
+            if (measure.getValue() != null) {
+                min = min == null || measure.getValue().compareTo(min) < 0 ? measure.getValue() : min;
+                max = max == null || measure.getValue().compareTo(max) > 0 ? measure.getValue() : max;
+            }
+        }
         
-        if (!hasError.get()) {
-            // If no errors commit transaction
-            session.commitTransaction();
-            result.setHttpStatus(Response.Status.CREATED);
-            result.createdResources = createdResources;
-        } else {
-            // If errors abort transaction
-            session.abortTransaction();
+        Bson filter = Filters.and(
+                Filters.eq(DB_FIELD_BUCKET_START, bucketStart),
+                Filters.eq(DB_FIELD_SENSOR, sensorUri),
+                Filters.eq(DB_FIELD_VARIABLE, variableUri),
+                Filters.nin(DB_FIELD_MEASURES_DATE, dates));
+        
+        List<Bson> updates = new ArrayList<>();
+        updates.add(Updates.setOnInsert(DB_FIELD_BUCKET_END, new Date(bucketStart.getTime() + BUCKET_SPAN)));
+        updates.add(Updates.pushEach(DB_FIELD_MEASURES, measuresDocuments));
+        updates.add(Updates.inc(DB_FIELD_COUNT, measures.size()));
+        if (min != null) {
+            updates.add(Updates.min(DB_FIELD_MIN, min));
+            updates.add(Updates.max(DB_FIELD_MAX, max));
+        }
+        
+        return new UpdateOneModel<>(filter, Updates.combine(updates), new UpdateOptions().upsert(true));
+    }
+    
+    /**
+     * Prepares the updates of the buckets of the given measures, grouped by 
+     * variable.
+     * @param environmentMeasures
+     * @return the buckets updates by variable
+     */
+    static Map<String, List<WriteModel<Document>>> prepareBucketsUpdates(List<EnvironmentMeasure> environmentMeasures) {
+        // Measures by variable, then by sensor and bucket
+        Map<String, Map<String, List<EnvironmentMeasure>>> measuresByVariable = new LinkedHashMap<>();
+        environmentMeasures.forEach((environmentMeasure) -> {
+            String bucketKey = environmentMeasure.getSensorUri() + " " + getBucketStart(environmentMeasure.getDate()).getTime();
+            measuresByVariable
+                    .computeIfAbsent(environmentMeasure.getVariableUri(), (variable) -> new LinkedHashMap<>())
+                    .computeIfAbsent(bucketKey, (key) -> new ArrayList<>())
+                    .add(environmentMeasure);
+        });
+        
+        Map<String, List<WriteModel<Document>>> updatesByVariable = new LinkedHashMap<>();
+        measuresByVariable.forEach((variable, measuresByBucket) -> {
+            List<WriteModel<Document>> updates = new ArrayList<>();
+            measuresByBucket.values().forEach((bucketMeasures) -> {
+                EnvironmentMeasure first = bucketMeasures.get(0);
+                updates.add(prepareBucketUpdate(first.getSensorUri(), variable, getBucketStart(first.getDate()), bucketMeasures));
+            });
+            updatesByVariable.put(variable, updates);
+        });
+        return updatesByVariable;
+    }
+    
+    /**
+     * Creates the unique index of the buckets of a variable. Mongo won't 
+     * create the index if it already exists.
+     * @param variableUri
+     */
+    private void createBucketsIndex(String variableUri) {
+        getBucketsCollection(variableUri).createIndex(
+                Indexes.ascending(DB_FIELD_BUCKET_START, DB_FIELD_SENSOR, DB_FIELD_VARIABLE), 
+                new IndexOptions().unique(true));
+    }
+    
+    /**
+     * @param ex
+     * @return true if the exception is caused by a duplicated key
+     */
+    private static boolean isDuplicateKeyError(MongoException ex) {
+        if (ex instanceof MongoBulkWriteException) {
+            return ((MongoBulkWriteException) ex).getWriteErrors().stream()
+                    .anyMatch((error) -> error.getCode() == MongoDAO.DUPLICATE_KEY_ERROR_CODE);
+        }
+        return ex.getCode() == MongoDAO.DUPLICATE_KEY_ERROR_CODE;
+    }
+    
+    /**
+     * Inserts the given environmental measures in their buckets.
+     * @param session transaction of the insertion
+     * @param environmentMeasures
+     * @param status the status list to complete
+     * @param createdResources the variables of the inserted measures
+     * @return true if the measures have been inserted
+     */
+    private boolean insertInBuckets(ClientSession session, List<EnvironmentMeasure> environmentMeasures, 
+            List<Status> status, List<String> createdResources) {
+        //1. Prepare the buckets updates (we will do one bulk write by variable)
+        Map<String, List<WriteModel<Document>>> updatesByVariable = prepareBucketsUpdates(environmentMeasures);
+        
+        //2. Create the unique index of the buckets, the collections can't be created in the transaction
+        updatesByVariable.keySet().forEach(this::createBucketsIndex);
+        
+        //3. Update the buckets
+        boolean hasError = false;
+        for (Map.Entry<String, List<WriteModel<Document>>> variableUpdates : updatesByVariable.entrySet()) {
+            try {
+                getBucketsCollection(variableUpdates.getKey()).bulkWrite(session, variableUpdates.getValue());
+                status.add(new Status(
+                    StatusCodeMsg.RESOURCES_CREATED, 
+                    StatusCodeMsg.INFO, 
+                    StatusCodeMsg.DATA_INSERTED + " for the variable " + variableUpdates.getKey()
+                ));
+                createdResources.add(variableUpdates.getKey());
+            } catch (MongoException ex) {
+                hasError = true;
+                if (isDuplicateKeyError(ex)) {
+                    status.add(new Status(
+                        StatusCodeMsg.ALREADY_EXISTING_DATA, 
+                        StatusCodeMsg.ERR, 
+                        ex.getMessage()
+                    ));
+                } else {
+                    status.add(new Status(
+                        StatusCodeMsg.UNEXPECTED_ERROR, 
+                        StatusCodeMsg.ERR, 
+                        StatusCodeMsg.DATA_REJECTED + " for the measure variable: " + variableUpdates.getKey() + " - " + ex.getMessage()
+                    ));
+                }
+            }
+        }
+        
+        return !hasError;
+    }
+    
+    /**
+     * Copies the measures of a variable into its buckets. The measures are 
+     * read by date, so a bucket is complete when the next measure is in a 
+     * later bucket. The measures documents are not deleted.
+     * The measures inserted during the migration go to the buckets, and the 
+     * variable is read from its buckets once the migration ends. The measures
+     * already in their bucket are not copied again, so the migration can be
+     * run again after a failure.
+     * @param variableUri
+     * @param context job of the migration
+     * @return the migration result
+     */
+    public POSTResultsReturn migrateToBuckets(String variableUri, JobContext context) {
+        if (!BUCKETS_STORAGE) {
+            POSTResultsReturn result = new POSTResultsReturn(false);
             result.setHttpStatus(Response.Status.BAD_REQUEST);
+            result.statusList.add(new Status(StatusCodeMsg.REQUEST_ERROR, StatusCodeMsg.ERR, 
+                    "The environmentBucketsStorage option is not enabled"));
+            return result;
         }
         
-        // Close transaction session
-        session.close();
+        MongoCollection<Document> measuresCollection = database.getCollection(getEnvironmentCollectionFromVariable(variableUri));
+        createBucketsIndex(variableUri);
+        if (!readsBuckets(variableUri)) {
+            setLayout(variableUri, LAYOUT_MIGRATING);
+        }
+        
+        long total = measuresCollection.countDocuments(new BasicDBObject(DB_FIELD_VARIABLE, variableUri));
+        long readMeasures = 0;
+        long writtenMeasures = 0;
+        
+        List<EnvironmentMeasure> bucketsMeasures = new ArrayList<>();
+        Date currentBucketStart = null;
+        
+        try (MongoCursor<Document> cursor = measuresCollection
+                .find(new BasicDBObject(DB_FIELD_VARIABLE, variableUri))
+                .sort(Sorts.ascending(DB_FIELD_DATE))
+                .batchSize(EXPORT_BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document measureDocument = cursor.next();
+                EnvironmentMeasure measure = new EnvironmentMeasure();
+                measure.setVariableUri(variableUri);
+                measure.setSensorUri(measureDocument.getString(DB_FIELD_SENSOR));
+                measure.setDate(measureDocument.getDate(DB_FIELD_DATE));
+                measure.setValue(new BigDecimal(measureDocument.get(DB_FIELD_VALUE).toString()));
+                
+                Date bucketStart = getBucketStart(measure.getDate());
+                // The previous buckets are complete, they are written by batch
+                if (!bucketStart.equals(currentBucketStart) && bucketsMeasures.size() >= MIGRATION_BATCH_SIZE) {
+                    writtenMeasures += writeMigratedMeasures(variableUri, bucketsMeasures);
+                    readMeasures += bucketsMeasures.size();
+                    bucketsMeasures.clear();
+                    context.setProgress((int) Math.min(99, readMeasures * 100 / Math.max(1, total)));
+                }
+                currentBucketStart = bucketStart;
+                bucketsMeasures.add(measure);
+            }
+        }
+        if (!bucketsMeasures.isEmpty()) {
+            writtenMeasures += writeMigratedMeasures(variableUri, bucketsMeasures);
+            readMeasures += bucketsMeasures.size();
+        }
+        setLayout(variableUri, LAYOUT_BUCKETS);
+        
+        POSTResultsReturn result = new POSTResultsReturn(true);
+        result.setHttpStatus(Response.Status.OK);
+        result.statusList.add(new Status("Environment measures migrated to buckets", StatusCodeMsg.INFO, 
+                readMeasures + " measure(s) of " + variableUri + " read, " 
+                        + writtenMeasures + " measure(s) written, " 
+                        + (readMeasures - writtenMeasures) + " measure(s) already migrated"));
         return result;
     }
     
+    /**
+     * Writes the measures of a migration in their buckets. The measures 
+     * already in their bucket are skipped, the others are pushed in their 
+     * bucket, which is created if needed.
+     * @param variableUri
+     * @param measures measures of the variable
+     * @return the number of measures written
+     */
+    private long writeMigratedMeasures(String variableUri, List<EnvironmentMeasure> measures) {
+        MongoCollection<Document> bucketsCollection = getBucketsCollection(variableUri);
+        for (int attempt = 1; ; attempt++) {
+            List<EnvironmentMeasure> newMeasures = getMeasuresNotInBuckets(bucketsCollection, variableUri, measures);
+            if (newMeasures.isEmpty()) {
+                return 0;
+            }
+            
+            List<WriteModel<Document>> updates = new ArrayList<>();
+            prepareBucketsUpdates(newMeasures).values().forEach(updates::addAll);
+            try {
+                bucketsCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+                return newMeasures.size();
+            } catch (MongoBulkWriteException ex) {
+                // A measure of a bucket has been inserted in the meantime, 
+                // the measures of this bucket are merged again
+                if (!isOnlyDuplicateKeyErrors(ex) || attempt >= MIGRATION_BATCH_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+    
+    /**
+     * @param ex
+     * @return true if all the errors of the bulk write are duplicated keys
+     */
+    private static boolean isOnlyDuplicateKeyErrors(MongoBulkWriteException ex) {
+        return ex.getWriteErrors().stream()
+                .allMatch((error) -> error.getCode() == MongoDAO.DUPLICATE_KEY_ERROR_CODE);
+    }
+    
+    /**
+     * Gets the measures which are not in their bucket yet.
+     * @param bucketsCollection
+     * @param variableUri
+     * @param measures measures of the variable
+     * @return the measures missing from the buckets
+     */
+    private List<EnvironmentMeasure> getMeasuresNotInBuckets(MongoCollection<Document> bucketsCollection, 
+            String variableUri, List<EnvironmentMeasure> measures) {
+        Set<Date> bucketsStarts = new HashSet<>();
+        Set<String> sensors = new HashSet<>();
+        measures.forEach((measure) -> {
+            bucketsStarts.add(getBucketStart(measure.getDate()));
+            sensors.add(measure.getSensorUri());
+        });
+        
+        // Sensors and dates of the measures already in the buckets
+        Set<String> bucketsMeasures = new HashSet<>();
+        try (MongoCursor<Document> cursor = bucketsCollection
+                .find(Filters.and(
+                        Filters.eq(DB_FIELD_VARIABLE, variableUri),
+                        Filters.in(DB_FIELD_BUCKET_START, bucketsStarts),
+                        Filters.in(DB_FIELD_SENSOR, sensors)))
+                .projection(Projections.include(DB_FIELD_SENSOR, DB_FIELD_MEASURES_DATE))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document bucket = cursor.next();
+                for (Document bucketMeasure : (List<Document>) bucket.get(DB_FIELD_MEASURES)) {
+                    bucketsMeasures.add(bucket.getString(DB_FIELD_SENSOR) + " " + bucketMeasure.getDate(DB_FIELD_DATE).getTime());
+                }
+            }
+        }
+        
+        List<EnvironmentMeasure> newMeasures = new ArrayList<>();
+        measures.forEach((measure) -> {
+            if (!bucketsMeasures.contains(measure.getSensorUri() + " " + measure.getDate().getTime())) {
+                newMeasures.add(measure);
+            }
+        });
+        return newMeasures;
+    }
+    
     /**
      * Checks the given environmental measures and inserts them if no errors found.
      * @param environmentMeasures
@@ -42,12 +42,18 @@ import opensilex.service.model.Experiment;
 
 /**
  * Experiment DAO for RDF4J. 
+ * @update [agent] 18 Oct. 2026: get the variables and sensors of a list of experiments in one query
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class ExperimentRdf4jDAO extends Rdf4jDAO<Experiment> {
     
     final static Logger LOGGER = LoggerFactory.getLogger(ExperimentRdf4jDAO.class);
     
+    private final static String EXPERIMENT = "experiment";
+    private final static String LINK_TYPE = "linkType";
+    private final static String LINK_TYPE_VARIABLE = "variable";
+    private final static String LINK_TYPE_SENSOR = "sensor";
+    
     /**
      * Prepares the SPARQL query to return all variables measured by an experiment.
      * @param experimentUri The experiment URI which measures variables
@@ -146,6 +152,93 @@ public class ExperimentRdf4jDAO extends Rdf4jDAO<Experiment> {
         return variables;
     }
     
+    /**
+     * Prepares the SPARQL query to return the variables measured by a list of 
+     * experiments and the sensors participating in them.
+     * @param experimentsUris
+     * @return The prepared query
+     * @example
+     * SELECT DISTINCT ?experiment ?linkType ?uri ?label WHERE {
+     *      VALUES ?experiment { <http://www.phenome-fppn.fr/2018/DIA2018-1> <http://www.phenome-fppn.fr/2018/DIA2018-2> }
+     *      {
+     *          ?experiment <http://www.opensilex.org/vocabulary/oeso#measures> ?uri .
+     *          ?uri rdf:type ?rdfType .
+     *          ?rdfType rdfs:subClassOf* <http://www.opensilex.org/vocabulary/oeso#Variable> .
+     *          BIND("variable" AS ?linkType)
+     *      } UNION {
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#participatesIn> ?experiment .
+     *          ?uri rdf:type ?rdfType .
+     *          ?rdfType rdfs:subClassOf* <http://www.opensilex.org/vocabulary/oeso#SensingDevice> .
+     *          BIND("sensor" AS ?linkType)
+     *      }
+     *      ?uri rdfs:label ?label .
+     * }
+     */
+    private SPARQLQueryBuilder prepareSearchVariablesAndSensorsQuery(List<String> experimentsUris) {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + EXPERIMENT + " ?" + LINK_TYPE + " ?" + URI + " ?" + LABEL);
+        
+        StringBuilder experimentsValues = new StringBuilder();
+        experimentsUris.forEach((experimentUri) -> {
+            experimentsValues.append(" <").append(experimentUri).append(">");
+        });
+        query.appendToBody("VALUES ?" + EXPERIMENT + " {" + experimentsValues + " }\n");
+        query.appendToBody("{\n"
+                + "?" + EXPERIMENT + " <" + Oeso.RELATION_MEASURES.toString() + "> ?" + URI + " .\n"
+                + "?" + URI + " <" + Rdf.RELATION_TYPE.toString() + "> ?" + RDF_TYPE + " .\n"
+                + "?" + RDF_TYPE + " <" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">* <" + Oeso.CONCEPT_VARIABLE.toString() + "> .\n"
+                + "BIND(\"" + LINK_TYPE_VARIABLE + "\" AS ?" + LINK_TYPE + ")\n"
+                + "} UNION {\n"
+                + "?" + URI + " <" + Oeso.RELATION_PARTICIPATES_IN.toString() + "> ?" + EXPERIMENT + " .\n"
+                + "?" + URI + " <" + Rdf.RELATION_TYPE.toString() + "> ?" + RDF_TYPE + " .\n"
+                + "?" + RDF_TYPE + " <" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">* <" + Oeso.CONCEPT_SENSING_DEVICE.toString() + "> .\n"
+                + "BIND(\"" + LINK_TYPE_SENSOR + "\" AS ?" + LINK_TYPE + ")\n"
+                + "}\n");
+        query.appendTriplet("?" + URI, Rdfs.RELATION_LABEL.toString(), "?" + LABEL, null);
+        
+        LOGGER.debug(query.toString());
+        
+        return query;
+    }
+    
+    /**
+     * Sets the variables and the sensors of a list of experiments, with a 
+     * single query.
+     * @param experiments
+     */
+    public void setVariablesAndSensors(List<Experiment> experiments) {
+        if (experiments.isEmpty()) {
+            return;
+        }
+        HashMap<String, Experiment> experimentsByUri = new HashMap<>();
+        for (Experiment experiment : experiments) {
+            experiment.setVariables(new HashMap<>());
+            experiment.setSensors(new HashMap<>());
+            experimentsByUri.put(experiment.getUri(), experiment);
+        }
+        
+        SPARQLQueryBuilder query = prepareSearchVariablesAndSensorsQuery(new ArrayList<>(experimentsByUri.keySet()));
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                Experiment experiment = experimentsByUri.get(bindingSet.getValue(EXPERIMENT).stringValue());
+                if (experiment != null) {
+                    if (LINK_TYPE_VARIABLE.equals(bindingSet.getValue(LINK_TYPE).stringValue())) {
+                        experiment.getVariables().put(
+                                bindingSet.getValue(URI).stringValue(), 
+                                bindingSet.getValue(LABEL).stringValue());
+                    } else {
+                        experiment.getSensors().put(
+                                bindingSet.getValue(URI).stringValue(), 
+                                bindingSet.getValue(LABEL).stringValue());
+                    }
+                }
+            }
+        }
+    }
+    
     /**
      * Updates the list of variables linked to the given experiment.
      * /!\ Prerequisite : the information must have been checked before.
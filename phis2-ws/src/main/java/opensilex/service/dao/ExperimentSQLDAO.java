@@ -14,8 +14,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import javax.ws.rs.core.Response;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
@@ -23,6 +25,7 @@ import opensilex.service.dao.exception.DAOPersistenceException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.dao.manager.CountCache;
 import opensilex.service.dao.manager.PhisDAO;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.documentation.StatusCodeMsg;
@@ -47,12 +50,20 @@ import opensilex.service.model.Project;
  * because the experiment URI generator now use the last inserted experiment
  * number (instead of total number of experiment) to calculate a new 
  * experiment's number.
+ * @update [agent] 18 Oct. 2026: the experiments the user can see are
+ * selected in the query, and the contacts, projects, groups, variables and 
+ * sensors of a page of experiments are read with one query each.
+ * @update [agent] 18 Oct. 2026: the experiments counts are kept a 
+ * short time for the next pages.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
 
     final static Logger LOGGER = LoggerFactory.getLogger(ExperimentSQLDAO.class);
     
+    // Beginning of the keys of the experiments counts in the count cache
+    private final static String COUNT_CACHE_KEY_PREFIX = ExperimentSQLDAO.class.getSimpleName() + " ";
+    
     //Search parameters
      
     /** 
@@ -120,6 +131,14 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
      */
     public String cropSpecies;
     
+    /**
+     * Removes the cached experiments counts. To call after a write on the
+     * experiments or on the users and groups they are visible to.
+     */
+    public static void invalidateCountCache() {
+        CountCache.SEARCHES.invalidate(COUNT_CACHE_KEY_PREFIX);
+    }
+
     public ExperimentSQLDAO() {
         super();
         setTable("trial");
@@ -252,52 +271,52 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
     public ArrayList<Experiment> allPaginate() {
         ResultSet queryResult = null;
         Connection connection = null;
+        PreparedStatement preparedStatement = null;
         Statement statement = null;
         ArrayList<Experiment> experiments = new ArrayList();
         try {
             connection = dataSource.getConnection();
-            statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
             SQLQueryBuilder query = new SQLQueryBuilder();
             
             // Adds conditions in query
             query.appendFrom(table, tableAlias);
             addFilters(query);
+            //SILEX:access
+            List<String> parameters = addAccessFilter(query);
+            //\SILEX:access
             
+            query.appendOrderBy(tableAlias + ".uri", null);
             query.appendLimit(String.valueOf(pageSize));
             query.appendOffset(Integer.toString(this.getPage() * this.getPageSize()));
             
-            queryResult = statement.executeQuery(query.toString());
-            
             LOGGER.debug (query.toString());
             
-            UserDAO userDao = new UserDAO();
-            userDao.isAdmin(user);
-            boolean isAdmin = (user.getAdmin().equals("t") || user.getAdmin().equals("true"));
+            preparedStatement = connection.prepareStatement(query.toString(), ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setString(i + 1, parameters.get(i));
+            }
+            queryResult = preparedStatement.executeQuery();
 
             while (queryResult.next()) {
-                //SILEX:access
-                Experiment experiment = get(queryResult);
-                if (isAdmin || canUserSeeExperiment(user, experiment)) {
-                    experiments.add(get(queryResult));
-                }
-                //\SILEX:access
+                experiments.add(get(queryResult));
             }
             
-            //SILEX:dbjoin
-            experiments = getExperimentsContacts(experiments, statement);
-            //\SILEX:dbjoin
-            experiments = getExperimentsProjects(experiments, statement);
-            for (Experiment experiment : experiments) {
-                experiment.setGroupList(this.getExperimentGroups(experiment));
-            }
-            
-            // Gets experiments variables
-            ExperimentRdf4jDAO experimentRdf4jDAO = new ExperimentRdf4jDAO();
-            for (Experiment experiment : experiments) {
-                HashMap<String, String> variables = experimentRdf4jDAO.getVariables(experiment.getUri());
-                experiment.setVariables(variables);
-                HashMap<String, String> sensors = experimentRdf4jDAO.getSensors(experiment.getUri());
-                experiment.setSensors(sensors);
+            if (!experiments.isEmpty()) {
+                HashMap<String, Experiment> experimentsByUri = new HashMap<>();
+                for (Experiment experiment : experiments) {
+                    experimentsByUri.put(experiment.getUri(), experiment);
+                }
+                
+                statement = connection.createStatement();
+                //SILEX:dbjoin
+                getExperimentsContacts(experimentsByUri, statement);
+                //\SILEX:dbjoin
+                getExperimentsProjects(experimentsByUri, statement);
+                getExperimentsGroups(experimentsByUri, statement);
+
+                // Gets experiments variables and sensors
+                ExperimentRdf4jDAO experimentRdf4jDAO = new ExperimentRdf4jDAO();
+                experimentRdf4jDAO.setVariablesAndSensors(experiments);
             }
             
         } catch (SQLException ex) {
@@ -307,6 +326,9 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
                 if (queryResult != null) {
                     queryResult.close();
                 }
+                if (preparedStatement != null) {
+                    preparedStatement.close();
+                }
                 if (statement != null) {
                     statement.close();
                 }
@@ -322,66 +344,120 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
     
     /**
      * Gets experiments projects.
-     * @param experiments ArrayList<Experiment> list of experiments for which 
-     * the list of projects is also needed
+     * @param experimentsByUri experiments for which the list of projects is 
+     * also needed, by URI
      * @param statement Statement
-     * @return the list given in parameter with the project list for each
-     * experiment
      * @throws SQLException 
      */
-    private ArrayList<Experiment> getExperimentsProjects(ArrayList<Experiment> experiments, Statement statement) 
+    private void getExperimentsProjects(Map<String, Experiment> experimentsByUri, Statement statement) 
             throws SQLException {
-        for (Experiment experiment : experiments) {
-            //1. Get projects linked to the experiment
-            SQLQueryBuilder query = new SQLQueryBuilder();
-            query.appendSelect("tp.project_uri");
-            query.appendFrom("at_trial_project", "tp");
-            query.appendANDWhereConditionIfNeeded("trial_uri", experiment.getUri(), "=", null, "tp");
-            
-            ResultSet queryResult = statement.executeQuery(query.toString());
-            ProjectDAO projectDAO = new ProjectDAO();
+        //1. Get projects linked to the experiments
+        SQLQueryBuilder query = new SQLQueryBuilder();
+        query.appendSelect("tp.trial_uri, tp.project_uri");
+        query.appendFrom("at_trial_project", "tp");
+        query.appendINConditions("trial_uri", new ArrayList<>(experimentsByUri.keySet()), "tp");
+        
+        LOGGER.debug(query.toString());
+        
+        ArrayList<Project> projects = new ArrayList<>();
+        try (ResultSet queryResult = statement.executeQuery(query.toString())) {
             while (queryResult.next()) {
                 Project project = new Project();
                 project.setUri(queryResult.getString("project_uri"));
-                
-                //2. Get project shortname
-                project.setShortname(projectDAO.getShortnameFromURI(project.getUri()));
-                
-                experiment.addProject(project);
+                experimentsByUri.get(queryResult.getString("trial_uri")).addProject(project);
+                projects.add(project);
             }
         }
-        return experiments;
+        
+        //2. Get projects shortnames
+        if (!projects.isEmpty()) {
+            Set<String> projectsUris = new HashSet<>();
+            projects.forEach((project) -> {
+                projectsUris.add(project.getUri());
+            });
+            HashMap<String, String> shortnames = new ProjectDAO().getShortnamesFromURIs(projectsUris);
+            projects.forEach((project) -> {
+                project.setShortname(shortnames.get(project.getUri()));
+            });
+        }
     }
     
     /**
-     * Gets the contacts of an experiment.
+     * Gets the contacts of experiments.
+     * @param experimentsByUri experiments, by URI
      * @param statement Statement
-     * @param experiments ArrayList<Experiment> experiment list
-     * @return the experiment list with the contact list for each experiment
+     * @throws SQLException 
      */
-    private ArrayList<Experiment> getExperimentsContacts(ArrayList<Experiment> experiments, Statement statement) 
+    private void getExperimentsContacts(Map<String, Experiment> experimentsByUri, Statement statement) 
             throws SQLException {
-        for (Experiment experiment : experiments) {
-            SQLQueryBuilder query = new SQLQueryBuilder();
-            query.appendSelect("u.email, u.first_name, u.family_name, tu.type");
-            query.appendFrom("at_trial_users", "tu");
-            query.appendANDWhereConditionIfNeeded("trial_uri", experiment.getUri(), "=", null, "tu");
-            query.appendJoin(JoinAttributes.INNERJOIN, "users", "u", "u.email = tu.users_email");
-            
-            LOGGER.debug(query.toString());
-            
-            ResultSet queryResult = statement.executeQuery(query.toString());
+        SQLQueryBuilder query = new SQLQueryBuilder();
+        query.appendSelect("tu.trial_uri, u.email, u.first_name, u.family_name, tu.type");
+        query.appendFrom("at_trial_users", "tu");
+        query.appendINConditions("trial_uri", new ArrayList<>(experimentsByUri.keySet()), "tu");
+        query.appendJoin(JoinAttributes.INNERJOIN, "users", "u", "u.email = tu.users_email");
+
+        LOGGER.debug(query.toString());
+
+        try (ResultSet queryResult = statement.executeQuery(query.toString())) {
             while (queryResult.next()) {
                 ContactPostgreSQL contact = new ContactPostgreSQL();
                 contact.setEmail(queryResult.getString("email"));
                 contact.setFirstName(queryResult.getString("first_name"));
                 contact.setFamilyName(queryResult.getString("family_name"));
                 contact.setType(queryResult.getString("type"));
-                experiment.addContact(contact);
+                experimentsByUri.get(queryResult.getString("trial_uri")).addContact(contact);
             }
         }
+    }
+    
+    /**
+     * Gets the groups having access to experiments.
+     * @param experimentsByUri experiments, by URI
+     * @param statement Statement
+     * @throws SQLException 
+     */
+    private void getExperimentsGroups(Map<String, Experiment> experimentsByUri, Statement statement) 
+            throws SQLException {
+        experimentsByUri.values().forEach((experiment) -> {
+            experiment.setGroupList(new ArrayList<>());
+        });
         
-        return experiments;
+        SQLQueryBuilder query = new SQLQueryBuilder();
+        query.appendSelect("gt.trial_uri, gp.uri, gp.level, gp.name");
+        query.appendFrom("at_group_trial", "gt");
+        query.appendINConditions("trial_uri", new ArrayList<>(experimentsByUri.keySet()), "gt");
+        query.appendJoin(JoinAttributes.INNERJOIN, "group", "gp", "gt.group_uri = gp.uri");
+        
+        LOGGER.debug(query.toString());
+        
+        try (ResultSet queryResult = statement.executeQuery(query.toString())) {
+            while (queryResult.next()) {
+                Group group = new Group(queryResult.getString("uri"));
+                group.setLevel(queryResult.getString("level"));
+                group.setName(queryResult.getString("name"));
+                experimentsByUri.get(queryResult.getString("trial_uri")).addGroup(group);
+            }
+        }
+    }
+    
+    /**
+     * Restricts the experiments to those the user can see: the experiments 
+     * without group (public) and the experiments of the user's groups. 
+     * Nothing is added for an administrator.
+     * @param query 
+     * @return the parameters of the filter, to bind in order
+     */
+    private List<String> addAccessFilter(SQLQueryBuilder query) {
+        List<String> parameters = new ArrayList<>();
+        if (user == null || new UserDAO().isAdmin(user)) {
+            return parameters;
+        }
+        query.appendANDCondition("(NOT EXISTS (SELECT 1 FROM at_group_trial AS agt WHERE agt.trial_uri = " + tableAlias + ".uri)"
+                + " OR EXISTS (SELECT 1 FROM at_group_trial AS agt"
+                + " INNER JOIN at_group_users AS agu ON agu.group_uri = agt.group_uri"
+                + " WHERE agt.trial_uri = " + tableAlias + ".uri AND agu.users_email = ?))");
+        parameters.add(user.getEmail());
+        return parameters;
     }
     
     /**
@@ -418,39 +494,47 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
         }
         
         addFilters(query);
+        List<String> parameters = addAccessFilter(query);
 
-        Connection connection = null;
-        ResultSet resultSet = null;
-        Statement statement = null;
-
-        try {
-            connection = dataSource.getConnection();
-            statement = connection.createStatement();
-            resultSet = statement.executeQuery(query.toString());
+        // The query and its parameters, with the user of the access filter, 
+        // are the key of the count kept for the next pages
+        return CountCache.SEARCHES.get(COUNT_CACHE_KEY_PREFIX + query.toString() + " " + parameters, () -> {
+            Connection connection = null;
+            ResultSet resultSet = null;
+            PreparedStatement statement = null;
 
-            if (resultSet.next()) {
-                return resultSet.getInt(1);
-            } else {
-                return 0;
-            }
-        } catch (SQLException e) {
-            LOGGER.error(e.getMessage(), e);
-            return null;
-        } finally {
             try {
-                if (statement != null) {
-                    statement.close();
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(query.toString());
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setString(i + 1, parameters.get(i));
                 }
-                if (resultSet != null) {
-                    resultSet.close();
+                resultSet = statement.executeQuery();
+
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                } else {
+                    return 0;
                 }
-                if (connection != null) {
-                    connection.close();
+            } catch (SQLException e) {
+                LOGGER.error(e.getMessage(), e);
+                return null;
+            } finally {
+                try {
+                    if (statement != null) {
+                        statement.close();
+                    }
+                    if (resultSet != null) {
+                        resultSet.close();
+                    }
+                    if (connection != null) {
+                        connection.close();
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.error(ex.getMessage(), ex);
                 }
-            } catch (SQLException ex) {
-                LOGGER.error(ex.getMessage(), ex);
             }
-        }
+        });
     }
 
     @Override
@@ -596,6 +680,7 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
                 }
                 
                 con.commit(); //Envoi des données ds bd
+                invalidateCountCache();
                 
                 // WARNING, checking to re-check
                 // If data inserted and existing
@@ -676,6 +761,7 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
             LOGGER.error(e.getMessage(), e);
             postResult = new POSTResultsReturn(false, Response.Status.INTERNAL_SERVER_ERROR, e.toString());
         }
+        AcquisitionSessionDAO.invalidateFileMetadataCache();
         
         return postResult;
     }
@@ -953,6 +1039,7 @@ public class ExperimentSQLDAO extends PhisDAO<Experiment, ExperimentDTO> {
                 }
                 
                 connection.commit(); // Send data to storage
+                invalidateCountCache();
                 
                 insertStatusList.add(new Status("Data updated", StatusCodeMsg.INFO, "experiments updated"));
                 results = new POSTResultsReturn(true, true, allExperimentsAlreadyInDB);
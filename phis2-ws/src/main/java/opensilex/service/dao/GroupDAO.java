@@ -157,6 +157,7 @@ public class GroupDAO extends PhisDAO<Group, GroupDTO> {
                     insertPreparedStatementGroupUser.executeBatch();
                 }
                 connection.commit();
+                ExperimentSQLDAO.invalidateCountCache();
 
                 /**
                  * //SILEX:todo
@@ -518,6 +519,7 @@ public class GroupDAO extends PhisDAO<Group, GroupDTO> {
                 }
 
                 connection.commit();
+                ExperimentSQLDAO.invalidateCountCache();
 
                 insertStatusList.add(new Status("Data inserted", StatusCodeMsg.INFO, "groups updated"));
                 results = new POSTResultsReturn(true, true, allGroupsAlreadyInDB);
@@ -13,6 +13,13 @@ import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,6 +27,9 @@ import java.time.Year;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import javax.ws.rs.core.Response;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
@@ -35,6 +45,7 @@ import opensilex.service.ontology.Contexts;
 import opensilex.service.resource.dto.ConcernedItemDTO;
 import opensilex.service.resource.dto.ImageMetadataDTO;
 import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.utils.UriGenerator;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.model.ConcernedItem;
 import opensilex.service.model.ImageMetadata;
@@ -44,6 +55,7 @@ import opensilex.service.model.ImageMetadata;
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  * @update [Andréas Garcia] Jan. 2019: modify "concern(s)" occurences into 
  * "concernedItem(s)" in Java variables and MongoDB fields
+ * @update [agent] 18 Oct. 2026: indexes, atomic image numbers and batched inserts
  */
 public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
 
@@ -74,6 +86,17 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
     
     private final MongoCollection<Document> imagesCollection = database.getCollection(PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "images"));
     
+    private final MongoCollection<Document> countersCollection = database.getCollection(PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "counters"));
+    
+    // Number of images metadata sent at once to MongoDB
+    private final static int INSERT_BATCH_SIZE = 1000;
+    
+    // True when the indexes of the images collection have been created
+    private final static AtomicBoolean INDEXES_CREATED = new AtomicBoolean(false);
+    
+    // Years for which the images counter has been initialized
+    private final static Set<String> INITIALIZED_COUNTERS = ConcurrentHashMap.newKeySet();
+    
     //Represents the mongodb documents label for the image uri
     final static String DB_FIELDS_IMAGE_URI = "uri";
     //Represents the mongodb documents label for the concerned items uris
@@ -86,6 +109,27 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
     final static String DB_FIELDS_SHOOTING_CONFIGURATION = "shootingConfiguration";
         //Represents the mongodb documents label for the storage
     final static String DB_FIELDS_STORAGE = "storage";
+    //Represents the mongodb documents label for the value of a counter
+    final static String DB_FIELDS_COUNTER_VALUE = "value";
+    //Prefix of the images counters documents ids
+    final static String IMAGES_COUNTER_PREFIX = "images-";
+    
+    /**
+     * Creates the indexes used by the images searches and the URI lookups.
+     * Done once, Mongo won't create an index if it already exists.
+     */
+    public void createIndexesIfNeeded() {
+        if (INDEXES_CREATED.compareAndSet(false, true)) {
+            String shootingDate = DB_FIELDS_SHOOTING_CONFIGURATION + "." + ShootingConfigurationDAO.DB_FIELDS_DATE;
+            String shootingSensor = DB_FIELDS_SHOOTING_CONFIGURATION + "." + ShootingConfigurationDAO.DB_FIELDS_SENSOR;
+            String concernedItemsUris = DB_FIELDS_CONCERNED_ITEMS + "." + DB_FIELDS_CONCERNED_ITEM_URI;
+            
+            imagesCollection.createIndex(Indexes.ascending(DB_FIELDS_IMAGE_URI));
+            imagesCollection.createIndex(Indexes.ascending(shootingSensor, shootingDate));
+            imagesCollection.createIndex(Indexes.ascending(concernedItemsUris, shootingDate));
+            imagesCollection.createIndex(Indexes.ascending(shootingDate));
+        }
+    }
 
     
     /**
@@ -173,6 +217,7 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
     }
 
     public ArrayList<ImageMetadata> allPaginate() {
+        createIndexesIfNeeded();
         BasicDBObject searchQuery = prepareSearchQuery();
        
         FindIterable<Document> imagesMetadataMongo = imagesCollection.find(searchQuery);
@@ -251,14 +296,29 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
     }
     
     /**
-     * Prepares the query of getting the number of images by year.
-     * @return query to get the number of images by year. 
+     * Escapes the regular expression metacharacters of a text. Unlike 
+     * Pattern.quote, the result is a plain prefix which MongoDB can match 
+     * with the index.
+     * @param text
+     * @return the escaped text
+     * @example http://www.phenome-fppn.fr/diaphen/2017/i17 
+     *          -> http://www\.phenome-fppn\.fr/diaphen/2017/i17
+     */
+    private static String escapeRegex(String text) {
+        return text.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+    }
+    
+    /**
+     * Prepares the query of getting the images of a year. The regex is 
+     * anchored so that the URI index can be used.
+     * @param year
+     * @return query to get the images of a year. 
      *         Query example : 
-     *         {uri: {$regex: "http://www.phenome-fppn.fr/diaphen/2017*"}}    
+     *         {uri: {$regex: "^http://www\\.phenome-fppn\\.fr/diaphen/2017/i17"}}    
      */
-    private Document prepareGetLastId() {        
+    private Document prepareGetLastId(String year) {        
           Document regQuery = new Document();
-          String regex = Contexts.PLATFORM.toString() + Year.now().toString() + "*";
+          String regex = "^" + escapeRegex(Contexts.PLATFORM.toString() + year + "/" + UriGenerator.URI_CODE_IMAGE + year.substring(2, 4));
           regQuery.append("$regex", regex);
           
           Document findQuery = new Document();
@@ -270,32 +330,65 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
     }
     
     /**
-     * Gets the number of images in the database for the current year.
-     * @return the number of images in the database for the current year.
+     * Gets the number of the last image registered in the database for a year.
+     * @param year
+     * @return the number of the last image of the year, 0 if no image.
      */
-    public long getImagesCountOfCurrentYear() {
-        Document query = prepareGetLastId();
+    private long getLastImageNumberOfYear(String year) {
+        createIndexesIfNeeded();
+        Document query = prepareGetLastId(year);
         
         FindIterable<Document> cursor = imagesCollection
                 .find(query)
+                .projection(Projections.include(DB_FIELDS_IMAGE_URI))
                 .sort(new BasicDBObject(DB_FIELDS_IMAGE_URI, -1))
                 .limit(1);
         
-        String lastUri = "";
-        MongoCursor<Document> imagesMetadataCursor = cursor.iterator();
-        while (imagesMetadataCursor.hasNext()) {
-            Document imageMetadataDocument = imagesMetadataCursor.next();
-            lastUri = imageMetadataDocument.getString(DB_FIELDS_IMAGE_URI);
-        }
-        if (lastUri.equals("")) {
+        Document lastImage = cursor.first();
+        if (lastImage == null) {
             return 0;
         } else {
-            String[] splitString = lastUri.split("/i" + Year.now().toString().substring(2, 4));
+            String[] splitString = lastImage.getString(DB_FIELDS_IMAGE_URI).split("/" + UriGenerator.URI_CODE_IMAGE + year.substring(2, 4));
 
-            return Integer.parseInt(splitString[splitString.length - 1]);
+            return Long.parseLong(splitString[splitString.length - 1]);
         }
     }
     
+    /**
+     * Gets the number of images in the database for the current year.
+     * @return the number of images in the database for the current year.
+     */
+    public long getImagesCountOfCurrentYear() {
+        return getLastImageNumberOfYear(Year.now().toString());
+    }
+    
+    /**
+     * Reserves a new image number for a year, using an atomic counter document
+     * ({_id: "images-2019", value: 42}). The counter is initialized from the 
+     * last image URI of the year the first time it is used.
+     * @param year
+     * @return the reserved image number, unique for the year.
+     */
+    public long getNextImageNumber(String year) {
+        String counterId = IMAGES_COUNTER_PREFIX + year;
+        
+        if (!INITIALIZED_COUNTERS.contains(year)) {
+            // $max keeps the highest value, so concurrent initializations are safe
+            countersCollection.updateOne(
+                    Filters.eq(DB_FIELD_ID, counterId), 
+                    Updates.max(DB_FIELDS_COUNTER_VALUE, getLastImageNumberOfYear(year)), 
+                    new UpdateOptions().upsert(true));
+            INITIALIZED_COUNTERS.add(year);
+        }
+        
+        Document counter = countersCollection.findOneAndUpdate(
+                Filters.eq(DB_FIELD_ID, counterId), 
+                Updates.inc(DB_FIELDS_COUNTER_VALUE, 1L), 
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        
+        return ((Number) counter.get(DB_FIELDS_COUNTER_VALUE)).longValue();
+    }
+    
     /**
      * Inserts the images metadata in MongoDB.
      * @param imagesMetadata
@@ -311,7 +404,9 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
        //SILEX:todo
        // transactions
        //\SILEX:todo
+       createIndexesIfNeeded();
        SimpleDateFormat df = new SimpleDateFormat(DateFormats.YMDHMSZ_FORMAT);
+       List<Document> metadataToInsert = new ArrayList<>();
        for (ImageMetadata imageMetadata : imagesMetadata) {
            Document metadata = new Document();
            metadata.append(DB_FIELDS_IMAGE_URI, imageMetadata.getUri());
@@ -345,8 +440,16 @@ public class ImageMetadataMongoDAO extends MongoDAO<ImageMetadata> {
            metadata.append(DB_FIELDS_STORAGE, storage);
            
            LOGGER.debug("MongoDB insert : " + metadata.toJson());
-           imagesCollection.insertOne(metadata);
+           metadataToInsert.add(metadata);
            createdResourcesUris.add(imageMetadata.getUri());
+           
+           if (metadataToInsert.size() == INSERT_BATCH_SIZE) {
+               imagesCollection.insertMany(metadataToInsert);
+               metadataToInsert.clear();
+           }
+       }
+       if (!metadataToInsert.isEmpty()) {
+           imagesCollection.insertMany(metadataToInsert);
        }
        
        insertStatus.add(new Status(StatusCodeMsg.RESOURCES_CREATED, StatusCodeMsg.INFO, StatusCodeMsg.DATA_INSERTED));;
@@ -0,0 +1,337 @@
+//******************************************************************************
+//                                 JobDAO.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.configuration.JobStatus;
+import opensilex.service.dao.manager.MongoDAO;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.model.Job;
+import opensilex.service.view.brapi.Status;
+import opensilex.service.view.brapi.StatusException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous jobs DAO.
+ * The jobs are persisted in MongoDB so that their state and result survive the
+ * request which submitted them.
+ * @author agent <agent@local>
+ */
+public class JobDAO extends MongoDAO<Job> {
+
+    final static Logger LOGGER = LoggerFactory.getLogger(JobDAO.class);
+
+    // MongoDB fields labels
+    private final static String DB_FIELD_TYPE = "type";
+    private final static String DB_FIELD_OWNER = "owner";
+    private final static String DB_FIELD_NODE = "node";
+    private final static String DB_FIELD_STATUS = "status";
+    private final static String DB_FIELD_PROGRESS = "progress";
+    private final static String DB_FIELD_CREATION_DATE = "creationDate";
+    private final static String DB_FIELD_START_DATE = "startDate";
+    private final static String DB_FIELD_END_DATE = "endDate";
+    private final static String DB_FIELD_RESULT_HTTP_STATUS = "resultHttpStatus";
+    private final static String DB_FIELD_RESULT_STATUS = "resultStatus";
+    private final static String DB_FIELD_CREATED_RESOURCES = "createdResources";
+    private final static String DB_FIELD_MESSAGE = "message";
+    private final static String DB_FIELD_EXCEPTION_TYPE = "type";
+    private final static String DB_FIELD_EXCEPTION_DETAILS = "details";
+
+    private final MongoCollection<Document> jobsCollection = database.getCollection(
+            PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "jobs"));
+
+    /**
+     * Owner of the searched jobs.
+     */
+    public String owner;
+
+    /**
+     * Web service node running the created jobs.
+     */
+    public String node;
+
+    /**
+     * Creates the jobs collection indexes.
+     * Mongo won't create an index if it already exists.
+     */
+    public void createIndexes() {
+        jobsCollection.createIndex(Indexes.compoundIndex(
+                Indexes.ascending(DB_FIELD_OWNER),
+                Indexes.descending(DB_FIELD_CREATION_DATE)));
+        jobsCollection.createIndex(Indexes.compoundIndex(
+                Indexes.ascending(DB_FIELD_NODE),
+                Indexes.ascending(DB_FIELD_STATUS)));
+    }
+
+    /**
+     * Searches jobs by owner.
+     * @return the search query
+     * @example
+     * { "owner" : "admin@opensilex.org" }
+     */
+    @Override
+    protected BasicDBObject prepareSearchQuery() {
+        BasicDBObject query = new BasicDBObject();
+        if (owner != null) {
+            query.append(DB_FIELD_OWNER, owner);
+        }
+        LOGGER.debug(getTraceabilityLogs() + " query : " + query.toString());
+        return query;
+    }
+
+    /**
+     * Inserts a new job. The generated identifier is set in the given job.
+     * @param job
+     * @param node web service node running the job
+     * @return the job inserted
+     */
+    public Job insert(Job job, String node) {
+        Document jobDocument = new Document();
+        jobDocument.append(DB_FIELD_TYPE, job.getType());
+        jobDocument.append(DB_FIELD_OWNER, job.getOwner());
+        jobDocument.append(DB_FIELD_NODE, node);
+        jobDocument.append(DB_FIELD_STATUS, job.getStatus());
+        jobDocument.append(DB_FIELD_PROGRESS, job.getProgress());
+        jobDocument.append(DB_FIELD_CREATION_DATE, job.getCreationDate());
+
+        LOGGER.debug("MongoDB insert : " + jobDocument.toJson());
+        jobsCollection.insertOne(jobDocument);
+        job.setId(jobDocument.getObjectId(DB_FIELD_ID).toHexString());
+        return job;
+    }
+
+    /**
+     * Updates the progress of a job.
+     * @param jobId
+     * @param progress
+     */
+    public void updateProgress(String jobId, int progress) {
+        jobsCollection.updateOne(
+                Filters.eq(DB_FIELD_ID, new ObjectId(jobId)),
+                Updates.set(DB_FIELD_PROGRESS, progress));
+    }
+
+    /**
+     * Updates the state of a job (status, progress, dates and result).
+     * @param job
+     */
+    public void updateState(Job job) {
+        List<Document> resultStatus = new ArrayList<>();
+        if (job.getResultStatus() != null) {
+            job.getResultStatus().forEach((status) -> {
+                resultStatus.add(statusToDocument(status));
+            });
+        }
+
+        jobsCollection.updateOne(
+                Filters.eq(DB_FIELD_ID, new ObjectId(job.getId())),
+                Updates.combine(
+                        Updates.set(DB_FIELD_STATUS, job.getStatus()),
+                        Updates.set(DB_FIELD_PROGRESS, job.getProgress()),
+                        Updates.set(DB_FIELD_START_DATE, job.getStartDate()),
+                        Updates.set(DB_FIELD_END_DATE, job.getEndDate()),
+                        Updates.set(DB_FIELD_RESULT_HTTP_STATUS, job.getResultHttpStatus()),
+                        Updates.set(DB_FIELD_RESULT_STATUS, resultStatus),
+                        Updates.set(DB_FIELD_CREATED_RESOURCES, job.getCreatedResources())));
+    }
+
+    /**
+     * Marks as failed the jobs of a node which were pending or running when
+     * the node stopped. Their worker does not exist anymore. The jobs of the
+     * other nodes are not updated.
+     * @param node web service node which has been restarted
+     * @return the number of jobs updated
+     */
+    public long failUnfinishedJobs(String node) {
+        List<Document> resultStatus = new ArrayList<>();
+        resultStatus.add(statusToDocument(
+                new Status(StatusCodeMsg.UNEXPECTED_ERROR, StatusCodeMsg.ERR, "Job interrupted by a web service restart")));
+
+        return jobsCollection.updateMany(
+                Filters.and(
+                        Filters.eq(DB_FIELD_NODE, node),
+                        Filters.in(DB_FIELD_STATUS, Arrays.asList(JobStatus.PENDING.toString(), JobStatus.RUNNING.toString()))),
+                Updates.combine(
+                        Updates.set(DB_FIELD_STATUS, JobStatus.FAILED.toString()),
+                        Updates.set(DB_FIELD_END_DATE, new Date()),
+                        Updates.set(DB_FIELD_RESULT_STATUS, resultStatus)))
+                .getModifiedCount();
+    }
+
+    /**
+     * Gets the jobs corresponding to the search query, most recent first.
+     * @return the jobs found
+     */
+    public ArrayList<Job> allPaginate() {
+        FindIterable<Document> jobsMongo = jobsCollection
+                .find(prepareSearchQuery())
+                .sort(Sorts.descending(DB_FIELD_CREATION_DATE))
+                .skip(getPage() * getPageSize())
+                .limit(getPageSize());
+
+        ArrayList<Job> jobs = new ArrayList<>();
+        try (MongoCursor<Document> jobsCursor = jobsMongo.iterator()) {
+            while (jobsCursor.hasNext()) {
+                jobs.add(documentToJob(jobsCursor.next()));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Counts the jobs corresponding to the search query.
+     * @return the number of jobs
+     */
+    public int count() {
+        return (int) jobsCollection.countDocuments(prepareSearchQuery());
+    }
+
+    /**
+     * Gets a job from its identifier.
+     * @param id
+     * @return the job, null if it does not exist.
+     */
+    @Override
+    public Job findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return null;
+        }
+        Document jobDocument = jobsCollection.find(Filters.eq(DB_FIELD_ID, new ObjectId(id))).first();
+        if (jobDocument == null) {
+            return null;
+        }
+        return documentToJob(jobDocument);
+    }
+
+    /**
+     * Transforms a status into a MongoDB document.
+     * @param status
+     * @return the document
+     */
+    private Document statusToDocument(Status status) {
+        Document statusDocument = new Document();
+        statusDocument.append(DB_FIELD_MESSAGE, status.message);
+        if (status.exception != null) {
+            statusDocument.append(DB_FIELD_EXCEPTION_TYPE, status.exception.type);
+            statusDocument.append(DB_FIELD_EXCEPTION_DETAILS, status.exception.details);
+        }
+        return statusDocument;
+    }
+
+    /**
+     * Transforms a MongoDB document into a job.
+     * @param jobDocument
+     * @return the job
+     */
+    private Job documentToJob(Document jobDocument) {
+        Job job = new Job();
+        job.setId(jobDocument.getObjectId(DB_FIELD_ID).toHexString());
+        job.setType(jobDocument.getString(DB_FIELD_TYPE));
+        job.setOwner(jobDocument.getString(DB_FIELD_OWNER));
+        job.setStatus(jobDocument.getString(DB_FIELD_STATUS));
+        job.setProgress(jobDocument.getInteger(DB_FIELD_PROGRESS));
+        job.setCreationDate(jobDocument.getDate(DB_FIELD_CREATION_DATE));
+        job.setStartDate(jobDocument.getDate(DB_FIELD_START_DATE));
+        job.setEndDate(jobDocument.getDate(DB_FIELD_END_DATE));
+        job.setResultHttpStatus(jobDocument.getInteger(DB_FIELD_RESULT_HTTP_STATUS));
+
+        List<Document> resultStatus = (List<Document>) jobDocument.get(DB_FIELD_RESULT_STATUS);
+        if (resultStatus != null) {
+            resultStatus.forEach((statusDocument) -> {
+                Status status = new Status();
+                status.message = statusDocument.getString(DB_FIELD_MESSAGE);
+                if (statusDocument.getString(DB_FIELD_EXCEPTION_TYPE) != null) {
+                    status.exception = new StatusException(
+                            statusDocument.getString(DB_FIELD_EXCEPTION_TYPE),
+                            statusDocument.getString(DB_FIELD_EXCEPTION_DETAILS));
+                }
+                job.getResultStatus().add(status);
+            });
+        }
+
+        List<String> createdResources = (List<String>) jobDocument.get(DB_FIELD_CREATED_RESOURCES);
+        if (createdResources != null) {
+            job.setCreatedResources(createdResources);
+        }
+        return job;
+    }
+
+    /**
+     * Inserts jobs run by the node of this DAO.
+     * @param jobs
+     * @return the jobs inserted, with their identifiers
+     * @see #insert(opensilex.service.model.Job, java.lang.String) 
+     */
+    @Override
+    public List<Job> create(List<Job> jobs) {
+        jobs.forEach((job) -> {
+            insert(job, node);
+        });
+        return jobs;
+    }
+
+    /**
+     * Deletes jobs from their identifiers.
+     * @param jobs
+     */
+    @Override
+    public void delete(List<Job> jobs) {
+        List<ObjectId> ids = new ArrayList<>();
+        jobs.forEach((job) -> {
+            ids.add(new ObjectId(job.getId()));
+        });
+        jobsCollection.deleteMany(Filters.in(DB_FIELD_ID, ids));
+    }
+
+    /**
+     * Updates the state of jobs.
+     * @param jobs
+     * @return the jobs updated
+     * @see #updateState(opensilex.service.model.Job) 
+     */
+    @Override
+    public List<Job> update(List<Job> jobs) {
+        jobs.forEach((job) -> {
+            updateState(job);
+        });
+        return jobs;
+    }
+
+    /**
+     * Gets a job from the identifier of the given job.
+     * @param job
+     * @return the job, null if it does not exist.
+     */
+    @Override
+    public Job find(Job job) {
+        return findById(job.getId());
+    }
+
+    /**
+     * The jobs are built by the jobs manager, there is no data to check.
+     * @param jobs
+     */
+    @Override
+    public void validate(List<Job> jobs) {
+    }
+}
@@ -7,20 +7,24 @@
 //******************************************************************************
 package opensilex.service.dao;
 
-import java.io.BufferedWriter;
+import com.google.gson.stream.JsonWriter;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.logging.Level;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.slf4j.Logger;
@@ -33,12 +37,15 @@ import opensilex.service.ontology.Oeso;
 import opensilex.service.ontology.Rdfs;
 import opensilex.service.resource.dto.LayerDTO;
 import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.utils.ResourcesUtils;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.model.ScientificObject;
 import opensilex.service.model.Property;
 
 /**
  * Layer DAO.
+ * @update [agent] 18 Oct. 2026: stream the geometries to the layer file and 
+ * generate it again only when its scientific objects change.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class LayerDAO extends DAO<LayerDTO>{
@@ -54,26 +61,56 @@ public class LayerDAO extends DAO<LayerDTO>{
     
     private static final String LAYER_FILE_SERVER_DIRECTORY = PropertiesFileManager.getConfigFileProperty("service", "layerFileServerDirectory");
     private static final String LAYER_FILE_SERVER_ADDRESS = PropertiesFileManager.getConfigFileProperty("service", "layerFileServerAddress");
+    
+    private static final HashMap<String, String> TYPES_BY_RELATION_OR_CONCEPT = getTypesByURIRelationOrConcept();
+    
+    // Content versions, incremented when scientific objects or geometries change.
+    // The experiments layers only depend on their experiment version, the other 
+    // layers on the global version.
+    private static final AtomicLong GLOBAL_CONTENT_VERSION = new AtomicLong();
+    private static final Map<String, Long> EXPERIMENTS_CONTENT_VERSIONS = new ConcurrentHashMap<>();
+    
+    // Version of the content used to generate each layer file (key: file path)
+    private static final Map<String, String> GENERATED_LAYERS_VERSIONS = new ConcurrentHashMap<>();
+    // Locks to avoid generating the same layer file concurrently (key: file path)
+    private static final Map<String, Object> GENERATION_LOCKS = new ConcurrentHashMap<>();
+    
+    /**
+     * Marks the layers containing the scientific objects of an experiment as 
+     * outdated. They will be generated again on the next request.
+     * @param experimentURI the experiment of the updated scientific objects, 
+     *                      may be null.
+     */
+    public static void invalidateLayers(String experimentURI) {
+        GLOBAL_CONTENT_VERSION.incrementAndGet();
+        if (experimentURI != null) {
+            EXPERIMENTS_CONTENT_VERSIONS.merge(experimentURI, 1L, Long::sum);
+        }
+    }
+    
+    /**
+     * @param layerDTO
+     * @return the version of the content of the layer, including the depth 
+     *         since the file path does not depend on it.
+     */
+    private static String getContentVersion(LayerDTO layerDTO) {
+        long version;
+        if (layerDTO.getObjectType().equals(Oeso.CONCEPT_EXPERIMENT.toString())) {
+            version = EXPERIMENTS_CONTENT_VERSIONS.getOrDefault(layerDTO.getObjectUri(), 0L);
+        } else {
+            version = GLOBAL_CONTENT_VERSION.get();
+        }
+        return ResourcesUtils.getStringBooleanValue(layerDTO.getDepth()) + "-" + version;
+    }
      
     /**
-     * Searches and updates children.
-     * @throws java.sql.SQLException
+     * Searches the children of the layer object. 
+     * The geometries are read while writing the layer file.
      * @param layerDTO 
      */
-      public void searchAndUpdateChildren(LayerDTO layerDTO) throws SQLException {
-        ScientificObjectRdf4jDAO agronomicalObjectDao = new ScientificObjectRdf4jDAO();
-        ScientificObjectSQLDAO agronomicalObject = new ScientificObjectSQLDAO();
-        
-        HashMap<String, ScientificObject> scientificObjectChildren = agronomicalObjectDao.searchChildren(layerDTO);
-        
-        ArrayList<String> childrenURIs = new ArrayList<>(scientificObjectChildren.keySet());
-        HashMap<String,String> childrenAgronomicalObjectsGeometries = agronomicalObject.getGeometries(childrenURIs);
-        
-        scientificObjectChildren.entrySet().forEach((child) -> {
-            ScientificObject ao = child.getValue();
-            ao.setGeometry(childrenAgronomicalObjectsGeometries.get(child.getKey()));
-            children.put(child.getKey(), ao);
-        });
+    private void searchChildren(LayerDTO layerDTO) {
+        ScientificObjectRdf4jDAO scientificObjectDao = new ScientificObjectRdf4jDAO();
+        children.putAll(scientificObjectDao.searchChildren(layerDTO));
     }
     
     /**
@@ -98,7 +135,7 @@ public class LayerDAO extends DAO<LayerDTO>{
      * Gets types by URI, relation or concept.
      * @return a hash map with the properties and their type.
      */
-    private HashMap<String, String> getTypesByURIRelationOrConcept() {
+    private static HashMap<String, String> getTypesByURIRelationOrConcept() {
         HashMap<String, String> typesByRelationOrConcept = new HashMap<>();
         typesByRelationOrConcept.put(Oeso.CONCEPT_VARIETY.toString(), "variety");
         typesByRelationOrConcept.put(Oeso.CONCEPT_GENOTYPE.toString(), "genotype");
@@ -113,8 +150,85 @@ public class LayerDAO extends DAO<LayerDTO>{
         
         return typesByRelationOrConcept;
     }
+    
+    /**
+     * Writes a GeoJSON feature for a scientific object.
+     * @param writer
+     * @param scientificObject
+     * @param geometry the GeoJSON geometry, may be null
+     * @throws IOException 
+     */
+    private void writeFeature(JsonWriter writer, ScientificObject scientificObject, String geometry) throws IOException {
+        writer.beginObject();
+        writer.name("type").value("Feature");
+        writer.name("geometry");
+        if (geometry == null) {
+            writer.nullValue();
+        } else {
+            // Already serialized by PostGIS
+            writer.jsonValue(geometry);
+        }
+        writer.name("properties");
+        writer.beginObject();
+        writer.name("uri").value(scientificObject.getUri());
+        //SILEX:conception
+        // A more generic way could be done (in URINamespaces, a HashMap with corespondancies URI type/relation --> property type ?)
+        // Add properties corresponding to the AO (vartiety, repetition, ...)
+        for (Property property : scientificObject.getProperties()) {
+            // We deduct the name of the property from the type or relation of the concept
+            if (property.getRdfType() != null) {
+                writer.name(String.valueOf(TYPES_BY_RELATION_OR_CONCEPT.get(property.getRdfType())));
+            } else {
+                writer.name(String.valueOf(TYPES_BY_RELATION_OR_CONCEPT.get(property.getRelation())));
+            }
+            writer.value(property.getValue());
+        }
+        //\SILEX:conception
+        writer.endObject();
+        writer.endObject();
+    }
+    
+    /**
+     * Writes the GeoJSON layer in a file. The geometries are streamed from the 
+     * database to the file.
+     * @param layerFile
+     * @throws SQLException
+     * @throws IOException 
+     */
+    private void writeLayerFile(java.nio.file.Path layerFile) throws SQLException, IOException {
+        ScientificObjectSQLDAO scientificObjectSQLDAO = new ScientificObjectSQLDAO();
+        Set<String> writtenChildren = new HashSet<>();
+        
+        try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(layerFile))) {
+            writer.beginObject();
+            writer.name("type").value("FeatureCollection");
+            writer.name("features");
+            writer.beginArray();
+            
+            // Children with a geometry
+            scientificObjectSQLDAO.forEachGeometry(new ArrayList<>(children.keySet()), (uri, geometry) -> {
+                ScientificObject child = children.get(uri);
+                if (child != null && writtenChildren.add(uri)) {
+                    writeFeature(writer, child, geometry);
+                }
+            });
+            
+            // Children without geometry
+            for (Entry<String, ScientificObject> child : children.entrySet()) {
+                if (!writtenChildren.contains(child.getKey())) {
+                    writeFeature(writer, child.getValue(), null);
+                }
+            }
+            
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+    
     /**
      * Generates the GeoSon file corresponding to the layer.
+     * The file is generated again only if the scientific objects of the layer 
+     * have changed since the last generation.
      * @param layerDTO
      * @return 
      * @throws java.io.IOException 
@@ -124,87 +238,54 @@ public class LayerDAO extends DAO<LayerDTO>{
         List<Status> createStatusList = new ArrayList<>();
         List<String> createdResourcesFilesPaths = new ArrayList<>();
         boolean createLayerFileOk = true;
-        try {
-            //1. Get the descendant to put in the layer
-            searchAndUpdateChildren(layerDTO);
-            
-            //2. Create file
-            String[] splitUri = layerDTO.getObjectUri().split("/");
-            String layerName = splitUri[splitUri.length-1];
-            String filename = layerName + ".geojson";
-            filePath = LAYER_FILE_SERVER_DIRECTORY + "/" + filename;
+        
+        String[] splitUri = layerDTO.getObjectUri().split("/");
+        String layerName = splitUri[splitUri.length-1];
+        String filename = layerName + ".geojson";
+        filePath = LAYER_FILE_SERVER_DIRECTORY + "/" + filename;
+        
+        synchronized (GENERATION_LOCKS.computeIfAbsent(filePath, (path) -> new Object())) {
+            String contentVersion = getContentVersion(layerDTO);
             
-            try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath))) {
-                //1. Write parent and file start
-                //SILEX:todo
-                //code to improve
-                writer.write("{");
-                writer.write("\"type\" : \"FeatureCollection\",");
-                writer.write("\"features\" : [");
-                int nbChild = 0;
-                for (Entry<String, ScientificObject> child : children.entrySet()) {
-                    // Write each child
-                    writer.write("{\"type\" : \"Feature\",");
+            if (contentVersion.equals(GENERATED_LAYERS_VERSIONS.get(filePath)) && new File(filePath).exists()) {
+                // The existing file is up to date
+                fileWebPath = LAYER_FILE_SERVER_ADDRESS + "/" + filename;
+                createStatusList.add(new Status("Layer file up to date", StatusCodeMsg.INFO, null));
+            } else {
+                // The file is written next to the final one and then moved, 
+                // so that the file served is always complete
+                java.nio.file.Path temporaryFile = Paths.get(filePath + ".tmp");
+                try {
+                    //1. Get the descendant to put in the layer
+                    searchChildren(layerDTO);
 
-                    writer.write("\"geometry\" : " + child.getValue().getGeometry() + ",");
-                    writer.write("\"properties\" : {");
-                    writer.write("\"uri\" : \"" + child.getValue().getUri()+ "\",");
+                    //2. Create file
+                    writeLayerFile(temporaryFile);
+                    Files.move(temporaryFile, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
                     
-                    //SILEX:conception
-                    // A more generic way could be done (in URINamespaces, a HashMap with corespondancies URI type/relation --> property type ?)
-                    // Add properties corresponding to the AO (vartiety, repetition, ...)
-                    HashMap<String, String> typesByRelationOrConcept = getTypesByURIRelationOrConcept();
-                    int nbProperties = 0;
-                    for (Property property : child.getValue().getProperties()) {
-                        // We deduct the name of the property from the type or relation of the concept
-                         if (property.getRdfType() != null) {
-                            writer.write("\"" + typesByRelationOrConcept.get(property.getRdfType()) + "\" : \"" + property.getValue() + "\"");
-                        } else {
-                            writer.write("\"" + typesByRelationOrConcept.get(property.getRelation()) + "\" : \"" + property.getValue() + "\"");
-                        }
-                        nbProperties ++;
-                        if (nbProperties < child.getValue().getProperties().size()) {
-                            writer.write(",");
-                        }
-                    }
-                    //\SILEX:conception
-                    
-                    writer.write("}}");
-                    nbChild++;
-                    if (nbChild < children.size()) {
-                        writer.write(",");
-                    }
+                    //SILEX:warning ///!\ To uncomment in PROD
+//                    java.nio.file.Path path = Paths.get(filePath);
+//                    UserPrincipalLookupService lookupService = FileSystems.getDefault().getUserPrincipalLookupService();
+//                    UserPrincipal up = lookupService.lookupPrincipalByName("www-data");
+//                    Files.setOwner(path, up); 
+                    //\SILEX:warning
+
+                    File f = new File(filePath);
+                    final Set<PosixFilePermission> perms = PosixFilePermissions.fromString("rw-rw-r--");
+                    Files.setPosixFilePermissions(f.toPath(), perms);
+
+                    fileWebPath = LAYER_FILE_SERVER_ADDRESS + "/" + filename;
+                    GENERATED_LAYERS_VERSIONS.put(filePath, contentVersion);
+
+                    createdResourcesFilesPaths.add(filePath);
+                    createStatusList.add(new Status("Resources created", StatusCodeMsg.INFO, createdResourcesFilesPaths.size() + " new resources created"));
+                } catch (IOException | SQLException ex) {
+                    LOGGER.error(ex.getMessage(), ex);
+                    Files.deleteIfExists(temporaryFile);
+                    createLayerFileOk = false;
+                    createStatusList.add(new Status("Error while create layer file", StatusCodeMsg.ERR, new StringBuilder().append(StatusCodeMsg.ERR).toString()));
                 }
-                
-                writer.write("]}");
-                
-                //SILEX:warning ///!\ To uncomment in PROD
-//                java.nio.file.Path path = Paths.get(filePath);
-//                UserPrincipalLookupService lookupService = FileSystems.getDefault().getUserPrincipalLookupService();
-//                UserPrincipal up = lookupService.lookupPrincipalByName("www-data");
-//                Files.setOwner(path, up); 
-                //\SILEX:warning
-                
-                File f = new File(filePath);
-                final Set<PosixFilePermission> perms = PosixFilePermissions.fromString("rw-rw-r--");
-                Files.setPosixFilePermissions(f.toPath(), perms);
-                
-                fileWebPath = LAYER_FILE_SERVER_ADDRESS + "/" + filename;
-                
-                createdResourcesFilesPaths.add(filePath);
-                createStatusList.add(new Status("Resources created", StatusCodeMsg.INFO, createdResourcesFilesPaths.size() + " new resources created"));
-                //\SILEX:test
-                // The file is normally closed automatically
-            } catch (IOException ex) {
-                java.util.logging.Logger.getLogger(LayerDAO.class.getName()).log(Level.SEVERE, null, ex);
-                createLayerFileOk = false;
-                createStatusList.add(new Status("Error while create layer file", StatusCodeMsg.ERR, new StringBuilder().append(StatusCodeMsg.ERR).toString()));
             }
-            
-        } catch (SQLException ex) {
-            java.util.logging.Logger.getLogger(LayerDAO.class.getName()).log(Level.SEVERE, null, ex);
-            createLayerFileOk = false;
-            createStatusList.add(new Status("Error while create layer file", StatusCodeMsg.ERR, new StringBuilder().append(StatusCodeMsg.ERR).toString()));
         }
         
         createLayerFile = new POSTResultsReturn(createLayerFileOk, createLayerFileOk, createLayerFileOk);
@@ -8,7 +8,13 @@
 package opensilex.service.dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.ws.rs.NotFoundException;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
@@ -50,6 +56,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The DAO for the projects. They are stored in the triplestore.
+ * @update [agent] 18 Oct. 2026: the projects details (related projects, contacts, keywords) 
+ * are loaded for a list of projects with a fixed number of queries.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class ProjectDAO extends Rdf4jDAO<Project> {
@@ -73,6 +81,8 @@ public class ProjectDAO extends Rdf4jDAO<Project> {
     private final String RELATED_PROJECT_URI = "relatedProjectURI";
     private final String SCIENTIFIC_CONTACT = "scientificContact";
     private final String SHORTNAME = "shortname";
+    private final String LINK_TYPE = "linkType";
+    private final String LINKED = "linked";
     
     /**
      * Generates the query to insert a project.
@@ -486,273 +496,280 @@ public class ProjectDAO extends Rdf4jDAO<Project> {
     }
     
     /**
-     * Generates the query to get the data of a project by its URI.
-     * @param uri
+     * Generates the query to get the single valued data of a list of projects.
+     * @param uris
      * @example 
-     * SELECT   ?name  ?shortname  ?dateStart  ?dateEnd  ?objective  ?description  ?coordinator  
-     *          ?scientificContact  ?administrativeContact  ?relatedProjectURI ?relatedProjectName  ?financialFundingURI ?financialFundingLabel  ?financialReference  ?keyword  ?homePage WHERE {
-     *              <http://www.opensilex.org/opensilex/qdfg>  <http://xmlns.com/foaf/0.1/name>  ?name  . 
-     *              <http://www.opensilex.org/opensilex/qdfg>  <http://www.opensilex.org/vocabulary/oeso#hasShortname>  ?shortname  . 
-     *              <http://www.opensilex.org/opensilex/qdfg>  <http://www.opensilex.org/vocabulary/oeso#startDate>  ?dateStart  . 
-     *              <http://www.opensilex.org/opensilex/qdfg>  <http://www.opensilex.org/vocabulary/oeso#endDate>  ?dateEnd  . 
-     *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasObjective> ?objective
-     *              }
-     *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://purl.org/dc/terms/description> ?description
-     *              }
-     *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasCoordinator> ?coordinator
-     *              }
-     *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasScientificContact> ?scientificContact
-     *              }
+     * SELECT ?uri ?name ?shortname ?dateStart ?dateEnd ?objective ?description 
+     *        ?financialFundingURI ?financialFundingLabel ?financialReference ?homePage WHERE {
+     *              VALUES ?uri { <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/opensilex/drops> }
+     *              ?uri  <http://xmlns.com/foaf/0.1/name>  ?name  . 
+     *              ?uri  <http://www.opensilex.org/vocabulary/oeso#hasShortname>  ?shortname  . 
+     *              ?uri  <http://www.opensilex.org/vocabulary/oeso#startDate>  ?dateStart  . 
+     *              ?uri  <http://www.opensilex.org/vocabulary/oeso#endDate>  ?dateEnd  . 
      *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasAdministrativeContact> ?administrativeContact
+     *                  ?uri <http://www.opensilex.org/vocabulary/oeso#hasObjective> ?objective
      *              }
      *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasRelatedProject>/^<http://www.opensilex.org/vocabulary/oeso#hasRelatedProject> ?relatedProjectURI . ?relatedProjectURI <http://xmlns.com/foaf/0.1/name> ?relatedProjectName
+     *                  ?uri <http://purl.org/dc/terms/description> ?description
      *              }
      *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasFinancialFunding> ?financialFundingURI . ?financialFundingURI <http://www.w3.org/2000/01/rdf-schema#label> ?financialFundingLabel
+     *                  ?uri <http://www.opensilex.org/vocabulary/oeso#hasFinancialFunding> ?financialFundingURI . ?financialFundingURI <http://www.w3.org/2000/01/rdf-schema#label> ?financialFundingLabel
      *              }
      *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasFinancialReference> ?financialReference
+     *                  ?uri <http://www.opensilex.org/vocabulary/oeso#hasFinancialReference> ?financialReference
      *              }
      *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/vocabulary/oeso#hasKeyword> ?keyword
-     *              }
-     *              OPTIONAL {
-     *                  <http://www.opensilex.org/opensilex/qdfg> <http://xmlns.com/foaf/0.1/homepage> ?homePage
+     *                  ?uri <http://xmlns.com/foaf/0.1/homepage> ?homePage
      *              }
      * }
-     * @return the generated query?
+     * @return the generated query
      */
-    protected SPARQLQueryBuilder prepareSearchByURI(String uri) {
+    protected SPARQLQueryBuilder prepareSearchByURIs(Collection<String> uris) {
         SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendSelect("?" + URI);
+        query.appendToBody("VALUES ?" + URI + " {" + toSparqlValues(uris) + " }\n");
         
         //name
         query.appendSelect(" ?" + NAME);
-        query.appendTriplet(uri, Foaf.RELATION_NAME.toString(), "?" + NAME, null);
+        query.appendTriplet("?" + URI, Foaf.RELATION_NAME.toString(), "?" + NAME, null);
         
         //shortname
         query.appendSelect(" ?" + SHORTNAME);
-        query.appendTriplet(uri, Oeso.RELATION_HAS_SHORTNAME.toString(), "?" + SHORTNAME, null);
+        query.appendTriplet("?" + URI, Oeso.RELATION_HAS_SHORTNAME.toString(), "?" + SHORTNAME, null);
         
         //date start
         query.appendSelect(" ?" + DATE_START);
-        query.appendTriplet(uri, Oeso.RELATION_START_DATE.toString(), "?" + DATE_START, null);
+        query.appendTriplet("?" + URI, Oeso.RELATION_START_DATE.toString(), "?" + DATE_START, null);
         
         //date end
         query.appendSelect(" ?" + DATE_END);
-        query.appendTriplet(uri, Oeso.RELATION_END_DATE.toString(), "?" + DATE_END, null);
+        query.appendTriplet("?" + URI, Oeso.RELATION_END_DATE.toString(), "?" + DATE_END, null);
         
         //objective
         query.appendSelect(" ?" + OBJECTIVE);
         query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + Oeso.RELATION_HAS_OBJECTIVE.toString() + "> ?" + OBJECTIVE);
+        query.appendToBody("?" + URI + " <" + Oeso.RELATION_HAS_OBJECTIVE.toString() + "> ?" + OBJECTIVE);
         query.endBodyOptional();
         
         //description
         query.appendSelect(" ?" + DESCRIPTION);
         query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + DCTERMS.DESCRIPTION.toString() + "> ?" + DESCRIPTION);
-        query.endBodyOptional();
-        
-        //coordinators
-        query.appendSelect(" ?" + COORDINATOR);
-        query.beginBodyOptional();
-        query.appendToBody("<" + uri + ">" + " <" + Oeso.RELATION_HAS_COORDINATOR.toString() + "> ?" + COORDINATOR);
-        query.endBodyOptional();
-        
-        //scientific contacts
-        query.appendSelect(" ?" + SCIENTIFIC_CONTACT);
-        query.beginBodyOptional();
-        query.appendToBody("<" + uri + ">" + " <" + Oeso.RELATION_HAS_SCIENTIFIC_CONTACT.toString() + "> ?" + SCIENTIFIC_CONTACT);
-        query.endBodyOptional();
-        
-        //administrative contacts
-        query.appendSelect(" ?" + ADMINISTRATIVE_CONTACT);
-        query.beginBodyOptional();
-        query.appendToBody("<" + uri + ">" + " <" + Oeso.RELATION_HAS_ADMINISTRATIVE_CONTACT.toString() + "> ?" + ADMINISTRATIVE_CONTACT);
-        query.endBodyOptional();
-        
-        //related projects
-        query.appendSelect(" ?" + RELATED_PROJECT_URI + " ?" + RELATED_PROJECT_NAME);
-        query.beginBodyOptional();
-        //SILEX:info 
-        //Get the relation and its inverse.
-        //\SILEX:info
-        query.appendToBody("<" + uri + "> <" + Oeso.RELATION_HAS_RELATED_PROJECT.toString() + "> ?" + RELATED_PROJECT_URI + " .");
-        query.appendToBody(" ?" + RELATED_PROJECT_URI + " <" + Foaf.RELATION_NAME.toString() + "> ?" + RELATED_PROJECT_NAME);
+        query.appendToBody("?" + URI + " <" + DCTERMS.DESCRIPTION.toString() + "> ?" + DESCRIPTION);
         query.endBodyOptional();
         
         //financial funding
         query.appendSelect(" ?" + FINANCIAL_FUNDING_URI + " ?" + FINANCIAL_FUNDING_LABEL);
         query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + Oeso.RELATION_HAS_FINANCIAL_FUNDING.toString() + "> ?" + FINANCIAL_FUNDING_URI + " . ");
+        query.appendToBody("?" + URI + " <" + Oeso.RELATION_HAS_FINANCIAL_FUNDING.toString() + "> ?" + FINANCIAL_FUNDING_URI + " . ");
         query.appendToBody("?" + FINANCIAL_FUNDING_URI + " <" + Rdfs.RELATION_LABEL.toString() + "> ?" + FINANCIAL_FUNDING_LABEL);
         query.endBodyOptional();
         
         //financial reference
         query.appendSelect(" ?" + FINANCIAL_REFERENCE);
         query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + Oeso.RELATION_HAS_FINANCIAL_REFERENCE.toString() + "> ?" + FINANCIAL_REFERENCE);
-        query.endBodyOptional();
-        
-        //keywords
-        query.appendSelect(" ?" + KEYWORD);
-        query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + Oeso.RELATION_HAS_KEYWORD.toString() + "> ?" + KEYWORD);
+        query.appendToBody("?" + URI + " <" + Oeso.RELATION_HAS_FINANCIAL_REFERENCE.toString() + "> ?" + FINANCIAL_REFERENCE);
         query.endBodyOptional();
         
         //homePage
         query.appendSelect(" ?" + HOME_PAGE);
         query.beginBodyOptional();
-        query.appendToBody("<" + uri + "> <" + FOAF.homepage.toString() + "> ?" + HOME_PAGE);
+        query.appendToBody("?" + URI + " <" + FOAF.homepage.toString() + "> ?" + HOME_PAGE);
         query.endBodyOptional();
         
         LOGGER.debug(query.toString());
         return query;
     } 
-
+    
     /**
-     * Find a project by its URI.
-     * @param id
-     * @return the project properties.
-     * @throws DAOPersistenceException
-     * @throws Exception 
+     * Generates the query to get the multi valued data of a list of projects : 
+     * related projects, coordinators, scientific and administrative contacts
+     * and keywords. Each result is one link of a project.
+     * @param uris
+     * @example
+     * SELECT DISTINCT ?uri ?linkType ?linked ?relatedProjectName WHERE {
+     *      VALUES ?uri { <http://www.opensilex.org/opensilex/qdfg> <http://www.opensilex.org/opensilex/drops> }
+     *      { 
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#hasRelatedProject> ?linked . 
+     *          ?linked <http://xmlns.com/foaf/0.1/name> ?relatedProjectName .
+     *          BIND("relatedProjectURI" AS ?linkType)
+     *      } UNION {
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#hasCoordinator> ?linked .
+     *          BIND("coordinator" AS ?linkType)
+     *      } UNION {
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#hasScientificContact> ?linked .
+     *          BIND("scientificContact" AS ?linkType)
+     *      } UNION {
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#hasAdministrativeContact> ?linked .
+     *          BIND("administrativeContact" AS ?linkType)
+     *      } UNION {
+     *          ?uri <http://www.opensilex.org/vocabulary/oeso#hasKeyword> ?linked .
+     *          BIND("keyword" AS ?linkType)
+     *      }
+     * }
+     * @return the generated query
      */
-    @Override
-    public Project findById(String id) throws DAOPersistenceException, Exception {
+    protected SPARQLQueryBuilder prepareSearchLinksByURIs(Collection<String> uris) {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + URI + " ?" + LINK_TYPE + " ?" + LINKED + " ?" + RELATED_PROJECT_NAME);
+        query.appendToBody("VALUES ?" + URI + " {" + toSparqlValues(uris) + " }\n");
         
-        SPARQLQueryBuilder findQuery = prepareSearchByURI(id);
-        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, findQuery.toString());
+        //related projects
+        query.appendToBody("{ ?" + URI + " <" + Oeso.RELATION_HAS_RELATED_PROJECT.toString() + "> ?" + LINKED + " . "
+                + "?" + LINKED + " <" + Foaf.RELATION_NAME.toString() + "> ?" + RELATED_PROJECT_NAME + " . "
+                + "BIND(\"" + RELATED_PROJECT_URI + "\" AS ?" + LINK_TYPE + ") }\n");
+        //contacts
+        query.appendToBody(" UNION " + prepareLinkUnionMember(Oeso.RELATION_HAS_COORDINATOR.toString(), COORDINATOR));
+        query.appendToBody(" UNION " + prepareLinkUnionMember(Oeso.RELATION_HAS_SCIENTIFIC_CONTACT.toString(), SCIENTIFIC_CONTACT));
+        query.appendToBody(" UNION " + prepareLinkUnionMember(Oeso.RELATION_HAS_ADMINISTRATIVE_CONTACT.toString(), ADMINISTRATIVE_CONTACT));
+        //keywords
+        query.appendToBody(" UNION " + prepareLinkUnionMember(Oeso.RELATION_HAS_KEYWORD.toString(), KEYWORD));
         
-        Project project = new Project();
-        try(TupleQueryResult result = tupleQuery.evaluate()) {
-            if (result.hasNext()) {
-                project.setUri(id);
-                while (result.hasNext()) {
-                    BindingSet bindingSet = result.next();
-                    
-                    if (project.getName() == null) {
-                        project.setName(bindingSet.getValue(NAME).stringValue());
-                    }
-                    
-                    if (project.getShortname() == null) {
-                        project.setShortname(bindingSet.getValue(SHORTNAME).stringValue());
-                    }
-                    
-                    //related projects
-                    if (bindingSet.getValue(RELATED_PROJECT_URI) != null) {
-                        if (!project.containsRelatedProject(bindingSet.getValue(RELATED_PROJECT_URI).stringValue())) {
-                            Project relatedProject = new Project();
-                            relatedProject.setUri(bindingSet.getValue(RELATED_PROJECT_URI).stringValue());
-                            relatedProject.setName(bindingSet.getValue(RELATED_PROJECT_NAME).stringValue());
-                            
-                            project.addRelatedProject(relatedProject);
-                        }                        
-                    }
-                    
-                    //financial funding
-                    if (project.getFinancialFunding() == null && bindingSet.getValue(FINANCIAL_FUNDING_URI) != null) {
-                        FinancialFunding financialFunding = new FinancialFunding();
-                        financialFunding.setUri(bindingSet.getValue(FINANCIAL_FUNDING_URI).stringValue());
-                        financialFunding.setLabel(bindingSet.getValue(FINANCIAL_FUNDING_LABEL).stringValue());
-                        
-                        project.setFinancialFunding(financialFunding);
-                    }
-                    
-                    //financial reference
-                    if (project.getFinancialReference() == null && bindingSet.getValue(FINANCIAL_REFERENCE) != null) {
-                        project.setFinancialReference(bindingSet.getValue(FINANCIAL_REFERENCE).stringValue());
-                    }
-                    
-                    //description
-                    if (project.getDescription() == null && bindingSet.getValue(DESCRIPTION) != null) {
-                        project.setDescription(bindingSet.getValue(DESCRIPTION).stringValue());
-                    }
-                    
-                    //start date
-                    if (project.getStartDate() == null) {
-                        project.setStartDate(bindingSet.getValue(DATE_START).stringValue());
-                    }
-                    
-                    //end date
-                    if (project.getEndDate() == null) {
-                        project.setEndDate(bindingSet.getValue(DATE_END).stringValue());
-                    }
-                    
-                    //keywords
-                    if (bindingSet.getValue(KEYWORD) != null) {
-                        if (!project.getKeywords().contains(bindingSet.getValue(KEYWORD).stringValue())) {
-                            project.addKeyword(bindingSet.getValue(KEYWORD).stringValue());
-                        }
-                    }
-                    
-                    //home page
-                    if (project.getHomePage() == null && bindingSet.getValue(HOME_PAGE) != null) {
-                        project.setHomePage(bindingSet.getValue(HOME_PAGE).stringValue());
-                    }
-                    
-                    //administrative contacts
-                    if (bindingSet.getValue(ADMINISTRATIVE_CONTACT) != null) {
-                        if (!project.containsAdministrativeContact(bindingSet.getValue(ADMINISTRATIVE_CONTACT).stringValue())) {
-                            UserDAO userDAO = new UserDAO();
-                            User userFounded = userDAO.findById(bindingSet.getValue(ADMINISTRATIVE_CONTACT).stringValue());
-                            
-                            Contact administrativeContact = new Contact();
-                            administrativeContact.setUri(bindingSet.getValue(ADMINISTRATIVE_CONTACT).stringValue()); 
-                            administrativeContact.setEmail(userFounded.getEmail());
-                            administrativeContact.setFirstname(userFounded.getFirstName());
-                            administrativeContact.setLastname(userFounded.getFamilyName());
-                            
-                            project.addAdministrativeContact(administrativeContact);
-                        }
+        LOGGER.debug(query.toString());
+        return query;
+    }
+    
+    /**
+     * @param relation
+     * @param linkType
+     * @return a member of the links query union. 
+     * @example { ?uri <http://www.opensilex.org/vocabulary/oeso#hasKeyword> ?linked . BIND("keyword" AS ?linkType) }
+     */
+    private String prepareLinkUnionMember(String relation, String linkType) {
+        return "{ ?" + URI + " <" + relation + "> ?" + LINKED + " . "
+                + "BIND(\"" + linkType + "\" AS ?" + LINK_TYPE + ") }\n";
+    }
+    
+    /**
+     * @param uris
+     * @return the URIs, formatted for a SPARQL VALUES clause.
+     */
+    private static String toSparqlValues(Collection<String> uris) {
+        StringBuilder values = new StringBuilder();
+        uris.forEach((uri) -> {
+            values.append(" <").append(uri).append(">");
+        });
+        return values.toString();
+    }
+    
+    /**
+     * Creates a contact from the user having the given URI.
+     * @param contactUri
+     * @param users
+     * @return the contact
+     */
+    private Contact getContact(String contactUri, Map<String, User> users) {
+        Contact contact = new Contact();
+        contact.setUri(contactUri);
+        User userFounded = users.get(contactUri);
+        if (userFounded != null) {
+            contact.setEmail(userFounded.getEmail());
+            contact.setFirstname(userFounded.getFirstName());
+            contact.setLastname(userFounded.getFamilyName());
+        }
+        return contact;
+    }
+    
+    /**
+     * Gets the full data of a list of projects. 
+     * The number of queries does not depend on the number of projects :
+     * one query for the single valued data, one query for the links 
+     * (related projects, contacts and keywords) and one query for the 
+     * contacts' users.
+     * @param uris
+     * @return the projects found, in the order of the given URIs.
+     */
+    public ArrayList<Project> findByURIs(Collection<String> uris) {
+        ArrayList<Project> projectsToReturn = new ArrayList<>();
+        if (uris.isEmpty()) {
+            return projectsToReturn;
+        }
+        
+        //1. Single valued data
+        HashMap<String, Project> projects = new HashMap<>();
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, prepareSearchByURIs(uris).toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                projects.putIfAbsent(bindingSet.getValue(URI).stringValue(), getProjectFromBindingSet(bindingSet));
+            }
+        }
+        if (projects.isEmpty()) {
+            return projectsToReturn;
+        }
+        
+        //2. Links
+        HashMap<String, ArrayList<String[]>> contactsLinks = new HashMap<>();
+        Set<String> contactsUris = new HashSet<>();
+        tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, prepareSearchLinksByURIs(projects.keySet()).toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                String projectUri = bindingSet.getValue(URI).stringValue();
+                String linkType = bindingSet.getValue(LINK_TYPE).stringValue();
+                String linked = bindingSet.getValue(LINKED).stringValue();
+                Project project = projects.get(projectUri);
+                
+                if (RELATED_PROJECT_URI.equals(linkType)) {
+                    if (!project.containsRelatedProject(linked)) {
+                        Project relatedProject = new Project();
+                        relatedProject.setUri(linked);
+                        relatedProject.setName(bindingSet.getValue(RELATED_PROJECT_NAME).stringValue());
+                        project.addRelatedProject(relatedProject);
                     }
-                    
-                    //coordinators
-                    if (bindingSet.getValue(COORDINATOR) != null) {
-                        if (!project.containsCoordinator(bindingSet.getValue(COORDINATOR).stringValue())) {
-                            UserDAO userDAO = new UserDAO();
-                            User userFounded = userDAO.findById(bindingSet.getValue(COORDINATOR).stringValue());
-                            Contact coordinator = new Contact();
-                            coordinator.setUri(bindingSet.getValue(COORDINATOR).stringValue());
-                            coordinator.setEmail(userFounded.getEmail());
-                            coordinator.setFirstname(userFounded.getFirstName());
-                            coordinator.setLastname(userFounded.getFamilyName());
-                            
-                            project.addCoordinator(coordinator);
-                        }
+                } else if (KEYWORD.equals(linkType)) {
+                    if (!project.getKeywords().contains(linked)) {
+                        project.addKeyword(linked);
                     }
-                    
-                    //scientific contacts
-                    if (bindingSet.getValue(SCIENTIFIC_CONTACT) != null) {
-                        if (!project.containsScientificContact(bindingSet.getValue(SCIENTIFIC_CONTACT).stringValue())) {
-                            UserDAO userDAO = new UserDAO();
-                            User userFounded = userDAO.findById(bindingSet.getValue(SCIENTIFIC_CONTACT).stringValue());
-                            
-                            Contact scientificContact = new Contact();
-                            scientificContact.setUri(bindingSet.getValue(SCIENTIFIC_CONTACT).stringValue()); 
-                            scientificContact.setEmail(userFounded.getEmail());
-                            scientificContact.setFirstname(userFounded.getFirstName());
-                            scientificContact.setLastname(userFounded.getFamilyName());
-                            
-                            project.addScientificContact(scientificContact);
-                        }
+                } else {
+                    contactsUris.add(linked);
+                    contactsLinks.computeIfAbsent(projectUri, (uri) -> new ArrayList<>()).add(new String[] {linkType, linked});
+                }
+            }
+        }
+        
+        //3. Contacts
+        HashMap<String, User> users = new UserDAO().findByUris(contactsUris);
+        contactsLinks.forEach((projectUri, links) -> {
+            Project project = projects.get(projectUri);
+            for (String[] link : links) {
+                String contactUri = link[1];
+                if (ADMINISTRATIVE_CONTACT.equals(link[0])) {
+                    if (!project.containsAdministrativeContact(contactUri)) {
+                        project.addAdministrativeContact(getContact(contactUri, users));
                     }
-                    
-                    //objective
-                    if (project.getObjective() == null && bindingSet.getValue(OBJECTIVE) != null) {
-                        project.setObjective(bindingSet.getValue(OBJECTIVE).stringValue());
+                } else if (COORDINATOR.equals(link[0])) {
+                    if (!project.containsCoordinator(contactUri)) {
+                        project.addCoordinator(getContact(contactUri, users));
                     }
+                } else if (!project.containsScientificContact(contactUri)) {
+                    project.addScientificContact(getContact(contactUri, users));
                 }
-            } else {
-                throw new NotFoundException(id + " not found.");
+            }
+        });
+        
+        for (String uri : uris) {
+            if (projects.containsKey(uri)) {
+                projectsToReturn.add(projects.get(uri));
             }
         }
-        return project;
+        return projectsToReturn;
+    }
+
+    /**
+     * Find a project by its URI.
+     * @param id
+     * @return the project properties.
+     * @throws DAOPersistenceException
+     * @throws Exception 
+     */
+    @Override
+    public Project findById(String id) throws DAOPersistenceException, Exception {
+        ArrayList<Project> projects = findByURIs(Collections.singletonList(id));
+        if (projects.isEmpty()) {
+            throw new NotFoundException(id + " not found.");
+        }
+        return projects.get(0);
     }
 
     @Override
@@ -1226,5 +1243,40 @@ public class ProjectDAO extends Rdf4jDAO<Project> {
         
         return null;
     }
+    
+    /**
+     * Gets the shortnames of a list of projects, in one query.
+     * @param uris the URIs of the projects
+     * @example
+     * SELECT DISTINCT ?uri ?shortname
+     * WHERE {
+     *      VALUES ?uri { <http://www.opensilex.org/demo/set/projects/DROPS> <http://www.opensilex.org/demo/set/projects/EPPN> }
+     *      ?uri oeso:hasShortname ?shortname
+     * }
+     * @return the shortname of each project found, by project URI.
+     */
+    public HashMap<String, String> getShortnamesFromURIs(Collection<String> uris) {
+        HashMap<String, String> shortnames = new HashMap<>();
+        if (uris.isEmpty()) {
+            return shortnames;
+        }
+        
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + URI + " ?" + SHORTNAME);
+        query.appendToBody("VALUES ?" + URI + " {" + toSparqlValues(uris) + " }\n");
+        query.appendTriplet("?" + URI, Oeso.RELATION_HAS_SHORTNAME.toString(), "?" + SHORTNAME, null);
+        
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                shortnames.put(bindingSet.getValue(URI).stringValue(), bindingSet.getValue(SHORTNAME).stringValue());
+            }
+        }
+        
+        return shortnames;
+    }
 }
-
@@ -8,9 +8,15 @@
 package opensilex.service.dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import opensilex.service.PropertiesFileManager;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import opensilex.service.dao.exception.DAODataErrorException;
@@ -60,6 +66,10 @@ import org.eclipse.rdf4j.query.QueryEvaluationException;
  * the parameters of the DAO functions
  * @update [Andréas Garcia] 15 Apr. 2019: throw DAO persistence exceptions when querying issues occure in the functions
  * used by the event DAO.
+ * @update [agent] 18 Oct. 2026: the cardinalities, domains, ranges and super classes read from the 
+ * ontology are kept in memory and the number of existing values of the relations is counted in one grouped query.
+ * @update [agent] 18 Oct. 2026: existence, domains and super classes of lists of relations and concepts 
+ * read in one query.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class PropertyDAO extends Rdf4jDAO<Property> {
@@ -109,6 +119,57 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
     protected final String PROPERTY_PREF_LABEL = "propertyPrefLabel";    
     protected final String PROPERTY_TYPE_PREF_LABEL = "propertyTypePrefLabel";   
     
+    // Object, used to query the Triplestore (count the relations of a list of objects).
+    private final String OBJECT = "object";
+    
+    // Super class, used to query the Triplestore.
+    private final String SUPER_CLASS = "superClass";
+    
+    // Time to live of the ontology rules, in seconds
+    private static final int ONTOLOGY_RULES_CACHE_TTL = PropertiesFileManager.getConfigFileIntegerProperty("service", "ontologyRulesCacheTTL", 3600);
+    
+    // Rules read from the ontology, shared by all the DAO instances
+    private static volatile OntologyRules ontologyRules = new OntologyRules();
+    
+    /**
+     * Rules read from the ontology : cardinalities by concept, domains and 
+     * ranges by relation, super classes by concept and known relations.
+     * Each rule is read once from the Triplestore, when it is first needed.
+     */
+    private static class OntologyRules {
+        final long creationTime = System.currentTimeMillis();
+        final Map<String, HashMap<String, ArrayList<Cardinality>>> cardinalitiesByConcept = new ConcurrentHashMap<>();
+        final Map<String, ArrayList<String>> domainsByRelation = new ConcurrentHashMap<>();
+        final Map<String, ArrayList<String>> rangesByRelation = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> superClassesByConcept = new ConcurrentHashMap<>();
+        final Set<String> knownRelations = ConcurrentHashMap.newKeySet();
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() - creationTime > ONTOLOGY_RULES_CACHE_TTL * 1000L;
+        }
+    }
+    
+    /**
+     * Gets the ontology rules, a new empty rules set is used when they have expired.
+     * @return the ontology rules
+     */
+    private static OntologyRules getOntologyRules() {
+        OntologyRules rules = ontologyRules;
+        if (rules.isExpired()) {
+            rules = new OntologyRules();
+            ontologyRules = rules;
+        }
+        return rules;
+    }
+    
+    /**
+     * Forgets the rules read from the ontology. 
+     * To be called when the ontology is modified.
+     */
+    public static void invalidateOntologyRules() {
+        ontologyRules = new OntologyRules();
+    }
+    
     /**
      * Prepares the SPARQL query to get the list of properties and their relations
      * to the given URI. 
@@ -197,6 +258,12 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
      * @throws opensilex.service.dao.exception.DAOPersistenceException
      */
     public ArrayList<String> getPropertyDomain(String relationUri) throws DAOPersistenceException {
+        OntologyRules rules = getOntologyRules();
+        ArrayList<String> cachedDomains = rules.domainsByRelation.get(relationUri);
+        if (cachedDomains != null) {
+            return new ArrayList<>(cachedDomains);
+        }
+        
         SPARQLQueryBuilder query = prepareGetDomainQuery(relationUri);
         ArrayList<String> propertyDomains = new ArrayList<>();
         
@@ -211,6 +278,7 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
             handleTriplestoreException(ex);
         }
         
+        rules.domainsByRelation.put(relationUri, new ArrayList<>(propertyDomains));
         return propertyDomains;
     }
     
@@ -221,6 +289,12 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
      * @throws opensilex.service.dao.exception.DAOPersistenceException
      */
     public ArrayList<String> getPropertyRange(String relationUri) throws DAOPersistenceException {
+        OntologyRules rules = getOntologyRules();
+        ArrayList<String> cachedRanges = rules.rangesByRelation.get(relationUri);
+        if (cachedRanges != null) {
+            return new ArrayList<>(cachedRanges);
+        }
+        
         SPARQLQueryBuilder query = prepareGetRangeQuery(relationUri);
         ArrayList<String> propertyRangeList = new ArrayList<>();
         
@@ -234,6 +308,8 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
         } catch (RepositoryException|MalformedQueryException|QueryEvaluationException ex) {
             handleTriplestoreException(ex);
         }
+        
+        rules.rangesByRelation.put(relationUri, new ArrayList<>(propertyRangeList));
         return propertyRangeList;
     }
     
@@ -249,11 +325,11 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
     public boolean isRelationDomainCompatibleWithRdfType(String relationUri, String rdfType) 
             throws DAOPersistenceException {
         ArrayList<String> propertyDomains = getPropertyDomain(relationUri);
-        UriDAO uriDao = new UriDAO();
         boolean domainOk = false;
         if (propertyDomains != null && propertyDomains.size() > 0) { //the property has a specific domain
+            Set<String> superClasses = getSuperClasses(rdfType);
             for (String propertyDomain : propertyDomains) {
-                if (uriDao.isSubClassOf(rdfType, propertyDomain)) {
+                if (superClasses.contains(propertyDomain)) {
                     domainOk = true;
                 }
             }
@@ -276,7 +352,6 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
     public boolean isRelationRangeCompatibleWithRdfType(String relationUri, String rdfType) 
             throws DAOPersistenceException {
         ArrayList<String> propertyRangeList = getPropertyRange(relationUri);
-        UriDAO uriDao = new UriDAO();
         boolean isRdfTypeCompatible = false;
         
         // if the property has a specific range
@@ -286,8 +361,9 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
                 isRdfTypeCompatible = false;
             }
             else {
+                Set<String> superClasses = getSuperClasses(rdfType);
                 for (String propertyRange : propertyRangeList) {
-                    if (uriDao.isSubClassOf(rdfType, propertyRange)) {
+                    if (superClasses.contains(propertyRange)) {
                         isRdfTypeCompatible = true;
                     }
                 }
@@ -299,6 +375,254 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
         return isRdfTypeCompatible;
     }
    
+    /**
+     * Generates a query to get the super classes of a concept, the concept included.
+     * @param concept
+     * @return the query
+     * @example
+     * SELECT DISTINCT ?superClass 
+     * WHERE {
+     *      <http://www.opensilex.org/vocabulary/oeso#TIRCamera> rdfs:subClassOf* ?superClass . 
+     * }
+     */
+    private SPARQLQueryBuilder prepareGetSuperClasses(String concept) {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + SUPER_CLASS);
+        query.appendTriplet("<" + concept + ">", "<" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">*", "?" + SUPER_CLASS, null);
+        
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        return query;
+    }
+    
+    /**
+     * Gets the super classes of a concept, the concept included. 
+     * Replaces the isSubClassOf ask queries: a type is a sub class of the 
+     * concepts contained in its super classes.
+     * @param concept
+     * @return the super classes of the concept, unmodifiable
+     * @throws DAOPersistenceException
+     */
+    public Set<String> getSuperClasses(String concept) throws DAOPersistenceException {
+        if (concept == null) {
+            return Collections.emptySet();
+        }
+        OntologyRules rules = getOntologyRules();
+        Set<String> superClasses = rules.superClassesByConcept.get(concept);
+        if (superClasses != null) {
+            return superClasses;
+        }
+        
+        superClasses = new HashSet<>();
+        superClasses.add(concept);
+        SPARQLQueryBuilder query = prepareGetSuperClasses(concept);
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                superClasses.add(bindingSet.getValue(SUPER_CLASS).stringValue());
+            }
+        } catch (RepositoryException|MalformedQueryException|QueryEvaluationException ex) {
+            handleTriplestoreException(ex);
+        }
+        
+        superClasses = Collections.unmodifiableSet(superClasses);
+        rules.superClassesByConcept.put(concept, superClasses);
+        return superClasses;
+    }
+    
+    /**
+     * Checks if a relation exists in the ontology. The existing relations are
+     * kept in the ontology rules.
+     * @param relationUri
+     * @return true if the relation exists
+     */
+    public boolean existRelation(String relationUri) {
+        OntologyRules rules = getOntologyRules();
+        if (rules.knownRelations.contains(relationUri)) {
+            return true;
+        }
+        if (existUri(relationUri)) {
+            rules.knownRelations.add(relationUri);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Formats URIs as the values of a SPARQL VALUES clause.
+     * @param uris
+     * @return the values, e.g. " <http://www.opensilex.org/vocabulary/oeso#hasLens> <http://www.opensilex.org/vocabulary/oeso#wavelength>"
+     */
+    private static String toSparqlValues(Collection<String> uris) {
+        StringBuilder values = new StringBuilder();
+        uris.forEach((uri) -> {
+            values.append(" <").append(uri).append(">");
+        });
+        return values.toString();
+    }
+    
+    /**
+     * Checks in one query which relations exist in the ontology. The existing 
+     * relations are kept in the ontology rules.
+     * @param relationUris
+     * @return the existing relations
+     * @example
+     * SELECT DISTINCT ?relation
+     * WHERE {
+     *  VALUES ?relation { <http://www.opensilex.org/vocabulary/oeso#hasLens> <http://www.opensilex.org/vocabulary/oeso#wavelength> }
+     *  { ?relation ?p ?o } UNION { ?s ?relation ?o } UNION { ?s ?p ?relation }
+     * }
+     */
+    public Set<String> existRelations(Collection<String> relationUris) {
+        OntologyRules rules = getOntologyRules();
+        Set<String> existingRelations = new HashSet<>();
+        Set<String> unknownRelations = new HashSet<>();
+        relationUris.forEach((relationUri) -> {
+            if (rules.knownRelations.contains(relationUri)) {
+                existingRelations.add(relationUri);
+            } else if (relationUri != null) {
+                unknownRelations.add(relationUri);
+            }
+        });
+        if (unknownRelations.isEmpty()) {
+            return existingRelations;
+        }
+        
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + RELATION);
+        query.appendToBody("VALUES ?" + RELATION + " {" + toSparqlValues(unknownRelations) + " }\n");
+        query.appendToBody("{ ?" + RELATION + " ?p ?o } UNION { ?s ?" + RELATION + " ?o } UNION { ?s ?p ?" + RELATION + " }");
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                String relationUri = result.next().getValue(RELATION).stringValue();
+                rules.knownRelations.add(relationUri);
+                existingRelations.add(relationUri);
+            }
+        }
+        return existingRelations;
+    }
+    
+    /**
+     * Gets in one query the domains of the given relations. The domains are 
+     * kept in the ontology rules.
+     * @param relationUris
+     * @return the domains by relation, an empty list for a relation without 
+     *         specific domain
+     * @throws DAOPersistenceException
+     * @example
+     * SELECT ?relation ?domain
+     * WHERE {
+     *  VALUES ?relation { <http://www.opensilex.org/vocabulary/oeso#hasLens> <http://www.opensilex.org/vocabulary/oeso#wavelength> }
+     *  ?relation rdfs:domain/(owl:unionOf / rdf:rest* / rdf:first)* ?domain
+     * }
+     */
+    public Map<String, ArrayList<String>> getPropertiesDomains(Collection<String> relationUris) throws DAOPersistenceException {
+        OntologyRules rules = getOntologyRules();
+        Map<String, ArrayList<String>> domainsByRelation = new HashMap<>();
+        Set<String> unknownRelations = new HashSet<>();
+        relationUris.forEach((relationUri) -> {
+            ArrayList<String> cachedDomains = rules.domainsByRelation.get(relationUri);
+            if (cachedDomains != null) {
+                domainsByRelation.put(relationUri, new ArrayList<>(cachedDomains));
+            } else {
+                unknownRelations.add(relationUri);
+            }
+        });
+        if (unknownRelations.isEmpty()) {
+            return domainsByRelation;
+        }
+        
+        unknownRelations.forEach((relationUri) -> {
+            domainsByRelation.put(relationUri, new ArrayList<>());
+        });
+        SPARQLQueryBuilder query = prepareGetDomainQuery("?" + RELATION);
+        query.appendSelect("?" + RELATION);
+        query.appendToBody("\nVALUES ?" + RELATION + " {" + toSparqlValues(unknownRelations) + " }");
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                domainsByRelation.get(bindingSet.getValue(RELATION).stringValue())
+                        .add(bindingSet.getValue(DOMAIN).stringValue());
+            }
+        } catch (RepositoryException|MalformedQueryException|QueryEvaluationException ex) {
+            handleTriplestoreException(ex);
+        }
+        
+        unknownRelations.forEach((relationUri) -> {
+            rules.domainsByRelation.put(relationUri, new ArrayList<>(domainsByRelation.get(relationUri)));
+        });
+        return domainsByRelation;
+    }
+    
+    /**
+     * Gets in one query the super classes of the given concepts, the concepts
+     * included. The super classes are kept in the ontology rules.
+     * @param concepts
+     * @return the super classes by concept, unmodifiable
+     * @throws DAOPersistenceException
+     * @see #getSuperClasses(java.lang.String) 
+     * @example
+     * SELECT DISTINCT ?rdfType ?superClass
+     * WHERE {
+     *  VALUES ?rdfType { <http://www.opensilex.org/vocabulary/oeso#Camera> <http://www.opensilex.org/vocabulary/oeso#Spectrometer> }
+     *  ?rdfType rdfs:subClassOf* ?superClass
+     * }
+     */
+    public Map<String, Set<String>> getSuperClasses(Collection<String> concepts) throws DAOPersistenceException {
+        OntologyRules rules = getOntologyRules();
+        Map<String, Set<String>> superClassesByConcept = new HashMap<>();
+        Set<String> unknownConcepts = new HashSet<>();
+        concepts.forEach((concept) -> {
+            Set<String> cachedSuperClasses = rules.superClassesByConcept.get(concept);
+            if (cachedSuperClasses != null) {
+                superClassesByConcept.put(concept, cachedSuperClasses);
+            } else if (concept != null) {
+                unknownConcepts.add(concept);
+            }
+        });
+        if (unknownConcepts.isEmpty()) {
+            return superClassesByConcept;
+        }
+        
+        unknownConcepts.forEach((concept) -> {
+            Set<String> superClasses = new HashSet<>();
+            superClasses.add(concept);
+            superClassesByConcept.put(concept, superClasses);
+        });
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + RDF_TYPE + " ?" + SUPER_CLASS);
+        query.appendToBody("VALUES ?" + RDF_TYPE + " {" + toSparqlValues(unknownConcepts) + " }\n");
+        query.appendTriplet("?" + RDF_TYPE, "<" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">*", "?" + SUPER_CLASS, null);
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                superClassesByConcept.get(bindingSet.getValue(RDF_TYPE).stringValue())
+                        .add(bindingSet.getValue(SUPER_CLASS).stringValue());
+            }
+        } catch (RepositoryException|MalformedQueryException|QueryEvaluationException ex) {
+            handleTriplestoreException(ex);
+        }
+        
+        unknownConcepts.forEach((concept) -> {
+            Set<String> superClasses = Collections.unmodifiableSet(superClassesByConcept.get(concept));
+            superClassesByConcept.put(concept, superClasses);
+            rules.superClassesByConcept.put(concept, superClasses);
+        });
+        return superClassesByConcept;
+    }
+    
     /**
      * Generates a query to get the cardinalities of a relation for a given type.
      * @param rdfType
@@ -383,11 +707,7 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
                 Cardinality cardinality = new Cardinality();
                 cardinality.setRdfType(bindingSet.getValue(RESTRICTION).toString());
                 
-                String card = bindingSet.getValue(CARDINALITY).toString();
-                
-                String[] splitCardinality = card.split("\"");
-                
-                cardinality.setCardinaity(Integer.parseInt(splitCardinality[1]));
+                cardinality.setCardinaity(Integer.parseInt(bindingSet.getValue(CARDINALITY).stringValue()));
                 
                 cardinalities.put(bindingSet.getValue(RDF_TYPE).toString(), cardinality);
             }
@@ -406,7 +726,13 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
      * "vocabulary:wavelength" : ["owl:minCardinality" : 1, "owl:maxCardinality" : 6]
      */
     public HashMap<String, ArrayList<Cardinality>> getCardinalitiesForConcept(String concept) {
-       SPARQLQueryBuilder query = prepareGetPropertiesCardinalitiesByConcept(concept);
+        OntologyRules rules = getOntologyRules();
+        HashMap<String, ArrayList<Cardinality>> cachedCardinalities = rules.cardinalitiesByConcept.get(concept);
+        if (cachedCardinalities != null) {
+            return new HashMap<>(cachedCardinalities);
+        }
+        
+        SPARQLQueryBuilder query = prepareGetPropertiesCardinalitiesByConcept(concept);
         HashMap<String, ArrayList<Cardinality>> cardinalities = new HashMap<>();
         
         TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
@@ -417,11 +743,7 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
                 Cardinality cardinality = new Cardinality();
                 cardinality.setRdfType(bindingSet.getValue(RESTRICTION).toString());
                 
-                String card = bindingSet.getValue(CARDINALITY).toString();
-                
-                String[] splitCardinality = card.split("\"");
-                
-                cardinality.setCardinaity(Integer.parseInt(splitCardinality[1]));
+                cardinality.setCardinaity(Integer.parseInt(bindingSet.getValue(CARDINALITY).stringValue()));
                 
                 ArrayList<Cardinality> cardinalitiesForRelation = new ArrayList<>();
                 cardinalitiesForRelation.add(cardinality);
@@ -434,32 +756,75 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
             }
         }
         
+        rules.cardinalitiesByConcept.put(concept, new HashMap<>(cardinalities));
         return cardinalities; 
     }
     
     /**
-     * Generates a query to get the number of the property "relation" for the given object URI.
-     * @param objectUri
+     * Generates a query to get the number of values of each given relation, 
+     * for each given object URI.
+     * @param objectUris
+     * @param relationUris
      * @return the query
      * @example
-     * SELECT DISTINCT (count(distinct ?property) as ?count) 
+     * SELECT ?object ?relation (count(distinct ?property) as ?count) 
      * WHERE {
-     *  <http://www.phenome-fppn.fr/diaphen/2018/s18523>  <http://www.opensilex.org/vocabulary/oeso#hasLens>  ?property. 
+     *  VALUES ?object { <http://www.phenome-fppn.fr/diaphen/2018/s18523> <http://www.phenome-fppn.fr/diaphen/2018/s18524> }
+     *  VALUES ?relation { <http://www.opensilex.org/vocabulary/oeso#hasLens> <http://www.opensilex.org/vocabulary/oeso#wavelength> }
+     *  ?object ?relation ?property . 
      * }
+     * GROUP BY ?object ?relation
      */
-    private SPARQLQueryBuilder prepareGetProperties(String objectUri, String relationUri) {
+    private SPARQLQueryBuilder prepareCountRelationsValues(Collection<String> objectUris, Collection<String> relationUris) {
         SPARQLQueryBuilder query = new SPARQLQueryBuilder();
-        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + OBJECT + " ?" + RELATION + " (count(distinct ?" + PROPERTY + ") as ?" + COUNT + ")");
         
-        query.appendSelect("(count(distinct ?" + PROPERTY + ") as ?" + COUNT + ")");
-        
-        query.appendTriplet("<" + objectUri + ">", "<" + relationUri + ">", "?" + PROPERTY, null);
+        StringBuilder objectValues = new StringBuilder();
+        objectUris.forEach((objectUri) -> {
+            objectValues.append(" <").append(objectUri).append(">");
+        });
+        StringBuilder relationValues = new StringBuilder();
+        relationUris.forEach((relationUri) -> {
+            relationValues.append(" <").append(relationUri).append(">");
+        });
+        query.appendToBody("VALUES ?" + OBJECT + " {" + objectValues + " }\n");
+        query.appendToBody("VALUES ?" + RELATION + " {" + relationValues + " }\n");
+        query.appendTriplet("?" + OBJECT, "?" + RELATION, "?" + PROPERTY, null);
+        query.appendGroupBy("?" + OBJECT + " ?" + RELATION);
         
         LOGGER.debug(SPARQL_QUERY + " " + query.toString());
         
         return query;
     }
     
+    /**
+     * Counts in one query the number of existing values of the given relations
+     * for the given objects.
+     * @param objectUris
+     * @param relationUris
+     * @return the number of values by relation, by object URI. A missing 
+     *         relation has no value.
+     */
+    public HashMap<String, HashMap<String, Integer>> countRelationsValues(Collection<String> objectUris, Collection<String> relationUris) {
+        HashMap<String, HashMap<String, Integer>> valuesNumbers = new HashMap<>();
+        if (objectUris.isEmpty() || relationUris.isEmpty()) {
+            return valuesNumbers;
+        }
+        
+        SPARQLQueryBuilder query = prepareCountRelationsValues(objectUris, relationUris);
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                valuesNumbers
+                        .computeIfAbsent(bindingSet.getValue(OBJECT).stringValue(), (objectUri) -> new HashMap<>())
+                        .put(bindingSet.getValue(RELATION).stringValue(), Integer.parseInt(bindingSet.getValue(COUNT).stringValue()));
+            }
+        }
+        
+        return valuesNumbers;
+    }
+    
     /**
      * Sorts the given properties by relation.
      * @param properties
@@ -527,7 +892,7 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
                             checkStatus.add(new Status(
                                     StatusCodeMsg.DATA_ERROR, 
                                     StatusCodeMsg.ERR, 
-                                    StatusCodeMsg.BAD_CARDINALITY + " " + "too many " + relation));
+                                    StatusCodeMsg.BAD_CARDINALITY + " " + "too many " + entry.getKey()));
                         }
                     } else if (cardinality.getRdfType().equals(Owl.RELATION_QUALIFIED_CARDINALITY.toString())) {
                         if (!numberOfRelations.containsKey(entry.getKey())) { //missing property
@@ -577,7 +942,7 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
                 }
 
                 // Check relation existence
-                if (existUri(property.getRelation())) {
+                if (existRelation(property.getRelation())) {
                     // Check domain
                     if (!isRelationDomainCompatibleWithRdfType(property.getRelation(), subjectType)) {
                         exceptions.add(new TypeNotInDomainException(subject, subjectType, property.getRelation()));
@@ -604,11 +969,59 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
     /**
      * Checks the cardinalities of properties for a given object URI.
      * @param properties
-     * @param objectUri
+     * @param objectUri the URI of the object, null if the object does not exist yet
      * @param objectRdfType
      * @return 
      */
     public POSTResultsReturn checkCardinalities(ArrayList<PropertyPostDTO> properties, String objectUri, String objectRdfType) {        
+        HashMap<String, Integer> existingValues = new HashMap<>();
+        if (objectUri != null) {
+            HashMap<String, ArrayList<PropertyPostDTO>> propertiesByRelation = orderPropertiesByRelation(properties);
+            HashMap<String, HashMap<String, Integer>> valuesNumbers = countRelationsValues(
+                    Collections.singletonList(objectUri), 
+                    propertiesByRelation.keySet());
+            existingValues = valuesNumbers.getOrDefault(objectUri, existingValues);
+        }
+        
+        return checkCardinalities(properties, existingValues, objectRdfType);
+    }
+    
+    /**
+     * Checks the cardinalities of the properties of a list of objects. 
+     * The existing values of all the objects are counted in one query.
+     * @param propertiesByObject the properties to add, by object URI
+     * @param rdfTypesByObject the type of each object, by object URI
+     * @return the result of the check of the properties, by object URI
+     */
+    public HashMap<String, POSTResultsReturn> checkCardinalities(Map<String, ArrayList<PropertyPostDTO>> propertiesByObject, Map<String, String> rdfTypesByObject) {
+        Set<String> relations = new HashSet<>();
+        propertiesByObject.values().forEach((properties) -> {
+            properties.forEach((property) -> {
+                relations.add(property.getRelation());
+            });
+        });
+        HashMap<String, HashMap<String, Integer>> valuesNumbers = countRelationsValues(propertiesByObject.keySet(), relations);
+        
+        HashMap<String, POSTResultsReturn> checks = new HashMap<>();
+        propertiesByObject.forEach((objectUri, properties) -> {
+            checks.put(objectUri, checkCardinalities(
+                    properties, 
+                    valuesNumbers.getOrDefault(objectUri, new HashMap<>()), 
+                    rdfTypesByObject.get(objectUri)));
+        });
+        
+        return checks;
+    }
+    
+    /**
+     * Checks the cardinalities of properties, given the number of values 
+     * already existing for each relation.
+     * @param properties
+     * @param existingValues
+     * @param objectRdfType
+     * @return 
+     */
+    private POSTResultsReturn checkCardinalities(ArrayList<PropertyPostDTO> properties, Map<String, Integer> existingValues, String objectRdfType) {
         POSTResultsReturn check;
         //list of the returned results
         List<Status> checkStatus = new ArrayList<>();
@@ -619,23 +1032,8 @@ public class PropertyDAO extends Rdf4jDAO<Property> {
         HashMap<String, Integer> numberOfRelations = new HashMap<>();
         
         for (Map.Entry<String, ArrayList<PropertyPostDTO>> pair : propertiesByRelation.entrySet()) {
-            //1. get the number of values already existing for the property
-            //SILEX:refactor
-            //some database calls must be avoided 
-            //(e.g if there is a few wavelength associated, one call is necessary)
-            //\SILEX:refactor
-            int numberValues = 0;
-            if (objectUri != null) {
-                SPARQLQueryBuilder query = prepareGetProperties(objectUri, relation);
-                TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
-                try (TupleQueryResult result = tupleQuery.evaluate()) {
-                    BindingSet bindingSet = result.next();
-                    numberValues = Integer.parseInt(bindingSet.getValue(COUNT).stringValue());
-                }
-            }
-            
-            //2. get the total number of values for the property if the new properties are inserted
-            int nbProp = numberValues + pair.getValue().size();
+            //get the total number of values for the property if the new properties are inserted
+            int nbProp = existingValues.getOrDefault(pair.getKey(), 0) + pair.getValue().size();
             numberOfRelations.put(pair.getKey(), nbProp);
         }
         
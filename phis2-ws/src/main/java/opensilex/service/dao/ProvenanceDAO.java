@@ -17,11 +17,13 @@ import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 import javax.ws.rs.core.Response;
+import opensilex.service.async.RequestDeadline;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.bson.BSONObject;
@@ -40,6 +42,7 @@ import opensilex.service.view.model.provenance.Provenance;
 
 /**
  * Provenance DAO.
+ * @update [agent] 18 Oct. 2026: get the labels of a list of provenances in one query.
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class ProvenanceDAO extends MongoDAO<Provenance> {
@@ -110,7 +113,7 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         BasicDBObject query = searchQuery(searchProvenance, jsonValueFilter);
         
         // Return the document count
-        return (int)provenanceCollection.countDocuments(query);
+        return (int)provenanceCollection.countDocuments(query, getDeadlineCountOptions());
     }
     
     /**
@@ -246,7 +249,7 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         MongoCollection<Document> provenanceCollection = database.getCollection(provenanceCollectionName);
         
         BasicDBObject query = prepareGetProvenanceByUri(uri);
-        int numberOfProvenancesCorresponding = (int)provenanceCollection.countDocuments(query);
+        int numberOfProvenancesCorresponding = (int)provenanceCollection.countDocuments(query, getDeadlineCountOptions());
         
         return numberOfProvenancesCorresponding > 0;
     }
@@ -404,7 +407,7 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         BasicDBObject query = searchQuery(searchProvenance, jsonValueFilter);
         
         // Get paginated documents
-        FindIterable<Document> provenancesMongo = provenanceCollection.find(query);
+        FindIterable<Document> provenancesMongo = withDeadline(provenanceCollection.find(query));
         
         // Define pagination for the request
         provenancesMongo = provenancesMongo.skip(page * pageSize).limit(pageSize);
@@ -414,6 +417,7 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         // For each document, create a Provenance instance and add it to the result list
         try (MongoCursor<Document> provenancesCursor = provenancesMongo.iterator()) {
             while (provenancesCursor.hasNext()) {
+                RequestDeadline.check();
                 Document provenanceDocument = provenancesCursor.next();
                 
                 // Create and define the Provenance
@@ -444,11 +448,12 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         
         LOGGER.debug(query.toJson());
         
-        FindIterable<Document> provenancesMongo = provenanceCollection.find(query);
+        FindIterable<Document> provenancesMongo = withDeadline(provenanceCollection.find(query));
         Map<String, String> provenances = new HashMap();
         
         try (MongoCursor<Document> datasetCursor = provenancesMongo.iterator()) {
             while (datasetCursor.hasNext()) {
+                RequestDeadline.check();
                 Document provenanceDocument = datasetCursor.next();
                 provenances.put(provenanceDocument.getString("uri"), provenanceDocument.getString("label"));
             }
@@ -470,7 +475,7 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         query.put("uri",  java.util.regex.Pattern.compile(uri));
         LOGGER.debug(query.toJson());
         
-        FindIterable<Document> provenancesMongo = provenanceCollection.find(query);
+        FindIterable<Document> provenancesMongo = withDeadline(provenanceCollection.find(query));
         
         try (MongoCursor<Document> provenanceCursor = provenancesMongo.iterator()) {
             if (provenanceCursor.hasNext()) {
@@ -482,6 +487,31 @@ public class ProvenanceDAO extends MongoDAO<Provenance> {
         }
     }
 
+    /**
+     * Get the labels of a list of provenances in one query.
+     * @param uris
+     * @return the label of each provenance. The unknown provenances are not in
+     *         the map.
+     */
+    public Map<String, String> findLabelsByUris(Collection<String> uris) {
+        Map<String, String> labels = new HashMap<>();
+        if (uris.isEmpty()) {
+            return labels;
+        }
+        MongoCollection<Document> provenanceCollection = database.getCollection(provenanceCollectionName);
+        BasicDBObject query = new BasicDBObject("uri", new BasicDBObject("$in", new ArrayList<>(uris)));
+        LOGGER.debug(query.toJson());
+        
+        try (MongoCursor<Document> provenanceCursor = withDeadline(provenanceCollection.find(query)).iterator()) {
+            while (provenanceCursor.hasNext()) {
+                RequestDeadline.check();
+                Document provenanceDocument = provenanceCursor.next();
+                labels.put(provenanceDocument.getString("uri"), provenanceDocument.getString("label"));
+            }
+        }
+        return labels;
+    }
+
     @Override
     public List<Provenance> create(List<Provenance> objects) throws DAOPersistenceException, Exception {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
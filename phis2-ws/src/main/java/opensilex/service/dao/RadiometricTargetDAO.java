@@ -356,7 +356,9 @@ public class RadiometricTargetDAO extends Rdf4jDAO<RadiometricTarget> {
     public POSTResultsReturn checkAndInsert(List<RadiometricTarget> radiometricTargets) throws DAOPersistenceException {
         POSTResultsReturn checkResult = check(radiometricTargets);
         if (checkResult.getDataState()) {
-            return insert(radiometricTargets);
+            POSTResultsReturn insertResult = insert(radiometricTargets);
+            AcquisitionSessionDAO.invalidateFileMetadataCache();
+            return insertResult;
         } else { //errors found in data
             return checkResult;
         }
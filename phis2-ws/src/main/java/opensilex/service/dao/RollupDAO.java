@@ -0,0 +1,568 @@
+//******************************************************************************
+//                                 RollupDAO.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.Response;
+import opensilex.service.async.RequestDeadline;
+import opensilex.service.configuration.RollupPeriod;
+import opensilex.service.dao.manager.MongoDAO;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.job.JobContext;
+import opensilex.service.model.Rollup;
+import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.utils.export.Measure;
+import opensilex.service.view.brapi.Status;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures rollups DAO.
+ * The rollups summarize the numeric measures of a variable (count, sum,
+ * minimum and maximum) by subject, provenance and period, for each period of
+ * RollupPeriod. They are incremented in the transaction inserting the
+ * measures, so the series can be read at a coarse resolution without reading
+ * the measures.
+ * The rollups of a variable are stored in a collection by source of measures:
+ * @example v001_data_rollups, v001_environment_rollups
+ * @author agent <agent@local>
+ */
+public class RollupDAO extends MongoDAO<Rollup> {
+
+    final static Logger LOGGER = LoggerFactory.getLogger(RollupDAO.class);
+
+    // Sources of the rolled up measures
+    public final static String SOURCE_DATA = "data";
+    public final static String SOURCE_ENVIRONMENT = "environment";
+
+    // MongoDB fields labels
+    private final static String DB_FIELD_GRANULARITY = "granularity";
+    private final static String DB_FIELD_DATE = "date";
+    private final static String DB_FIELD_SUBJECT = "subject";
+    private final static String DB_FIELD_PROVENANCE = "provenance";
+    private final static String DB_FIELD_COUNT = "count";
+    private final static String DB_FIELD_SUM = "sum";
+    private final static String DB_FIELD_MIN = "min";
+    private final static String DB_FIELD_MAX = "max";
+
+    private final static String COLLECTION_SUFFIX = "_rollups";
+    // Suffix of the collection in which the rollups are rebuilt
+    private final static String REBUILD_COLLECTION_SUFFIX = "_rebuild";
+
+    // Number of measures read before writing their rollups, during a rebuild
+    private final static int REBUILD_BATCH_SIZE = 10000;
+
+    private final String source;
+
+    /**
+     * Rollups of the added measures, not written yet, by period and key.
+     */
+    private final Map<RollupPeriod, Map<String, Rollup>> pendingRollups = new LinkedHashMap<>();
+
+    /**
+     * Search parameters.
+     * The searched intervals start between startDate (included) and endDate
+     * (excluded), which must be starts of the period of the rollups.
+     */
+    public String variableUri;
+    public Date startDate;
+    public Date endDate;
+    public String subjectUri;
+    public String provenanceUri;
+    public RollupPeriod period;
+
+    /**
+     * Duration of the searched intervals in milliseconds, multiple of the
+     * duration of the period.
+     */
+    public long interval;
+
+    /**
+     * @param source SOURCE_DATA or SOURCE_ENVIRONMENT
+     */
+    public RollupDAO(String source) {
+        super();
+        this.source = source;
+    }
+
+    /**
+     * @param variableUri
+     * @example variableUri http://www.phenome-fppn.fr/id/variables/v001
+     * @return the rollups collection name of the variable
+     * @example collection name : v001_data_rollups
+     */
+    private String getRollupsCollectionName(String variableUri) {
+        String[] split = variableUri.split("/");
+        return split[split.length - 1] + "_" + source + COLLECTION_SUFFIX;
+    }
+
+    /**
+     * @param variableUri
+     * @return the rollups collection of the variable
+     */
+    private MongoCollection<Document> getRollupsCollection(String variableUri) {
+        return database.getCollection(getRollupsCollectionName(variableUri));
+    }
+
+    /**
+     * @param value
+     * @return the numeric value of a measure, null if the value is not numeric
+     */
+    private static Double getNumericValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Decimal128) {
+            return ((Decimal128) value).bigDecimalValue().doubleValue();
+        }
+        return null;
+    }
+
+    /**
+     * Adds a measure to the pending rollups. The measures which are not
+     * numeric are ignored.
+     * @param variableUri
+     * @param date
+     * @param subjectUri scientific object or sensor
+     * @param provenanceUri
+     * @param value
+     */
+    public void addMeasure(String variableUri, Date date, String subjectUri, String provenanceUri, Object value) {
+        Double numericValue = getNumericValue(value);
+        if (numericValue == null || date == null) {
+            return;
+        }
+
+        for (RollupPeriod rollupPeriod : RollupPeriod.values()) {
+            Date start = rollupPeriod.getStart(date);
+            String key = variableUri + " " + subjectUri + " " + provenanceUri + " " + start.getTime();
+            Rollup rollup = pendingRollups
+                    .computeIfAbsent(rollupPeriod, (p) -> new LinkedHashMap<>())
+                    .computeIfAbsent(key, (k) -> {
+                        Rollup newRollup = new Rollup();
+                        newRollup.setVariableUri(variableUri);
+                        newRollup.setDate(start);
+                        newRollup.setSubjectUri(subjectUri);
+                        newRollup.setProvenanceUri(provenanceUri);
+                        return newRollup;
+                    });
+            rollup.setCount(rollup.getCount() + 1);
+            rollup.setSum(rollup.getSum() + numericValue);
+            rollup.setMin(rollup.getMin() == null ? numericValue : Math.min(rollup.getMin(), numericValue));
+            rollup.setMax(rollup.getMax() == null ? numericValue : Math.max(rollup.getMax(), numericValue));
+        }
+    }
+
+    /**
+     * Prepares the updates of the pending rollups, grouped by variable.
+     * @example
+     * filter :
+     * {
+     *      "granularity": "hour",
+     *      "date": { "$date" : 1497513600000 },
+     *      "subject" : "http://www.phenome-fppn.fr/diaphen/2018/s18521",
+     *      "provenance" : "http://www.phenome-fppn.fr/mtp/2018/pv181515071552"
+     * }
+     * update :
+     * {
+     *      "$inc": { "count": 2, "sum": 1.2 },
+     *      "$min": { "min": 0.5 },
+     *      "$max": { "max": 0.7 }
+     * }
+     * @return the rollups updates by variable
+     */
+    private Map<String, List<WriteModel<Document>>> prepareUpdates() {
+        Map<String, List<WriteModel<Document>>> updatesByVariable = new LinkedHashMap<>();
+        UpdateOptions upsert = new UpdateOptions().upsert(true);
+        pendingRollups.forEach((rollupPeriod, rollups) -> {
+            rollups.values().forEach((rollup) -> {
+                Bson filter = prepareRollupFilter(rollupPeriod, rollup);
+                Bson update = Updates.combine(
+                        Updates.inc(DB_FIELD_COUNT, rollup.getCount()),
+                        Updates.inc(DB_FIELD_SUM, rollup.getSum()),
+                        Updates.min(DB_FIELD_MIN, rollup.getMin()),
+                        Updates.max(DB_FIELD_MAX, rollup.getMax()));
+                updatesByVariable
+                        .computeIfAbsent(rollup.getVariableUri(), (variable) -> new ArrayList<>())
+                        .add(new UpdateOneModel<>(filter, update, upsert));
+            });
+        });
+        return updatesByVariable;
+    }
+
+    /**
+     * @param rollupPeriod
+     * @param rollup
+     * @return the filter of the stored rollup of the period, subject, 
+     * provenance and start date of the given rollup
+     */
+    private static Bson prepareRollupFilter(RollupPeriod rollupPeriod, Rollup rollup) {
+        return Filters.and(
+                Filters.eq(DB_FIELD_GRANULARITY, rollupPeriod.toString()),
+                Filters.eq(DB_FIELD_DATE, rollup.getDate()),
+                Filters.eq(DB_FIELD_SUBJECT, rollup.getSubjectUri()),
+                Filters.eq(DB_FIELD_PROVENANCE, rollup.getProvenanceUri()));
+    }
+
+    /**
+     * Creates the unique index of a rollups collection. Mongo won't create the
+     * index if it already exists.
+     * @param rollupsCollection
+     */
+    private void createIndex(MongoCollection<Document> rollupsCollection) {
+        rollupsCollection.createIndex(
+                Indexes.ascending(DB_FIELD_GRANULARITY, DB_FIELD_DATE, DB_FIELD_SUBJECT, DB_FIELD_PROVENANCE),
+                new IndexOptions().unique(true));
+    }
+
+    /**
+     * Writes the pending rollups in the given transaction. The collections
+     * can't be created in a transaction, so their indexes are created before.
+     * @param session transaction inserting the measures
+     * @throws com.mongodb.MongoException
+     */
+    public void increment(ClientSession session) {
+        Map<String, List<WriteModel<Document>>> updatesByVariable = prepareUpdates();
+        updatesByVariable.keySet().forEach((variable) -> {
+            createIndex(getRollupsCollection(variable));
+        });
+        updatesByVariable.forEach((variable, updates) -> {
+            getRollupsCollection(variable).bulkWrite(session, updates);
+        });
+        pendingRollups.clear();
+    }
+
+    /**
+     * Rebuilds the rollups of a variable from its measures. The measures are 
+     * read and their rollups are written by batch in a temporary collection,
+     * which replaces the rollups collection at the end. The existing rollups
+     * are read until then. The measures of the variable should not be 
+     * inserted during the rebuild.
+     * @param variableUri
+     * @param measures all the measures of the variable
+     * @param measuresCount number of measures of the variable, to report the 
+     * progress
+     * @param context job of the rebuild
+     * @return the rebuild result
+     */
+    public POSTResultsReturn rebuild(String variableUri, MongoIterable<Measure> measures, long measuresCount, JobContext context) {
+        String rollupsCollectionName = getRollupsCollectionName(variableUri);
+        MongoCollection<Document> rebuildCollection = database.getCollection(rollupsCollectionName + REBUILD_COLLECTION_SUFFIX);
+        // Rollups of a previous rebuild which has failed
+        rebuildCollection.drop();
+        createIndex(rebuildCollection);
+
+        long readMeasures = 0;
+        int pendingMeasures = 0;
+        try (MongoCursor<Measure> cursor = measures.iterator()) {
+            while (cursor.hasNext()) {
+                Measure measure = cursor.next();
+                addMeasure(variableUri, measure.getDate(), measure.getSubject(), measure.getProvenance(), measure.getValue());
+                readMeasures++;
+                pendingMeasures++;
+                if (pendingMeasures >= REBUILD_BATCH_SIZE) {
+                    writePendingRollups(rebuildCollection);
+                    pendingMeasures = 0;
+                    context.setProgress((int) Math.min(99, readMeasures * 100 / Math.max(1, measuresCount)));
+                }
+            }
+        }
+        writePendingRollups(rebuildCollection);
+        rebuildCollection.renameCollection(
+                new MongoNamespace(database.getName(), rollupsCollectionName), 
+                new RenameCollectionOptions().dropTarget(true));
+
+        POSTResultsReturn result = new POSTResultsReturn(true);
+        result.setHttpStatus(Response.Status.OK);
+        result.statusList.add(new Status("Rollups rebuilt", StatusCodeMsg.INFO,
+                readMeasures + " " + source + " measure(s) of " + variableUri + " read"));
+        return result;
+    }
+
+    /**
+     * Writes the pending rollups in a rollups collection, outside of a 
+     * transaction.
+     * @param rollupsCollection
+     */
+    private void writePendingRollups(MongoCollection<Document> rollupsCollection) {
+        prepareUpdates().values().forEach((updates) -> {
+            rollupsCollection.bulkWrite(updates);
+        });
+        pendingRollups.clear();
+    }
+
+    /**
+     * Prepares the search query of the rollups of the searched period.
+     * @return the rollups search query
+     * @example
+     * {
+     *      "granularity": "day",
+     *      "date": {
+     *          "$gte": { "$date" : 1497484800000 },
+     *          "$lt": { "$date" : 1498089600000 }
+     *      },
+     *      "subject" : "http://www.phenome-fppn.fr/diaphen/2018/s18521"
+     * }
+     */
+    @Override
+    protected BasicDBObject prepareSearchQuery() {
+        BasicDBObject query = new BasicDBObject(DB_FIELD_GRANULARITY, period.toString());
+
+        BasicDBObject dateFilter = new BasicDBObject();
+        if (startDate != null) {
+            dateFilter.append("$gte", startDate);
+        }
+        if (endDate != null) {
+            dateFilter.append("$lt", endDate);
+        }
+        if (!dateFilter.isEmpty()) {
+            query.append(DB_FIELD_DATE, dateFilter);
+        }
+        if (subjectUri != null) {
+            query.append(DB_FIELD_SUBJECT, subjectUri);
+        }
+        if (provenanceUri != null) {
+            query.append(DB_FIELD_PROVENANCE, provenanceUri);
+        }
+
+        LOGGER.debug(getTraceabilityLogs() + " query : " + query.toString());
+        return query;
+    }
+
+    /**
+     * Prepares the pipeline summing the rollups of the searched period by
+     * interval, subject and provenance. The intervals are aligned on the
+     * epoch, like the periods.
+     * @example
+     * [
+     *  { "$match": { "granularity": "hour", ... } },
+     *  { "$group": {
+     *      "_id": {
+     *          "date": { "$subtract": ["$date", { "$mod": [{ "$subtract": ["$date", { "$date": 0 }] }, 10800000] }] },
+     *          "subject": "$subject",
+     *          "provenance": "$provenance"
+     *      },
+     *      "count": { "$sum": "$count" },
+     *      "sum": { "$sum": "$sum" },
+     *      "min": { "$min": "$min" },
+     *      "max": { "$max": "$max" }
+     *  } }
+     * ]
+     * @return the search pipeline
+     */
+    private List<Bson> prepareSearchPipeline() {
+        Document intervalStart = new Document("$subtract", Arrays.asList(
+                "$" + DB_FIELD_DATE,
+                new Document("$mod", Arrays.asList(
+                        new Document("$subtract", Arrays.asList("$" + DB_FIELD_DATE, new Date(0))),
+                        interval))));
+        Document groupId = new Document(DB_FIELD_DATE, intervalStart)
+                .append(DB_FIELD_SUBJECT, "$" + DB_FIELD_SUBJECT)
+                .append(DB_FIELD_PROVENANCE, "$" + DB_FIELD_PROVENANCE);
+
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(prepareSearchQuery()));
+        pipeline.add(Aggregates.group(groupId,
+                Accumulators.sum(DB_FIELD_COUNT, "$" + DB_FIELD_COUNT),
+                Accumulators.sum(DB_FIELD_SUM, "$" + DB_FIELD_SUM),
+                Accumulators.min(DB_FIELD_MIN, "$" + DB_FIELD_MIN),
+                Accumulators.max(DB_FIELD_MAX, "$" + DB_FIELD_MAX)));
+        return pipeline;
+    }
+
+    /**
+     * @return the number of intervals found with the search parameters
+     */
+    public int count() {
+        List<Bson> pipeline = prepareSearchPipeline();
+        pipeline.add(Aggregates.count(DB_FIELD_COUNT));
+        Document count = withDeadline(getRollupsCollection(variableUri).aggregate(pipeline)).first();
+        return count == null ? 0 : ((Number) count.get(DB_FIELD_COUNT)).intValue();
+    }
+
+    /**
+     * Searches the intervals with the search parameters, sorted by date,
+     * subject and provenance.
+     * @return the page of rollups of the intervals
+     */
+    public ArrayList<Rollup> allPaginate() {
+        List<Bson> pipeline = prepareSearchPipeline();
+        pipeline.add(Aggregates.sort(Sorts.ascending(
+                DB_FIELD_ID + "." + DB_FIELD_DATE,
+                DB_FIELD_ID + "." + DB_FIELD_SUBJECT,
+                DB_FIELD_ID + "." + DB_FIELD_PROVENANCE)));
+        if (page != null && pageSize != null) {
+            pipeline.add(Aggregates.skip(page * pageSize));
+            pipeline.add(Aggregates.limit(pageSize));
+        }
+
+        ArrayList<Rollup> rollups = new ArrayList<>();
+        try (MongoCursor<Document> cursor = withDeadline(getRollupsCollection(variableUri).aggregate(pipeline)).allowDiskUse(true).iterator()) {
+            while (cursor.hasNext()) {
+                RequestDeadline.check();
+                Document rollupDocument = cursor.next();
+                Document id = rollupDocument.get(DB_FIELD_ID, Document.class);
+                Rollup rollup = new Rollup();
+                rollup.setVariableUri(variableUri);
+                rollup.setDate(id.getDate(DB_FIELD_DATE));
+                rollup.setSubjectUri(id.getString(DB_FIELD_SUBJECT));
+                rollup.setProvenanceUri(id.getString(DB_FIELD_PROVENANCE));
+                rollup.setCount(((Number) rollupDocument.get(DB_FIELD_COUNT)).longValue());
+                rollup.setSum(((Number) rollupDocument.get(DB_FIELD_SUM)).doubleValue());
+                rollup.setMin(rollupDocument.getDouble(DB_FIELD_MIN));
+                rollup.setMax(rollupDocument.getDouble(DB_FIELD_MAX));
+                rollups.add(rollup);
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * Adds the given rollups of the searched period to the stored rollups,
+     * outside of a transaction.
+     * @param rollups
+     * @return the given rollups
+     */
+    @Override
+    public List<Rollup> create(List<Rollup> rollups) {
+        Map<String, Rollup> periodRollups = pendingRollups.computeIfAbsent(period, (p) -> new LinkedHashMap<>());
+        rollups.forEach((rollup) -> {
+            periodRollups.put(rollup.getVariableUri() + " " + rollup.getSubjectUri() + " " 
+                    + rollup.getProvenanceUri() + " " + rollup.getDate().getTime(), rollup);
+        });
+        Map<String, List<WriteModel<Document>>> updatesByVariable = prepareUpdates();
+        updatesByVariable.forEach((variable, updates) -> {
+            MongoCollection<Document> rollupsCollection = getRollupsCollection(variable);
+            createIndex(rollupsCollection);
+            rollupsCollection.bulkWrite(updates);
+        });
+        pendingRollups.clear();
+        return rollups;
+    }
+
+    /**
+     * Deletes the stored rollups of the searched period corresponding to the 
+     * given rollups.
+     * @param rollups
+     */
+    @Override
+    public void delete(List<Rollup> rollups) {
+        rollups.forEach((rollup) -> {
+            getRollupsCollection(rollup.getVariableUri()).deleteOne(prepareRollupFilter(period, rollup));
+        });
+    }
+
+    /**
+     * Replaces the values of the stored rollups of the searched period by the
+     * values of the given rollups.
+     * @param rollups
+     * @return the given rollups
+     */
+    @Override
+    public List<Rollup> update(List<Rollup> rollups) {
+        rollups.forEach((rollup) -> {
+            getRollupsCollection(rollup.getVariableUri()).updateOne(
+                    prepareRollupFilter(period, rollup),
+                    Updates.combine(
+                            Updates.set(DB_FIELD_COUNT, rollup.getCount()),
+                            Updates.set(DB_FIELD_SUM, rollup.getSum()),
+                            Updates.set(DB_FIELD_MIN, rollup.getMin()),
+                            Updates.set(DB_FIELD_MAX, rollup.getMax())));
+        });
+        return rollups;
+    }
+
+    /**
+     * Gets the stored rollup of the searched period corresponding to the 
+     * given rollup.
+     * @param rollup
+     * @return the stored rollup, null if it does not exist
+     */
+    @Override
+    public Rollup find(Rollup rollup) {
+        Document rollupDocument = getRollupsCollection(rollup.getVariableUri())
+                .find(prepareRollupFilter(period, rollup))
+                .first();
+        if (rollupDocument == null) {
+            return null;
+        }
+        return documentToRollup(rollup.getVariableUri(), rollupDocument);
+    }
+
+    /**
+     * Gets a stored rollup of the searched variable from its identifier.
+     * @param id
+     * @return the stored rollup, null if it does not exist
+     */
+    @Override
+    public Rollup findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return null;
+        }
+        Document rollupDocument = getRollupsCollection(variableUri)
+                .find(Filters.eq(DB_FIELD_ID, new ObjectId(id)))
+                .first();
+        if (rollupDocument == null) {
+            return null;
+        }
+        return documentToRollup(variableUri, rollupDocument);
+    }
+
+    /**
+     * Transforms a stored rollup document into a rollup.
+     * @param variableUri
+     * @param rollupDocument
+     * @return the rollup
+     */
+    private Rollup documentToRollup(String variableUri, Document rollupDocument) {
+        Rollup rollup = new Rollup();
+        rollup.setVariableUri(variableUri);
+        rollup.setDate(rollupDocument.getDate(DB_FIELD_DATE));
+        rollup.setSubjectUri(rollupDocument.getString(DB_FIELD_SUBJECT));
+        rollup.setProvenanceUri(rollupDocument.getString(DB_FIELD_PROVENANCE));
+        rollup.setCount(((Number) rollupDocument.get(DB_FIELD_COUNT)).longValue());
+        rollup.setSum(((Number) rollupDocument.get(DB_FIELD_SUM)).doubleValue());
+        rollup.setMin(rollupDocument.getDouble(DB_FIELD_MIN));
+        rollup.setMax(rollupDocument.getDouble(DB_FIELD_MAX));
+        return rollup;
+    }
+
+    /**
+     * The rollups are computed from the measures, which are checked by their
+     * own DAO: there is no data to check.
+     * @param rollups
+     */
+    @Override
+    public void validate(List<Rollup> rollups) {
+    }
+}
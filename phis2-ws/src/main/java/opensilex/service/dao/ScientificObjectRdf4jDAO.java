@@ -87,6 +87,7 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
     private final String PROPERTY_RELATION = "propertyRelation";
     private final String PROPERTY_TYPE = "propertyType";
     private final String CHILD = "child";
+    private final String PARENT = "parent";
     private final String RELATION = "relation";
     
     private static final String MAX_ID = "maxID";
@@ -372,6 +373,32 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
         return sparqlQuery;
     }
     
+    /**
+     * Generates a query to get all the scientific objects contained (geo:contains) 
+     * in the scientific objects participating in a given experiment.
+     * @param experimentURI
+     * @example
+     * SELECT DISTINCT  ?child ?rdfType 
+     * WHERE {
+     *      ?parent  <http://www.opensilex.org/vocabulary/oeso#participatesIn>  <http://www.opensilex.org/demo/DMO2018-1>  . 
+     *      ?parent  <http://www.opengis.net/ont/geosparql#contains>*  ?child  . 
+     *      ?child  <http://www.w3.org/1999/02/22-rdf-syntax-ns#type>  ?rdfType  . 
+     * }
+     * @return the query enabling to select all the descendants of the experiment scientific objects.
+     */
+    private SPARQLQueryBuilder prepareSearchExperimentDescendants(String experimentURI) {
+        SPARQLQueryBuilder sparqlQuery = new SPARQLQueryBuilder();
+        sparqlQuery.appendDistinct(true);
+        sparqlQuery.appendSelect("?" + CHILD + " ?" + RDF_TYPE);
+        sparqlQuery.appendTriplet("?" + PARENT, Oeso.RELATION_PARTICIPATES_IN.toString(), experimentURI, null);
+        sparqlQuery.appendTriplet("?" + PARENT, "<" + GeoSPARQL.RELATION_CONTAINS.toString() + ">*", "?" + CHILD, null);
+        sparqlQuery.appendTriplet("?" + CHILD, Rdf.RELATION_TYPE.toString(), "?" + RDF_TYPE, null);
+        
+        LOGGER.debug(SPARQL_QUERY + sparqlQuery.toString());
+
+        return sparqlQuery;
+    }
+    
     /**
      * Generates the query to get the first scientific objects contained by a given scientific object (geo:contains).
      * @param objectURI
@@ -452,36 +479,33 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
             // Particular treatment if descendants of a trial
             if (layerDTO.getObjectType().equals(Oeso.CONCEPT_EXPERIMENT.toString())) {
                 // Get all descendants of the plots of the previously retrieved experimentations
-                    //SILEX:test
-                    //For pool connection issues
-                    rep = new HTTPRepository(SESAME_SERVER, REPOSITORY_ID);
-                    rep.initialize();
-                    setConnection(rep.getConnection());
-                    //\SILEX:test
-                for (Entry<String, ScientificObject> child : children.entrySet()) {
-                   
-                    SPARQLQueryBuilder sparqlQuery = prepareSearchChildrenWithContains(
-                            child.getKey(), 
-                            child.getValue().getRdfType());
-                    TupleQuery tupleQuery = this.getConnection()
-                            .prepareTupleQuery(QueryLanguage.SPARQL, sparqlQuery.toString());
-                    TupleQueryResult result = tupleQuery.evaluate();
-                   
+                // in a single query instead of one query per plot
+                //SILEX:test
+                //For pool connection issues
+                rep = new HTTPRepository(SESAME_SERVER, REPOSITORY_ID);
+                rep.initialize();
+                setConnection(rep.getConnection());
+                //\SILEX:test
+                SPARQLQueryBuilder sparqlQuery = prepareSearchExperimentDescendants(layerDTO.getObjectUri());
+                TupleQuery tupleQuery = this.getConnection()
+                        .prepareTupleQuery(QueryLanguage.SPARQL, sparqlQuery.toString());
+
+                try (TupleQueryResult result = tupleQuery.evaluate()) {
                     while (result.hasNext()) {
                         BindingSet bindingSet = result.next();
                         if (!children.containsKey(bindingSet.getValue(CHILD).stringValue())) {
                             ScientificObject scientificObject = new ScientificObject();
                             scientificObject.setUri(bindingSet.getValue(CHILD).stringValue());
                             scientificObject.setRdfType(bindingSet.getValue(RDF_TYPE).stringValue());
-                            
+
                             children.put(bindingSet.getValue(CHILD).stringValue(), scientificObject);
                         }
                     }
                 }
-                    //SILEX:test
-                    //For pool connection issues
-                    getConnection().close();
-                    //\SILEX:test
+                //SILEX:test
+                //For pool connection issues
+                getConnection().close();
+                //\SILEX:test
             } else { // if standard object
                 //SILEX:test
                 //For pool connection issues
@@ -687,6 +711,55 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
         }
     }
 
+    /**
+     * Generates a query to get only the URIs of the scientific objects of an experiment.
+     * @param experimentURI
+     * @example
+     * SELECT DISTINCT  ?uri 
+     * FROM <http://www.opensilex.org/vocabulary/oeso> 
+     * FROM <http://www.opensilex.org/demo/DMO2018-1>
+     * WHERE {
+     *      ?uri  <http://www.w3.org/1999/02/22-rdf-syntax-ns#type>  ?rdfType  . 
+     *      ?rdfType  <http://www.w3.org/2000/01/rdf-schema#subClassOf>*  <http://www.opensilex.org/vocabulary/oeso#ScientificObject> . 
+     * }
+     * @return the generated query
+     */
+    private SPARQLQueryBuilder prepareSearchExperimentScientificObjectsUris(String experimentURI) {
+        SPARQLQueryBuilder sparqlQuery = new SPARQLQueryBuilder();
+        sparqlQuery.appendDistinct(true);
+        sparqlQuery.appendSelect("?" + URI);
+        sparqlQuery.appendFrom("<" + Contexts.VOCABULARY.toString() + "> \n FROM <" + experimentURI + ">");
+        sparqlQuery.appendTriplet("?" + URI, Rdf.RELATION_TYPE.toString(), "?" + RDF_TYPE, null);
+        sparqlQuery.appendTriplet(
+                "?" + RDF_TYPE, 
+                "<" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">*", 
+                Oeso.CONCEPT_SCIENTIFIC_OBJECT.toString(), null);
+        
+        LOGGER.debug(SPARQL_QUERY + sparqlQuery.toString());
+        
+        return sparqlQuery;
+    }
+    
+    /**
+     * Gets the URIs of the scientific objects of an experiment, without their 
+     * properties and geometries.
+     * @param experimentURI
+     * @return the scientific objects URIs, empty if no result
+     */
+    public ArrayList<String> findUrisByExperiment(String experimentURI) {
+        SPARQLQueryBuilder sparqlQuery = prepareSearchExperimentScientificObjectsUris(experimentURI);
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, sparqlQuery.toString());
+        ArrayList<String> scientificObjectsUris = new ArrayList<>();
+        
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                scientificObjectsUris.add(result.next().getValue(URI).stringValue());
+            }
+        }
+        
+        return scientificObjectsUris;
+    }
+    
     /**
      * Generates a query to search scientific objects by the given search params.
      * @param page
@@ -935,6 +1008,11 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
             //3. insert in postgresql
             ScientificObjectSQLDAO scientificObjectDAO = new ScientificObjectSQLDAO();
             scientificObjectDAO.checkAndInsertListAO(scientificObjectsReadyToInsert);
+            
+            //4. the layers containing the new scientific objects are outdated
+            scientificObjectsReadyToInsert.forEach((scientificObject) -> {
+                LayerDAO.invalidateLayers(scientificObject.getUriExperiment());
+            });
         } else {
             // Rollback on the transaction.
             this.getConnection().rollback();
@@ -1179,6 +1257,9 @@ public class ScientificObjectRdf4jDAO extends Rdf4jDAO<ScientificObject> {
             }
             
             this.getConnection().commit();
+            
+            //3. The layers containing the scientific object are outdated
+            LayerDAO.invalidateLayers(context);
         } catch (MalformedQueryException e) { //an error occurred, rollback
             this.getConnection().rollback();
             throw new MalformedQueryException(e.getMessage());
@@ -7,6 +7,7 @@
 //******************************************************************************
 package opensilex.service.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -31,6 +32,7 @@ import opensilex.service.model.ScientificObject;
 
 /**
  * Scientific objects DAO for a relational database.
+ * @update [agent] 18 Oct. 2026: Search the scientific objects by location
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class ScientificObjectSQLDAO extends PhisDAO<ScientificObject, Object> {
@@ -46,6 +48,28 @@ public class ScientificObjectSQLDAO extends PhisDAO<ScientificObject, Object> {
     private final String GEOMETRY = "geometry";
     public String namedGraph;
     private final String NAMED_GRAPH = "named_graph";
+    private final String GEOJSON = "geojson";
+    
+    // Number of geometries fetched at once from the database
+    private final static int GEOMETRIES_FETCH_SIZE = 500;
+    
+    // Spatial search filters, in EPSG:4326
+    // Bounding box: min longitude, min latitude, max longitude, max latitude
+    public double[] bbox;
+    // WKT geometry that the scientific objects intersect
+    public String searchedGeometry;
+    // Maximum distance in meters between the scientific objects and the searched geometry
+    public Double distance;
+    // Map zoom level, used to simplify the returned geometries
+    public Integer zoom;
+    
+    private final static int SRID = 4326;
+    // Width in pixels of the map tiles, used to compute the simplification tolerance
+    private final static int TILE_SIZE = 256;
+    
+    // Errors of PostGIS on a geometry which can't be parsed or built
+    private final static String INVALID_PARAMETER_SQL_STATE = "22023";
+    private final static String INTERNAL_ERROR_SQL_STATE = "XX000";
     
     public ScientificObjectSQLDAO() {
         super();
@@ -216,14 +240,161 @@ public class ScientificObjectSQLDAO extends PhisDAO<ScientificObject, Object> {
         return scientificObject;
     }
 
+    /**
+     * Searches the scientific objects by type, experiment and location. The 
+     * spatial filters use the GiST indexes of the geometries, created by the
+     * agronomical_object_indexes.sql deployment script. The geometries 
+     * are returned in GeoJSON, simplified to the map pixel size if a zoom 
+     * level is given.
+     * @example
+     * SELECT ao."uri", ao."type", ao."named_graph", 
+     *   ST_AsGeoJSON(ST_SimplifyPreserveTopology(ST_Transform(ao."geometry", 4326), 2.1457672119140625E-5), 6) AS geojson
+     * FROM "agronomical_object" AS ao
+     * WHERE ao."named_graph" = 'http://www.opensilex.org/demo/DMO2012-1'
+     *   AND ao."geometry" && ST_MakeEnvelope(3.97, 43.61, 3.98, 43.62, 4326)
+     * ORDER BY ao."uri"
+     * LIMIT 20 OFFSET 0
+     * @return the scientific objects of the page, null on error
+     */
     @Override
     public ArrayList<ScientificObject> allPaginate() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        List<Object> parameters = new ArrayList<>();
+        String geometryColumn = "ST_Transform(" + tableAlias + ".\"" + GEOMETRY + "\", " + SRID + ")";
+        String geoJson;
+        if (zoom != null) {
+            // One pixel of the map, in degrees
+            double tolerance = 360.0 / (TILE_SIZE * Math.pow(2, zoom));
+            // Digits needed to keep a precision of a tenth of pixel
+            int digits = Math.max(0, (int) Math.ceil(-Math.log10(tolerance)) + 1);
+            geoJson = "ST_AsGeoJSON(ST_SimplifyPreserveTopology(" + geometryColumn + ", " + tolerance + "), " + digits + ")";
+        } else {
+            geoJson = "ST_AsGeoJSON(" + geometryColumn + ")";
+        }
+        final String query = "SELECT " + tableAlias + ".\"" + URI + "\", " 
+                + tableAlias + ".\"" + TYPE + "\", "
+                + tableAlias + ".\"" + NAMED_GRAPH + "\", "
+                + geoJson + " AS " + GEOJSON + " "
+                + "FROM \"" + table + "\" AS " + tableAlias + " "
+                + getSearchConditions(parameters)
+                + "ORDER BY " + tableAlias + ".\"" + URI + "\" "
+                + "LIMIT ? OFFSET ?";
+        parameters.add(getPageSize());
+        parameters.add(getPage() * getPageSize());
+        
+        ArrayList<ScientificObject> scientificObjects = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); 
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            setParameters(statement, parameters);
+            LOGGER.debug(getTraceabilityLogs() + " query : " + query);
+            try (ResultSet queryResult = statement.executeQuery()) {
+                while (queryResult.next()) {
+                    ScientificObject scientificObject = new ScientificObject(queryResult.getString(URI));
+                    scientificObject.setRdfType(queryResult.getString(TYPE));
+                    scientificObject.setExperiment(queryResult.getString(NAMED_GRAPH));
+                    scientificObject.setGeometry(queryResult.getString(GEOJSON));
+                    scientificObjects.add(scientificObject);
+                }
+            }
+            return scientificObjects;
+        } catch (SQLException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+    
+    /**
+     * Generates the WHERE clause of the scientific objects search.
+     * The geometries are supposed to be stored in EPSG:4326, as they are 
+     * inserted, so that the indexes can be used.
+     * @param parameters list completed with the parameters of the clause
+     * @return the clause, empty if there is no filter
+     */
+    private String getSearchConditions(List<Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        String geometryColumn = tableAlias + ".\"" + GEOMETRY + "\"";
+        if (rdfType != null) {
+            conditions.add(tableAlias + ".\"" + TYPE + "\" = ?");
+            parameters.add(rdfType);
+        }
+        if (namedGraph != null) {
+            conditions.add(tableAlias + ".\"" + NAMED_GRAPH + "\" = ?");
+            parameters.add(namedGraph);
+        }
+        if (bbox != null) {
+            conditions.add(geometryColumn + " && ST_MakeEnvelope(?, ?, ?, ?, " + SRID + ")");
+            for (double coordinate : bbox) {
+                parameters.add(coordinate);
+            }
+        }
+        if (searchedGeometry != null) {
+            if (distance != null) {
+                // Distance in meters on the spheroid, uses the geography index
+                conditions.add("ST_DWithin(" + geometryColumn + "::geography, ST_GeomFromText(?, " + SRID + ")::geography, ?)");
+                parameters.add(searchedGeometry);
+                parameters.add(distance);
+            } else {
+                conditions.add("ST_Intersects(" + geometryColumn + ", ST_GeomFromText(?, " + SRID + "))");
+                parameters.add(searchedGeometry);
+            }
+        }
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+    
+    private static void setParameters(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+    }
+    
+    /**
+     * Checks that PostGIS can build a geometry from a WKT, as the search does.
+     * @param wkt
+     * @example
+     * SELECT ST_GeomFromText('POLYGON((3.97 43.61, 3.98 43.61, 3.98 43.62, 3.97 43.61))', 4326) IS NOT NULL
+     * @return true if the geometry is valid, false if it is not, null on 
+     * error
+     */
+    public Boolean isValidGeometry(String wkt) {
+        final String query = "SELECT ST_GeomFromText(?, " + SRID + ") IS NOT NULL";
+        try (Connection connection = dataSource.getConnection(); 
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, wkt);
+            try (ResultSet queryResult = statement.executeQuery()) {
+                return queryResult.next() && queryResult.getBoolean(1);
+            }
+        } catch (SQLException ex) {
+            if (INVALID_PARAMETER_SQL_STATE.equals(ex.getSQLState()) 
+                    || INTERNAL_ERROR_SQL_STATE.equals(ex.getSQLState())) {
+                LOGGER.debug("Invalid geometry " + wkt + ": " + ex.getMessage());
+                return false;
+            }
+            LOGGER.error(ex.getMessage(), ex);
+            return null;
+        }
     }
 
+    /**
+     * Counts the scientific objects matching the search filters.
+     * @see ScientificObjectSQLDAO#allPaginate()
+     * @return the number of scientific objects, null on error
+     */
     @Override
     public Integer count() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        List<Object> parameters = new ArrayList<>();
+        final String query = "SELECT count(*) FROM \"" + table + "\" AS " + tableAlias + " "
+                + getSearchConditions(parameters);
+        
+        try (Connection connection = dataSource.getConnection(); 
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            setParameters(statement, parameters);
+            LOGGER.debug(getTraceabilityLogs() + " query : " + query);
+            try (ResultSet queryResult = statement.executeQuery()) {
+                return queryResult.next() ? queryResult.getInt(1) : 0;
+            }
+        } catch (SQLException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            return null;
+        }
     }
 
     @Override
@@ -243,39 +414,69 @@ public class ScientificObjectSQLDAO extends PhisDAO<ScientificObject, Object> {
      * @throws java.sql.SQLException
      */
     public HashMap<String, String> getGeometries(ArrayList<String> scientificObjectsURIs) throws SQLException {
-        Connection connection = null;
-        Statement statement = null;
-        try {    
-            connection = dataSource.getConnection();
-            statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
-
-            SQLQueryBuilder query = new SQLQueryBuilder();
-            query.appendSelect("ST_AsGeoJSON(ST_Transform(" + GEOMETRY + ", 4326)), ao." + URI);
-            query.appendFrom(table, tableAlias);
-
-            for (String scientificObjectURI : scientificObjectsURIs) {
-                query.appendORWhereConditionIfNeeded(URI, scientificObjectURI, "=", null, tableAlias);
-            }
-
-            LOGGER.debug(getTraceabilityLogs() + " quert : " + query.toString());
-
-            ResultSet queryResult = statement.executeQuery(query.toString());
-            HashMap<String, String> geometries = new HashMap<>();
-
-            while (queryResult.next()) {
-                geometries.put(queryResult.getString(URI), queryResult.getString("st_asgeojson"));
-            }
-
-            return geometries;                
-        } catch (SQLException ex) {
+        HashMap<String, String> geometries = new HashMap<>();
+        try {
+            forEachGeometry(scientificObjectsURIs, geometries::put);
+            return geometries;
+        } catch (SQLException | IOException ex) {
             java.util.logging.Logger.getLogger(ScientificObjectSQLDAO.class.getName()).log(Level.SEVERE, null, ex);
             return null;
-        } finally {
-            if (statement != null) {
-                statement.close();
-            }
-            if (connection != null)  {
-                connection.close();
+        }
+    }
+    
+    /**
+     * Handles a scientific object geometry read from the database.
+     */
+    @FunctionalInterface
+    public interface GeometryHandler {
+        /**
+         * @param uri the scientific object URI
+         * @param geoJsonGeometry the geometry, in GeoJSON (EPSG:4326)
+         * @throws IOException 
+         */
+        void handle(String uri, String geoJsonGeometry) throws IOException;
+    }
+    
+    /**
+     * Reads the geometries of the given scientific objects one by one, without 
+     * loading all of them in memory. The URIs are sent as a single array 
+     * parameter and the rows are fetched by blocks with a database cursor.
+     * @param scientificObjectsURIs
+     * @param handler called for each geometry found
+     * @example
+     * SELECT ao."uri", ST_AsGeoJSON(ST_Transform(ao."geometry", 4326)) AS geojson
+     * FROM "agronomical_object" AS ao
+     * WHERE ao."uri" = ANY(?)
+     * @throws SQLException
+     * @throws IOException if the handler fails
+     */
+    public void forEachGeometry(List<String> scientificObjectsURIs, GeometryHandler handler) throws SQLException, IOException {
+        if (scientificObjectsURIs.isEmpty()) {
+            return;
+        }
+        final String query = "SELECT " + tableAlias + ".\"" + URI + "\", "
+                + "ST_AsGeoJSON(ST_Transform(" + tableAlias + ".\"" + GEOMETRY + "\", 4326)) AS " + GEOJSON + " "
+                + "FROM \"" + table + "\" AS " + tableAlias + " "
+                + "WHERE " + tableAlias + ".\"" + URI + "\" = ANY(?)";
+        
+        try (Connection connection = dataSource.getConnection()) {
+            // The cursor based fetch needs a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.setArray(1, connection.createArrayOf("varchar", scientificObjectsURIs.toArray()));
+                statement.setFetchSize(GEOMETRIES_FETCH_SIZE);
+                
+                LOGGER.debug(getTraceabilityLogs() + " query : " + query);
+                
+                try (ResultSet queryResult = statement.executeQuery()) {
+                    while (queryResult.next()) {
+                        handler.handle(queryResult.getString(URI), queryResult.getString(GEOJSON));
+                    }
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
         }
     }
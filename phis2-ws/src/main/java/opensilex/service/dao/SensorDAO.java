@@ -720,7 +720,9 @@ public class SensorDAO extends Rdf4jDAO<Sensor> {
     public POSTResultsReturn checkAndInsert(List<Sensor> sensors) {
         POSTResultsReturn checkResult = check(sensors);
         if (checkResult.getDataState()) {
-            return insert(sensors);
+            POSTResultsReturn insertResult = insert(sensors);
+            AcquisitionSessionDAO.invalidateFileMetadataCache();
+            return insertResult;
         } else { //errors founded in data
             return checkResult;
         }
@@ -8,7 +8,12 @@
 package opensilex.service.dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.apache.jena.arq.querybuilder.UpdateBuilder;
@@ -36,14 +41,13 @@ import opensilex.service.resource.dto.rdfResourceDefinition.PropertyPostDTO;
 import opensilex.service.utils.POSTResultsReturn;
 import opensilex.service.utils.sparql.SPARQLQueryBuilder;
 import opensilex.service.view.brapi.Status;
-import opensilex.service.model.Ask;
 import opensilex.service.model.Property;
 import opensilex.service.model.SensorProfile;
-import opensilex.service.model.Uri;
 import opensilex.service.resource.dto.sensor.SensorProfileDTO;
 
 /**
  * Sensor profile DAO.
+ * @update [agent] 18 Oct. 2026: check the profiles with grouped queries
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class SensorProfileDAO extends Rdf4jDAO<SensorProfile> {
@@ -71,8 +75,48 @@ public class SensorProfileDAO extends Rdf4jDAO<SensorProfile> {
         return query;
     }
     
+    /**
+     * Gets in one query the type of each given URI.
+     * @param uris
+     * @return the type by URI, a URI without type is missing
+     * @example
+     * SELECT ?uri ?rdfType
+     * WHERE {
+     *  VALUES ?uri { <http://www.phenome-fppn.fr/diaphen/2018/s18001> <http://www.phenome-fppn.fr/diaphen/2018/s18002> }
+     *  ?uri rdf:type ?rdfType . 
+     * }
+     */
+    private Map<String, String> getRdfTypes(Collection<String> uris) {
+        Map<String, String> rdfTypes = new HashMap<>();
+        if (uris.isEmpty()) {
+            return rdfTypes;
+        }
+        
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendSelect("?" + URI + " ?" + RDF_TYPE);
+        StringBuilder values = new StringBuilder();
+        uris.forEach((uri) -> {
+            values.append(" <").append(uri).append(">");
+        });
+        query.appendToBody("VALUES ?" + URI + " {" + values + " }\n");
+        query.appendTriplet("?" + URI, Rdf.RELATION_TYPE.toString(), "?" + RDF_TYPE, null);
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                rdfTypes.putIfAbsent(bindingSet.getValue(URI).stringValue(), bindingSet.getValue(RDF_TYPE).stringValue());
+            }
+        }
+        return rdfTypes;
+    }
+    
     /**
      * Checks the given sensor profiles.
+     * The types of the sensors, the existence and the domains of the relations,
+     * the super classes of the types and the existing values of the relations
+     * are read for all the profiles at once, with a fixed number of queries.
      * @param sensorProfiles
      * @return the result with the list of the founded errors (empty if no errors)
      * @throws opensilex.service.dao.exception.DAOPersistenceException
@@ -86,37 +130,55 @@ public class SensorProfileDAO extends Rdf4jDAO<SensorProfile> {
         //1. check if the user is an administrator
         UserDAO userDAO = new UserDAO();
         if (userDAO.isAdmin(user)) {
-            UriDAO uriDao = new UriDAO();
             PropertyDAO propertyDAO = new PropertyDAO();
+            
+            //2. get the types of the sensors and the definitions of the relations of all the profiles
+            Set<String> sensorUris = new HashSet<>();
+            Set<String> relations = new HashSet<>();
+            for (SensorProfileDTO sensorProfile : sensorProfiles) {
+                sensorUris.add(sensorProfile.getUri());
+                for (PropertyPostDTO propertyDTO : sensorProfile.getProperties()) {
+                    relations.add(propertyDTO.getRelation());
+                }
+            }
+            Map<String, String> rdfTypes = getRdfTypes(sensorUris);
+            Set<String> existingRelations = propertyDAO.existRelations(relations);
+            Map<String, ArrayList<String>> propertiesDomains = propertyDAO.getPropertiesDomains(existingRelations);
+            Map<String, Set<String>> superClasses = propertyDAO.getSuperClasses(rdfTypes.values());
+            
+            //3. count the existing values of the properties of all the sensors
+            Map<String, ArrayList<PropertyPostDTO>> propertiesBySensor = new HashMap<>();
             for (SensorProfileDTO sensorProfile : sensorProfiles) {
-                //2. check if the given uri exist and is a sensor and keep the rdfType
-                uriDao.uri = sensorProfile.getUri();
-                ArrayList<Uri> urisTypes = uriDao.getAskTypeAnswer();
-                if (urisTypes.size() > 0) {
-                    String rdfType = urisTypes.get(0).getRdfType();
+                if (rdfTypes.containsKey(sensorProfile.getUri())) {
+                    propertiesBySensor.putIfAbsent(sensorProfile.getUri(), sensorProfile.getProperties());
+                }
+            }
+            Map<String, POSTResultsReturn> cardinalitiesChecks = propertyDAO.checkCardinalities(propertiesBySensor, rdfTypes);
+            
+            for (SensorProfileDTO sensorProfile : sensorProfiles) {
+                //4. check if the given uri exist and is a sensor
+                String rdfType = rdfTypes.get(sensorProfile.getUri());
+                if (rdfType != null) {
+                    Set<String> rdfTypeSuperClasses = superClasses.get(rdfType);
                     
-                    if (!uriDao.isSubClassOf(rdfType, Oeso.CONCEPT_SENSING_DEVICE.toString())) {
+                    if (!rdfTypeSuperClasses.contains(Oeso.CONCEPT_SENSING_DEVICE.toString())) {
                         validData = false;
                         checkStatus.add(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "The type of the given uri is not a Sensing Device"));
                     }
                     
-                    //3. check the given properties 
+                    //5. check the given properties 
                     for (PropertyPostDTO propertyDTO : sensorProfile.getProperties()) {
-                        //3.1 check if the property exist
-                        uriDao.uri = propertyDTO.getRelation();
-                        ArrayList<Ask> uriExistance = uriDao.askUriExistance();
-                        if (uriExistance.get(0).getExist()) {
-                            //3.2 check the domain of the property
-                            String propertyRelationUri = propertyDTO.getRelation();
-                            propertyDAO.setRelation(propertyRelationUri);
-                            ArrayList<String> propertyDomains = propertyDAO.getPropertyDomain(propertyRelationUri);
+                        //5.1 check if the property exist
+                        if (existingRelations.contains(propertyDTO.getRelation())) {
+                            //5.2 check the domain of the property
+                            ArrayList<String> propertyDomains = propertiesDomains.get(propertyDTO.getRelation());
                             
                             if (propertyDomains != null && propertyDomains.size() > 0) { //the property has a specific domain
                                 boolean domainOk = false;
                                 for (String propertyDomain : propertyDomains) {
-                                    if (uriDao.isSubClassOf(rdfType, propertyDomain)) {
+                                    if (rdfTypeSuperClasses.contains(propertyDomain)) {
                                         domainOk = true;
-                                        }
+                                    }
                                 }
                                 
                                 if (!domainOk) {
@@ -132,8 +194,13 @@ public class SensorProfileDAO extends Rdf4jDAO<SensorProfile> {
                         }
                     }
                     
-                    //4. check the properties cardinalities
-                    POSTResultsReturn propertyCheckResult = propertyDAO.checkCardinalities(sensorProfile.getProperties(), sensorProfile.getUri(), rdfType);
+                    //6. check the properties cardinalities
+                    POSTResultsReturn propertyCheckResult;
+                    if (propertiesBySensor.get(sensorProfile.getUri()) == sensorProfile.getProperties()) {
+                        propertyCheckResult = cardinalitiesChecks.get(sensorProfile.getUri());
+                    } else { //another profile of the list is given for the same sensor
+                        propertyCheckResult = propertyDAO.checkCardinalities(sensorProfile.getProperties(), sensorProfile.getUri(), rdfType);
+                    }
                     
                     if (!propertyCheckResult.getDataState()) {
                         validData = false;
@@ -8,6 +8,7 @@
 package opensilex.service.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -15,6 +16,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import opensilex.service.PropertiesFileManager;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.slf4j.Logger;
@@ -28,12 +30,19 @@ import opensilex.service.utils.sql.SQLQueryBuilder;
 
 /**
  * Session DAO.
+ * @update [agent] 18 Oct. 2026: restore the active sessions with
+ * their users in one query
  * @author Arnaud Charleroy <arnaud.charleroy@inra.fr>
  */
 public class SessionDAO extends PhisDAO<Session, Object> {
 
     final static Logger LOGGER = LoggerFactory.getLogger(SessionDAO.class);
 
+    private final static String SESSION_ID = "session_id";
+    // Number of sessions added at once to the token manager
+    private final static int RESTORE_CHUNK_SIZE = 500;
+    private final static int RESTORE_MAX_AGE = PropertiesFileManager.getConfigFileIntegerProperty("service", "sessionRestoreMaxAge", 86400);
+
     public SessionDAO() {
         super();
         setTable("session");
@@ -136,71 +145,61 @@ public class SessionDAO extends PhisDAO<Session, Object> {
         }
     }
     
-     public void reloadActiveSession() { 
-        Statement statement = null; 
-        Connection con = null; 
-        ResultSet rs = null; 
-        try { 
-            con = dataSource.getConnection(); 
-            statement = con.createStatement(); 
-            SQLQueryBuilder query = new SQLQueryBuilder(); 
-            query.appendFrom(table, null); 
-            query.addISNULL("date_end"); 
-            rs = statement.executeQuery(query.toString()); 
-            if (rs != null) { 
-                while (rs.next()) { 
-                    if (rs.getString("email") != null) { 
-                        String email = rs.getString("email"); 
-                        User u = new User(email); 
-                        u = loadFromDB(u); 
-                        Session s = new Session(rs.getString("id"), email, u); 
-                        if (u != null ) { 
-                            TokenManager.Instance().createTokenFromBD(s); 
-                        } 
-                    } 
-                } 
-            } 
+    /**
+     * Ends in the database the open sessions started more than 
+     * sessionRestoreMaxAge seconds ago, and the sessions of the users which
+     * do not exist anymore.
+     * @return the number of sessions ended
+     */
+    public int expireStaleSessions() {
+        String query = "UPDATE " + table + " SET date_end = now()"
+                + " WHERE date_end IS NULL"
+                + " AND (date < now() - ? * interval '1 second'"
+                + " OR NOT EXISTS (SELECT 1 FROM users WHERE users.email = " + table + ".email))";
+        try (Connection con = dataSource.getConnection();
+                PreparedStatement statement = con.prepareStatement(query)) {
+            statement.setInt(1, RESTORE_MAX_AGE);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            LOGGER.error(e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Restores the open sessions of the database in the token manager, with 
+     * their users loaded by the same query. The stale sessions are ended 
+     * first. The sessions are restored by chunks, the most recent first.
+     * @example
+     * SELECT s.id AS session_id, u.* FROM session s 
+     * JOIN users u ON u.email = s.email 
+     * WHERE s.date_end IS NULL ORDER BY s.date DESC
+     * @see TokenManager#restoreSessions() 
+     */
+    public void reloadActiveSession() { 
+        int expiredSessions = expireStaleSessions();
+        LOGGER.info(expiredSessions + " stale sessions ended");
+
+        UserDAO userDao = new UserDAO();
+        String query = "SELECT s.id AS " + SESSION_ID + ", u.* FROM " + table + " s"
+                + " JOIN users u ON u.email = s.email"
+                + " WHERE s.date_end IS NULL ORDER BY s.date DESC";
+        try (Connection con = dataSource.getConnection();
+                Statement statement = con.createStatement();
+                ResultSet rs = statement.executeQuery(query)) {
+            List<Session> sessions = new ArrayList<>();
+            while (rs.next()) {
+                User user = userDao.get(rs);
+                sessions.add(new Session(rs.getString(SESSION_ID), user.getEmail(), user));
+                if (sessions.size() == RESTORE_CHUNK_SIZE) {
+                    TokenManager.Instance().createTokensFromBD(sessions);
+                    sessions = new ArrayList<>();
+                }
+            }
+            TokenManager.Instance().createTokensFromBD(sessions);
         } catch (SQLException e) { 
             LOGGER.error(e.getMessage(), e); 
-        } finally { 
- 
-            if (rs != null) { 
-                try { 
-                    rs.close(); 
-                } catch (SQLException e) { 
-                    LOGGER.error(e.getMessage(), e); 
-                } 
-            } 
-            if (statement != null) { 
-                try { 
-                    statement.close(); 
-                } catch (SQLException e) { 
-                    LOGGER.error(e.getMessage(), e); 
-                } 
-            } 
-            if (con != null) { 
-                try { 
-                    con.close(); 
-                } catch (SQLException e) { 
-                    LOGGER.error(e.getMessage(), e); 
-                } 
-            } 
-        } 
-    } 
- 
-    /** 
-     * Loads user attributes
-     * @param user with email and password
-     * @return a User
-     */ 
-    private User loadFromDB(User user) { 
-        UserDAO userDao = new UserDAO(); 
-        try { 
-            user = userDao.find(user); 
-        } catch (Exception ex) { 
-            LOGGER.error(ex.getMessage(), ex); 
-        } 
-        return user; 
+        }
     } 
 
     @Override
@@ -7,14 +7,22 @@
 //******************************************************************************
 package opensilex.service.dao;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
+import opensilex.service.PropertiesFileManager;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.apache.jena.arq.querybuilder.UpdateBuilder;
@@ -24,14 +32,28 @@ import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.update.UpdateRequest;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.Update;
 import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import opensilex.service.dao.manager.Rdf4jDAO;
 import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.job.JobContext;
 import opensilex.service.configuration.OType;
 import opensilex.service.ontology.Rdf;
 import opensilex.service.ontology.Rdfs;
@@ -43,6 +65,7 @@ import opensilex.service.model.Triplet;
 
 /**
  * Triplet DAO.
+ * @update [agent] 18 Oct. 2026: Load RDF documents by chunks
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public class TripletDAO extends Rdf4jDAO<Triplet> {
@@ -53,6 +76,13 @@ public class TripletDAO extends Rdf4jDAO<Triplet> {
     private final static String REQUEST_GENERATION_URI_STRING = "?";
     private final static String LITERAL = "literal";
     
+    // Number of statements loaded in each transaction of a RDF document load
+    private final static int LOAD_CHUNK_SIZE = PropertiesFileManager.getConfigFileIntegerProperty("service", "tripletsLoadChunkSize", 10000);
+    // Number of URIs checked in each query of a RDF document load
+    private final static int LOAD_CHECK_URIS_SIZE = 200;
+    // Number of existing properties and types kept during a RDF document load
+    private final static int LOAD_KNOWN_URIS_SIZE = 10000;
+    
     /**
      * Checks each triplet's values.
      * @param tripletsGroup
@@ -371,6 +401,288 @@ public class TripletDAO extends Rdf4jDAO<Triplet> {
         }
     }
 
+    /**
+     * Loads an RDF document in the triplestore.
+     * The document is parsed while it is read and its statements are loaded by
+     * chunks of tripletsLoadChunkSize statements, each chunk in its own
+     * transaction, so that the document is never entirely kept in memory.
+     * Before being loaded, each chunk is checked: its properties and the types
+     * of its subjects must exist in the triplestore or be subjects of the
+     * chunk. The load stops at the first invalid chunk, the previous chunks
+     * stay loaded.
+     * A chunk is only cut between statements without blank nodes, so that a
+     * blank node described in consecutive statements is loaded in one
+     * transaction.
+     * @param input RDF document
+     * @param inputLength length of the document in bytes, used to report the
+     * progress, 0 if unknown
+     * @param format Turtle, N-Triples or N-Quads
+     * @param graphUri graph of the statements without graph
+     * @param jobContext context of the job loading the document, null if it is
+     * loaded synchronously
+     * @return the load result, with the number of statements loaded
+     */
+    public POSTResultsReturn load(InputStream input, long inputLength, RDFFormat format, String graphUri, JobContext jobContext) {
+        List<Status> loadStatus = new ArrayList<>();
+        ReadCountingInputStream countingInput = new ReadCountingInputStream(input);
+        StatementsLoader loader = new StatementsLoader(
+                SimpleValueFactory.getInstance().createIRI(graphUri), 
+                countingInput, 
+                inputLength, 
+                jobContext);
+
+        RDFParser parser = Rio.createParser(format);
+        parser.setRDFHandler(loader);
+        POSTResultsReturn result;
+        try {
+            parser.parse(countingInput, graphUri);
+            result = new POSTResultsReturn(true, true, true);
+            loadStatus.add(new Status(StatusCodeMsg.DATA_INSERTED, StatusCodeMsg.INFO, 
+                    loader.loadedStatements + " statement(s) loaded in " + loader.loadedChunks + " transaction(s)"));
+        } catch (LoadStoppedException ex) {
+            result = new POSTResultsReturn(false, null, false);
+            loadStatus.addAll(loader.checkStatus);
+        } catch (RDFParseException ex) {
+            result = new POSTResultsReturn(false, null, false);
+            loadStatus.add(new Status(StatusCodeMsg.BAD_DATA_FORMAT, StatusCodeMsg.ERR, 
+                    "Line " + ex.getLineNumber() + ": " + ex.getMessage()));
+        } catch (RDFHandlerException | RepositoryException ex) {
+            LOGGER.error(StatusCodeMsg.COMMIT_TRIPLESTORE_ERROR, ex);
+            result = new POSTResultsReturn(false, false, true);
+            loadStatus.add(new Status(StatusCodeMsg.COMMIT_TRIPLESTORE_ERROR, StatusCodeMsg.ERR, ex.getMessage()));
+        } catch (IOException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            result = new POSTResultsReturn(false, false, true);
+            loadStatus.add(new Status(StatusCodeMsg.ERR, StatusCodeMsg.ERR, ex.getMessage()));
+        }
+
+        if (!result.getResultState() && loader.loadedStatements > 0) {
+            loadStatus.add(new Status(StatusCodeMsg.DATA_INSERTED, StatusCodeMsg.INFO, 
+                    loader.loadedStatements + " statement(s) loaded before the error in " + loader.loadedChunks + " transaction(s)"));
+        }
+        result.statusList = loadStatus;
+        if (loader.loadedStatements > 0) {
+            result.setCreatedResources(new ArrayList<>(Arrays.asList(graphUri)));
+        }
+        return result;
+    }
+    
+    /**
+     * Checks the properties and the types of a chunk of statements. The 
+     * subjects of the chunk are known, the subjects of the previous chunks 
+     * are found in the triplestore.
+     * @param chunk
+     * @param knownUris existing properties and types already checked, 
+     * completed with the ones found
+     * @return the errors found
+     */
+    private List<Status> checkStatements(List<Statement> chunk, Map<String, Boolean> knownUris) {
+        Set<String> declaredUris = new HashSet<>();
+        Set<String> urisToCheck = new LinkedHashSet<>();
+        for (Statement statement : chunk) {
+            declaredUris.add(statement.getSubject().stringValue());
+            String property = statement.getPredicate().stringValue();
+            urisToCheck.add(property);
+            if (property.equals(Rdf.RELATION_TYPE.toString()) && statement.getObject() instanceof IRI) {
+                urisToCheck.add(statement.getObject().stringValue());
+            }
+        }
+        urisToCheck.remove(Rdf.RELATION_TYPE.toString());
+        urisToCheck.remove(Rdfs.RELATION_LABEL.toString());
+        urisToCheck.removeIf((uri) -> knownUris.get(uri) != null);
+        urisToCheck.removeAll(declaredUris);
+        
+        List<String> unknownUris = new ArrayList<>(urisToCheck);
+        Set<String> existingUris = new HashSet<>();
+        for (int i = 0; i < unknownUris.size(); i += LOAD_CHECK_URIS_SIZE) {
+            existingUris.addAll(getExistingUris(unknownUris.subList(i, Math.min(unknownUris.size(), i + LOAD_CHECK_URIS_SIZE))));
+        }
+        existingUris.forEach((uri) -> {
+            knownUris.put(uri, Boolean.TRUE);
+        });
+        unknownUris.removeAll(existingUris);
+        
+        List<Status> checkStatus = new ArrayList<>();
+        unknownUris.forEach((uri) -> {
+            checkStatus.add(new Status(StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, StatusCodeMsg.UNKNOWN_URI + " " + uri));
+        });
+        return checkStatus;
+    }
+    
+    /**
+     * Gets the URIs which exist in the triplestore among a list of URIs.
+     * @see Rdf4jDAO#existUri(java.lang.String)
+     * @param uris
+     * @return the existing URIs
+     * @example
+     * SELECT DISTINCT ?r WHERE {
+     *  VALUES ?r { <http://www.opensilex.org/vocabulary/oeso#hasDocument> }
+     *  { ?r ?p ?o }
+     *  UNION
+     *  { ?s ?r ?o }
+     *  UNION
+     *  { ?s ?p ?r }
+     * }
+     */
+    private Set<String> getExistingUris(List<String> uris) {
+        StringBuilder query = new StringBuilder("SELECT DISTINCT ?r WHERE {\n  VALUES ?r {");
+        uris.forEach((uri) -> {
+            query.append(" <").append(uri).append(">");
+        });
+        query.append(" }\n")
+                .append("  { ?r ?p ?o }\n")
+                .append("  UNION\n")
+                .append("  { ?s ?r ?o }\n")
+                .append("  UNION\n")
+                .append("  { ?s ?p ?r }\n")
+                .append("}");
+        LOGGER.debug(SPARQL_QUERY + query.toString());
+        
+        Set<String> existingUris = new HashSet<>();
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                existingUris.add(result.next().getValue("r").stringValue());
+            }
+        }
+        return existingUris;
+    }
+    
+    /**
+     * Adds a chunk of statements in a transaction.
+     * @param chunk
+     */
+    private void addStatements(List<Statement> chunk) {
+        Map<Resource, List<Statement>> statementsByGraph = new HashMap<>();
+        chunk.forEach((statement) -> {
+            statementsByGraph.computeIfAbsent(statement.getContext(), (graph) -> new ArrayList<>()).add(statement);
+        });
+        
+        getConnection().begin();
+        try {
+            for (Map.Entry<Resource, List<Statement>> graphStatements : statementsByGraph.entrySet()) {
+                getConnection().add(graphStatements.getValue(), graphStatements.getKey());
+            }
+            getConnection().commit();
+        } catch (RepositoryException ex) {
+            getConnection().rollback();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Stops the parsing of a document.
+     */
+    private static class LoadStoppedException extends RDFHandlerException {
+        LoadStoppedException() {
+            super("Load stopped");
+        }
+    }
+    
+    /**
+     * Counts the bytes read from a stream.
+     */
+    private static class ReadCountingInputStream extends FilterInputStream {
+        private long readBytes = 0;
+
+        ReadCountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                readBytes++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                readBytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long skipped = super.skip(length);
+            readBytes += skipped;
+            return skipped;
+        }
+    }
+    
+    /**
+     * Receives the parsed statements, checks and loads them by chunks.
+     */
+    private class StatementsLoader extends AbstractRDFHandler {
+        private final Resource defaultGraph;
+        private final ReadCountingInputStream input;
+        private final long inputLength;
+        private final JobContext jobContext;
+        
+        private final List<Statement> chunk = new ArrayList<>();
+        // Least recently used existing properties and types
+        private final Map<String, Boolean> knownUris = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > LOAD_KNOWN_URIS_SIZE;
+            }
+        };
+        private List<Status> checkStatus = new ArrayList<>();
+        private long loadedStatements = 0;
+        private int loadedChunks = 0;
+
+        StatementsLoader(Resource defaultGraph, ReadCountingInputStream input, long inputLength, JobContext jobContext) {
+            this.defaultGraph = defaultGraph;
+            this.input = input;
+            this.inputLength = inputLength;
+            this.jobContext = jobContext;
+        }
+
+        @Override
+        public void handleStatement(Statement statement) throws RDFHandlerException {
+            boolean hasBlankNode = statement.getSubject() instanceof BNode || statement.getObject() instanceof BNode;
+            // The chunk can grow up to twice its size to keep the blank nodes descriptions together
+            if ((chunk.size() >= LOAD_CHUNK_SIZE && !hasBlankNode) || chunk.size() >= 2 * LOAD_CHUNK_SIZE) {
+                loadChunk();
+            }
+            if (statement.getContext() == null) {
+                statement = SimpleValueFactory.getInstance().createStatement(
+                        statement.getSubject(), statement.getPredicate(), statement.getObject(), defaultGraph);
+            }
+            chunk.add(statement);
+        }
+
+        @Override
+        public void endRDF() throws RDFHandlerException {
+            loadChunk();
+        }
+
+        private void loadChunk() throws RDFHandlerException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            checkStatus = checkStatements(chunk, knownUris);
+            if (!checkStatus.isEmpty()) {
+                throw new LoadStoppedException();
+            }
+            
+            addStatements(chunk);
+            loadedStatements += chunk.size();
+            loadedChunks++;
+            chunk.clear();
+            
+            LOGGER.debug(loadedStatements + " statement(s) loaded");
+            if (jobContext != null && inputLength > 0) {
+                jobContext.setProgress((int) (input.readBytes * 100 / inputLength));
+            }
+        }
+    }
+
     @Override
     public List<Triplet> create(List<Triplet> objects) throws DAOPersistenceException, Exception {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
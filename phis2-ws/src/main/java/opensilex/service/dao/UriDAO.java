@@ -12,8 +12,12 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import opensilex.service.PropertiesFileManager;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import org.eclipse.rdf4j.model.Literal;
@@ -25,6 +29,7 @@ import org.eclipse.rdf4j.query.TupleQuery;
 import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.dao.manager.CountCache;
 import opensilex.service.dao.manager.Rdf4jDAO;
 import opensilex.service.ontology.Rdf;
 import opensilex.service.ontology.Rdfs;
@@ -32,13 +37,9 @@ import opensilex.service.utils.sparql.SPARQLQueryBuilder;
 import opensilex.service.model.Ask;
 import opensilex.service.model.Uri;
 
-// SILEX:todo
-// - Element: Instances
-//   Method: instancesPaginate
-//   Purpose: need to paginate the query instead of retreive all instances and then filtered them
-// \SILEX:todo
 /**
  * URI DAO.
+ * @update [agent] 18 Oct. 2026: Paginate the instances in the query
  * @author Eloan Lagier
  */
 public class UriDAO extends Rdf4jDAO<Uri> {
@@ -55,6 +56,13 @@ public class UriDAO extends Rdf4jDAO<Uri> {
 
     final static Logger LOGGER = LoggerFactory.getLogger(UriDAO.class);
     public Boolean deep;
+    // URI of the last instance of the previous page
+    public String cursor;
+
+    // Instances counts by concept, see instancesCount()
+    private final static CountCache INSTANCES_COUNTS = new CountCache(
+            TimeUnit.SECONDS.toMillis(PropertiesFileManager.getConfigFileIntegerProperty("service", "instancesCountCacheTTL", 300)),
+            1000);
 
     /**
      * Prepares a query to get the triplets of an URI (given or not).
@@ -193,20 +201,11 @@ public class UriDAO extends Rdf4jDAO<Uri> {
     }
 
     /**
-     * Searches instances by URI, concept
-     * @return SPARQLQueryBuilder the query
-     * query example :
-     * SELECT DISTINCT ?instance ?subclass ?label
-     * WHERE { 
-     *    ?subclass rdfs:subClassOf* <http://www.w3.org/ns/oa#Motivation> . 
-     *    ?instance rdf:type ?subclass . 
-     *    ?instance rdfs:label ?label
-     * }
+     * Appends the triplets selecting the instances of the concept, and of its
+     * descendants if deep.
+     * @param query
      */
-    protected SPARQLQueryBuilder prepareInstanceSearchQuery() {
-        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
-        query.appendDistinct(Boolean.TRUE);
-
+    private void appendInstancesTriplets(SPARQLQueryBuilder query) {
         String contextURI;
 
         if (uri != null) {
@@ -216,8 +215,6 @@ public class UriDAO extends Rdf4jDAO<Uri> {
             query.appendSelect("?" + URI);
         }
 
-        query.appendSelect(" ?" + TRIPLESTORE_FIELDS_INSTANCE);
-        query.appendSelect(" ?" + TRIPLESTORE_FIELDS_SUBCLASS);
         // if deep get descendents
         if (deep) {
             query.appendTriplet("?" + TRIPLESTORE_FIELDS_SUBCLASS, "<" + Rdfs.RELATION_SUBCLASS_OF.toString() + ">*", contextURI, null);
@@ -225,14 +222,91 @@ public class UriDAO extends Rdf4jDAO<Uri> {
             query.appendTriplet("?" + TRIPLESTORE_FIELDS_SUBCLASS, Rdfs.RELATION_SUBCLASS_OF.toString(), contextURI, null);
         }
         query.appendTriplet("?" + TRIPLESTORE_FIELDS_INSTANCE, Rdf.RELATION_TYPE.toString(), "?" + TRIPLESTORE_FIELDS_SUBCLASS, null);
-        
+    }
+
+    /**
+     * Searches the instances of a page, ordered by URI. The page starts after 
+     * the cursor if it is given, else at the page offset.
+     * @return SPARQLQueryBuilder the query
+     * query example :
+     * SELECT DISTINCT ?instance
+     * WHERE { 
+     *    ?subclass rdfs:subClassOf* <http://www.w3.org/ns/oa#Motivation> . 
+     *    ?instance rdf:type ?subclass . 
+     *    FILTER ( (STR(?instance) > "http://www.phenome-fppn.fr/test/id/motivation/assessing") ) 
+     * }
+     * ORDER BY ?instance
+     * LIMIT 20
+     * OFFSET 0
+     */
+    protected SPARQLQueryBuilder prepareInstancesPageQuery() {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+        query.appendSelect("?" + TRIPLESTORE_FIELDS_INSTANCE);
+        appendInstancesTriplets(query);
+        if (cursor != null) {
+            query.appendFilter("STR(?" + TRIPLESTORE_FIELDS_INSTANCE + ") > \"" 
+                    + cursor.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+        }
+        query.appendOrderBy("?" + TRIPLESTORE_FIELDS_INSTANCE);
+        query.appendLimit(getPageSize());
+        query.appendOffset(cursor != null ? 0 : getPage() * getPageSize());
+        return query;
+    }
+
+    /**
+     * Searches the types and labels of the instances of a page.
+     * @return SPARQLQueryBuilder the query
+     * query example :
+     * SELECT DISTINCT ?instance ?subclass ?label
+     * WHERE { 
+     *    { SELECT DISTINCT ?instance WHERE { ... } ORDER BY ?instance LIMIT 20 OFFSET 0 }
+     *    ?subclass rdfs:subClassOf* <http://www.w3.org/ns/oa#Motivation> . 
+     *    ?instance rdf:type ?subclass . 
+     *    OPTIONAL {
+     *      ?instance rdfs:label ?label
+     *      FILTER ( LANG(?label) = "" || LANGMATCHES(LANG(?label), "en") )
+     *    }
+     * }
+     * ORDER BY ?instance
+     */
+    protected SPARQLQueryBuilder prepareInstanceSearchQuery() {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendDistinct(Boolean.TRUE);
+
+        query.appendSelect(" ?" + TRIPLESTORE_FIELDS_INSTANCE);
+        query.appendSelect(" ?" + TRIPLESTORE_FIELDS_SUBCLASS);
+        query.appendToBody("{ " + prepareInstancesPageQuery().toString() + " }");
+        appendInstancesTriplets(query);
+
         query.appendSelect(" ?" + LABEL);
         query.beginBodyOptional();
         query.appendToBody("?" + TRIPLESTORE_FIELDS_INSTANCE + " <" + Rdfs.RELATION_LABEL.toString() + "> ?" + LABEL);
         if (language != null) {
-            query.appendFilter("LANG(?" + LABEL + ") = \"\" || LANGMATCHES(LANG(?" + LABEL + "), \"" + language + "\")");
+            // Inside the optional, so that the instances without label in the language are kept
+            query.appendToBody("\nFILTER ( LANG(?" + LABEL + ") = \"\" || LANGMATCHES(LANG(?" + LABEL + "), \"" + language + "\") )");
         }
         query.endBodyOptional();
+        query.appendOrderBy("?" + TRIPLESTORE_FIELDS_INSTANCE);
+        LOGGER.debug(SPARQL_QUERY + " " + query.toString());
+        return query;
+    }
+
+    /**
+     * Counts the instances.
+     * @return SPARQLQueryBuilder the query
+     * query example :
+     * SELECT (COUNT(DISTINCT ?instance) as ?count)
+     * WHERE { 
+     *    ?subclass rdfs:subClassOf* <http://www.w3.org/ns/oa#Motivation> . 
+     *    ?instance rdf:type ?subclass . 
+     * }
+     */
+    private SPARQLQueryBuilder prepareInstancesCountQuery() {
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        appendInstancesTriplets(query);
+        query.clearSelect();
+        query.appendSelect("(COUNT(DISTINCT ?" + TRIPLESTORE_FIELDS_INSTANCE + ") as ?" + COUNT_ELEMENT_QUERY + ")");
         LOGGER.debug(SPARQL_QUERY + " " + query.toString());
         return query;
     }
@@ -370,10 +444,9 @@ public class UriDAO extends Rdf4jDAO<Uri> {
     }
 
     /**
-     * List the desired instances.
-     * SILEX:todo
-     * need to paginate the query instead of retrieving all instances and then filter them
-     * \SILEX:todo
+     * Lists a page of the instances, ordered by URI.
+     * An instance with several types or labels is returned once, with its 
+     * first type and label found.
      * @return the list of the instances, corresponding to the search params
      * given
      */
@@ -382,22 +455,49 @@ public class UriDAO extends Rdf4jDAO<Uri> {
         SPARQLQueryBuilder query = prepareInstanceSearchQuery();
         TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
 
-        ArrayList<Uri> instances = new ArrayList<>();
+        Map<String, Uri> instances = new LinkedHashMap<>();
         
         try (TupleQueryResult result = tupleQuery.evaluate()) {
 
             while (result.hasNext()) {
                 BindingSet bindingSet = result.next();
 
-                Uri instance = new Uri();
-
-                instance.setUri(bindingSet.getValue(TRIPLESTORE_FIELDS_INSTANCE).stringValue());
-                instance.setRdfType(bindingSet.getValue(TRIPLESTORE_FIELDS_SUBCLASS).stringValue());
-                instance.setLabel(bindingSet.getValue(LABEL).stringValue());
-                instances.add(instance);
+                String instanceUri = bindingSet.getValue(TRIPLESTORE_FIELDS_INSTANCE).stringValue();
+                Uri instance = instances.get(instanceUri);
+                if (instance == null) {
+                    instance = new Uri();
+                    instance.setUri(instanceUri);
+                    instance.setRdfType(bindingSet.getValue(TRIPLESTORE_FIELDS_SUBCLASS).stringValue());
+                    instances.put(instanceUri, instance);
+                }
+                if (instance.getLabel() == null && bindingSet.getValue(LABEL) != null) {
+                    instance.setLabel(bindingSet.getValue(LABEL).stringValue());
+                }
             }
         }
-        return instances;
+        return new ArrayList<>(instances.values());
+    }
+
+    /**
+     * Counts the instances. The counts are kept instancesCountCacheTTL 
+     * seconds, as the instances of the large concepts (plots, plants) are 
+     * long to count and their number does not need to be exact between two 
+     * pages.
+     * @return the number of instances of the concept
+     */
+    public int instancesCount() {
+        return INSTANCES_COUNTS.get(uri + " " + deep, () -> {
+            SPARQLQueryBuilder query = prepareInstancesCountQuery();
+            TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+            int count = 0;
+            try (TupleQueryResult result = tupleQuery.evaluate()) {
+                if (result.hasNext()) {
+                    BindingSet bindingSet = result.next();
+                    count = Integer.parseInt(bindingSet.getValue(COUNT_ELEMENT_QUERY).stringValue());
+                }
+            }
+            return count;
+        });
     }
 
     /**
@@ -15,6 +15,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -458,6 +459,57 @@ public class UserDAO extends PhisDAO<User, UserDTO> {
         return users;
     }
 
+    /**
+     * Gets the users corresponding to a list of URIs, in one query. 
+     * The groups of the users are not loaded.
+     * @param uris
+     * @return the users found, by URI
+     */
+    public HashMap<String, User> findByUris(Collection<String> uris) {
+        HashMap<String, User> users = new HashMap<>();
+        if (uris.isEmpty()) {
+            return users;
+        }
+        
+        ResultSet queryResult = null;
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.createStatement();
+            SQLQueryBuilder query = new SQLQueryBuilder();
+            
+            Map<String, String> sqlFields = relationFieldsJavaSQLObject();
+            query.appendFrom(table, tableAlias);
+            query.appendINConditions(sqlFields.get("uri"), new ArrayList<>(uris), tableAlias);
+            
+            LOGGER.debug(query.toString());
+            
+            queryResult = statement.executeQuery(query.toString());
+            while (queryResult.next()) {
+                User user = get(queryResult);
+                users.put(user.getUri(), user);
+            }
+        } catch (SQLException ex) {
+            java.util.logging.Logger.getLogger(UserDAO.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            try {
+                if (queryResult != null) {
+                    queryResult.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+                if (connection != null) {
+                    connection.close();
+                }
+            } catch (SQLException ex) {
+                java.util.logging.Logger.getLogger(UserDAO.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        return users;
+    }
+
     @Override
     protected User compareAndMergeObjects(User fromDB, User object) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
@@ -634,6 +686,7 @@ public class UserDAO extends PhisDAO<User, UserDTO> {
                     insertPreparedStatementAtGroupUsers.executeBatch();
                 }
                 connection.commit(); //Envoi des données dans la BD
+                ExperimentSQLDAO.invalidateCountCache();
 
                 /**
                  * //SILEX:todo
@@ -701,6 +754,7 @@ public class UserDAO extends PhisDAO<User, UserDTO> {
             LOGGER.error(e.getMessage(), e);
             postResult = new POSTResultsReturn(false, Response.Status.INTERNAL_SERVER_ERROR, e.toString());
         }
+        AcquisitionSessionDAO.invalidateFileMetadataCache();
         return postResult;
     }
 
@@ -829,6 +883,7 @@ public class UserDAO extends PhisDAO<User, UserDTO> {
                 }
 
                 connection.commit();
+                ExperimentSQLDAO.invalidateCountCache();
 
                 insertStatusList.add(new Status("Data updated", StatusCodeMsg.INFO, "users updated"));
                 results = new POSTResultsReturn(true, true, allUsersAlreadyInDB);
@@ -788,7 +788,9 @@ public class VectorDAO extends Rdf4jDAO<Vector> {
     public POSTResultsReturn checkAndInsert(List<VectorDTO> vectors) {
         POSTResultsReturn checkResult = check(vectors);
         if (checkResult.getDataState()) {
-            return insert(vectors);
+            POSTResultsReturn insertResult = insert(vectors);
+            AcquisitionSessionDAO.invalidateFileMetadataCache();
+            return insertResult;
         } else { //errors founded in data
             return checkResult;
         }
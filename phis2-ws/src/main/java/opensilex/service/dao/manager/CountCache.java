@@ -0,0 +1,93 @@
+//******************************************************************************
+//                                CountCache.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao.manager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import opensilex.service.PropertiesFileManager;
+
+/**
+ * Cache of the search results counts.
+ * The counts are keyed by the signature of their filter (e.g. the count query)
+ * and kept during a short time, as the number of results of a search does not
+ * need to be exact between two pages. The counts of the triplestore queries
+ * are already kept by the triplestore query cache.
+ * @see TriplestoreQueryCache
+ * @author agent <agent@local>
+ */
+public class CountCache {
+
+    final static String PROPS_FILE_NAME = "service";
+    final static int DEFAULT_SIZE = 1000;
+    final static int DEFAULT_TTL = 30;
+
+    /**
+     * Searches counts, kept countCacheTTL seconds.
+     */
+    public final static CountCache SEARCHES = new CountCache(
+            TimeUnit.SECONDS.toMillis(PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "countCacheTTL", DEFAULT_TTL)),
+            PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "countCacheSize", DEFAULT_SIZE));
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final long ttl;
+    private final int maxSize;
+
+    /**
+     * @param ttl time to live of a count in milliseconds, 0 to disable the cache
+     * @param maxSize number of counts kept
+     */
+    public CountCache(long ttl, int maxSize) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets a count from the cache, or counts and keeps the result.
+     * @param key signature of the filter of the count
+     * @param count counts the results, returns null on failure
+     * @return the number of results, null if the count failed
+     */
+    public Integer get(String key, Supplier<Integer> count) {
+        CachedCount cachedCount = counts.get(key);
+        if (cachedCount != null && cachedCount.expiration > System.currentTimeMillis()) {
+            return cachedCount.count;
+        }
+
+        Integer result = count.get();
+        if (result != null && ttl > 0) {
+            if (counts.size() >= maxSize) {
+                counts.clear();
+            }
+            counts.put(key, new CachedCount(result, System.currentTimeMillis() + ttl));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the counts whose key starts with the given prefix, after a write.
+     * @param prefix
+     */
+    public void invalidate(String prefix) {
+        counts.keySet().removeIf((key) -> key.startsWith(prefix));
+    }
+
+    /**
+     * Count kept until its expiration date.
+     */
+    private static class CachedCount {
+        final int count;
+        final long expiration;
+
+        CachedCount(int count, long expiration) {
+            this.count = count;
+            this.expiration = expiration;
+        }
+    }
+}
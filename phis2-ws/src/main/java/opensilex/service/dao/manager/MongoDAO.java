@@ -9,27 +9,43 @@ package opensilex.service.dao.manager;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
 import com.mongodb.MongoClientURI;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CountOptions;
 import com.mongodb.gridfs.GridFS;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import org.bson.Document;
 import org.bson.codecs.configuration.CodecProvider;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import opensilex.service.PropertiesFileManager;
+import opensilex.service.async.RequestDeadline;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
+import opensilex.service.metrics.MongoCallsListener;
 import opensilex.service.model.User;
 
 /**
  * DAO for MongoDB querying.
+ * @update [agent] 18 Oct. 2026: Time the MongoDB commands for the metrics
+ * @update [agent] 18 Oct. 2026: Configurable read preference of the searches
  * @author Arnaud Charleroy <arnaud.charleroy@inra.fr>
  * @param <T>
  */
 public abstract class MongoDAO<T> extends DAO<T> {
 
+    private final static Logger LOGGER = LoggerFactory.getLogger(MongoDAO.class);
+
     /**
      * This block initialize MongoDB connection URL with user authentication or not 
      * depending of the configuration
@@ -52,10 +68,19 @@ public abstract class MongoDAO<T> extends DAO<T> {
              url += "?authSource=" + authdb;
         }
         
-        MONGO_CLIENT = new MongoClient(new MongoClientURI(url));
+        // The commands are timed for the metrics
+        MONGO_CLIENT = new MongoClient(new MongoClientURI(url, 
+                MongoClientOptions.builder().addCommandListener(new MongoCallsListener())));
     }
     private final static MongoClient MONGO_CLIENT;
     
+    /**
+     * Read preference of the searches and exports, which can read from the 
+     * secondaries. The writes and the reads following them use the primary.
+     * @see mongodb_nosql_config.properties file
+     */
+    private final static ReadPreference SEARCH_READ_PREFERENCE = getSearchReadPreference();
+    
     protected GridFS gridFS = new GridFS(MONGO_CLIENT.getDB(PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "db")));
     protected MongoDatabase database;
     protected MongoCollection<Document> collection;
@@ -88,6 +113,86 @@ public abstract class MongoDAO<T> extends DAO<T> {
         this.setDatabase(MONGO_CLIENT.getDatabase(PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "db")).withCodecRegistry(pojoCodecRegistry));
     }
 
+    /**
+     * @return the configured read preference of the searches, the primary if
+     *         it is not configured or invalid
+     */
+    private static ReadPreference getSearchReadPreference() {
+        String name = PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "searchReadPreference");
+        if (name.equals("null") || name.isEmpty() || name.equals(ReadPreference.primary().getName())) {
+            return ReadPreference.primary();
+        }
+        
+        String maxStaleness = PropertiesFileManager.getConfigFileProperty("mongodb_nosql_config", "searchMaxStalenessSeconds");
+        try {
+            if (maxStaleness.equals("null") || maxStaleness.isEmpty()) {
+                return ReadPreference.valueOf(name);
+            }
+            return ReadPreference.valueOf(name, Collections.emptyList(), Long.parseLong(maxStaleness), TimeUnit.SECONDS);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.error("Invalid search read preference, the primary is used", ex);
+            return ReadPreference.primary();
+        }
+    }
+
+    /**
+     * Reads from the configured search read preference. To be called on the 
+     * DAOs of the searches and exports only: the measures inserted by a 
+     * request may not be replicated yet on the secondaries.
+     */
+    public void useSearchReadPreference() {
+        setDatabase(database.withReadPreference(SEARCH_READ_PREFERENCE));
+    }
+
+    /**
+     * Bounds a find by the deadline of the request processed by the current 
+     * thread. MongoDB aborts the query when the deadline passes.
+     * @param <R>
+     * @param find
+     * @return the bounded find
+     * @throws CancellationException if the request has already timed out
+     */
+    protected static <R> FindIterable<R> withDeadline(FindIterable<R> find) throws CancellationException {
+        RequestDeadline.check();
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            find.maxTime(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        }
+        return find;
+    }
+
+    /**
+     * Bounds an aggregation by the deadline of the request processed by the 
+     * current thread.
+     * @param <R>
+     * @param aggregate
+     * @return the bounded aggregation
+     * @throws CancellationException if the request has already timed out
+     */
+    protected static <R> AggregateIterable<R> withDeadline(AggregateIterable<R> aggregate) throws CancellationException {
+        RequestDeadline.check();
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            aggregate.maxTime(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        }
+        return aggregate;
+    }
+
+    /**
+     * @return the options of a count bounded by the deadline of the request
+     * processed by the current thread
+     * @throws CancellationException if the request has already timed out
+     */
+    protected static CountOptions getDeadlineCountOptions() throws CancellationException {
+        RequestDeadline.check();
+        CountOptions options = new CountOptions();
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            options.maxTime(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        }
+        return options;
+    }
+
     public static MongoClient getMongoClient() {
         return MONGO_CLIENT;
     }
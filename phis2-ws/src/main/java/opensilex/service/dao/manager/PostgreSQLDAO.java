@@ -42,6 +42,7 @@ import opensilex.service.utils.sql.SQLQueryBuilder;
 
 /**
  * DAO to query a PostgreSQL database.
+ * @update [agent] 18 Oct. 2026: Read the searches from the search pool
  * @author Arnaud Charleroy <arnaud.charleroy@inra.fr>
  * @param <T>
  */
@@ -88,6 +89,15 @@ public abstract class PostgreSQLDAO<T> extends DAO<T> {
         this.dataSource = dataSource;
     }
 
+    /**
+     * Reads from the pool of the searches. To be called on the DAOs of the 
+     * searches only: the rows written by a request may not be replicated yet.
+     * @see PostgreSQLDataSource#getSearchInstance()
+     */
+    public void useSearchDataSource() {
+        setDataSource(PostgreSQLDataSource.getSearchInstance());
+    }
+
     public String getTableAlias() {
         return tableAlias;
     }
@@ -8,6 +8,7 @@
 package opensilex.service.dao.manager;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,7 @@ import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.URINamespaces;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.metrics.TriplestoreCallsInterceptor;
 import opensilex.service.model.User;
 import opensilex.service.ontology.Rdf;
 import opensilex.service.ontology.Rdfs;
@@ -62,6 +64,9 @@ import org.eclipse.rdf4j.RDF4JException;
  *   Move date related functions in TimeDAO.java
  *   Add a generic function to get a string value from a binding set
  *   Add the max value of a page (to get all results of a service)
+ * @update [agent] 18 Oct. 2026: Time the triplestore calls for the metrics
+ * @update [agent] 18 Oct. 2026: Cache the queries results
+ * @update [agent] 18 Oct. 2026: Get the labels of a list of URIs in one query
  * @param <T>
  * @author Arnaud Charleroy
  */
@@ -167,8 +172,16 @@ public abstract class Rdf4jDAO<T> extends DAO<T> {
         return connection;
     }
 
+    /**
+     * Sets the connection used by the DAO. The connection calls are timed and
+     * the queries results are cached. The cache wraps the timed connection, so
+     * that the results read from the cache are not counted as triplestore calls.
+     * @see TriplestoreCallsInterceptor
+     * @see TriplestoreQueryCache
+     * @param connection
+     */
     public final void setConnection(RepositoryConnection connection) {
-        this.connection = connection;
+        this.connection = TriplestoreQueryCache.wrap(TriplestoreCallsInterceptor.wrap(connection));
     }
 
     public static Repository getRepository() {
@@ -587,6 +600,48 @@ public abstract class Rdf4jDAO<T> extends DAO<T> {
         return labels;
     }
 
+    /**
+     * Get the labels of a list of URIs in one query.
+     * @param uris
+     * @example 
+     * SELECT DISTINCT  ?uri ?label 
+     * WHERE {
+     *  VALUES ?uri { <http://www.opensilex.org/opensilex/2019/o19000060> <http://www.opensilex.org/opensilex/2019/o19000061> }
+     *  ?uri  <http://www.w3.org/2000/01/rdf-schema#label>  ?label  . 
+     * }
+     * @return the labels of each URI. The URIs without label are not in the map.
+     */
+    public Map<String, List<String>> findLabelsForUris(Collection<String> uris) {
+        Map<String, List<String>> labels = new HashMap<>();
+        if (uris.isEmpty()) {
+            return labels;
+        }
+        
+        //1. Generate the query
+        StringBuilder values = new StringBuilder();
+        uris.forEach((uri) -> {
+            values.append(" <").append(uri).append(">");
+        });
+        SPARQLQueryBuilder query = new SPARQLQueryBuilder();
+        query.appendSelect(URI_SELECT_NAME_SPARQL + " ?" + LABEL);
+        query.appendDistinct(Boolean.TRUE);
+        query.appendToBody("VALUES " + URI_SELECT_NAME_SPARQL + " {" + values + " }\n");
+        query.appendTriplet(URI_SELECT_NAME_SPARQL, Rdfs.RELATION_LABEL.toString(), "?" + LABEL, null);
+        LOGGER.debug(query.toString());
+        
+        //2. Get the result of the query
+        TupleQuery tupleQuery = getConnection().prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+        try (TupleQueryResult result = tupleQuery.evaluate()) {
+            while (result.hasNext()) {
+                BindingSet bindingSet = result.next();
+                labels.computeIfAbsent(bindingSet.getValue(URI).stringValue(), (uri) -> new ArrayList<>())
+                        .add(bindingSet.getValue(LABEL).stringValue());
+            }
+        }
+        
+        return labels;
+    }
+
     @Override
     protected void initConnection() {
         getConnection().begin();    
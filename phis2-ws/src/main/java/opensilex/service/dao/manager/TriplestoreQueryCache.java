@@ -0,0 +1,604 @@
+//******************************************************************************
+//                           TriplestoreQueryCache.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao.manager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.dao.PropertyDAO;
+import opensilex.service.ontology.Contexts;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.common.iteration.UnionIteration;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.BooleanQuery;
+import org.eclipse.rdf4j.query.Operation;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.Update;
+import org.eclipse.rdf4j.query.impl.IteratingTupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Triplestore query results cache.
+ * The results of the SELECT and ASK queries are kept, keyed by the query, its
+ * bindings and its dataset. Each result depends on the named graphs read by
+ * the query (FROM and GRAPH clauses), or on all the graphs if the query does
+ * not name any graph.
+ * The writes made through the DAOs connections (SPARQL updates, statements
+ * added or removed) invalidate the results depending on the graphs they touch:
+ * the graphs of the INSERT and DELETE templates of an update, not the graphs
+ * only read by its WHERE clause. A write which does not name its graphs 
+ * invalidates every result. Inside a transaction, the cache is not used and 
+ * the invalidation is done on commit.
+ * Results are also dropped after triplestoreCacheTTL seconds, for the writes
+ * made outside of the web service. The cache holds triplestoreCacheSize
+ * results, the least recently used first dropped; results with more than
+ * triplestoreCacheMaxRows rows are not kept. A size of 0 disables the cache of
+ * the results, the writes are still tracked to invalidate the ontology rules.
+ * @see Rdf4jDAO#setConnection(org.eclipse.rdf4j.repository.RepositoryConnection)
+ * @author agent <agent@local>
+ */
+public class TriplestoreQueryCache {
+
+    final static Logger LOGGER = LoggerFactory.getLogger(TriplestoreQueryCache.class);
+
+    final static String PROPS_FILE_NAME = "service";
+    final static int DEFAULT_SIZE = 1000;
+    final static int DEFAULT_TTL = 60;
+    final static int DEFAULT_MAX_ROWS = 5000;
+
+    private final static int SIZE = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "triplestoreCacheSize", DEFAULT_SIZE);
+    private final static long TTL_MILLIS = TimeUnit.SECONDS.toMillis(
+            PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "triplestoreCacheTTL", DEFAULT_TTL));
+    private final static int MAX_ROWS = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "triplestoreCacheMaxRows", DEFAULT_MAX_ROWS);
+
+    // Graphs read by a query
+    private final static Pattern READ_GRAPHS = Pattern.compile("(?i)\\b(?:FROM(?:\\s+NAMED)?|GRAPH)\\s*<([^>]*)>");
+    // Tokens of an update: strings, IRIs, comments, variables, keywords and prefixed names, symbols
+    private final static Pattern UPDATE_TOKENS = Pattern.compile(
+            "\"\"\"[\\s\\S]*?\"\"\"|'''[\\s\\S]*?'''|\"(?:[^\"\\\\\\n]|\\\\.)*\"|'(?:[^'\\\\\\n]|\\\\.)*'"
+            + "|<[^<>\"{}|^`\\\\\\x00-\\x20]*>"
+            + "|#[^\\n]*"
+            + "|[?$]\\w+"
+            + "|[\\w-]*:[\\w.-]*|\\w+"
+            + "|\\S");
+    // Graph variables or operations on all the graphs
+    private final static Pattern ANY_GRAPH = Pattern.compile("(?i)\\bGRAPH\\s*\\?|\\b(?:CLEAR|DROP)\\s+(?:SILENT\\s+)?(?:ALL|DEFAULT|NAMED)\\b");
+    private final static Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * Graphs of a query reading or writing all the graphs.
+     */
+    final static Set<String> ALL_GRAPHS = Collections.emptySet();
+
+    private final LinkedHashMap<String, CachedResult> results;
+    // Incremented by each invalidation, so that a result read before a write is not stored after it
+    private long generation = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private TriplestoreQueryCache() {
+        results = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                if (size() > SIZE) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class TriplestoreQueryCacheHolder {
+        final private static TriplestoreQueryCache INSTANCE = new TriplestoreQueryCache();
+    }
+
+    /**
+     * @return the unique instance of the cache
+     */
+    public static TriplestoreQueryCache getInstance() {
+        return TriplestoreQueryCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Wraps a connection to use the cache and to track its writes.
+     * @param connection
+     * @return the wrapped connection, or the given one if it is null or 
+     * already wrapped
+     */
+    public static RepositoryConnection wrap(RepositoryConnection connection) {
+        if (connection == null
+                || (Proxy.isProxyClass(connection.getClass())
+                    && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler)) {
+            return connection;
+        }
+        return (RepositoryConnection) Proxy.newProxyInstance(
+                RepositoryConnection.class.getClassLoader(),
+                new Class<?>[]{RepositoryConnection.class},
+                new ConnectionHandler(connection));
+    }
+
+    /**
+     * Invalidates the results depending on graphs.
+     * @param graphs the written graphs, ALL_GRAPHS to invalidate every result
+     */
+    public synchronized void invalidate(Set<String> graphs) {
+        generation++;
+        int size = results.size();
+        if (graphs.isEmpty()) {
+            results.clear();
+        } else {
+            results.values().removeIf((result) ->
+                    result.graphs.isEmpty() || !Collections.disjoint(result.graphs, graphs));
+        }
+        invalidations.add(size - results.size());
+
+        if (graphs.isEmpty() || graphs.contains(Contexts.VOCABULARY.toString())) {
+            PropertyDAO.invalidateOntologyRules();
+        }
+    }
+
+    /**
+     * Removes all the results.
+     */
+    public void clear() {
+        invalidate(ALL_GRAPHS);
+    }
+
+    private synchronized CachedResult get(String key) {
+        CachedResult result = results.get(key);
+        if (result != null && result.expirationTime < System.currentTimeMillis()) {
+            results.remove(key);
+            result = null;
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    private synchronized long getGeneration() {
+        return generation;
+    }
+
+    private synchronized void put(String key, CachedResult result, long readGeneration) {
+        // A write happened during the query evaluation: the result may be outdated
+        if (readGeneration == generation) {
+            results.put(key, result);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public synchronized int getSize() {
+        return results.size();
+    }
+
+    /**
+     * @param query
+     * @param pattern
+     * @return the graphs named in a query, ALL_GRAPHS if there is none or if
+     * the query reads or writes any graph
+     */
+    static Set<String> getGraphs(String query, Pattern pattern) {
+        if (ANY_GRAPH.matcher(query).find()) {
+            return ALL_GRAPHS;
+        }
+        Set<String> graphs = new HashSet<>();
+        Matcher matcher = pattern.matcher(query);
+        while (matcher.find()) {
+            graphs.add(matcher.group(1));
+        }
+        return graphs;
+    }
+
+    /**
+     * @param update SPARQL update
+     * @return the graphs written by the update: the graphs of the INSERT and
+     * DELETE templates, the graph of the WITH clause for the triples of the 
+     * templates outside of a GRAPH block, and the graphs loaded, cleared, 
+     * dropped or created. ALL_GRAPHS if the update writes the default graph,
+     * a graph variable or a graph which is not given by its IRI.
+     * @example
+     * DELETE { GRAPH <g1> { ?s ?p ?o } } WHERE { GRAPH <g2> { ?s ?p ?o } }
+     * writes g1 only
+     */
+    static Set<String> getUpdateGraphs(String update) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = UPDATE_TOKENS.matcher(update);
+        while (matcher.find()) {
+            // Comments are ignored
+            if (!matcher.group().startsWith("#")) {
+                tokens.add(matcher.group());
+            }
+        }
+
+        Set<String> graphs = new HashSet<>();
+        String withGraph = null;
+        int i = 0;
+        while (i < tokens.size()) {
+            switch (tokens.get(i).toUpperCase()) {
+                case "WITH":
+                    if (i + 1 >= tokens.size() || !isIri(tokens.get(i + 1))) {
+                        return ALL_GRAPHS;
+                    }
+                    withGraph = getIri(tokens.get(i + 1));
+                    i += 2;
+                    continue;
+                case "INSERT":
+                case "DELETE":
+                    int templateStart = i + 1;
+                    if (templateStart < tokens.size() 
+                            && (tokens.get(templateStart).equalsIgnoreCase("DATA") 
+                                || tokens.get(templateStart).equalsIgnoreCase("WHERE"))) {
+                        templateStart++;
+                    }
+                    int templateEnd = getBlockEnd(tokens, templateStart);
+                    if (templateEnd < 0 || !addTemplateGraphs(tokens, templateStart + 1, templateEnd, withGraph, graphs)) {
+                        return ALL_GRAPHS;
+                    }
+                    i = templateEnd + 1;
+                    continue;
+                case "WHERE":
+                    // The graphs of the WHERE clause are only read
+                    int whereEnd = getBlockEnd(tokens, i + 1);
+                    if (whereEnd < 0) {
+                        return ALL_GRAPHS;
+                    }
+                    i = whereEnd + 1;
+                    continue;
+                case "LOAD":
+                case "CLEAR":
+                case "DROP":
+                case "CREATE":
+                    // LOAD <document> INTO GRAPH <g>, CLEAR GRAPH <g>...
+                    boolean graphNamed = false;
+                    i++;
+                    while (i < tokens.size() && !";".equals(tokens.get(i))) {
+                        if (tokens.get(i).equalsIgnoreCase("GRAPH") 
+                                && i + 1 < tokens.size() && isIri(tokens.get(i + 1))) {
+                            graphs.add(getIri(tokens.get(i + 1)));
+                            graphNamed = true;
+                        }
+                        i++;
+                    }
+                    if (!graphNamed) {
+                        // Default graph, or ALL, NAMED...
+                        return ALL_GRAPHS;
+                    }
+                    continue;
+                case "ADD":
+                case "MOVE":
+                case "COPY":
+                    return ALL_GRAPHS;
+                case ";":
+                    // Next operation
+                    withGraph = null;
+                    break;
+                default:
+                    break;
+            }
+            i++;
+        }
+        return graphs;
+    }
+
+    /**
+     * Adds the graphs written by an INSERT or DELETE template.
+     * @param tokens tokens of the update
+     * @param start index of the first token of the template content
+     * @param end index of the closing brace of the template
+     * @param withGraph graph of the WITH clause, null if there is none
+     * @param graphs the written graphs
+     * @return false if the template writes the default graph or a graph which
+     * is not given by its IRI
+     */
+    private static boolean addTemplateGraphs(List<String> tokens, int start, int end, String withGraph, Set<String> graphs) {
+        int i = start;
+        while (i < end) {
+            String token = tokens.get(i);
+            if (token.equalsIgnoreCase("GRAPH")) {
+                if (i + 1 >= end || !isIri(tokens.get(i + 1))) {
+                    return false;
+                }
+                graphs.add(getIri(tokens.get(i + 1)));
+                int graphEnd = getBlockEnd(tokens, i + 2);
+                if (graphEnd < 0) {
+                    return false;
+                }
+                i = graphEnd + 1;
+            } else if (".".equals(token)) {
+                i++;
+            } else {
+                // Triples outside of a GRAPH block
+                if (withGraph == null) {
+                    return false;
+                }
+                graphs.add(withGraph);
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param tokens
+     * @param start index of the opening brace of a block
+     * @return the index of the closing brace of the block, -1 if there is no
+     * block at this index or if it is not closed
+     */
+    private static int getBlockEnd(List<String> tokens, int start) {
+        if (start >= tokens.size() || !"{".equals(tokens.get(start))) {
+            return -1;
+        }
+        int depth = 0;
+        for (int i = start; i < tokens.size(); i++) {
+            if ("{".equals(tokens.get(i))) {
+                depth++;
+            } else if ("}".equals(tokens.get(i))) {
+                depth--;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isIri(String token) {
+        return token.length() >= 2 && token.startsWith("<") && token.endsWith(">");
+    }
+
+    private static String getIri(String token) {
+        return token.substring(1, token.length() - 1);
+    }
+
+    /**
+     * @param contexts contexts argument of an add, remove or clear call
+     * @return the written graphs
+     */
+    static Set<String> getGraphs(Object contexts) {
+        if (!(contexts instanceof Resource[]) || ((Resource[]) contexts).length == 0) {
+            return ALL_GRAPHS;
+        }
+        Set<String> graphs = new HashSet<>();
+        for (Resource context : (Resource[]) contexts) {
+            if (context == null) {
+                // The default graph
+                return ALL_GRAPHS;
+            }
+            graphs.add(context.stringValue());
+        }
+        return graphs;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Result of a query.
+     */
+    private static class CachedResult {
+        final List<String> bindingNames;
+        final List<BindingSet> rows;
+        final Boolean answer;
+        final Set<String> graphs;
+        final long expirationTime;
+
+        CachedResult(List<String> bindingNames, List<BindingSet> rows, Boolean answer, Set<String> graphs) {
+            this.bindingNames = bindingNames;
+            this.rows = rows;
+            this.answer = answer;
+            this.graphs = graphs;
+            this.expirationTime = System.currentTimeMillis() + TTL_MILLIS;
+        }
+    }
+
+    /**
+     * Wraps the prepared queries and tracks the written graphs.
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+        private final static Set<String> PREPARE_METHODS = new HashSet<>(Arrays.asList(
+                "prepareQuery", "prepareTupleQuery", "prepareBooleanQuery", "prepareUpdate"));
+        private final static Set<String> WRITE_METHODS = new HashSet<>(Arrays.asList(
+                "add", "remove", "clear"));
+
+        private final RepositoryConnection connection;
+        // Graphs written in the current transaction
+        private final Set<String> pendingGraphs = new LinkedHashSet<>();
+        private boolean pendingAllGraphs = false;
+
+        ConnectionHandler(RepositoryConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = TriplestoreQueryCache.invoke(connection, method, args);
+
+            if (PREPARE_METHODS.contains(name)) {
+                String query = null;
+                for (Object arg : args) {
+                    if (arg instanceof String) {
+                        query = (String) arg;
+                        break;
+                    }
+                }
+                Class<?> operationType = null;
+                if (result instanceof TupleQuery) {
+                    operationType = TupleQuery.class;
+                } else if (result instanceof BooleanQuery) {
+                    operationType = BooleanQuery.class;
+                } else if (result instanceof Update) {
+                    operationType = Update.class;
+                }
+                if (query != null && operationType != null) {
+                    return Proxy.newProxyInstance(
+                            RepositoryConnection.class.getClassLoader(),
+                            new Class<?>[]{operationType},
+                            new OperationHandler((Operation) result, query, this));
+                }
+            } else if (WRITE_METHODS.contains(name)) {
+                written(args == null || args.length == 0 ? ALL_GRAPHS : getGraphs(args[args.length - 1]));
+            } else if ("commit".equals(name)) {
+                flush();
+            } else if ("rollback".equals(name)) {
+                pendingGraphs.clear();
+                pendingAllGraphs = false;
+            }
+            return result;
+        }
+
+        boolean isActive() {
+            return connection.isActive();
+        }
+
+        /**
+         * Invalidates the results depending on written graphs, or delays the
+         * invalidation to the commit.
+         * @param graphs
+         */
+        void written(Set<String> graphs) {
+            if (graphs.isEmpty()) {
+                pendingAllGraphs = true;
+            } else {
+                pendingGraphs.addAll(graphs);
+            }
+            if (!isActive()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pendingAllGraphs) {
+                getInstance().invalidate(ALL_GRAPHS);
+            } else if (!pendingGraphs.isEmpty()) {
+                getInstance().invalidate(new HashSet<>(pendingGraphs));
+            }
+            pendingGraphs.clear();
+            pendingAllGraphs = false;
+        }
+    }
+
+    /**
+     * Reads the results of the queries from the cache, if it is enabled, and
+     * invalidates the results on updates.
+     */
+    private static class OperationHandler implements InvocationHandler {
+        private final Operation operation;
+        private final String query;
+        private final ConnectionHandler connection;
+
+        OperationHandler(Operation operation, String query, ConnectionHandler connection) {
+            this.operation = operation;
+            this.query = query;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("execute".equals(name)) {
+                Object result = TriplestoreQueryCache.invoke(operation, method, args);
+                connection.written(getUpdateGraphs(query));
+                return result;
+            }
+            if (SIZE <= 0 || !"evaluate".equals(name) || (args != null && args.length > 0) || connection.isActive()) {
+                return TriplestoreQueryCache.invoke(operation, method, args);
+            }
+
+            TriplestoreQueryCache cache = getInstance();
+            String key = (operation instanceof TupleQuery ? "SELECT" : "ASK")
+                    + "\n" + WHITESPACES.matcher(query).replaceAll(" ").trim()
+                    + "\n" + operation.getBindings()
+                    + "\n" + operation.getDataset()
+                    + "\n" + operation.getIncludeInferred();
+            CachedResult cached = cache.get(key);
+            if (cached != null) {
+                if (cached.answer != null) {
+                    return cached.answer;
+                }
+                return new IteratingTupleQueryResult(cached.bindingNames, cached.rows);
+            }
+
+            long generation = cache.getGeneration();
+            Set<String> graphs = getGraphs(query, READ_GRAPHS);
+            if (operation instanceof BooleanQuery) {
+                boolean answer = ((BooleanQuery) operation).evaluate();
+                cache.put(key, new CachedResult(null, null, answer, graphs), generation);
+                return answer;
+            }
+
+            TupleQueryResult result = ((TupleQuery) operation).evaluate();
+            List<String> bindingNames = result.getBindingNames();
+            List<BindingSet> rows = new ArrayList<>();
+            while (rows.size() <= MAX_ROWS && result.hasNext()) {
+                rows.add(result.next());
+            }
+            if (rows.size() <= MAX_ROWS) {
+                result.close();
+                cache.put(key, new CachedResult(bindingNames, Collections.unmodifiableList(rows), null, graphs), generation);
+                return new IteratingTupleQueryResult(bindingNames, rows);
+            }
+            // Too many rows to be kept: the read rows are followed by the remaining ones
+            Iterator<BindingSet> readRows = rows.iterator();
+            return new IteratingTupleQueryResult(bindingNames, new UnionIteration<BindingSet, QueryEvaluationException>(
+                    new CloseableIteratorIteration<BindingSet, QueryEvaluationException>(readRows),
+                    result));
+        }
+    }
+}
@@ -11,19 +11,46 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
+import opensilex.service.metrics.PostgreSQLCallsInterceptor;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import static opensilex.service.PropertiesFileManager.getConfigFileIntegerProperty;
+import static opensilex.service.PropertiesFileManager.getConfigFileProperty;
 import static opensilex.service.PropertiesFileManager.getSQLPoolDataSourceProperties;
 
 /**
  * PostgreSQL data source.
+ * @update [agent] 18 Oct. 2026: Time the statements for the metrics
+ * @update [agent] 18 Oct. 2026: Optional read only pool of the searches
  * @author Arnaud Charleroy <arnaud.charleroy@inra.fr>
  */
 public abstract class PostgreSQLDataSource extends AbstractPostgreSQLDataSource {
 
+    // URL of the database read by the searches, a replica of the main database
+    private final static String SEARCH_URL = getConfigFileProperty("phis_sql_config", "searchUrl");
+
     private PostgreSQLDataSource() {
+        this(false);
+    }
+
+    /**
+     * @param search true for the read only pool of the searches
+     */
+    private PostgreSQLDataSource(boolean search) {
         setPropertyFileName("phis_sql_config");
         // Get properties
         final PoolProperties p = getSQLPoolDataSourceProperties(propertyFileName);
+        if (search) {
+            p.setUrl(SEARCH_URL);
+            p.setDefaultReadOnly(true);
+            p.setMaxActive(getConfigFileIntegerProperty(propertyFileName, "searchMaxActive", p.getMaxActive()));
+        }
+        // The statements are timed for the metrics
+        final String metricsInterceptor = PostgreSQLCallsInterceptor.class.getName();
+        if (p.getJdbcInterceptors() == null || p.getJdbcInterceptors().isEmpty()) {
+            p.setJdbcInterceptors(metricsInterceptor);
+        } else if (!p.getJdbcInterceptors().contains(metricsInterceptor)) {
+            p.setJdbcInterceptors(p.getJdbcInterceptors() + ";" + metricsInterceptor);
+        }
 
         try {
             this.setPoolProperties(p);  // INTERNAL_SERVER_ERROR propagation if connection issues
@@ -45,6 +72,16 @@ public abstract class PostgreSQLDataSource extends AbstractPostgreSQLDataSource
         };
     }
 
+    /**
+     * Safe thread. The searches use the main pool if there is no search URL.
+     */
+    private static class SearchDataSourceHolder {
+
+        final private static PostgreSQLDataSource instance = 
+                SEARCH_URL.equals("null") || SEARCH_URL.isEmpty() ? getInstance() : new PostgreSQLDataSource(true) {
+        };
+    }
+
     /**
      * Récupère une et unique instance du pool de connexion
      *
@@ -54,6 +91,16 @@ public abstract class PostgreSQLDataSource extends AbstractPostgreSQLDataSource
         return DataSourceDAOPhisBrapiHolder.instance;
     }
 
+    /**
+     * Gets the pool of the searches, on a replica of the database if a search
+     * URL is configured. The writes and the reads following them must use 
+     * the main pool.
+     * @return the search connection pool
+     */
+    public static PostgreSQLDataSource getSearchInstance() {
+        return SearchDataSourceHolder.instance;
+    }
+
     /**
      * Gets a connection from the connection pool.
      * @return Connection
@@ -29,6 +29,9 @@ public final class DocumentationAnnotation {
 
     public static final String PAGE_SIZE_MONGO = "Number of elements per page (limited to 1000000)";
 
+    public static final String TOTAL_COUNT = "Total count of the results: exact, estimated (faster, from the collection metadata when possible) "
+            + "or none (not counted, the pagination only tells if there is a next page)";
+
     // User messages
     public static final String ERROR_SEND_DATA = "Server error. Cannot send data.";
     public static final String ERROR_FETCH_DATA = "Server error. Cannot fetch data.";
@@ -87,6 +90,8 @@ public final class DocumentationAnnotation {
     public static final String TRAIT_DETAILS_CALL_MESSAGE = "Retrieve trait details by id";
    
     public static final String TRIPLET_POST_DATA_DEFINITION = "JSON format of a triplet";
+    public static final String TRIPLET_LOAD_DATA_DEFINITION = "RDF document in Turtle, N-Triples or N-Quads";
+    public static final String TRIPLET_LOAD_GRAPH_DEFINITION = "Graph of the statements without graph. A new graph is created if it is not given";
 
     public static final String ANNOTATION_POST_DATA_DEFINITION = "JSON format of an annotation";
 
@@ -127,6 +132,17 @@ public final class DocumentationAnnotation {
     
     public static final String CONCEPT_URI_DEFINITION = "A concept URI (Unique Resource Identifier)";
     public static final String DEEP ="true or false deppending if you want instances of concept progenity";
+    public static final String INSTANCES_CURSOR = "URI of the last instance of the previous page, to get the next page without offset (the page parameter is then ignored). "
+            + "The URL of the next page is also given in the Link header of the response";
+    public static final String EXPORT_FORMAT = "Format of the export: csv or tsv for a table, arrow for an Apache Arrow IPC stream "
+            + "with typed and dictionary encoded columns";
+    public static final String EXPORT_LAYOUT = "Layout of the exported table: long for one row by measure, "
+            + "wide for one row by date, subject and provenance with one column by variable. The arrow stream is always long";
+    public static final String EXPORT_GZIP = "true to compress the exported table with gzip";
+    public static final String ROLLUP_INTERVAL = "Duration of the summarized intervals in seconds, multiple of an hour. "
+            + "The daily rollups are read if the interval and the dates are aligned on UTC days, the hourly rollups otherwise";
+    public static final String ROLLUP_START_DATE = "Start of the first interval, aligned on an hour (included)";
+    public static final String ROLLUP_END_DATE = "End of the last interval, aligned on an hour (excluded)";
     
     public static final String CALL_DATATYPE_DEFINITION = "The data format supported by the call";
 
@@ -273,6 +289,11 @@ public final class DocumentationAnnotation {
     public static final String EXAMPLE_EVENT_SEARCH_START_DATE = "2017-09-08T12:00:00+01:00";
     public static final String EXAMPLE_EVENT_SEARCH_END_DATE = "2019-10-08T12:00:00+01:00";
 
+    public static final String JOB_ID_DEFINITION = "A job identifier";
+    public static final String JOB_ASYNC_DEFINITION = "Run the operation in an asynchronous job. "
+            + "The response is then a 202 Accepted with the job location.";
+    public static final String EXAMPLE_JOB_ID = "5dcd2d8c7a6a1e3b1c4e8f21";
+
     public static final String EXAMPLE_VECTOR_URI = "http://www.opensilex.org/demo/2018/v1801";
     public static final String EXAMPLE_VECTOR_RDF_TYPE = "http://www.opensilex.org/vocabulary/oeso#UAV";
     public static final String EXAMPLE_VECTOR_LABEL = "par03_p";
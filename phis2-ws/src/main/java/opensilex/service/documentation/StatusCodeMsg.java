@@ -58,4 +58,8 @@ public final class StatusCodeMsg {
     public static final String UNKNOWN_EVENT_URI = "Unknown event URI";
     public static final String WRONG_VALUE = "Wrong value";    
     public static final String INVALID_INPUT_PARAMETERS = "Wrong format parameter(s)";
+    public static final String JOB_ACCEPTED = "Job accepted";
+    public static final String JOB_QUEUE_FULL = "Too many jobs waiting, please retry later";
+    public static final String REQUEST_TIMEOUT = "Request timed out";
+    public static final String REQUEST_QUEUE_FULL = "Too many requests waiting, please retry later";
 }
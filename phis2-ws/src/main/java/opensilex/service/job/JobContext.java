@@ -0,0 +1,76 @@
+//******************************************************************************
+//                                JobContext.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.job;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import opensilex.service.configuration.JobStatus;
+import opensilex.service.dao.JobDAO;
+
+/**
+ * Execution context of a job, given to the running task.
+ * Permits to report the progress of the task.
+ * @author agent <agent@local>
+ */
+public class JobContext {
+
+    private final String jobId;
+    private final AtomicReference<JobStatus> state = new AtomicReference<>(JobStatus.PENDING);
+    private Future<?> future;
+    private int progress = 0;
+
+    public JobContext(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Marks the job as started.
+     * @return false if the job has been cancelled before starting
+     */
+    boolean start() {
+        return state.compareAndSet(JobStatus.PENDING, JobStatus.RUNNING);
+    }
+
+    /**
+     * Cancels the job if it has not started yet. A running job is not 
+     * cancelled as its operation may already be writing its data.
+     * @return true if the job has been cancelled
+     */
+    boolean cancel() {
+        if (state.compareAndSet(JobStatus.PENDING, JobStatus.CANCELLED)) {
+            future.cancel(false);
+            return true;
+        }
+        return false;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    /**
+     * Reports the progress of the task. The progress is saved only when it
+     * changes.
+     * @param progress percentage, between 0 and 100
+     */
+    public void setProgress(int progress) {
+        int boundedProgress = Math.max(0, Math.min(100, progress));
+        if (boundedProgress != this.progress) {
+            this.progress = boundedProgress;
+            new JobDAO().updateProgress(jobId, boundedProgress);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+//******************************************************************************
+//                                JobManager.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.job;
+
+import com.mongodb.MongoException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.configuration.JobStatus;
+import opensilex.service.dao.JobDAO;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.model.Job;
+import opensilex.service.model.User;
+import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.view.brapi.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous jobs manager.
+ * Runs the long operations (imports, layers generation...) in a bounded worker
+ * pool, outside of the request threads. The state of each job is saved with
+ * the JobDAO so that clients can poll it.
+ * @see JobDAO
+ * @author agent <agent@local>
+ */
+public class JobManager {
+
+    final static Logger LOGGER = LoggerFactory.getLogger(JobManager.class);
+    final static String PROPS_FILE_NAME = "service";
+    final static int DEFAULT_WORKERS = 2;
+    final static int DEFAULT_QUEUE_SIZE = 50;
+
+    private final ThreadPoolExecutor executor;
+
+    // Web service node running the jobs of this manager
+    private final String node;
+
+    // Jobs pending or running, by job id
+    private final Map<String, JobContext> activeJobs = new ConcurrentHashMap<>();
+
+    private JobManager() {
+        int workers = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "jobWorkers", DEFAULT_WORKERS);
+        int queueSize = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "jobQueueSize", DEFAULT_QUEUE_SIZE);
+
+        executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                new JobThreadFactory());
+
+        node = getNodeName();
+
+        // The manager must start even if MongoDB is not available yet
+        try {
+            JobDAO jobDAO = new JobDAO();
+            jobDAO.createIndexes();
+            long interruptedJobs = jobDAO.failUnfinishedJobs(node);
+            if (interruptedJobs > 0) {
+                LOGGER.warn(interruptedJobs + " job(s) interrupted by the web service restart");
+            }
+        } catch (MongoException ex) {
+            LOGGER.error("Can't clean up the jobs interrupted by the web service restart", ex);
+        }
+    }
+
+    /**
+     * Gets the name of the web service node from the configuration. The host 
+     * name is used by default. Each node sharing the jobs collection must have 
+     * its own name.
+     * @return the node name
+     */
+    private static String getNodeName() {
+        String nodeName = PropertiesFileManager.getConfigFileProperty(PROPS_FILE_NAME, "jobNode");
+        if (nodeName != null && !nodeName.trim().isEmpty() && !Objects.equals(nodeName, "null")) {
+            return nodeName.trim();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            LOGGER.warn("Can't get the host name, the jobs node is unnamed", ex);
+            return "";
+        }
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class JobManagerHolder {
+        final private static JobManager INSTANCE = new JobManager();
+    }
+
+    /**
+     * The manager is created on its first use, not at the web service startup.
+     * @return the unique instance of the manager
+     */
+    public static JobManager getInstance() {
+        return JobManagerHolder.INSTANCE;
+    }
+
+    /**
+     * Submits a task to the workers.
+     * @param type kind of operation, displayed to the user
+     * @param owner user submitting the job
+     * @param task
+     * @return the created job
+     * @throws RejectedExecutionException if the jobs queue is full
+     */
+    public Job submit(String type, User owner, JobTask task) throws RejectedExecutionException {
+        Job job = new Job();
+        job.setType(type);
+        job.setOwner(owner.getEmail());
+        job.setStatus(JobStatus.PENDING.toString());
+        job.setCreationDate(new Date());
+
+        JobDAO jobDAO = new JobDAO();
+        jobDAO.user = owner;
+        jobDAO.insert(job, node);
+
+        JobContext context = new JobContext(job.getId());
+        FutureTask<Void> future = new FutureTask<>(() -> run(job, task, context), null);
+        context.setFuture(future);
+        activeJobs.put(job.getId(), context);
+
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException ex) {
+            activeJobs.remove(job.getId());
+            finish(job, JobStatus.FAILED, new Status(StatusCodeMsg.UNEXPECTED_ERROR, StatusCodeMsg.ERR, "Too many jobs waiting"));
+            throw ex;
+        }
+
+        LOGGER.info("Job " + job.getId() + " (" + type + ") submitted by " + owner.getEmail());
+        return job;
+    }
+
+    /**
+     * Cancels a pending job. Running jobs can't be cancelled.
+     * @param jobId
+     * @return false if the job is not pending
+     */
+    public boolean cancel(String jobId) {
+        JobContext context = activeJobs.get(jobId);
+        if (context == null || !context.cancel()) {
+            return false;
+        }
+        // The job never started, the worker will not update it.
+        activeJobs.remove(jobId);
+        Job job = new JobDAO().findById(jobId);
+        if (job != null) {
+            finish(job, JobStatus.CANCELLED, new Status("Job cancelled", StatusCodeMsg.INFO, null));
+        }
+        LOGGER.info("Job " + jobId + " cancelled");
+        return true;
+    }
+
+    /**
+     * Runs a job task and saves its result.
+     * @param job
+     * @param task
+     * @param context
+     */
+    private void run(Job job, JobTask task, JobContext context) {
+        if (!context.start()) {
+            return;
+        }
+        JobDAO jobDAO = new JobDAO();
+        job.setStatus(JobStatus.RUNNING.toString());
+        job.setStartDate(new Date());
+        jobDAO.updateState(job);
+
+        try {
+            POSTResultsReturn result = task.execute(context);
+            job.setProgress(100);
+            job.setResultHttpStatus(result.getHttpStatus().getStatusCode());
+            job.setResultStatus((List<Status>) result.statusList);
+            job.setCreatedResources(result.getCreatedResources());
+            finish(job, result.getHttpStatus().getFamily() == Response.Status.Family.SUCCESSFUL
+                    ? JobStatus.SUCCEEDED
+                    : JobStatus.FAILED, null);
+        } catch (Exception ex) {
+            LOGGER.error("Job " + job.getId() + " failed: " + ex.getMessage(), ex);
+            job.setResultHttpStatus(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            finish(job, JobStatus.FAILED, new Status(StatusCodeMsg.UNEXPECTED_ERROR, StatusCodeMsg.ERR, ex.getMessage()));
+        } finally {
+            activeJobs.remove(job.getId());
+        }
+    }
+
+    /**
+     * Saves the final state of a job.
+     * @param job
+     * @param status
+     * @param additionalStatus status message added to the result, may be null
+     */
+    private void finish(Job job, JobStatus status, Status additionalStatus) {
+        job.setStatus(status.toString());
+        job.setEndDate(new Date());
+        if (additionalStatus != null) {
+            job.getResultStatus().add(additionalStatus);
+        }
+        new JobDAO().updateState(job);
+    }
+
+    /**
+     * Names the workers threads. Workers are daemons so that they do not
+     * prevent the container from stopping.
+     */
+    private static class JobThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "job-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+//******************************************************************************
+//                                 JobTask.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.job;
+
+import opensilex.service.utils.POSTResultsReturn;
+
+/**
+ * Operation executed by an asynchronous job.
+ * @see JobManager
+ * @author agent <agent@local>
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * Executes the operation. Long operations should report their progress
+     * through the given context.
+     * @param context
+     * @return the result of the operation, as it would have been returned
+     *         synchronously.
+     * @throws Exception
+     */
+    POSTResultsReturn execute(JobContext context) throws Exception;
+}
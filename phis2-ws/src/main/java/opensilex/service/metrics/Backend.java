@@ -0,0 +1,33 @@
+//******************************************************************************
+//                                 Backend.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+/**
+ * Storage backends called by the web service.
+ * @author agent <agent@local>
+ */
+public enum Backend {
+    TRIPLESTORE {
+        @Override
+        public String toString(){
+            return "triplestore";
+        }
+    },
+    MONGODB {
+        @Override
+        public String toString(){
+            return "mongodb";
+        }
+    },
+    POSTGRESQL {
+        @Override
+        public String toString(){
+            return "postgresql";
+        }
+    }
+}
@@ -0,0 +1,75 @@
+//******************************************************************************
+//                             LatencyHistogram.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with fixed buckets.
+ * Recording is lock free so that it can be done by every request thread.
+ * @author agent <agent@local>
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets, in seconds. A last bucket counts the
+     * durations higher than the last bound.
+     */
+    public final static double[] BUCKETS_SECONDS = {
+        0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+
+    private final static long[] BUCKETS_NANOS = new long[BUCKETS_SECONDS.length];
+    static {
+        for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+            BUCKETS_NANOS[i] = (long) (BUCKETS_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final AtomicLongArray bucketsCounts = new AtomicLongArray(BUCKETS_SECONDS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Records a duration.
+     * @param nanos duration in nanoseconds
+     */
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKETS_NANOS.length && nanos > BUCKETS_NANOS[bucket]) {
+            bucket++;
+        }
+        bucketsCounts.incrementAndGet(bucket);
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * @return the number of recorded durations lower or equal to each bound,
+     * the last value being the total number of durations.
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulativeCounts = new long[bucketsCounts.length()];
+        long total = 0;
+        for (int i = 0; i < cumulativeCounts.length; i++) {
+            total += bucketsCounts.get(i);
+            cumulativeCounts[i] = total;
+        }
+        return cumulativeCounts;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,191 @@
+//******************************************************************************
+//                              MetricsRegistry.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import opensilex.service.dao.manager.TriplestoreQueryCache;
+
+/**
+ * Metrics of the web service.
+ * Keeps, since the web service start:
+ * - a latency histogram by resource method,
+ * - a latency histogram by backend,
+ * - the number and the duration of the backend calls made by each resource
+ *   method, to spot the resource methods querying a backend once per result.
+ * The metrics are exported in the Prometheus text format.
+ * @see https://prometheus.io/docs/instrumenting/exposition_formats/
+ * @author agent <agent@local>
+ */
+public class MetricsRegistry {
+
+    private final static String PREFIX = "opensilex_";
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<Backend, LatencyHistogram> backends = new EnumMap<>(Backend.class);
+
+    private MetricsRegistry() {
+        for (Backend backend : Backend.values()) {
+            backends.put(backend, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class MetricsRegistryHolder {
+        final private static MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    /**
+     * @return the unique instance of the registry
+     */
+    public static MetricsRegistry getInstance() {
+        return MetricsRegistryHolder.INSTANCE;
+    }
+
+    /**
+     * Records a backend call and adds it to the request being processed by the
+     * current thread, if any.
+     * @param backend
+     * @param nanos duration of the call in nanoseconds
+     */
+    public static void recordBackendCall(Backend backend, long nanos) {
+        getInstance().backends.get(backend).record(nanos);
+        RequestMetrics request = RequestMetrics.current();
+        if (request != null) {
+            request.add(backend, nanos);
+        }
+    }
+
+    /**
+     * Records a processed request.
+     * @param endpoint HTTP method and path template of the resource method
+     * @param nanos duration of the request in nanoseconds
+     * @param request backend calls made by the request, may be null
+     */
+    public void recordRequest(String endpoint, long nanos, RequestMetrics request) {
+        EndpointMetrics metrics = endpoints.computeIfAbsent(endpoint, (key) -> new EndpointMetrics());
+        metrics.latency.record(nanos);
+        if (request != null) {
+            for (Backend backend : Backend.values()) {
+                metrics.backendCalls[backend.ordinal()].add(request.getCalls(backend));
+                metrics.backendNanos[backend.ordinal()].add(request.getNanos(backend));
+            }
+        }
+    }
+
+    /**
+     * @return the metrics in the Prometheus text format
+     */
+    public String toPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        Map<String, EndpointMetrics> sortedEndpoints = new TreeMap<>(endpoints);
+
+        String requestDuration = PREFIX + "http_request_duration_seconds";
+        appendHeader(text, requestDuration, "histogram", "Duration of the web service requests by resource method.");
+        sortedEndpoints.forEach((endpoint, metrics) -> {
+            appendHistogram(text, requestDuration, "endpoint=\"" + escape(endpoint) + "\"", metrics.latency);
+        });
+
+        String backendDuration = PREFIX + "backend_call_duration_seconds";
+        appendHeader(text, backendDuration, "histogram", "Duration of the calls to the storage backends.");
+        backends.forEach((backend, histogram) -> {
+            appendHistogram(text, backendDuration, "backend=\"" + backend + "\"", histogram);
+        });
+
+        String requestCalls = PREFIX + "http_request_backend_calls_total";
+        appendHeader(text, requestCalls, "counter", "Number of backend calls made by the requests, by resource method.");
+        sortedEndpoints.forEach((endpoint, metrics) -> {
+            for (Backend backend : Backend.values()) {
+                appendSample(text, requestCalls, endpointBackendLabels(endpoint, backend),
+                        Long.toString(metrics.backendCalls[backend.ordinal()].sum()));
+            }
+        });
+
+        String requestBackendDuration = PREFIX + "http_request_backend_seconds_total";
+        appendHeader(text, requestBackendDuration, "counter", "Time spent in backend calls by the requests, by resource method.");
+        sortedEndpoints.forEach((endpoint, metrics) -> {
+            for (Backend backend : Backend.values()) {
+                appendSample(text, requestBackendDuration, endpointBackendLabels(endpoint, backend),
+                        formatSeconds(metrics.backendNanos[backend.ordinal()].sum() / (double) TimeUnit.SECONDS.toNanos(1)));
+            }
+        });
+
+        TriplestoreQueryCache cache = TriplestoreQueryCache.getInstance();
+        appendCounter(text, PREFIX + "triplestore_cache_hits_total", "Number of triplestore queries read from the cache.", cache.getHits());
+        appendCounter(text, PREFIX + "triplestore_cache_misses_total", "Number of triplestore queries not found in the cache.", cache.getMisses());
+        appendCounter(text, PREFIX + "triplestore_cache_evictions_total", "Number of least recently used results dropped from the triplestore cache.", cache.getEvictions());
+        appendCounter(text, PREFIX + "triplestore_cache_invalidations_total", "Number of results dropped from the triplestore cache by writes.", cache.getInvalidations());
+        String cacheSize = PREFIX + "triplestore_cache_size";
+        appendHeader(text, cacheSize, "gauge", "Number of results in the triplestore cache.");
+        text.append(cacheSize).append(" ").append(cache.getSize()).append("\n");
+
+        return text.toString();
+    }
+
+    private static void appendCounter(StringBuilder text, String name, String help, long value) {
+        appendHeader(text, name, "counter", help);
+        text.append(name).append(" ").append(value).append("\n");
+    }
+
+    private static void appendHeader(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(name).append(" ").append(help).append("\n");
+        text.append("# TYPE ").append(name).append(" ").append(type).append("\n");
+    }
+
+    private static void appendHistogram(StringBuilder text, String name, String labels, LatencyHistogram histogram) {
+        long[] cumulativeCounts = histogram.getCumulativeCounts();
+        for (int i = 0; i < LatencyHistogram.BUCKETS_SECONDS.length; i++) {
+            appendSample(text, name + "_bucket",
+                    labels + ",le=\"" + formatSeconds(LatencyHistogram.BUCKETS_SECONDS[i]) + "\"",
+                    Long.toString(cumulativeCounts[i]));
+        }
+        appendSample(text, name + "_bucket", labels + ",le=\"+Inf\"",
+                Long.toString(cumulativeCounts[cumulativeCounts.length - 1]));
+        appendSample(text, name + "_sum", labels, formatSeconds(histogram.getSumSeconds()));
+        appendSample(text, name + "_count", labels, Long.toString(histogram.getCount()));
+    }
+
+    private static void appendSample(StringBuilder text, String name, String labels, String value) {
+        text.append(name).append("{").append(labels).append("} ").append(value).append("\n");
+    }
+
+    private static String endpointBackendLabels(String endpoint, Backend backend) {
+        return "endpoint=\"" + escape(endpoint) + "\",backend=\"" + backend + "\"";
+    }
+
+    private static String formatSeconds(double seconds) {
+        return String.format(Locale.ROOT, "%.6f", seconds);
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Metrics of a resource method.
+     */
+    private static class EndpointMetrics {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder[] backendCalls = new LongAdder[Backend.values().length];
+        final LongAdder[] backendNanos = new LongAdder[Backend.values().length];
+
+        EndpointMetrics() {
+            for (int i = 0; i < backendCalls.length; i++) {
+                backendCalls[i] = new LongAdder();
+                backendNanos[i] = new LongAdder();
+            }
+        }
+    }
+}
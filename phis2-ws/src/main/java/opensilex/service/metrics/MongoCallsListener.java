@@ -0,0 +1,87 @@
+//******************************************************************************
+//                            MongoCallsListener.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Times the commands sent to MongoDB.
+ * The synchronous driver notifies the listener in the thread which sent the
+ * command, so the calls are added to the request being processed.
+ * If the slow queries log is enabled, the commands are kept until they end to
+ * send the slow ones to the log.
+ * @see opensilex.service.dao.manager.MongoDAO
+ * @see SlowQueryLog
+ * @author agent <agent@local>
+ */
+public class MongoCallsListener implements CommandListener {
+
+    // Inserted documents are not kept
+    private final static String INSERTED_DOCUMENTS = "documents";
+    // Only the first update or delete statement of a bulk command is kept
+    private final static String[] BULK_STATEMENTS = {"updates", "deletes"};
+
+    // JSON of the running commands, by request id
+    private final Map<Integer, String> runningCommands = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (SlowQueryLog.isEnabled()) {
+            // The command document is only readable during the event
+            runningCommands.put(event.getRequestId(), trim(event.getCommand()).toJson());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, long duration) {
+        MetricsRegistry.recordBackendCall(Backend.MONGODB, duration);
+        String command = runningCommands.remove(requestId);
+        if (command != null && SlowQueryLog.isSlow(duration)) {
+            SlowQueryLog.getInstance().record(Backend.MONGODB, QueryFingerprint.mongo(BsonDocument.parse(command)), duration);
+        }
+    }
+
+    /**
+     * @param command
+     * @return a copy of the command without the data of the bulk writes
+     */
+    private static BsonDocument trim(BsonDocument command) {
+        BsonDocument trimmed = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            if (INSERTED_DOCUMENTS.equals(entry.getKey())) {
+                continue;
+            }
+            BsonValue value = entry.getValue();
+            for (String bulkStatements : BULK_STATEMENTS) {
+                if (bulkStatements.equals(entry.getKey()) && value.isArray() && value.asArray().size() > 1) {
+                    value = new BsonArray(value.asArray().subList(0, 1));
+                }
+            }
+            trimmed.put(entry.getKey(), value);
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,99 @@
+//******************************************************************************
+//                        PostgreSQLCallsInterceptor.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import opensilex.service.async.RequestDeadline;
+import org.apache.tomcat.jdbc.pool.interceptor.AbstractCreateStatementInterceptor;
+
+/**
+ * Times the statements executed on the PostgreSQL connection pool.
+ * The statements slower than the slow queries threshold are sent to the slow
+ * queries log.
+ * The statements of an asynchronous request are bounded by the time left to
+ * the request.
+ * @see opensilex.service.datasource.PostgreSQLDataSource
+ * @author agent <agent@local>
+ */
+public class PostgreSQLCallsInterceptor extends AbstractCreateStatementInterceptor {
+
+    /**
+     * Wraps the statements created by the connections.
+     * @param proxy
+     * @param method createStatement, prepareStatement or prepareCall
+     * @param args
+     * @param statement
+     * @param time
+     * @return the wrapped statement
+     */
+    @Override
+    public Object createStatement(Object proxy, Method method, Object[] args, Object statement, long time) {
+        return Proxy.newProxyInstance(
+                PostgreSQLCallsInterceptor.class.getClassLoader(),
+                new Class<?>[]{method.getReturnType()},
+                new StatementHandler(statement, args != null && args.length > 0 && args[0] instanceof String 
+                        ? (String) args[0] 
+                        : null));
+    }
+
+    @Override
+    public void closeInvoked() {
+    }
+
+    /**
+     * Times the executions of a statement.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Object statement;
+        // SQL of a prepared statement
+        private final String preparedSql;
+
+        StatementHandler(Object statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeStatement(method, args);
+            }
+            RequestDeadline.check();
+            RequestDeadline deadline = RequestDeadline.current();
+            if (deadline != null) {
+                ((Statement) statement).setQueryTimeout(deadline.getRemainingSeconds());
+            }
+
+            long start = System.nanoTime();
+            try {
+                return invokeStatement(method, args);
+            } finally {
+                long duration = System.nanoTime() - start;
+                MetricsRegistry.recordBackendCall(Backend.POSTGRESQL, duration);
+                if (SlowQueryLog.isSlow(duration)) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String
+                            ? (String) args[0]
+                            : (preparedSql != null ? preparedSql : method.getName());
+                    SlowQueryLog.getInstance().record(Backend.POSTGRESQL, QueryFingerprint.sql(sql), duration);
+                }
+            }
+        }
+
+        private Object invokeStatement(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
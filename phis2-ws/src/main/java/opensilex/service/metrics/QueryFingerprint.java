@@ -0,0 +1,103 @@
+//******************************************************************************
+//                             QueryFingerprint.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+/**
+ * Query fingerprints.
+ * A fingerprint is the query where the literals are replaced by "?", so that
+ * the executions of a query with different values are aggregated.
+ * @see SlowQueryLog
+ * @author agent <agent@local>
+ */
+public class QueryFingerprint {
+
+    private final static String PLACEHOLDER = "?";
+
+    private final static Pattern SPARQL_STRING = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^'\\\\]|\\\\.)*'");
+    private final static Pattern SQL_STRING = Pattern.compile("'(?:[^']|'')*'");
+    private final static Pattern NUMBER = Pattern.compile("(?<![\\w?$:#/.\\-])-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?\\b");
+    // (?, ?, ?) lists of the SQL IN conditions
+    private final static Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    // IN (<uri1>, <uri2>) lists of the SPARQL filters
+    private final static Pattern IRI_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*(?:<[^>\\s]*>|\\?)(?:\\s*,\\s*(?:<[^>\\s]*>|\\?))*\\s*\\)");
+    // VALUES ?uri { <uri1> <uri2> } blocks
+    private final static Pattern VALUES_BLOCK = Pattern.compile("(?i)\\bVALUES\\s*(\\?\\w+|\\([^)]*\\))\\s*\\{[^}]*\\}");
+    private final static Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * @param query
+     * @return the fingerprint of a SPARQL query
+     */
+    public static String sparql(String query) {
+        String fingerprint = SPARQL_STRING.matcher(query).replaceAll(PLACEHOLDER);
+        fingerprint = NUMBER.matcher(fingerprint).replaceAll(PLACEHOLDER);
+        fingerprint = VALUES_BLOCK.matcher(fingerprint).replaceAll("VALUES $1 { ? }");
+        fingerprint = IRI_LIST.matcher(fingerprint).replaceAll("IN (?)");
+        return WHITESPACES.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    /**
+     * @param query
+     * @return the fingerprint of a SQL statement
+     */
+    public static String sql(String query) {
+        String fingerprint = SQL_STRING.matcher(query).replaceAll(PLACEHOLDER);
+        fingerprint = NUMBER.matcher(fingerprint).replaceAll(PLACEHOLDER);
+        fingerprint = PLACEHOLDER_LIST.matcher(fingerprint).replaceAll("(?)");
+        return WHITESPACES.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    /**
+     * @param command
+     * @return the fingerprint of a MongoDB command: the command where each
+     * value is replaced by "?", except the collection name
+     * @example {"find": "data", "filter": {"variable": "?", "date": {"$gte": "?"}}, "sort": {"date": "?"}}
+     */
+    public static String mongo(BsonDocument command) {
+        BsonDocument fingerprint = new BsonDocument();
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            if (first) {
+                // The first key is the command name, its value the collection
+                fingerprint.put(entry.getKey(), entry.getValue());
+                first = false;
+            } else {
+                fingerprint.put(entry.getKey(), normalize(entry.getValue()));
+            }
+        }
+        return fingerprint.toJson();
+    }
+
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument document = new BsonDocument();
+            value.asDocument().forEach((key, subValue) -> {
+                document.put(key, normalize(subValue));
+            });
+            return document;
+        } else if (value.isArray()) {
+            // The elements with the same shape are merged
+            Set<BsonValue> elements = new LinkedHashSet<>();
+            value.asArray().forEach((element) -> {
+                elements.add(normalize(element));
+            });
+            return new BsonArray(new ArrayList<>(elements));
+        }
+        return new BsonString(PLACEHOLDER);
+    }
+}
@@ -0,0 +1,108 @@
+//******************************************************************************
+//                              RequestMetrics.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backend calls made while processing a web service request.
+ * The metrics of the request being processed are bound to the current thread
+ * between the request and the response filters. An asynchronous request
+ * moves its metrics to the worker thread processing it.
+ * @see opensilex.service.resource.request.filter.MetricsFilter
+ * @see opensilex.service.async.AsyncRequestManager
+ * @author agent <agent@local>
+ */
+public class RequestMetrics {
+
+    private final static ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long[] calls = new long[Backend.values().length];
+    private final long[] nanos = new long[Backend.values().length];
+
+    /**
+     * Binds new metrics to the current thread.
+     * @return the created metrics
+     */
+    public static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * @return the metrics bound to the current thread, null if the thread is
+     * not processing a request
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds metrics to the current thread, when a request goes on in another
+     * thread.
+     * @param metrics metrics of the request, may be null
+     */
+    public static void attach(RequestMetrics metrics) {
+        if (metrics == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(metrics);
+        }
+    }
+
+    /**
+     * Unbinds the metrics of the current thread.
+     * @return the unbound metrics, null if there was none
+     */
+    public static RequestMetrics end() {
+        RequestMetrics metrics = CURRENT.get();
+        CURRENT.remove();
+        return metrics;
+    }
+
+    /**
+     * Adds a backend call.
+     * @param backend
+     * @param duration duration of the call in nanoseconds
+     */
+    public synchronized void add(Backend backend, long duration) {
+        calls[backend.ordinal()]++;
+        nanos[backend.ordinal()] += duration;
+    }
+
+    public synchronized long getCalls(Backend backend) {
+        return calls[backend.ordinal()];
+    }
+
+    public synchronized long getNanos(Backend backend) {
+        return nanos[backend.ordinal()];
+    }
+
+    /**
+     * Formats the metrics as a Server-Timing header value.
+     * @param requestNanos total duration of the request in nanoseconds
+     * @return the header value
+     * @example triplestore;desc="12 calls";dur=35.2, mongodb;desc="0 calls";dur=0.0, postgresql;desc="1 calls";dur=2.1, total;dur=48.7
+     * @see https://www.w3.org/TR/server-timing/
+     */
+    public synchronized String toServerTiming(long requestNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Backend backend : Backend.values()) {
+            header.append(String.format(Locale.ROOT, "%s;desc=\"%d calls\";dur=%.1f, ",
+                    backend, calls[backend.ordinal()], toMillis(nanos[backend.ordinal()])));
+        }
+        header.append(String.format(Locale.ROOT, "total;dur=%.1f", toMillis(requestNanos)));
+        return header.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
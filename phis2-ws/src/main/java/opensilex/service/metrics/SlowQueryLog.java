@@ -0,0 +1,212 @@
+//******************************************************************************
+//                               SlowQueryLog.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import opensilex.service.PropertiesFileManager;
+
+/**
+ * Slow queries log.
+ * Keeps the SPARQL queries, MongoDB commands and SQL statements slower than
+ * the slowQueryThreshold property, aggregated by fingerprint. The number of
+ * fingerprints is bounded by the slowQueryLogSize property: the least
+ * recently seen fingerprint is dropped first. Only the fingerprints are kept,
+ * not the executed queries and their literals. The log is disabled unless the
+ * slowQueryLogEnabled property is true.
+ * @see QueryFingerprint
+ * @author agent <agent@local>
+ */
+public class SlowQueryLog {
+
+    final static String PROPS_FILE_NAME = "service";
+    final static int DEFAULT_THRESHOLD_MS = 500;
+    final static int DEFAULT_LOG_SIZE = 200;
+    // Number of durations kept by fingerprint to compute the percentiles
+    final static int DURATIONS_SIZE = 128;
+
+    private final static boolean ENABLED = Boolean.parseBoolean(
+            PropertiesFileManager.getConfigFileProperty(PROPS_FILE_NAME, "slowQueryLogEnabled"));
+    private final static long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "slowQueryThreshold", DEFAULT_THRESHOLD_MS));
+
+    private final LinkedHashMap<String, SlowQuery> queries;
+
+    private SlowQueryLog() {
+        final int size = PropertiesFileManager.getConfigFileIntegerProperty(PROPS_FILE_NAME, "slowQueryLogSize", DEFAULT_LOG_SIZE);
+        queries = new LinkedHashMap<String, SlowQuery>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SlowQuery> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * Safe thread.
+     */
+    private static class SlowQueryLogHolder {
+        final private static SlowQueryLog INSTANCE = new SlowQueryLog();
+    }
+
+    /**
+     * @return the unique instance of the log
+     */
+    public static SlowQueryLog getInstance() {
+        return SlowQueryLogHolder.INSTANCE;
+    }
+
+    /**
+     * @return true if the slow queries are recorded
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @param nanos duration of a query in nanoseconds
+     * @return true if the query has to be recorded
+     */
+    public static boolean isSlow(long nanos) {
+        return ENABLED && nanos >= THRESHOLD_NANOS;
+    }
+
+    /**
+     * Records a slow query.
+     * @param backend
+     * @param fingerprint the query with its literals replaced
+     * @param nanos duration of the query in nanoseconds
+     * @see QueryFingerprint
+     */
+    public synchronized void record(Backend backend, String fingerprint, long nanos) {
+        String key = backend + " " + fingerprint;
+        SlowQuery slowQuery = queries.get(key);
+        if (slowQuery == null) {
+            slowQuery = new SlowQuery(backend, fingerprint);
+            queries.put(key, slowQuery);
+        }
+        slowQuery.add(nanos);
+    }
+
+    /**
+     * @return the slow queries, the most costly (total duration) first
+     */
+    public synchronized List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> slowQueries = new ArrayList<>();
+        queries.values().forEach((slowQuery) -> {
+            slowQueries.add(slowQuery.copy());
+        });
+        slowQueries.sort(Comparator.comparingLong(SlowQuery::getTotalNanos).reversed());
+        return slowQueries;
+    }
+
+    /**
+     * Removes the recorded queries.
+     */
+    public synchronized void clear() {
+        queries.clear();
+    }
+
+    /**
+     * Executions of a query fingerprint slower than the threshold.
+     */
+    public static class SlowQuery {
+        private final Backend backend;
+        private final String fingerprint;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private Date firstSeen;
+        private Date lastSeen;
+        // Ring of the last durations
+        private final long[] durations;
+        private int durationsSize = 0;
+
+        SlowQuery(Backend backend, String fingerprint) {
+            this.backend = backend;
+            this.fingerprint = fingerprint;
+            this.durations = new long[DURATIONS_SIZE];
+        }
+
+        private SlowQuery(SlowQuery slowQuery) {
+            this.backend = slowQuery.backend;
+            this.fingerprint = slowQuery.fingerprint;
+            this.count = slowQuery.count;
+            this.totalNanos = slowQuery.totalNanos;
+            this.maxNanos = slowQuery.maxNanos;
+            this.firstSeen = slowQuery.firstSeen;
+            this.lastSeen = slowQuery.lastSeen;
+            this.durations = Arrays.copyOf(slowQuery.durations, slowQuery.durationsSize);
+            this.durationsSize = slowQuery.durationsSize;
+        }
+
+        void add(long nanos) {
+            lastSeen = new Date();
+            if (firstSeen == null) {
+                firstSeen = lastSeen;
+            }
+            durations[(int) (count % durations.length)] = nanos;
+            durationsSize = Math.min(durationsSize + 1, durations.length);
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        SlowQuery copy() {
+            return new SlowQuery(this);
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the percentile of the last durations, in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            if (durationsSize == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(durations, durationsSize);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        public Backend getBackend() {
+            return backend;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public Date getFirstSeen() {
+            return firstSeen;
+        }
+
+        public Date getLastSeen() {
+            return lastSeen;
+        }
+    }
+}
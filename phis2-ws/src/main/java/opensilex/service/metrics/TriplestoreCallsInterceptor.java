@@ -0,0 +1,154 @@
+//******************************************************************************
+//                        TriplestoreCallsInterceptor.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import opensilex.service.async.RequestDeadline;
+import org.eclipse.rdf4j.query.Operation;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+
+/**
+ * Times the calls made to the triplestore through a repository connection.
+ * The connection is wrapped in a proxy which also wraps the prepared queries,
+ * so that the queries evaluations are timed.
+ * Statements added or removed inside a transaction are sent on commit: only
+ * the commit is timed.
+ * The queries slower than the slow queries threshold are sent to the slow
+ * queries log.
+ * The queries of an asynchronous request are bounded by the time left to the
+ * request.
+ * @see SlowQueryLog
+ * @see RequestDeadline
+ * @see opensilex.service.dao.manager.Rdf4jDAO#setConnection(org.eclipse.rdf4j.repository.RepositoryConnection)
+ * @author agent <agent@local>
+ */
+public class TriplestoreCallsInterceptor implements InvocationHandler {
+
+    private final static Set<String> PREPARE_METHODS = new HashSet<>(Arrays.asList(
+            "prepareQuery", "prepareTupleQuery", "prepareGraphQuery", "prepareBooleanQuery", "prepareUpdate"));
+    private final static Set<String> CONNECTION_CALLS = new HashSet<>(Arrays.asList(
+            "getStatements", "hasStatement", "size", "export", "exportStatements", "getContextIDs", "commit"));
+    private final static Set<String> AUTO_COMMIT_CALLS = new HashSet<>(Arrays.asList(
+            "add", "remove", "clear"));
+    private final static Set<String> OPERATION_CALLS = new HashSet<>(Arrays.asList(
+            "evaluate", "execute"));
+
+    private final Object target;
+    private final boolean isConnection;
+    // Query of a prepared operation, null for the connection
+    private final String query;
+
+    private TriplestoreCallsInterceptor(Object target, boolean isConnection, String query) {
+        this.target = target;
+        this.isConnection = isConnection;
+        this.query = query;
+    }
+
+    /**
+     * Wraps a connection to time its calls.
+     * @param connection
+     * @return the wrapped connection, or the given one if it is null or already
+     * wrapped
+     */
+    public static RepositoryConnection wrap(RepositoryConnection connection) {
+        if (connection == null
+                || (Proxy.isProxyClass(connection.getClass())
+                    && Proxy.getInvocationHandler(connection) instanceof TriplestoreCallsInterceptor)) {
+            return connection;
+        }
+        return (RepositoryConnection) newProxy(connection, true, null);
+    }
+
+    private static Object newProxy(Object target, boolean isConnection, String query) {
+        return Proxy.newProxyInstance(
+                target.getClass().getClassLoader(),
+                getInterfaces(target.getClass()),
+                new TriplestoreCallsInterceptor(target, isConnection, query));
+    }
+
+    /**
+     * @param type
+     * @return all the interfaces implemented by a class and its super classes
+     */
+    private static Class<?>[] getInterfaces(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        while (type != null) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+            type = type.getSuperclass();
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (isConnection && PREPARE_METHODS.contains(name)) {
+            Object operation = invokeTarget(method, args);
+            return operation == null ? null : newProxy(operation, false, getQuery(args));
+        }
+
+        boolean isCall;
+        if (isConnection) {
+            isCall = CONNECTION_CALLS.contains(name)
+                    || (AUTO_COMMIT_CALLS.contains(name) && !((RepositoryConnection) target).isActive());
+        } else {
+            isCall = OPERATION_CALLS.contains(name);
+        }
+        if (!isCall) {
+            return invokeTarget(method, args);
+        }
+
+        RequestDeadline.check();
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && target instanceof Operation) {
+            ((Operation) target).setMaxExecutionTime(deadline.getRemainingSeconds());
+        }
+
+        long start = System.nanoTime();
+        try {
+            return invokeTarget(method, args);
+        } finally {
+            long duration = System.nanoTime() - start;
+            MetricsRegistry.recordBackendCall(Backend.TRIPLESTORE, duration);
+            if (SlowQueryLog.isSlow(duration)) {
+                String slowQuery = isConnection ? "connection." + name : query;
+                SlowQueryLog.getInstance().record(Backend.TRIPLESTORE, QueryFingerprint.sparql(slowQuery), duration);
+            }
+        }
+    }
+
+    /**
+     * @param args arguments of a prepare method
+     * @return the query string
+     */
+    private static String getQuery(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof String) {
+                    return (String) arg;
+                }
+            }
+        }
+        return "";
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+//******************************************************************************
+//                                 Job.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import opensilex.service.view.brapi.Status;
+
+/**
+ * Asynchronous job model.
+ * A job wraps a long running operation (imports, layer generation...) executed
+ * outside of the request thread.
+ * @author agent <agent@local>
+ */
+public class Job {
+
+    /**
+     * Job identifier.
+     * @example 5dcd2d8c7a6a1e3b1c4e8f21
+     */
+    protected String id;
+
+    /**
+     * Kind of operation executed by the job.
+     * @example datasets
+     */
+    protected String type;
+
+    /**
+     * Email of the user who submitted the job.
+     * @example admin@opensilex.org
+     */
+    protected String owner;
+
+    /**
+     * Job status.
+     * @see opensilex.service.configuration.JobStatus
+     * @example running
+     */
+    protected String status;
+
+    /**
+     * Progress of the job, in percent.
+     * @example 40
+     */
+    protected Integer progress = 0;
+
+    protected Date creationDate;
+    protected Date startDate;
+    protected Date endDate;
+
+    /**
+     * HTTP status the synchronous operation would have returned.
+     * @example 201
+     */
+    protected Integer resultHttpStatus;
+
+    /**
+     * Status messages of the operation.
+     */
+    protected List<Status> resultStatus = new ArrayList<>();
+
+    /**
+     * Resources created by the operation.
+     */
+    protected List<String> createdResources = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public Date getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Date creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public Integer getResultHttpStatus() {
+        return resultHttpStatus;
+    }
+
+    public void setResultHttpStatus(Integer resultHttpStatus) {
+        this.resultHttpStatus = resultHttpStatus;
+    }
+
+    public List<Status> getResultStatus() {
+        return resultStatus;
+    }
+
+    public void setResultStatus(List<Status> resultStatus) {
+        this.resultStatus = resultStatus;
+    }
+
+    public List<String> getCreatedResources() {
+        return createdResources;
+    }
+
+    public void setCreatedResources(List<String> createdResources) {
+        this.createdResources = createdResources;
+    }
+}
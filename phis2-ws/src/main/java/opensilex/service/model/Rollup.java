@@ -0,0 +1,126 @@
+//******************************************************************************
+//                                  Rollup.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.model;
+
+import java.util.Date;
+
+/**
+ * Rollup model: summary of the numeric measures of a variable on a subject
+ * (scientific object or sensor), from a provenance, during a period.
+ * @author agent <agent@local>
+ */
+public class Rollup {
+
+    /**
+     * Start of the period.
+     * @example 2017-06-15T00:00:00+0200
+     */
+    protected Date date;
+
+    /**
+     * Measured variable.
+     * @example http://www.phenome-fppn.fr/mtp/id/variables/v002
+     */
+    protected String variableUri;
+
+    /**
+     * Scientific object or sensor.
+     * @example http://www.phenome-fppn.fr/mtp/2018/s18003
+     */
+    protected String subjectUri;
+
+    /**
+     * Provenance of the measures, null for the environmental measures.
+     * @example http://www.phenome-fppn.fr/mtp/2018/pv181515071552
+     */
+    protected String provenanceUri;
+
+    /**
+     * Number of measures.
+     * @example 24
+     */
+    protected long count;
+
+    /**
+     * Sum, minimum and maximum of the measures values.
+     */
+    protected double sum;
+    protected Double min;
+    protected Double max;
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+
+    public String getVariableUri() {
+        return variableUri;
+    }
+
+    public void setVariableUri(String variableUri) {
+        this.variableUri = variableUri;
+    }
+
+    public String getSubjectUri() {
+        return subjectUri;
+    }
+
+    public void setSubjectUri(String subjectUri) {
+        this.subjectUri = subjectUri;
+    }
+
+    public String getProvenanceUri() {
+        return provenanceUri;
+    }
+
+    public void setProvenanceUri(String provenanceUri) {
+        this.provenanceUri = provenanceUri;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    /**
+     * @return the mean of the measures values, null if there is no measure
+     */
+    public Double getMean() {
+        return count > 0 ? sum / count : null;
+    }
+}
@@ -20,8 +20,11 @@ import java.io.FileNotFoundException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
@@ -38,15 +41,23 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
+import opensilex.service.async.FanOut;
+import opensilex.service.metrics.Backend;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.configuration.TotalCountModes;
 import opensilex.service.dao.DataDAO;
 import opensilex.service.dao.FileDescriptionDAO;
 import opensilex.service.dao.ProvenanceDAO;
+import opensilex.service.dao.RollupDAO;
 import opensilex.service.dao.ScientificObjectRdf4jDAO;
+import opensilex.service.dao.UserDAO;
 import opensilex.service.dao.VariableDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
 import opensilex.service.documentation.StatusCodeMsg;
@@ -54,10 +65,14 @@ import opensilex.service.resource.dto.data.DataDTO;
 import opensilex.service.resource.dto.data.DataPostDTO;
 import opensilex.service.resource.dto.data.FileDescriptionDTO;
 import opensilex.service.resource.dto.data.FileDescriptionPostDTO;
+import opensilex.service.resource.dto.rollup.RollupDTO;
 import opensilex.service.resource.validation.interfaces.Date;
 import opensilex.service.resource.validation.interfaces.Required;
 import opensilex.service.resource.validation.interfaces.URL;
 import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.utils.export.ColumnarExport;
+import opensilex.service.utils.export.Measure;
+import opensilex.service.utils.export.TabularExport;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.view.brapi.form.AbstractResultForm;
 import opensilex.service.view.brapi.form.ResponseFormPOST;
@@ -70,6 +85,12 @@ import opensilex.service.resource.dto.data.FileDescriptionWebPathPostDTO;
 
 /**
  * Data resource service.
+ * @update [agent] 18 Oct. 2026: Process the searches asynchronously
+ * @update [agent] 18 Oct. 2026: Export the data as CSV or TSV tables
+ * @update [agent] 18 Oct. 2026: Export the data as Arrow streams
+ * @update [agent] 18 Oct. 2026: Get the data summaries from the rollups
+ * @update [agent] 18 Oct. 2026: Run the independent backend calls of the search concurrently
+ * @update [agent] 18 Oct. 2026: Estimate or skip the total count of the search
  * @Author Vincent Migot <vincent.migot@inra.fr>
  */
 @Api("/data")
@@ -96,6 +117,7 @@ public class DataResourceService extends ResourceService {
                   notes = "Register data in the database")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "data saved", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
         @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
         @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
         @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_SEND_DATA)
@@ -110,6 +132,8 @@ public class DataResourceService extends ResourceService {
     @Produces(MediaType.APPLICATION_JSON)
     public Response postData(
         @ApiParam(value = DocumentationAnnotation.DATA_POST_DEFINITION) @Valid List<DataPostDTO> data,
+        @ApiParam(value = DocumentationAnnotation.JOB_ASYNC_DEFINITION) @QueryParam("async") @DefaultValue("false") boolean async,
+        @Context UriInfo uriInfo,
         @Context HttpServletRequest context) {
         
         AbstractResultForm postResponse = null;
@@ -120,6 +144,11 @@ public class DataResourceService extends ResourceService {
 
                 dataDAO.user = userSession.getUser();
 
+                if (async) {
+                    List<Data> dataList = dataDTOsToData(data);
+                    return getAcceptedResponseFromJob("data", (jobContext) -> dataDAO.checkAndInsert(dataList), uriInfo);
+                }
+
                 POSTResultsReturn result = dataDAO.checkAndInsert(dataDTOsToData(data));
 
                 if (result.getHttpStatus().equals(Response.Status.CREATED)) {
@@ -158,6 +187,7 @@ public class DataResourceService extends ResourceService {
 
     /**
      * Service to get scientific data
+     * @param asyncResponse resumed with the response when the search ends
      * @param pageSize
      * @param page
      * @param variable
@@ -219,7 +249,8 @@ public class DataResourceService extends ResourceService {
                           example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
     })
     @Produces(MediaType.APPLICATION_JSON)  
-    public Response getData(
+    public void getData(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
         @ApiParam(value = "Search by variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required=true) @QueryParam("variable") @URL @Required String variable,
@@ -229,51 +260,54 @@ public class DataResourceService extends ResourceService {
         @ApiParam(value = "Search by provenance uri", example = DocumentationAnnotation.EXAMPLE_PROVENANCE_URI) @QueryParam("provenance")  @URL String provenance,
         @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc
     ) {
-        // 1. Initialize dataDAO with parameters
-        DataDAO dataDAO = new DataDAO();
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
+            // 1. Initialize dataDAO with parameters
+            DataDAO dataDAO = new DataDAO();
+            dataDAO.useSearchReadPreference();
         
-        dataDAO.variableUri = variable;
+            dataDAO.variableUri = variable;
 
-        dataDAO.startDate = startDate;
-        dataDAO.endDate = endDate;
-        dataDAO.objectUri = object;
-        dataDAO.provenanceUri = provenance;
-        dataDAO.dateSortAsc = dateSortAsc;
+            dataDAO.startDate = startDate;
+            dataDAO.endDate = endDate;
+            dataDAO.objectUri = object;
+            dataDAO.provenanceUri = provenance;
+            dataDAO.dateSortAsc = dateSortAsc;
         
-        dataDAO.user = userSession.getUser();
-        dataDAO.setPage(page);
-        dataDAO.setPageSize(pageSize);
+            dataDAO.user = userSession.getUser();
+            dataDAO.setPage(page);
+            dataDAO.setPageSize(pageSize);
         
-        // 2. Get data count
-        int totalCount = dataDAO.count();
+            // 2. Get data count
+            int totalCount = dataDAO.count();
         
-        // 3. Get data page list
-        ArrayList<Data> dataList = dataDAO.allPaginate();
+            // 3. Get data page list
+            ArrayList<Data> dataList = dataDAO.allPaginate();
         
-        // 4. Initialize return variables
-        ArrayList<DataDTO> list = new ArrayList<>();
-        ArrayList<Status> statusList = new ArrayList<>();
-        ResultForm<DataDTO> getResponse;
+            // 4. Initialize return variables
+            ArrayList<DataDTO> list = new ArrayList<>();
+            ArrayList<Status> statusList = new ArrayList<>();
+            ResultForm<DataDTO> getResponse;
         
-        if (dataList == null) {
-            // Request failure
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else if (dataList.isEmpty()) {
-            // No results
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else {
-            // Convert all measures object to DTO's
-            dataList.forEach((data) -> {
-                list.add(new DataDTO(data));
-            });
+            if (dataList == null) {
+                // Request failure
+                getResponse = new ResultForm<>(0, 0, list, true, 0);
+                return noResultFound(getResponse, statusList);
+            } else if (dataList.isEmpty()) {
+                // No results
+                getResponse = new ResultForm<>(0, 0, list, true, 0);
+                return noResultFound(getResponse, statusList);
+            } else {
+                // Convert all measures object to DTO's
+                dataList.forEach((data) -> {
+                    list.add(new DataDTO(data));
+                });
             
-            // Return list of DTO
-            getResponse = new ResultForm<>(dataDAO.getPageSize(), dataDAO.getPage(), list, true, totalCount);
-            getResponse.setStatus(statusList);
-            return Response.status(Response.Status.OK).entity(getResponse).build();
-        }
+                // Return list of DTO
+                getResponse = new ResultForm<>(dataDAO.getPageSize(), dataDAO.getPage(), list, true, totalCount);
+                getResponse.setStatus(statusList);
+                return Response.status(Response.Status.OK).entity(getResponse).build();
+            }
+        });
     }     
     
     /**
@@ -621,6 +655,7 @@ public class DataResourceService extends ResourceService {
     
     /**
      * Service to search data
+     * @param asyncResponse resumed with the response when the search ends
      * @param pageSize
      * @param page
      * @param variableUri
@@ -688,7 +723,8 @@ public class DataResourceService extends ResourceService {
                           example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
     })
     @Produces(MediaType.APPLICATION_JSON)  
-    public Response getDataSearch(
+    public void getDataSearch(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
         @ApiParam(value = "Search by variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI) @QueryParam("variableUri") @URL @Required String variableUri,
@@ -698,100 +734,394 @@ public class DataResourceService extends ResourceService {
         @ApiParam(value = "Search by object label", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_ALIAS) @QueryParam("objectLabel") String objectLabel,
         @ApiParam(value = "Search by provenance uri", example = DocumentationAnnotation.EXAMPLE_PROVENANCE_URI) @QueryParam("provenanceUri") @URL String provenanceUri,
         @ApiParam(value = "Search by provenance label", example = DocumentationAnnotation.EXAMPLE_PROVENANCE_LABEL) @QueryParam("provenanceLabel") String provenanceLabel,
-        @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc
+        @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc,
+        @ApiParam(value = DocumentationAnnotation.TOTAL_COUNT, allowableValues = "exact,estimated,none") @QueryParam(GlobalWebserviceValues.TOTAL_COUNT) @DefaultValue("exact") String totalCountMode
     ) {
-        ArrayList<DataSearchDTO> list = new ArrayList<>();
-        ArrayList<Status> statusList = new ArrayList<>();
-        ResultForm<DataSearchDTO> getResponse;
-        
-        DataDAO dataDAO = new DataDAO();
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
+            TotalCountModes countMode = TotalCountModes.fromString(totalCountMode);
+            if (countMode == null) {
+                return getWrongTotalCountModeResponse(totalCountMode);
+            }
+            
+            ArrayList<DataSearchDTO> list = new ArrayList<>();
+            ArrayList<Status> statusList = new ArrayList<>();
+            ResultForm<DataSearchDTO> getResponse;
         
-        List<String> objectsUris = new ArrayList<>();
-        List<String> provenancesUris = new ArrayList<>();
+            List<String> objectsUris = new ArrayList<>();
+            List<String> provenancesUris = new ArrayList<>();
         
-        Map<String, List<String>> objectsUrisAndLabels = new HashMap<>();
-        Map<String, String> provenancesUrisAndLabels = new HashMap<>();
+            // The independent backend calls are run concurrently, each one 
+            // with its own DAO as the triplestore connections are not shared
+            try (FanOut fanOut = new FanOut()) {
+                //1. Get list of objects uris corresponding to the label given if needed.
+                Future<Map<String, List<String>>> objectsFuture = fanOut.submit(() -> {
+                    ScientificObjectRdf4jDAO scientificObjectDAO = new ScientificObjectRdf4jDAO();
+                    Map<String, List<String>> objectsUrisAndLabels = new HashMap<>();
+                    if (objectUri != null && !objectUri.isEmpty()) {
+                        objectsUrisAndLabels.put(objectUri, scientificObjectDAO.findLabelsForUri(objectUri));
+                    } else if (objectLabel != null && !objectLabel.isEmpty()) { //We need to get the list of the uris of the scientific object with this label (like)
+                        objectsUrisAndLabels = scientificObjectDAO.findUriAndLabelsByLabelAndRdfType(objectLabel, Oeso.CONCEPT_SCIENTIFIC_OBJECT.toString());
+                    }
+                    return objectsUrisAndLabels;
+                });
+
+                //2. Get list of provenances uris corresponding to the label given if needed.
+                Future<Map<String, String>> provenancesFuture = fanOut.submit(() -> {
+                    if (provenanceLabel != null && !provenanceLabel.isEmpty() 
+                            && (provenanceUri == null || provenanceUri.isEmpty())) {
+                        //If the provenance URI is empty and a label is given, we search the provenance(s) with the given label (like)
+                        return new ProvenanceDAO().findUriAndLabelsByLabel(provenanceLabel);
+                    }
+                    return new HashMap<>();
+                });
+
+                //3. Get variable label, null if the variable does not exist
+                Future<String> variableLabelFuture = fanOut.submit(() -> {
+                    VariableDAO variableDAO = new VariableDAO();
+                    if (!variableDAO.existAndIsVariable(variableUri)) {
+                        return null;
+                    }
+                    return variableDAO.findLabelsForUri(variableUri).get(0);
+                });
+
+                Map<String, List<String>> objectsUrisAndLabels = new HashMap<>(fanOut.join(objectsFuture));
+                objectsUris.addAll(objectsUrisAndLabels.keySet());
+                
+                Map<String, String> provenancesUrisAndLabels = new HashMap<>(fanOut.join(provenancesFuture));
+                if (provenanceUri != null && !provenanceUri.isEmpty()) {
+                    //If the provenance URI is given, we need the provenance label
+                    provenancesUris.add(provenanceUri);
+                }
+                provenancesUris.addAll(provenancesUrisAndLabels.keySet());
+
+                String variableLabel = fanOut.join(variableLabelFuture);
+                if (variableLabel == null) {
+                    // Request failure
+                    getResponse = new ResultForm<>(0, 0, list, true, 0);
+                    statusList.add(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variableUri));
+                    getResponse.setStatus(statusList);
+                    return Response.status(Response.Status.NOT_FOUND).entity(getResponse).build();
+                }
+
+                //4. Get count, unless it is skipped
+                Future<Integer> totalCountFuture = null;
+                if (countMode != TotalCountModes.NONE) {
+                    totalCountFuture = fanOut.submit(() -> {
+                        DataDAO dataDAO = new DataDAO();
+                        dataDAO.useSearchReadPreference();
+                        if (countMode == TotalCountModes.ESTIMATED) {
+                            return dataDAO.estimatedCount(variableUri, startDate, endDate, objectsUris, provenancesUris);
+                        }
+                        return dataDAO.count(variableUri, startDate, endDate, objectsUris, provenancesUris);
+                    });
+                }
+
+                //5. Get data
+                Future<List<Data>> dataListFuture = fanOut.submit(() -> {
+                    DataDAO dataDAO = new DataDAO();
+                    dataDAO.useSearchReadPreference();
+                    return dataDAO.find(page, pageSize, variableUri, startDate, endDate, objectsUris, provenancesUris);
+                });
+                
+                List<Data> dataList = fanOut.join(dataListFuture);
         
-        //1. Get list of objects uris corresponding to the label given if needed.
-        ScientificObjectRdf4jDAO scientificObjectDAO = new ScientificObjectRdf4jDAO();
-        if (objectUri != null && !objectUri.isEmpty()) {
-            objectsUrisAndLabels.put(objectUri, scientificObjectDAO.findLabelsForUri(objectUri));
-        } else if (objectLabel != null && !objectLabel.isEmpty()) { //We need to get the list of the uris of the scientific object with this label (like)
-            objectsUrisAndLabels = scientificObjectDAO.findUriAndLabelsByLabelAndRdfType(objectLabel, Oeso.CONCEPT_SCIENTIFIC_OBJECT.toString());
+                //6. Return result
+                if (dataList == null) {
+                    // Request failure
+                    getResponse = new ResultForm<>(0, 0, list, true, 0);
+                    return noResultFound(getResponse, statusList);
+                } else if (dataList.isEmpty()) {
+                    // No results
+                    getResponse = new ResultForm<>(0, 0, list, true, 0);
+                    return noResultFound(getResponse, statusList);
+                } else {
+                    // Get the missing labels of the objects and provenances of the page
+                    Set<String> missingObjectsUris = new HashSet<>();
+                    Set<String> missingProvenancesUris = new HashSet<>();
+                    for (Data data : dataList) {
+                        if (data.getObjectUri() != null && !objectsUrisAndLabels.containsKey(data.getObjectUri())) { 
+                            missingObjectsUris.add(data.getObjectUri());
+                        }
+                        if (!provenancesUrisAndLabels.containsKey(data.getProvenanceUri())) {
+                            missingProvenancesUris.add(data.getProvenanceUri());
+                        }
+                    }
+                    Future<Map<String, List<String>>> objectsLabelsFuture = fanOut.submit(() -> 
+                            missingObjectsUris.isEmpty() ? new HashMap<>() : new ScientificObjectRdf4jDAO().findLabelsForUris(missingObjectsUris));
+                    Future<Map<String, String>> provenancesLabelsFuture = fanOut.submit(() -> 
+                            missingProvenancesUris.isEmpty() ? new HashMap<>() : new ProvenanceDAO().findLabelsByUris(missingProvenancesUris));
+                    objectsUrisAndLabels.putAll(fanOut.join(objectsLabelsFuture));
+                    provenancesUrisAndLabels.putAll(fanOut.join(provenancesLabelsFuture));
+                    
+                    // Convert all data object to DTO's
+                    for (Data data : dataList) {
+                        //Get provenance label
+                        String dataProvenanceLabel = provenancesUrisAndLabels.get(data.getProvenanceUri());
+                        //Get object labels
+                        List<String> dataObjectLabels = new ArrayList<>();
+                        if (objectsUrisAndLabels.get(data.getObjectUri()) != null) {
+                            dataObjectLabels = objectsUrisAndLabels.get(data.getObjectUri());
+                        }
+                
+                        list.add(new DataSearchDTO(data, dataProvenanceLabel, dataObjectLabels, variableLabel));
+                    }
+            
+                    // Return list of DTO
+                    if (totalCountFuture == null) {
+                        getResponse = new ResultForm<>(pageSize, page, list, true, hasNextPage(dataList.size(), pageSize));
+                    } else {
+                        getResponse = new ResultForm<>(pageSize, page, list, true, fanOut.join(totalCountFuture));
+                    }
+                    getResponse.setStatus(statusList);
+                    return Response.status(Response.Status.OK).entity(getResponse).build();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Exports the data of variables as a CSV or TSV table, or as an Arrow 
+     * stream.
+     * The export is written while the data are read from the database, so the
+     * data are never all loaded in memory.
+     * @param variablesUris
+     * @param startDate
+     * @param endDate
+     * @param objectUri
+     * @param provenanceUri
+     * @param dateSortAsc
+     * @param format csv, tsv or arrow
+     * @param layout long or wide, the arrow stream is always long
+     * @param gzip
+     * @return the table
+     * @example
+     * date,object,objectLabel,provenance,provenanceLabel,variable,variableLabel,value
+     * 2017-06-15T00:00:00+0200,http://www.phenome-fppn.fr/diaphen/2018/o18001199,2Pe1,http://www.phenome-fppn.fr/mtp/2018/pv181515071552,Phenoarch,http://www.phenome-fppn.fr/diaphen/id/variables/v009,LAI,2.4
+     */
+    @GET
+    @Path("export")
+    @ApiOperation(value = "Export the data of variables as a CSV or TSV table, or as an Arrow stream",
+                  notes = "Export the data corresponding to the search parameters given, sorted by date."
+                          + "<br/>Date parameters could be either a datetime like: " + DocumentationAnnotation.EXAMPLE_XSDDATETIME 
+                          + "<br/>or simply a date like: " + DocumentationAnnotation.EXAMPLE_DATE)
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Exported data"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 404, message = "Unknown variable URI"),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                          dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                          value = DocumentationAnnotation.ACCES_TOKEN,
+                          example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces({"text/csv", "text/tab-separated-values", "application/vnd.apache.arrow.stream", "application/gzip", MediaType.APPLICATION_JSON})
+    public Response exportData(
+        @ApiParam(value = "Search by variables uris", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variableUri") @URL List<String> variablesUris,
+        @ApiParam(value = "Search by minimal date", example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("startDate") @Date({DateFormat.YMDTHMSZ, DateFormat.YMD}) String startDate,
+        @ApiParam(value = "Search by maximal date", example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("endDate") @Date({DateFormat.YMDTHMSZ, DateFormat.YMD}) String endDate,
+        @ApiParam(value = "Search by object uri", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_URI) @QueryParam("objectUri") @URL String objectUri,
+        @ApiParam(value = "Search by provenance uri", example = DocumentationAnnotation.EXAMPLE_PROVENANCE_URI) @QueryParam("provenanceUri") @URL String provenanceUri,
+        @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_FORMAT, allowableValues = "csv,tsv,arrow") @QueryParam("format") @DefaultValue("csv") String format,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_LAYOUT, allowableValues = "long,wide") @QueryParam("layout") @DefaultValue("long") String layout,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_GZIP, example = "true") @QueryParam("gzip") boolean gzip
+    ) {
+        if (variablesUris == null || variablesUris.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.MISSING_FIELDS, StatusCodeMsg.ERR, "variableUri")))
+                    .build();
         }
         
-        for (String uri : objectsUrisAndLabels.keySet()) {
-            objectsUris.add(uri);
+        List<String> objectsUris = new ArrayList<>();
+        if (objectUri != null && !objectUri.isEmpty()) {
+            objectsUris.add(objectUri);
         }
-        
-        //2. Get list of provenances uris corresponding to the label given if needed.
-        ProvenanceDAO provenanceDAO = new ProvenanceDAO();
+        List<String> provenancesUris = new ArrayList<>();
         if (provenanceUri != null && !provenanceUri.isEmpty()) {
-            //If the provenance URI is given, we need the provenance label
             provenancesUris.add(provenanceUri);
-        } else if (provenanceLabel != null && !provenanceLabel.isEmpty()) { 
-            //If the provenance URI is empty and a label is given, we search the provenance(s) with the given label (like)
-            provenancesUrisAndLabels = provenanceDAO.findUriAndLabelsByLabel(provenanceLabel);
         }
         
-        for (String uri : provenancesUrisAndLabels.keySet()) {
-            provenancesUris.add(uri);
+        //1. Check the variables
+        VariableDAO variableDAO = new VariableDAO();
+        for (String variableUri : variablesUris) {
+            if (!variableDAO.existAndIsVariable(variableUri)) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(new ResponseFormPOST(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variableUri)))
+                        .build();
+            }
         }
         
-        //3. Get variable label
-        VariableDAO variableDAO = new VariableDAO();
-        if (!variableDAO.existAndIsVariable(variableUri)) {
-            // Request failure
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            statusList.add(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variableUri));
-            getResponse.setStatus(statusList);
-            return Response.status(Response.Status.NOT_FOUND).entity(getResponse).build();
+        DataDAO dataDAO = new DataDAO();
+        dataDAO.useSearchReadPreference();
+        dataDAO.dateSortAsc = dateSortAsc;
+        
+        //2. Columnar export
+        if (ColumnarExport.FORMAT.equalsIgnoreCase(format)) {
+            ColumnarExport export = new ColumnarExport(gzip, "object", true, true);
+            for (String variableUri : variablesUris) {
+                export.addVariable(variableUri, 
+                        dataDAO.findAll(variableUri, startDate, endDate, objectsUris, provenancesUris)
+                                .map((data) -> new Measure(data.getDate(), data.getObjectUri(), data.getProvenanceUri(), data.getValue())));
+                export.addSubjects(dataDAO.findObjects(variableUri, startDate, endDate, objectsUris, provenancesUris));
+                export.addProvenances(dataDAO.findProvenances(variableUri, startDate, endDate, objectsUris, provenancesUris));
+            }
+            return Response.ok(export, export.getMediaType())
+                    .header("Content-Disposition", "attachment; filename=\"" + export.getFilename("data") + "\"")
+                    .build();
         }
-        String variableLabel = variableDAO.findLabelsForUri(variableUri).get(0);
         
-        //4. Get count
-        Integer totalCount = dataDAO.count(variableUri, startDate, endDate, objectsUris, provenancesUris);
+        //3. Tabular export
+        TabularExport export;
+        try {
+            export = new TabularExport(
+                    TabularExport.Format.valueOf(format.toUpperCase()),
+                    TabularExport.Layout.valueOf(layout.toUpperCase()),
+                    dateSortAsc, gzip, "object");
+        } catch (IllegalArgumentException ex) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, 
+                            "Unknown export format or layout : " + format + ", " + layout)))
+                    .build();
+        }
         
-        //5. Get data
-        List<Data> dataList = dataDAO.find(page, pageSize, variableUri, startDate, endDate, objectsUris, provenancesUris);      
+        ScientificObjectRdf4jDAO scientificObjectDAO = new ScientificObjectRdf4jDAO();
+        ProvenanceDAO provenanceDAO = new ProvenanceDAO();
+        export.setSubjectsLabelsResolver((uris) -> TabularExport.joinLabels(scientificObjectDAO.findLabelsForUris(uris)));
+        export.setProvenancesLabelsResolver((uris) -> provenanceDAO.findLabelsByUris(uris));
         
-        //6. Return result
-        if (dataList == null) {
-            // Request failure
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else if (dataList.isEmpty()) {
-            // No results
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else {
-            // Convert all data object to DTO's
-            for (Data data : dataList) {
-                if (data.getObjectUri() != null && !objectsUrisAndLabels.containsKey(data.getObjectUri())) { 
-                    //We need to get the labels of the object
-                    objectsUrisAndLabels.put(data.getObjectUri(), scientificObjectDAO.findLabelsForUri(data.getObjectUri()));
-                }
-                
-                if (!provenancesUrisAndLabels.containsKey(data.getProvenanceUri())) {
-                    //We need to get the label of the provenance
-                    provenancesUrisAndLabels.put(data.getProvenanceUri(), provenanceDAO.findLabelByUri(data.getProvenanceUri()));
-                }
-                
-                //Get provenance label
-                String dataProvenanceLabel = provenancesUrisAndLabels.get(data.getProvenanceUri());
-                //Get object labels
-                List<String> dataObjectLabels = new ArrayList<>();
-                if (objectsUrisAndLabels.get(data.getObjectUri()) != null) {
-                    dataObjectLabels = objectsUrisAndLabels.get(data.getObjectUri());
-                }
-                
-                list.add(new DataSearchDTO(data, dataProvenanceLabel, dataObjectLabels, variableLabel));
-            }
-            
-            // Return list of DTO
-            getResponse = new ResultForm<>(pageSize, page, list, true, totalCount);
-            getResponse.setStatus(statusList);
-            return Response.status(Response.Status.OK).entity(getResponse).build();
+        for (String variableUri : variablesUris) {
+            List<String> variableLabels = variableDAO.findLabelsForUri(variableUri);
+            export.addVariable(
+                    variableUri, 
+                    variableLabels.isEmpty() ? null : variableLabels.get(0),
+                    dataDAO.findAll(variableUri, startDate, endDate, objectsUris, provenancesUris)
+                            .map((data) -> new Measure(data.getDate(), data.getObjectUri(), data.getProvenanceUri(), data.getValue())));
+        }
+        
+        // The table is written while it is sent
+        return Response.ok(export, export.getMediaType())
+                .header("Content-Disposition", "attachment; filename=\"" + export.getFilename("data") + "\"")
+                .build();
+    }
+    
+    /**
+     * Gets the summaries (count, sum, minimum, maximum and mean) of the data 
+     * of a variable by interval, object and provenance. The summaries are 
+     * computed from the coarsest rollups giving the intervals, not from the 
+     * data.
+     * @param asyncResponse
+     * @param pageSize
+     * @param page
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param objectUri
+     * @param provenanceUri
+     * @param interval
+     * @example
+     * {
+     *      "date": "2017-06-15T02:00:00+0200",
+     *      "variableUri": "http://www.phenome-fppn.fr/diaphen/id/variables/v009",
+     *      "subjectUri": "http://www.phenome-fppn.fr/diaphen/2018/o18001199",
+     *      "provenanceUri": "http://www.phenome-fppn.fr/mtp/2018/pv181515071552",
+     *      "count": 24,
+     *      "sum": 57.6,
+     *      "min": 1.8,
+     *      "max": 3.1,
+     *      "mean": 2.4
+     * }
+     */
+    @GET
+    @Path("rollups")
+    @ApiOperation(value = "Get the summaries of the data of a variable by interval",
+                  notes = "Retrieve the count, sum, minimum, maximum and mean of the numeric data by interval, object and provenance, "
+                          + "sorted by date. The summaries are read from the hourly or daily rollups of the data.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve the data summaries", response = RollupDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getDataRollups(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
+        @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
+        @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
+        @ApiParam(value = "Search by variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variableUri") @URL @Required String variableUri,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_START_DATE, example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("startDate") @Date({DateFormat.YMDTHMSZ, DateFormat.YMD}) String startDate,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_END_DATE, example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("endDate") @Date({DateFormat.YMDTHMSZ, DateFormat.YMD}) String endDate,
+        @ApiParam(value = "Search by object uri", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_URI) @QueryParam("objectUri") @URL String objectUri,
+        @ApiParam(value = "Search by provenance uri", example = DocumentationAnnotation.EXAMPLE_PROVENANCE_URI) @QueryParam("provenanceUri") @URL String provenanceUri,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_INTERVAL, example = "86400") @QueryParam("interval") @DefaultValue("86400") @Min(1) long interval
+    ) {
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
+            RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_DATA);
+            rollupDAO.useSearchReadPreference();
+            rollupDAO.variableUri = variableUri;
+            rollupDAO.subjectUri = objectUri;
+            rollupDAO.provenanceUri = provenanceUri;
+            rollupDAO.user = userSession.getUser();
+            return getRollupsResponse(rollupDAO, startDate, endDate, interval, pageSize, page);
+        });
+    }
+    
+    /**
+     * Rebuilds the rollups of the data of a variable from the data, in an 
+     * asynchronous job. Only available to the administrators.
+     * @param variableUri
+     * @param uriInfo
+     * @return the accepted job
+     */
+    @POST
+    @Path("rollups")
+    @ApiOperation(value = "Rebuild the rollups of the data of a variable",
+                  notes = "Compute the rollups of the variable again from its data and replace them, "
+                          + "for example for the data inserted before the rollups. "
+                          + "No data of the variable should be inserted during the rebuild. "
+                          + "Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY),
+        @ApiResponse(code = 404, message = "Unknown variable URI")
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response rebuildDataRollups(
+        @ApiParam(value = "Variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variableUri") @URL @Required String variableUri,
+        @Context UriInfo uriInfo) {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.ACCESS_DENIED, StatusCodeMsg.ERR, StatusCodeMsg.ADMINISTRATOR_ONLY)))
+                    .build();
+        }
+        if (!new VariableDAO().existAndIsVariable(variableUri)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variableUri)))
+                    .build();
         }
+        
+        DataDAO dataDAO = new DataDAO();
+        RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_DATA);
+        rollupDAO.user = userSession.getUser();
+        return getAcceptedResponseFromJob("data rollups", (jobContext) -> rollupDAO.rebuild(variableUri, 
+                dataDAO.findAll(variableUri, null, null, new ArrayList<>(), new ArrayList<>())
+                        .map((data) -> new Measure(data.getDate(), data.getObjectUri(), data.getProvenanceUri(), data.getValue())), 
+                dataDAO.count(variableUri, null, null, new ArrayList<>(), new ArrayList<>()),
+                jobContext), uriInfo);
     }
 }
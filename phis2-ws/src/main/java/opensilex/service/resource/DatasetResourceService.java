@@ -29,6 +29,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
@@ -83,6 +84,7 @@ public class DatasetResourceService extends ResourceService {
     @ApiOperation(value = "Post dataset")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "Dataset saved", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
         @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
         @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
         @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_SEND_DATA)
@@ -96,6 +98,8 @@ public class DatasetResourceService extends ResourceService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public Response postDatasetData(@ApiParam(value = DocumentationAnnotation.RAW_DATA_POST_DATA_DEFINITION, required = true) @Valid ArrayList<DatasetDTO> datasets,
+            @ApiParam(value = DocumentationAnnotation.JOB_ASYNC_DEFINITION) @QueryParam("async") @DefaultValue("false") boolean async,
+            @Context UriInfo uriInfo,
             @Context HttpServletRequest context) {
         AbstractResultForm postResponse;
         
@@ -104,6 +108,10 @@ public class DatasetResourceService extends ResourceService {
             DatasetDAO datasetDAO = new DatasetDAO();
             datasetDAO.user = userSession.getUser();
             
+            if (async) {
+                return getAcceptedResponseFromJob("datasets", (jobContext) -> datasetDAO.checkAndInsert(datasets), uriInfo);
+            }
+            
             //check data and insert in the mongo database
             POSTResultsReturn result = datasetDAO.checkAndInsert(datasets);
             
@@ -133,7 +141,7 @@ public class DatasetResourceService extends ResourceService {
             getResponse = new ResultForm<>(0, 0, datasets, true);
             return noResultFound(getResponse, statusList);
         } else if (!datasets.isEmpty()) {
-            getResponse = new ResultForm<>(datasetDAO.getPageSize(), datasetDAO.getPage(), datasets, false);
+            getResponse = new ResultForm<>(datasetDAO.getPageSize(), datasetDAO.getPage(), datasets, false, datasetDAO.count());
             if (getResponse.getResult().dataSize() == 0) {
                 return noResultFound(getResponse, statusList);
             } else {
@@ -166,7 +174,7 @@ public class DatasetResourceService extends ResourceService {
      *                  (e.g. 0.4)
      * @see opensilex.service.json.DatasetsSerializer
      * @return data corresponding to the search params. Every data if no search 
-     *         params.
+     *         params. The data are paginated, a page size of 0 returns all the data.
      *         returned JSON : 
      *      {
      *          agronomicalObject: "http://.....",
@@ -29,18 +29,30 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import opensilex.service.metrics.Backend;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
 import opensilex.service.dao.EnvironmentMeasureDAO;
+import opensilex.service.dao.RollupDAO;
+import opensilex.service.dao.SensorDAO;
+import opensilex.service.dao.UserDAO;
+import opensilex.service.dao.VariableDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
 import opensilex.service.documentation.StatusCodeMsg;
 import opensilex.service.resource.dto.environment.EnvironmentMeasureDTO;
 import opensilex.service.resource.dto.environment.EnvironmentMeasurePostDTO;
+import opensilex.service.resource.dto.rollup.RollupDTO;
 import opensilex.service.resource.validation.interfaces.Date;
 import opensilex.service.resource.validation.interfaces.Required;
 import opensilex.service.resource.validation.interfaces.URL;
 import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.utils.export.ColumnarExport;
+import opensilex.service.utils.export.Measure;
+import opensilex.service.utils.export.TabularExport;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.view.brapi.form.AbstractResultForm;
 import opensilex.service.view.brapi.form.ResponseFormPOST;
@@ -49,6 +61,11 @@ import opensilex.service.model.EnvironmentMeasure;
 
 /**
  * Environmental measure resource service.
+ * @update [agent] 18 Oct. 2026: Process the searches asynchronously
+ * @update [agent] 18 Oct. 2026: Export the measures as CSV or TSV tables
+ * @update [agent] 18 Oct. 2026: Export the measures as Arrow streams
+ * @update [agent] 18 Oct. 2026: Migrate the measures to the buckets storage
+ * @update [agent] 18 Oct. 2026: Get the measures summaries from the rollups
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 @Api("/environments")
@@ -134,6 +151,7 @@ public class EnvironmentResourceService extends ResourceService {
     
     /**
      * Service to get environment measures.
+     * @param asyncResponse resumed with the response when the search ends
      * @param pageSize
      * @param page
      * @param variable
@@ -191,7 +209,8 @@ public class EnvironmentResourceService extends ResourceService {
                 example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
     })
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getEnvironmentMeasures(
+    public void getEnvironmentMeasures(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
         @ApiParam(value = "Search by variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variable") @URL @Required String variable,
@@ -200,49 +219,348 @@ public class EnvironmentResourceService extends ResourceService {
         @ApiParam(value = "Search by sensor uri", example = DocumentationAnnotation.EXAMPLE_SENSOR_URI) @QueryParam("sensor")  @URL String sensor,
         @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc
     ) {
-        // 1. Initialize environmentDAO with parameters
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
+            // 1. Initialize environmentDAO with parameters
+            EnvironmentMeasureDAO environmentMeasureDAO = new EnvironmentMeasureDAO();
+            environmentMeasureDAO.useSearchReadPreference();
+        
+            environmentMeasureDAO.variableUri = variable;
+
+            environmentMeasureDAO.startDate = startDate;
+            environmentMeasureDAO.endDate = endDate;
+            environmentMeasureDAO.sensorUri = sensor;
+            environmentMeasureDAO.dateSortAsc = dateSortAsc;
+        
+            environmentMeasureDAO.user = userSession.getUser();
+            environmentMeasureDAO.setPage(page);
+            environmentMeasureDAO.setPageSize(pageSize);
+        
+            // 2. Get environment measures count
+            int totalCount = environmentMeasureDAO.count();
+        
+            // 3. Get environment measures page list
+            ArrayList<EnvironmentMeasure> measures = environmentMeasureDAO.allPaginate();
+        
+            // 4. Initialize return variables
+            ArrayList<EnvironmentMeasureDTO> list = new ArrayList<>();
+            ArrayList<Status> statusList = new ArrayList<>();
+            ResultForm<EnvironmentMeasureDTO> getResponse;
+        
+            if (measures == null) {
+                // Request failure
+                getResponse = new ResultForm<>(0, 0, list, true, 0);
+                return noResultFound(getResponse, statusList);
+            } else if (measures.isEmpty()) {
+                // No results
+                getResponse = new ResultForm<>(0, 0, list, true, 0);
+                return noResultFound(getResponse, statusList);
+            } else {
+                // Convert all measures object to DTO's
+                measures.forEach((measure) -> {
+                    list.add(new EnvironmentMeasureDTO(measure));
+                });
+            
+                // Return list of DTO
+                getResponse = new ResultForm<>(environmentMeasureDAO.getPageSize(), environmentMeasureDAO.getPage(), list, true, totalCount);
+                getResponse.setStatus(statusList);
+                return Response.status(Response.Status.OK).entity(getResponse).build();
+            }
+        });
+    }
+    
+    /**
+     * Exports the environmental measures of variables as a CSV or TSV table,
+     * or as an Arrow stream.
+     * The export is written while the measures are read from the database, so
+     * the measures are never all loaded in memory.
+     * @param variablesUris
+     * @param startDate
+     * @param endDate
+     * @param sensor
+     * @param dateSortAsc
+     * @param format csv, tsv or arrow
+     * @param layout long or wide, the arrow stream is always long
+     * @param gzip
+     * @return the table
+     * @example
+     * date,sensor,sensorLabel,variable,variableLabel,value
+     * 2017-06-15T10:51:00+0200,http://www.phenome-fppn.fr/mauguio/diaphen/2013/sb140227,sb140227,http://www.phenome-fppn.fr/id/variables/v001,Air temperature,21.5
+     */
+    @GET
+    @Path("export")
+    @ApiOperation(value = "Export the environmental measures of variables as a CSV or TSV table, or as an Arrow stream",
+                  notes = "Export the environmental measures corresponding to the search parameters given, sorted by date.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Exported environmental measures"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 404, message = "Unknown variable URI"),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                          dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                          value = DocumentationAnnotation.ACCES_TOKEN,
+                          example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces({"text/csv", "text/tab-separated-values", "application/vnd.apache.arrow.stream", "application/gzip", MediaType.APPLICATION_JSON})
+    public Response exportEnvironmentMeasures(
+        @ApiParam(value = "Search by variables uris", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variable") @URL List<String> variablesUris,
+        @ApiParam(value = "Search by minimal date", example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("startDate") @Date(DateFormat.YMDTHMSZ) String startDate,
+        @ApiParam(value = "Search by maximal date", example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("endDate") @Date(DateFormat.YMDTHMSZ) String endDate,
+        @ApiParam(value = "Search by sensor uri", example = DocumentationAnnotation.EXAMPLE_SENSOR_URI) @QueryParam("sensor")  @URL String sensor,
+        @ApiParam(value = "Date search result order ('true' for ascending and 'false' for descending)", example = "true") @QueryParam("dateSortAsc") boolean dateSortAsc,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_FORMAT, allowableValues = "csv,tsv,arrow") @QueryParam("format") @DefaultValue("csv") String format,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_LAYOUT, allowableValues = "long,wide") @QueryParam("layout") @DefaultValue("long") String layout,
+        @ApiParam(value = DocumentationAnnotation.EXPORT_GZIP, example = "true") @QueryParam("gzip") boolean gzip
+    ) {
+        if (variablesUris == null || variablesUris.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.MISSING_FIELDS, StatusCodeMsg.ERR, "variable")))
+                    .build();
+        }
+        
+        //1. Check the variables
+        VariableDAO variableDAO = new VariableDAO();
+        for (String variableUri : variablesUris) {
+            if (!variableDAO.existAndIsVariable(variableUri)) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(new ResponseFormPOST(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variableUri)))
+                        .build();
+            }
+        }
+        
+        //2. Columnar export
+        if (ColumnarExport.FORMAT.equalsIgnoreCase(format)) {
+            ColumnarExport export = new ColumnarExport(gzip, "sensor", false, false);
+            for (String variableUri : variablesUris) {
+                EnvironmentMeasureDAO environmentMeasureDAO = getExportDAO(variableUri, startDate, endDate, sensor, dateSortAsc);
+                export.addVariable(variableUri, environmentMeasureDAO.findAll()
+                        .map((measure) -> new Measure(measure.getDate(), measure.getSensorUri(), null, measure.getValue())));
+                export.addSubjects(environmentMeasureDAO.findSensors());
+            }
+            return Response.ok(export, export.getMediaType())
+                    .header("Content-Disposition", "attachment; filename=\"" + export.getFilename("environments") + "\"")
+                    .build();
+        }
+        
+        //3. Tabular export
+        TabularExport export;
+        try {
+            export = new TabularExport(
+                    TabularExport.Format.valueOf(format.toUpperCase()),
+                    TabularExport.Layout.valueOf(layout.toUpperCase()),
+                    dateSortAsc, gzip, "sensor");
+        } catch (IllegalArgumentException ex) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, 
+                            "Unknown export format or layout : " + format + ", " + layout)))
+                    .build();
+        }
+        
+        SensorDAO sensorDAO = new SensorDAO();
+        export.setSubjectsLabelsResolver((uris) -> TabularExport.joinLabels(sensorDAO.findLabelsForUris(uris)));
+        
+        for (String variableUri : variablesUris) {
+            List<String> variableLabels = variableDAO.findLabelsForUri(variableUri);
+            export.addVariable(
+                    variableUri, 
+                    variableLabels.isEmpty() ? null : variableLabels.get(0),
+                    getExportDAO(variableUri, startDate, endDate, sensor, dateSortAsc).findAll()
+                            .map((measure) -> new Measure(measure.getDate(), measure.getSensorUri(), null, measure.getValue())));
+        }
+        
+        // The table is written while it is sent
+        return Response.ok(export, export.getMediaType())
+                .header("Content-Disposition", "attachment; filename=\"" + export.getFilename("environments") + "\"")
+                .build();
+    }
+    
+    /**
+     * Migrates the environmental measures of a variable to the buckets 
+     * storage, in an asynchronous job. Only available to the administrators.
+     * @param variable
+     * @param uriInfo
+     * @return the accepted job
+     */
+    @POST
+    @Path("buckets")
+    @ApiOperation(value = "Migrate the environment measures of a variable to the buckets storage",
+                  notes = "Copy the measures of the variable in documents grouping the measures by sensor and time bucket. "
+                          + "The environmentBucketsStorage option must be enabled. The buckets are read once the migration ends. "
+                          + "Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY),
+        @ApiResponse(code = 404, message = "Unknown variable URI")
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response migrateEnvironmentMeasuresToBuckets(
+        @ApiParam(value = "Variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variable") @URL @Required String variable,
+        @Context UriInfo uriInfo) {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.ACCESS_DENIED, StatusCodeMsg.ERR, StatusCodeMsg.ADMINISTRATOR_ONLY)))
+                    .build();
+        }
+        if (!new VariableDAO().existAndIsVariable(variable)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variable)))
+                    .build();
+        }
+        
         EnvironmentMeasureDAO environmentMeasureDAO = new EnvironmentMeasureDAO();
+        environmentMeasureDAO.user = userSession.getUser();
+        return getAcceptedResponseFromJob("environment buckets", 
+                (jobContext) -> environmentMeasureDAO.migrateToBuckets(variable, jobContext), uriInfo);
+    }
+    
+    /**
+     * Gets the summaries (count, sum, minimum, maximum and mean) of the 
+     * environmental measures of a variable by interval and sensor. The 
+     * summaries are computed from the coarsest rollups giving the intervals,
+     * not from the measures.
+     * @param asyncResponse
+     * @param pageSize
+     * @param page
+     * @param variable
+     * @param startDate
+     * @param endDate
+     * @param sensor
+     * @param interval
+     * @example
+     * {
+     *      "date": "2017-06-15T02:00:00+0200",
+     *      "variableUri": "http://www.phenome-fppn.fr/id/variables/v001",
+     *      "subjectUri": "http://www.phenome-fppn.fr/mauguio/diaphen/2013/sb140227",
+     *      "provenanceUri": null,
+     *      "count": 1440,
+     *      "sum": 30960.0,
+     *      "min": 14.2,
+     *      "max": 31.9,
+     *      "mean": 21.5
+     * }
+     */
+    @GET
+    @Path("rollups")
+    @ApiOperation(value = "Get the summaries of the environment measures of a variable by interval",
+                  notes = "Retrieve the count, sum, minimum, maximum and mean of the measures by interval and sensor, "
+                          + "sorted by date. The summaries are read from the hourly or daily rollups of the measures.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve the environment measures summaries", response = RollupDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getEnvironmentMeasuresRollups(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
+        @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
+        @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
+        @ApiParam(value = "Search by variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variable") @URL @Required String variable,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_START_DATE, example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("startDate") @Date(DateFormat.YMDTHMSZ) String startDate,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_END_DATE, example = DocumentationAnnotation.EXAMPLE_XSDDATETIME) @QueryParam("endDate") @Date(DateFormat.YMDTHMSZ) String endDate,
+        @ApiParam(value = "Search by sensor uri", example = DocumentationAnnotation.EXAMPLE_SENSOR_URI) @QueryParam("sensor")  @URL String sensor,
+        @ApiParam(value = DocumentationAnnotation.ROLLUP_INTERVAL, example = "86400") @QueryParam("interval") @DefaultValue("86400") @Min(1) long interval
+    ) {
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
+            RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_ENVIRONMENT);
+            rollupDAO.useSearchReadPreference();
+            rollupDAO.variableUri = variable;
+            rollupDAO.subjectUri = sensor;
+            rollupDAO.user = userSession.getUser();
+            return getRollupsResponse(rollupDAO, startDate, endDate, interval, pageSize, page);
+        });
+    }
+    
+    /**
+     * Rebuilds the rollups of the environmental measures of a variable from 
+     * the measures, in an asynchronous job. Only available to the 
+     * administrators.
+     * @param variable
+     * @param uriInfo
+     * @return the accepted job
+     */
+    @POST
+    @Path("rollups")
+    @ApiOperation(value = "Rebuild the rollups of the environment measures of a variable",
+                  notes = "Compute the rollups of the variable again from its measures and replace them, "
+                          + "for example for the measures inserted before the rollups. "
+                          + "No measure of the variable should be inserted during the rebuild. "
+                          + "Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY),
+        @ApiResponse(code = 404, message = "Unknown variable URI")
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response rebuildEnvironmentMeasuresRollups(
+        @ApiParam(value = "Variable uri", example = DocumentationAnnotation.EXAMPLE_VARIABLE_URI, required = true) @QueryParam("variable") @URL @Required String variable,
+        @Context UriInfo uriInfo) {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.ACCESS_DENIED, StatusCodeMsg.ERR, StatusCodeMsg.ADMINISTRATOR_ONLY)))
+                    .build();
+        }
+        if (!new VariableDAO().existAndIsVariable(variable)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ResponseFormPOST(new Status(StatusCodeMsg.DATA_ERROR, StatusCodeMsg.ERR, "Unknown variable URI : " + variable)))
+                    .build();
+        }
         
+        // The rollups are rebuilt from the primary, where they are written
+        EnvironmentMeasureDAO environmentMeasureDAO = new EnvironmentMeasureDAO();
         environmentMeasureDAO.variableUri = variable;
-
+        environmentMeasureDAO.user = userSession.getUser();
+        RollupDAO rollupDAO = new RollupDAO(RollupDAO.SOURCE_ENVIRONMENT);
+        rollupDAO.user = userSession.getUser();
+        return getAcceptedResponseFromJob("environment rollups", (jobContext) -> rollupDAO.rebuild(variable, 
+                environmentMeasureDAO.findAll()
+                        .map((measure) -> new Measure(measure.getDate(), measure.getSensorUri(), null, measure.getValue())), 
+                environmentMeasureDAO.count(),
+                jobContext), uriInfo);
+    }
+    
+    /**
+     * The DAO reads its parameters while the measures are read, so there is 
+     * one DAO by exported variable. The exports read from the search read
+     * preference.
+     * @param variableUri
+     * @param startDate
+     * @param endDate
+     * @param sensor
+     * @param dateSortAsc
+     * @return the DAO of the exported variable
+     */
+    private EnvironmentMeasureDAO getExportDAO(String variableUri, String startDate, String endDate, String sensor, boolean dateSortAsc) {
+        EnvironmentMeasureDAO environmentMeasureDAO = new EnvironmentMeasureDAO();
+        environmentMeasureDAO.useSearchReadPreference();
+        environmentMeasureDAO.variableUri = variableUri;
         environmentMeasureDAO.startDate = startDate;
         environmentMeasureDAO.endDate = endDate;
         environmentMeasureDAO.sensorUri = sensor;
         environmentMeasureDAO.dateSortAsc = dateSortAsc;
-        
         environmentMeasureDAO.user = userSession.getUser();
-        environmentMeasureDAO.setPage(page);
-        environmentMeasureDAO.setPageSize(pageSize);
-        
-        // 2. Get environment measures count
-        int totalCount = environmentMeasureDAO.count();
-        
-        // 3. Get environment measures page list
-        ArrayList<EnvironmentMeasure> measures = environmentMeasureDAO.allPaginate();
-        
-        // 4. Initialize return variables
-        ArrayList<EnvironmentMeasureDTO> list = new ArrayList<>();
-        ArrayList<Status> statusList = new ArrayList<>();
-        ResultForm<EnvironmentMeasureDTO> getResponse;
-        
-        if (measures == null) {
-            // Request failure
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else if (measures.isEmpty()) {
-            // No results
-            getResponse = new ResultForm<>(0, 0, list, true, 0);
-            return noResultFound(getResponse, statusList);
-        } else {
-            // Convert all measures object to DTO's
-            measures.forEach((measure) -> {
-                list.add(new EnvironmentMeasureDTO(measure));
-            });
-            
-            // Return list of DTO
-            getResponse = new ResultForm<>(environmentMeasureDAO.getPageSize(), environmentMeasureDAO.getPage(), list, true, totalCount);
-            getResponse.setStatus(statusList);
-            return Response.status(Response.Status.OK).entity(getResponse).build();
-        }
+        return environmentMeasureDAO;
     }
 }
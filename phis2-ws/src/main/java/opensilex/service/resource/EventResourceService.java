@@ -16,6 +16,8 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -31,11 +33,16 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.async.FanOut;
+import opensilex.service.metrics.Backend;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.configuration.TotalCountModes;
 import opensilex.service.dao.EventDAO;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import opensilex.service.documentation.DocumentationAnnotation;
@@ -48,6 +55,7 @@ import opensilex.service.resource.validation.interfaces.Required;
 import opensilex.service.resource.validation.interfaces.URL;
 import opensilex.service.view.brapi.form.ResponseFormPOST;
 import opensilex.service.model.Event;
+import opensilex.service.model.User;
 import opensilex.service.resource.dto.event.EventPutDTO;
 import opensilex.service.resource.dto.manager.AbstractVerifiedClass;
 
@@ -57,6 +65,9 @@ import opensilex.service.resource.dto.manager.AbstractVerifiedClass;
  * @update [Andréas Garcia] 5 Mar. 2019: Add POST service
  * @update [Andréas Garcia] 15 Mar. 2019: Add GET {uri}/annotations service
  * @update [Andréas Garcia] 8 Apr. 2019: Refactor generic functions into the ResourceService class
+ * @update [agent] 18 Oct. 2026: Process the searches asynchronously
+ * @update [agent] 18 Oct. 2026: Search and count the events concurrently
+ * @update [agent] 18 Oct. 2026: Skip the total count of the search
  * @author Andréas Garcia <andreas.garcia@inra.fr>
  */
 @Api("/events")
@@ -102,6 +113,7 @@ public class EventResourceService  extends ResourceService {
      *     }
      *   }
      * }
+     * @param asyncResponse resumed with the response when the search ends
      * @param pageSize
      * @param page
      * @param uri
@@ -110,6 +122,7 @@ public class EventResourceService  extends ResourceService {
      * @param concernedItemLabel
      * @param startDate
      * @param endDate
+     * @param totalCountMode exact, estimated or none
      * @return  list of events filtered.
      */
     @GET
@@ -132,7 +145,8 @@ public class EventResourceService  extends ResourceService {
             value = DocumentationAnnotation.ACCES_TOKEN, 
             example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")})
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getEvents(
+    public void getEvents(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) 
             @QueryParam(GlobalWebserviceValues.PAGE_SIZE) 
             @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) 
@@ -164,47 +178,62 @@ public class EventResourceService  extends ResourceService {
                 value = "Search by date - end of the range", 
                 example = DocumentationAnnotation.EXAMPLE_EVENT_SEARCH_END_DATE) 
             @QueryParam("endDate") 
-            @Date({DateFormat.YMDTHMSZZ, DateFormat.YMD}) String endDate
+            @Date({DateFormat.YMDTHMSZZ, DateFormat.YMD}) String endDate,
+        @ApiParam(
+                value = DocumentationAnnotation.TOTAL_COUNT, 
+                allowableValues = "exact,estimated,none") 
+            @QueryParam(GlobalWebserviceValues.TOTAL_COUNT) 
+            @DefaultValue("exact") String totalCountMode
     ) {
-        EventDAO eventDAO = new EventDAO(userSession.getUser());
+        resumeAsync(asyncResponse, Backend.TRIPLESTORE, () -> {
+            // The triplestore counts can not be estimated, they are kept by
+            // the triplestore query cache
+            TotalCountModes countMode = TotalCountModes.fromString(totalCountMode);
+            if (countMode == null) {
+                return getWrongTotalCountModeResponse(totalCountMode);
+            }
+            User user = userSession.getUser();
         
-        // Search events with parameters
-        ArrayList<Event> events;
-        try {
-            events = eventDAO.find(
-                    uri,
-                    type,
-                    concernedItemLabel,
-                    concernedItemUri,
-                    startDate,
-                    endDate,
-                    page,
-                    pageSize);
-        // handle exceptions
-        } catch (DAOPersistenceException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            return getResponseWhenPersistenceError(ex);
-        }
-
-        if (events == null) {
-            return getGETResponseWhenNoResult();
-        } else if (events.isEmpty()) {
-            return getGETResponseWhenNoResult();
-        } else {
-            // count results
-            try {
-                int totalCount = eventDAO.count(uri, type, concernedItemLabel, concernedItemUri, startDate, endDate);
-                return getGETResponseWhenSuccess(events, pageSize, page, totalCount);
+            // Search and count the events concurrently, each one with its own
+            // connection to the triplestore
+            try (FanOut fanOut = new FanOut()) {
+                Future<ArrayList<Event>> eventsFuture = fanOut.submit(() -> new EventDAO(user).find(
+                        uri,
+                        type,
+                        concernedItemLabel,
+                        concernedItemUri,
+                        startDate,
+                        endDate,
+                        page,
+                        pageSize));
+                Future<Integer> totalCountFuture = null;
+                if (countMode != TotalCountModes.NONE) {
+                    totalCountFuture = fanOut.submit(() -> 
+                            new EventDAO(user).count(uri, type, concernedItemLabel, concernedItemUri, startDate, endDate));
+                }
                 
-            // handle count exceptions
+                ArrayList<Event> events = fanOut.join(eventsFuture);
+                if (events == null) {
+                    return getGETResponseWhenNoResult();
+                } else if (events.isEmpty()) {
+                    return getGETResponseWhenNoResult();
+                } else if (totalCountFuture == null) {
+                    return getGETResponseWhenSuccess(events, pageSize, page, hasNextPage(events.size(), pageSize));
+                } else {
+                    int totalCount = fanOut.join(totalCountFuture);
+                    return getGETResponseWhenSuccess(events, pageSize, page, totalCount);
+                }
+            // handle exceptions
             } catch (DAOPersistenceException ex) {
                 LOGGER.error(ex.getMessage(), ex);
                 return getResponseWhenPersistenceError(ex);
+            } catch (CancellationException ex) {
+                throw ex;
             } catch (Exception ex) {
                 LOGGER.error(ex.getMessage(), ex);
                 return getResponseWhenInternalError(ex);
             }
-        }
+        });
     }
     
     /**
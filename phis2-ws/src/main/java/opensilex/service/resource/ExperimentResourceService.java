@@ -15,6 +15,7 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.ArrayList;
+import java.util.concurrent.Future;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -33,10 +34,12 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.async.FanOut;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DateFormats;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.configuration.TotalCountModes;
 import opensilex.service.dao.ExperimentSQLDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
 import opensilex.service.documentation.StatusCodeMsg;
@@ -59,6 +62,8 @@ import opensilex.service.model.Experiment;
  * @update [Morgane Vidal] 20 Dec. 2018: add PUT services:
  *                          - experiment/{uri}/variables 
  *                          - experiment/{uri}/sensors
+ * @update [agent] 18 Oct. 2026: count the experiments while the page
+ * is read, or skip the count
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 @Api("/experiments")
@@ -78,6 +83,7 @@ public class ExperimentResourceService extends ResourceService {
      * @param place
      * @param alias
      * @param keywords
+     * @param totalCountMode exact, estimated or none
      * @return found experiments
      */
     @GET
@@ -106,9 +112,16 @@ public class ExperimentResourceService extends ResourceService {
             @ApiParam(value = "Search by campaign", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_CAMPAIGN) @QueryParam("campaign") @Pattern(regexp = DateFormats.YEAR_REGEX, message = "This is not a valid year. Excepted format : YYYY (e.g. 2017)") String campaign,
             @ApiParam(value = "Search by place", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_PLACE) @QueryParam("place") String place,
             @ApiParam(value = "Search by alias", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_ALIAS) @QueryParam("alias") String alias,
-            @ApiParam(value = "Search by keywords", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_KEYWORDS) @QueryParam("keywords") String keywords) {
+            @ApiParam(value = "Search by keywords", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_KEYWORDS) @QueryParam("keywords") String keywords,
+            @ApiParam(value = DocumentationAnnotation.TOTAL_COUNT, allowableValues = "exact,estimated,none") @QueryParam(GlobalWebserviceValues.TOTAL_COUNT) @DefaultValue("exact") String totalCountMode) {
+        // The SQL counts can not be estimated, they are kept by the count cache
+        TotalCountModes countMode = TotalCountModes.fromString(totalCountMode);
+        if (countMode == null) {
+            return getWrongTotalCountModeResponse(totalCountMode);
+        }
 
         ExperimentSQLDAO experimentDao = new ExperimentSQLDAO();
+        experimentDao.useSearchDataSource();
 
         if (uri != null) {
             experimentDao.uri = uri;
@@ -142,7 +155,7 @@ public class ExperimentResourceService extends ResourceService {
         experimentDao.setPage(page);
         experimentDao.setPageSize(limit);
 
-        return getExperimentsData(experimentDao);
+        return getExperimentsData(experimentDao, countMode);
     }
 
     /**
@@ -194,7 +207,7 @@ public class ExperimentResourceService extends ResourceService {
         experimentDao.setPage(page);
         experimentDao.user = userSession.getUser();
 
-        return getExperimentsData(experimentDao);
+        return getExperimentsData(experimentDao, TotalCountModes.EXACT);
     }
 
     /**
@@ -467,33 +480,54 @@ public class ExperimentResourceService extends ResourceService {
     }
 
     /**
-     * Gets experiment data.
+     * Gets experiment data. The experiments are counted while the page is read.
      * @param experimentSQLDao
+     * @param countMode the experiments are not counted with NONE
      * @return experiments found
      */
-    private Response getExperimentsData(ExperimentSQLDAO experimentSQLDao) {
-        ArrayList<Experiment> experiments = new ArrayList<>();
+    private Response getExperimentsData(ExperimentSQLDAO experimentSQLDao, TotalCountModes countMode) {
+        ArrayList<Experiment> experiments;
         ArrayList<Status> statusList = new ArrayList<>();
         ResultForm<Experiment> getResponse;
-        Integer experimentsCount = experimentSQLDao.count();
-
-        if (experimentsCount != null && experimentsCount == 0) {
-            getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), experiments, true, experimentsCount);
-            return noResultFound(getResponse, statusList);
-        } else {
-            experiments = experimentSQLDao.allPaginate();
+        Integer experimentsCount = null;
+        
+        // The count and the page get their own connections from the pool
+        try (FanOut fanOut = new FanOut()) {
+            Future<Integer> experimentsCountFuture = null;
+            if (countMode != TotalCountModes.NONE) {
+                experimentsCountFuture = fanOut.submit(() -> experimentSQLDao.count());
+            }
+            Future<ArrayList<Experiment>> experimentsFuture = fanOut.submit(() -> experimentSQLDao.allPaginate());
             
-            if (experiments == null || experimentsCount == null) { //sql error
-                getResponse = new ResultForm<>(0, 0, experiments, true, experimentsCount);
-                return sqlError(getResponse, statusList);
-            } else if (experiments.isEmpty()) { // no result found
-                getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), experiments, false, experimentsCount);
-                return noResultFound(getResponse, statusList);
-            } else { //results founded
+            if (experimentsCountFuture != null) {
+                experimentsCount = fanOut.join(experimentsCountFuture);
+                if (experimentsCount != null && experimentsCount == 0) {
+                    getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), new ArrayList<>(), true, experimentsCount);
+                    return noResultFound(getResponse, statusList);
+                }
+            }
+            experiments = fanOut.join(experimentsFuture);
+        } catch (Exception ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            return getResponseWhenInternalError(ex);
+        }
+            
+        if (experiments == null || (countMode != TotalCountModes.NONE && experimentsCount == null)) { //sql error
+            getResponse = new ResultForm<>(0, 0, new ArrayList<>(), true);
+            return sqlError(getResponse, statusList);
+        } else if (experiments.isEmpty()) { // no result found
+            getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), experiments, true, 
+                    experimentsCount == null ? 0 : experimentsCount);
+            return noResultFound(getResponse, statusList);
+        } else { //results founded
+            if (experimentsCount == null) {
+                getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), experiments, true, 
+                        hasNextPage(experiments.size(), experimentSQLDao.getPageSize()));
+            } else {
                 getResponse = new ResultForm<>(experimentSQLDao.getPageSize(), experimentSQLDao.getPage(), experiments, true, experimentsCount);
-                getResponse.setStatus(statusList);
-                return Response.status(Response.Status.OK).entity(getResponse).build();
             }
+            getResponse.setStatus(statusList);
+            return Response.status(Response.Status.OK).entity(getResponse).build();
         }
     }
 }
@@ -87,6 +87,7 @@ public class GroupResourceService extends ResourceService {
     @ApiParam(value = "Search by name", example = DocumentationAnnotation.EXAMPLE_GROUP_NAME) @QueryParam("name") String name,
     @ApiParam(value = "Search by level", example = DocumentationAnnotation.EXAMPLE_GROUP_LEVEL) @QueryParam("level") @GroupLevel String level) {
         GroupDAO groupDao = new GroupDAO();
+        groupDao.useSearchDataSource();
         
         if (uri != null) {
             groupDao.uri = uri;
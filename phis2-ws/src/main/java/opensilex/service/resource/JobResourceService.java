@@ -0,0 +1,286 @@
+//******************************************************************************
+//                            JobResourceService.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.util.ArrayList;
+import javax.validation.constraints.Min;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import opensilex.service.configuration.DefaultBrapiPaginationValues;
+import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.configuration.JobStatus;
+import opensilex.service.dao.JobDAO;
+import opensilex.service.dao.UserDAO;
+import opensilex.service.documentation.DocumentationAnnotation;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.job.JobManager;
+import opensilex.service.model.Job;
+import opensilex.service.resource.dto.job.JobDTO;
+import opensilex.service.resource.validation.interfaces.Required;
+import opensilex.service.result.ResultForm;
+import opensilex.service.view.brapi.Status;
+import opensilex.service.view.brapi.form.ResponseFormPOST;
+
+/**
+ * Asynchronous jobs resource service.
+ * Permits to follow the long operations submitted with the "async" parameter
+ * (datasets, data, triplets, layers), to get their result and to cancel them.
+ * @author agent <agent@local>
+ */
+@Api("/jobs")
+@Path("/jobs")
+public class JobResourceService extends ResourceService {
+
+    /**
+     * Gets the jobs of the user. Administrators get all the jobs.
+     * @param pageSize
+     * @param page
+     * @return the jobs, most recent first.
+     */
+    @GET
+    @ApiOperation(value = "Get the jobs of the user",
+                  notes = "Retrieve the asynchronous jobs submitted by the user. Administrators get all the jobs.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve jobs", response = JobDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getJobs(
+        @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
+        @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page) {
+
+        JobDAO jobDAO = new JobDAO();
+        jobDAO.user = userSession.getUser();
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            jobDAO.owner = userSession.getUser().getEmail();
+        }
+        jobDAO.setPage(page);
+        jobDAO.setPageSize(pageSize);
+
+        int totalCount = jobDAO.count();
+        ArrayList<Job> jobs = jobDAO.allPaginate();
+
+        ArrayList<JobDTO> list = new ArrayList<>();
+        if (jobs.isEmpty()) {
+            return noResultFound(new ResultForm<>(0, 0, list, true, 0), new ArrayList<>());
+        }
+        jobs.forEach((job) -> {
+            list.add(new JobDTO(job));
+        });
+
+        ResultForm<JobDTO> getResponse = new ResultForm<>(jobDAO.getPageSize(), jobDAO.getPage(), list, true, totalCount);
+        getResponse.setStatus(new ArrayList<>());
+        return Response.status(Response.Status.OK).entity(getResponse).build();
+    }
+
+    /**
+     * Gets the state of a job.
+     * @param id
+     * @example
+     * {
+     *   "metadata": {
+     *     "pagination": null,
+     *     "status": [],
+     *     "datafiles": []
+     *   },
+     *   "result": {
+     *     "data": [
+     *       {
+     *         "id": "5dcd2d8c7a6a1e3b1c4e8f21",
+     *         "type": "datasets",
+     *         "owner": "admin@opensilex.org",
+     *         "status": "running",
+     *         "progress": 40,
+     *         "creationDate": "2019-11-14T10:51:00+0100",
+     *         "startDate": "2019-11-14T10:51:01+0100",
+     *         "endDate": null
+     *       }
+     *     ]
+     *   }
+     * }
+     * @return the job
+     */
+    @GET
+    @Path("{id}")
+    @ApiOperation(value = "Get the state of a job",
+                  notes = "Get the status and the progress of an asynchronous job")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Get a job", response = JobDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 404, message = "Job not found"),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getJob(
+        @ApiParam(value = DocumentationAnnotation.JOB_ID_DEFINITION, required = true, example = DocumentationAnnotation.EXAMPLE_JOB_ID)
+            @PathParam("id") @Required String id) {
+
+        Job job = findUserJob(id);
+        if (job == null) {
+            return getGETResponseWhenNoResult();
+        }
+
+        ArrayList<JobDTO> list = new ArrayList<>();
+        list.add(new JobDTO(job));
+        ResultForm<JobDTO> getResponse = new ResultForm<>(0, 0, list, true);
+        getResponse.setStatus(new ArrayList<>());
+        return Response.status(Response.Status.OK).entity(getResponse).build();
+    }
+
+    /**
+     * Gets the result of a finished job. The response is the one the operation
+     * would have returned synchronously.
+     * @param id
+     * @return the job result,
+     *         a 202 Accepted response if the job is not finished.
+     */
+    @GET
+    @Path("{id}/result")
+    @ApiOperation(value = "Get the result of a job",
+                  notes = "Get the result of a finished asynchronous job, as the operation would have returned it")
+    @ApiResponses(value = {
+        @ApiResponse(code = 201, message = "Result of the operation", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = "Job not finished yet", response = ResponseFormPOST.class),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 404, message = "Job not found"),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getJobResult(
+        @ApiParam(value = DocumentationAnnotation.JOB_ID_DEFINITION, required = true, example = DocumentationAnnotation.EXAMPLE_JOB_ID)
+            @PathParam("id") @Required String id) {
+
+        Job job = findUserJob(id);
+        if (job == null) {
+            return getGETResponseWhenNoResult();
+        }
+
+        if (!JobStatus.isFinished(job.getStatus())) {
+            ResponseFormPOST postResponse = new ResponseFormPOST(new Status(
+                    "Job " + job.getStatus(),
+                    StatusCodeMsg.INFO,
+                    "Progress: " + job.getProgress() + "%"));
+            return Response.status(Response.Status.ACCEPTED).entity(postResponse).build();
+        }
+
+        ResponseFormPOST postResponse = new ResponseFormPOST(job.getResultStatus());
+        postResponse.getMetadata().setDatafiles(job.getCreatedResources());
+
+        int httpStatus = Response.Status.OK.getStatusCode();
+        if (job.getResultHttpStatus() != null) {
+            httpStatus = job.getResultHttpStatus();
+        }
+        return Response.status(httpStatus).entity(postResponse).build();
+    }
+
+    /**
+     * Cancels a pending job.
+     * @param id
+     * @return the cancellation result
+     */
+    @DELETE
+    @Path("{id}")
+    @ApiOperation(value = "Cancel a job",
+                  notes = "Cancel an asynchronous job which has not started yet")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Job cancelled", response = ResponseFormPOST.class),
+        @ApiResponse(code = 400, message = "Job already finished"),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 404, message = "Job not found"),
+        @ApiResponse(code = 409, message = "Job running")
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response cancelJob(
+        @ApiParam(value = DocumentationAnnotation.JOB_ID_DEFINITION, required = true, example = DocumentationAnnotation.EXAMPLE_JOB_ID)
+            @PathParam("id") @Required String id) {
+
+        Job job = findUserJob(id);
+        if (job == null) {
+            return getGETResponseWhenNoResult();
+        }
+
+        if (!JobManager.getInstance().cancel(id)) {
+            // The job may have started or finished in the meantime
+            job = new JobDAO().findById(id);
+            if (job == null || JobStatus.isFinished(job.getStatus())) {
+                ResponseFormPOST postResponse = new ResponseFormPOST(new Status(
+                        StatusCodeMsg.REQUEST_ERROR,
+                        StatusCodeMsg.ERR,
+                        "Job already finished"));
+                return Response.status(Response.Status.BAD_REQUEST).entity(postResponse).build();
+            }
+            ResponseFormPOST postResponse = new ResponseFormPOST(new Status(
+                    StatusCodeMsg.REQUEST_ERROR,
+                    StatusCodeMsg.ERR,
+                    "Job running, it can't be cancelled"));
+            return Response.status(Response.Status.CONFLICT).entity(postResponse).build();
+        }
+
+        ResponseFormPOST postResponse = new ResponseFormPOST(new Status("Job cancelled", StatusCodeMsg.INFO, id));
+        return Response.status(Response.Status.OK).entity(postResponse).build();
+    }
+
+    /**
+     * Gets a job if the user can access it (owner or administrator).
+     * @param id
+     * @return the job, null if it does not exist or if the user cannot access it.
+     */
+    private Job findUserJob(String id) {
+        Job job = new JobDAO().findById(id);
+        if (job == null) {
+            return null;
+        }
+        if (!userSession.getUser().getEmail().equals(job.getOwner())
+                && !new UserDAO().isAdmin(userSession.getUser())) {
+            return null;
+        }
+        return job;
+    }
+}
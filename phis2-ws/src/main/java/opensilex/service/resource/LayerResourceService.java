@@ -21,12 +21,15 @@ import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import opensilex.service.configuration.GlobalWebserviceValues;
 import opensilex.service.dao.LayerDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
@@ -58,6 +61,7 @@ public class LayerResourceService extends ResourceService {
                   notes = "Create a geojson layer file")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "Layer geojson file created", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
         @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
         @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
         @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_SEND_DATA)
@@ -72,6 +76,8 @@ public class LayerResourceService extends ResourceService {
     @Produces(MediaType.APPLICATION_JSON)
     public Response postLayer(
         @ApiParam(value = DocumentationAnnotation.LAYER_POST_DATA_DEFINITION) @Valid ArrayList<LayerDTO> layers,
+        @ApiParam(value = DocumentationAnnotation.JOB_ASYNC_DEFINITION) @QueryParam("async") @DefaultValue("false") boolean async,
+        @Context UriInfo uriInfo,
         @Context HttpServletRequest context) throws IOException {
         AbstractResultForm postResponse = null;
         
@@ -89,6 +95,16 @@ public class LayerResourceService extends ResourceService {
                 For the moment, done for a single layer (the first of the list sent)
                 Then it should be done for the rest.
                 */
+                if (async) {
+                    return getAcceptedResponseFromJob("layers", (jobContext) -> {
+                        POSTResultsReturn result = layerDao.createLayerFile(layers.get(0));
+                        if (result.getHttpStatus().equals(Response.Status.CREATED)) {
+                            result.addCreatedResource(layerDao.fileWebPath);
+                        }
+                        return result;
+                    }, uriInfo);
+                }
+                
                 POSTResultsReturn resultCreateFile = layerDao.createLayerFile(layers.get(0));
 
                 
@@ -0,0 +1,181 @@
+//******************************************************************************
+//                          MetricsResourceService.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.util.ArrayList;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.dao.UserDAO;
+import opensilex.service.documentation.DocumentationAnnotation;
+import opensilex.service.documentation.StatusCodeMsg;
+import opensilex.service.metrics.MetricsRegistry;
+import opensilex.service.metrics.SlowQueryLog;
+import opensilex.service.resource.dto.metrics.SlowQueryDTO;
+import opensilex.service.result.ResultForm;
+import opensilex.service.view.brapi.Status;
+import opensilex.service.view.brapi.form.ResponseFormGET;
+import opensilex.service.view.brapi.form.ResponseFormPOST;
+
+/**
+ * Metrics resource service.
+ * Exposes the requests and backend calls metrics and the slow queries log to
+ * the administrators. A scraper uses the token of an administrator account.
+ * @see MetricsRegistry
+ * @see SlowQueryLog
+ * @author agent <agent@local>
+ */
+@Api("/metrics")
+@Path("/metrics")
+public class MetricsResourceService extends ResourceService {
+
+    /**
+     * Gets the metrics in the Prometheus text format.
+     * @return the metrics
+     * @example
+     * # HELP opensilex_http_request_duration_seconds Duration of the web service requests by resource method.
+     * # TYPE opensilex_http_request_duration_seconds histogram
+     * opensilex_http_request_duration_seconds_bucket{endpoint="GET /experiments",le="0.100000"} 12
+     * ...
+     * # HELP opensilex_http_request_backend_calls_total Number of backend calls made by the requests, by resource method.
+     * # TYPE opensilex_http_request_backend_calls_total counter
+     * opensilex_http_request_backend_calls_total{endpoint="GET /experiments",backend="triplestore"} 24
+     */
+    @GET
+    @ApiOperation(value = "Get the web service metrics",
+                  notes = "Latency histograms by resource method and backend calls, in the Prometheus text format. "
+                          + "Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve the metrics"),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response getMetrics() {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return getAdministratorOnlyResponse();
+        }
+        return Response.ok(MetricsRegistry.getInstance().toPrometheusText()).build();
+    }
+
+    /**
+     * Gets the slow queries, the most costly first.
+     * @example
+     * {
+     *   "metadata": {
+     *     "pagination": null,
+     *     "status": [],
+     *     "datafiles": []
+     *   },
+     *   "result": {
+     *     "data": [
+     *       {
+     *         "backend": "triplestore",
+     *         "fingerprint": "SELECT DISTINCT ?uri ?label WHERE { ?uri <http://www.w3.org/2000/01/rdf-schema#label> ?label . FILTER ( REGEX ( str(?label),?,?) ) } LIMIT ? OFFSET ?",
+     *         "count": 12,
+     *         "totalMs": 19500,
+     *         "meanMs": 1625,
+     *         "maxMs": 3100,
+     *         "p50Ms": 1500,
+     *         "p95Ms": 3100,
+     *         "p99Ms": 3100,
+     *         "firstSeen": "2019-11-14T10:51:00+0100",
+     *         "lastSeen": "2019-11-14T11:02:12+0100"
+     *       }
+     *     ]
+     *   }
+     * }
+     * @return the slow queries
+     */
+    @GET
+    @Path("slow-queries")
+    @ApiOperation(value = "Get the slow queries",
+                  notes = "SPARQL queries, MongoDB commands and SQL statements slower than the configured threshold, "
+                          + "aggregated by fingerprint. Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve the slow queries", response = SlowQueryDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getSlowQueries() {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return getAdministratorOnlyResponse();
+        }
+
+        ArrayList<SlowQueryDTO> slowQueries = new ArrayList<>();
+        SlowQueryLog.getInstance().getSlowQueries().forEach((slowQuery) -> {
+            slowQueries.add(new SlowQueryDTO(slowQuery));
+        });
+        if (slowQueries.isEmpty()) {
+            return noResultFound(new ResultForm<>(0, 0, slowQueries, true, 0), new ArrayList<>());
+        }
+
+        ResultForm<SlowQueryDTO> getResponse = new ResultForm<>(slowQueries.size(), 0, slowQueries, true, slowQueries.size());
+        getResponse.setStatus(new ArrayList<>());
+        return Response.status(Response.Status.OK).entity(getResponse).build();
+    }
+
+    /**
+     * Clears the slow queries log.
+     * @return the clearing result
+     */
+    @DELETE
+    @Path("slow-queries")
+    @ApiOperation(value = "Clear the slow queries",
+                  notes = "Only available to the administrators.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Slow queries cleared", response = ResponseFormPOST.class),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 403, message = StatusCodeMsg.ADMINISTRATOR_ONLY)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response clearSlowQueries() {
+        if (!new UserDAO().isAdmin(userSession.getUser())) {
+            return getAdministratorOnlyResponse();
+        }
+        SlowQueryLog.getInstance().clear();
+        ResponseFormPOST postResponse = new ResponseFormPOST(new Status("Slow queries cleared", StatusCodeMsg.INFO, null));
+        return Response.status(Response.Status.OK).entity(postResponse).build();
+    }
+
+    private Response getAdministratorOnlyResponse() {
+        return Response.status(Response.Status.FORBIDDEN)
+                .entity(new ResponseFormGET(new Status(StatusCodeMsg.ACCESS_DENIED, StatusCodeMsg.ERR, StatusCodeMsg.ADMINISTRATOR_ONLY)))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
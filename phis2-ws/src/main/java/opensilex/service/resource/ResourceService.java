@@ -7,19 +7,37 @@
 //******************************************************************************
 package opensilex.service.resource;
 
+import java.net.URI;
+import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import opensilex.service.PropertiesFileManager;
+import opensilex.service.async.AsyncRequestManager;
 import opensilex.service.authentication.Session;
+import opensilex.service.configuration.DateFormat;
+import opensilex.service.configuration.RollupPeriod;
+import opensilex.service.configuration.TotalCountModes;
+import opensilex.service.dao.RollupDAO;
 import opensilex.service.dao.exception.DAODataErrorAggregateException;
 import opensilex.service.dao.exception.DAOPersistenceException;
 import opensilex.service.dao.exception.ResourceAccessDeniedException;
 import opensilex.service.dao.manager.DAO;
 import opensilex.service.documentation.StatusCodeMsg;
 import opensilex.service.injection.SessionInject;
+import opensilex.service.job.JobManager;
+import opensilex.service.job.JobTask;
+import opensilex.service.metrics.Backend;
+import opensilex.service.model.Job;
 import static opensilex.service.resource.DocumentResourceService.LOGGER;
 import opensilex.service.resource.dto.manager.AbstractVerifiedClass;
+import opensilex.service.resource.dto.rollup.RollupDTO;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.result.ResultForm;
 import opensilex.service.utils.POSTResultsReturn;
@@ -31,6 +49,8 @@ import opensilex.service.view.brapi.form.ResponseFormPOST;
  * @update [Andréas Garcia] 8 Apr. 2019: Refactor resource service classes generic functions (get a response from a GET
  * request, get responses from POST requests, etc.). Add unimplemented functions (as getDTOsFromObjects) to make them
  * implemented by the child classes to permit specific behaviours.
+ * @update [agent] 18 Oct. 2026: Get the measures summaries from the rollups
+ * @update [agent] 18 Oct. 2026: Responses of the searches without total count
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 public abstract class ResourceService {
@@ -143,6 +163,42 @@ public abstract class ResourceService {
         return Response.status(Response.Status.OK).entity(resultForm).build();
     }
 
+    /**
+     * Gets a response for a GET operation in success, when the total count is
+     * not known.
+     * @param objects
+     * @param pageSize
+     * @param page
+     * @param hasNextPage
+     * @return the response.
+     */
+    protected Response getGETResponseWhenSuccess(ArrayList<? extends Object> objects, int pageSize, int page, boolean hasNextPage) {
+        ResultForm resultForm = new ResultForm<>(pageSize, page, getDTOsFromObjects(objects), true, hasNextPage);
+        resultForm.setStatus(new ArrayList<Status>());
+        return Response.status(Response.Status.OK).entity(resultForm).build();
+    }
+
+    /**
+     * Gets a response for a GET operation when the total count mode is unknown.
+     * @param totalCount
+     * @return the response.
+     * @see TotalCountModes
+     */
+    protected Response getWrongTotalCountModeResponse(String totalCount) {
+        return getPostPutResponseFromSingleOperationStatus(Response.Status.BAD_REQUEST, 
+                StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, "Unknown total count mode : " + totalCount);
+    }
+
+    /**
+     * Tells if there may be results after a page, when they are not counted.
+     * @param pageResultsCount number of results of the page
+     * @param pageSize
+     * @return true if the page is full
+     */
+    protected static boolean hasNextPage(int pageResultsCount, int pageSize) {
+        return pageResultsCount >= pageSize;
+    }
+
     /**
      * Gets a response for a GET operation returns no result.
      * @return the response.
@@ -258,6 +314,95 @@ public abstract class ResourceService {
         }
     }
 
+    /**
+     * Processes a request in the workers of the backend it mostly calls, so
+     * that the container thread is released while the backend answers.
+     * @see AsyncRequestManager
+     * @param asyncResponse suspended response of the request
+     * @param backend backend mostly called by the request
+     * @param operation builds the response of the request
+     */
+    protected void resumeAsync(AsyncResponse asyncResponse, Backend backend, Callable<Response> operation) {
+        AsyncRequestManager.getInstance().submit(backend, asyncResponse, operation);
+    }
+
+    /**
+     * Submits a long operation as an asynchronous job.
+     * @param type kind of operation, displayed to the user
+     * @param task the operation
+     * @param uriInfo request URI information, used to build the job location
+     * @return a 202 Accepted response with the job location,
+     *         a 503 Service Unavailable response if too many jobs are waiting.
+     */
+    protected Response getAcceptedResponseFromJob(String type, JobTask task, UriInfo uriInfo) {
+        try {
+            Job job = JobManager.getInstance().submit(type, userSession.getUser(), task);
+            URI jobLocation = uriInfo.getBaseUriBuilder()
+                    .path(JobResourceService.class)
+                    .path(job.getId())
+                    .build();
+            ResponseFormPOST postResponse = new ResponseFormPOST(new Status(
+                    StatusCodeMsg.JOB_ACCEPTED, 
+                    StatusCodeMsg.INFO, 
+                    jobLocation.toString()));
+            postResponse.getMetadata().setDatafiles(Arrays.asList(jobLocation.toString()));
+            return Response.accepted(postResponse).location(jobLocation).build();
+        } catch (RejectedExecutionException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            return getPostPutResponseFromSingleOperationStatus(
+                    Response.Status.SERVICE_UNAVAILABLE,
+                    StatusCodeMsg.JOB_QUEUE_FULL,
+                    StatusCodeMsg.ERR,
+                    null);
+        }
+    }
+
+    /**
+     * Gets the summaries of the measures by interval from the coarsest 
+     * rollups giving them.
+     * @param rollupDAO DAO of the searched variable, subject and provenance
+     * @param startDate
+     * @param endDate
+     * @param interval duration of the intervals in seconds
+     * @param pageSize
+     * @param page
+     * @return the response with the intervals summaries,
+     *         a 400 Bad Request response if no rollup gives the intervals.
+     */
+    protected Response getRollupsResponse(RollupDAO rollupDAO, String startDate, String endDate, long interval, int pageSize, int page) {
+        try {
+            rollupDAO.startDate = startDate == null ? null : DateFormat.parseDateOrDateTime(startDate, false);
+            rollupDAO.endDate = endDate == null ? null : DateFormat.parseDateOrDateTime(endDate, false);
+        } catch (ParseException ex) {
+            return getPostPutResponseFromSingleOperationStatus(Response.Status.BAD_REQUEST, 
+                    StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, ex.getMessage());
+        }
+        rollupDAO.interval = TimeUnit.SECONDS.toMillis(interval);
+        rollupDAO.period = RollupPeriod.getCoarsest(rollupDAO.interval, rollupDAO.startDate, rollupDAO.endDate);
+        if (rollupDAO.period == null) {
+            return getPostPutResponseFromSingleOperationStatus(Response.Status.BAD_REQUEST, 
+                    StatusCodeMsg.WRONG_VALUE, StatusCodeMsg.ERR, 
+                    "The interval must be a multiple of an hour and the dates must be aligned on hours");
+        }
+        rollupDAO.setPage(page);
+        rollupDAO.setPageSize(pageSize);
+        
+        int totalCount = rollupDAO.count();
+        ArrayList<RollupDTO> list = new ArrayList<>();
+        rollupDAO.allPaginate().forEach((rollup) -> {
+            list.add(new RollupDTO(rollup));
+        });
+        
+        ResultForm<RollupDTO> getResponse;
+        if (list.isEmpty()) {
+            getResponse = new ResultForm<>(0, 0, list, true, 0);
+            return noResultFound(getResponse, new ArrayList<>());
+        }
+        getResponse = new ResultForm<>(rollupDAO.getPageSize(), rollupDAO.getPage(), list, true, totalCount);
+        getResponse.setStatus(new ArrayList<>());
+        return Response.status(Response.Status.OK).entity(getResponse).build();
+    }
+
     /**
      * Gets a response for a POST operation in success.
      * @param urisCreated
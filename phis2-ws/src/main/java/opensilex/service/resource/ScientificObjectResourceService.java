@@ -16,8 +16,10 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
@@ -31,17 +33,24 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import opensilex.service.async.FanOut;
+import opensilex.service.metrics.Backend;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
+import opensilex.service.configuration.TotalCountModes;
 import opensilex.service.dao.ScientificObjectRdf4jDAO;
+import opensilex.service.dao.ScientificObjectSQLDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
 import opensilex.service.documentation.StatusCodeMsg;
 import opensilex.service.resource.validation.interfaces.URL;
 import opensilex.service.utils.POSTResultsReturn;
 import opensilex.service.view.brapi.Status;
 import opensilex.service.view.brapi.form.AbstractResultForm;
+import opensilex.service.view.brapi.form.ResponseFormGET;
 import opensilex.service.view.brapi.form.ResponseFormPOST;
 import opensilex.service.result.ResultForm;
 import opensilex.service.model.ScientificObject;
@@ -52,6 +61,10 @@ import opensilex.service.resource.validation.interfaces.Required;
 
 /**
  * Scientific objects resource service.
+ * @update [agent] 18 Oct. 2026: Search the scientific objects by location
+ * @update [agent] 18 Oct. 2026: Process the searches asynchronously
+ * @update [agent] 18 Oct. 2026: Count and search the scientific objects concurrently
+ * @update [agent] 18 Oct. 2026: Skip the total count of the search
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 @Api("/scientificObjects")
@@ -59,6 +72,9 @@ import opensilex.service.resource.validation.interfaces.Required;
 public class ScientificObjectResourceService extends ResourceService {
     final static Logger LOGGER = LoggerFactory.getLogger(ScientificObjectResourceService.class);
     
+    // Maximum zoom level of the maps
+    final static int MAX_ZOOM = 24;
+    
     /**
      * Transform ScientificObjectPostDTO to ScientificObject
      * @param scientificObjectDTOs
@@ -249,53 +265,204 @@ public class ScientificObjectResourceService extends ResourceService {
                          example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
     })
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getScientificObjectsBySearch(
+    public void getScientificObjectsBySearch(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
         @ApiParam(value = "Search by URI", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_URI) @QueryParam("uri") String uri,
         @ApiParam(value = "Search by experiment URI", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_URI) @QueryParam("experiment") @URL String experimentURI,
         @ApiParam(value = "Search by alias", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_ALIAS) @QueryParam("alias") String alias,
-        @ApiParam(value = "Search by rdfType", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_TYPE) @QueryParam("rdfType") @URL String rdfType
+        @ApiParam(value = "Search by rdfType", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_TYPE) @QueryParam("rdfType") @URL String rdfType,
+        @ApiParam(value = DocumentationAnnotation.TOTAL_COUNT, allowableValues = "exact,estimated,none") @QueryParam(GlobalWebserviceValues.TOTAL_COUNT) @DefaultValue("exact") String totalCountMode
     ) {
-        ArrayList<ScientificObjectDTO> scientificObjectsToReturn = new ArrayList<>();
-        ArrayList<ScientificObject> scientificObjects = new ArrayList<>();
+        resumeAsync(asyncResponse, Backend.TRIPLESTORE, () -> {
+            // The triplestore counts can not be estimated, they are kept by
+            // the triplestore query cache
+            TotalCountModes countMode = TotalCountModes.fromString(totalCountMode);
+            if (countMode == null) {
+                return getWrongTotalCountModeResponse(totalCountMode);
+            }
+            
+            ArrayList<ScientificObjectDTO> scientificObjectsToReturn = new ArrayList<>();
+            ArrayList<ScientificObject> scientificObjects = new ArrayList<>();
         
-        ArrayList<Status> statusList = new ArrayList<>();
-        ResultForm<ScientificObjectDTO> getResponse;
+            ArrayList<Status> statusList = new ArrayList<>();
+            ResultForm<ScientificObjectDTO> getResponse;
         
-        ScientificObjectRdf4jDAO scientificObjectDaoSesame = new ScientificObjectRdf4jDAO();
-        scientificObjectDaoSesame.user = userSession.getUser();
-        scientificObjectDaoSesame.setPage(page);
-        scientificObjectDaoSesame.setPageSize(pageSize);
+            ScientificObjectRdf4jDAO scientificObjectDaoSesame = new ScientificObjectRdf4jDAO();
+            scientificObjectDaoSesame.user = userSession.getUser();
+            scientificObjectDaoSesame.setPage(page);
+            scientificObjectDaoSesame.setPageSize(pageSize);
         
-        //1. Get count
-        Integer totalCount = scientificObjectDaoSesame.count(uri, rdfType, experimentURI, alias);
+            Integer totalCount = null;
+            try (FanOut fanOut = new FanOut()) {
+                //1. Get count if needed, with its own connection to the triplestore
+                Future<Integer> totalCountFuture = null;
+                if (countMode != TotalCountModes.NONE) {
+                    totalCountFuture = fanOut.submit(() -> {
+                        ScientificObjectRdf4jDAO countDAO = new ScientificObjectRdf4jDAO();
+                        countDAO.user = scientificObjectDaoSesame.user;
+                        return countDAO.count(uri, rdfType, experimentURI, alias);
+                    });
+                }
         
-        // If scientific objects found
-        if(totalCount > 0){
-            //2. Get list of scientific objects
-            scientificObjects = scientificObjectDaoSesame.find(page, pageSize, uri, rdfType, experimentURI, alias);
-        }
+                //2. Get list of scientific objects, at the same time
+                Future<ArrayList<ScientificObject>> scientificObjectsFuture = fanOut.submit(() -> 
+                        scientificObjectDaoSesame.find(page, pageSize, uri, rdfType, experimentURI, alias));
+                
+                if (totalCountFuture != null) {
+                    totalCount = fanOut.join(totalCountFuture);
+                }
+                // If scientific objects found, or not counted
+                if (totalCount == null || totalCount > 0) {
+                    scientificObjects = fanOut.join(scientificObjectsFuture);
+                }
+            }
 
-        if (scientificObjects == null) { //Request failure
-            getResponse = new ResultForm<>(0, 0, scientificObjectsToReturn, true);
-            return noResultFound(getResponse, statusList);
-        } else if (scientificObjects.isEmpty()) { //No result
-            getResponse = new ResultForm<>(0, 0, scientificObjectsToReturn, true);
-            return noResultFound(getResponse, statusList);
-        } else {
-            //Convert all scientific objects to DTO
+            if (scientificObjects == null) { //Request failure
+                getResponse = new ResultForm<>(0, 0, scientificObjectsToReturn, true);
+                return noResultFound(getResponse, statusList);
+            } else if (scientificObjects.isEmpty()) { //No result
+                getResponse = new ResultForm<>(0, 0, scientificObjectsToReturn, true);
+                return noResultFound(getResponse, statusList);
+            } else {
+                //Convert all scientific objects to DTO
+                scientificObjects.forEach((scientificObject) -> {
+                    scientificObjectsToReturn.add(new ScientificObjectDTO(scientificObject));
+                });
+            
+                if (totalCount == null) {
+                    getResponse = new ResultForm<>(scientificObjectDaoSesame.getPageSize(), scientificObjectDaoSesame.getPage(), scientificObjectsToReturn, true, 
+                            hasNextPage(scientificObjects.size(), pageSize));
+                } else {
+                    getResponse = new ResultForm<>(scientificObjectDaoSesame.getPageSize(), scientificObjectDaoSesame.getPage(), scientificObjectsToReturn, true, totalCount);
+                }
+                if (getResponse.getResult().dataSize() == 0) {
+                    return noResultFound(getResponse, statusList);
+                } else {
+                    getResponse.setStatus(statusList);
+                    return Response.status(Response.Status.OK).entity(getResponse).build();
+                }
+            }
+        });
+    }
+
+    /**
+     * Searches the scientific objects by location, to display the visible ones
+     * on a map. The geometries are returned in GeoJSON (EPSG:4326).
+     * @param asyncResponse resumed with the response when the search ends
+     * @param pageSize
+     * @param page
+     * @param experimentURI
+     * @param rdfType
+     * @param bbox bounding box "minLongitude,minLatitude,maxLongitude,maxLatitude"
+     * @param geometry WKT geometry intersected by the scientific objects
+     * @param distance maximum distance in meters to the given geometry
+     * @param zoom map zoom level, the geometries are simplified to its pixel size
+     * @return the scientific objects found
+     */
+    @GET
+    @Path("geometries")
+    @ApiOperation(value = "Get the scientific objects in an area",
+                  notes = "Retrieve the scientific objects with a geometry in a bounding box, intersecting a geometry or near a geometry")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Retrieve the scientific objects geometries", response = ScientificObjectDTO.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_FETCH_DATA)
+    })
+    @ApiImplicitParams({
+         @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                         dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                         value = DocumentationAnnotation.ACCES_TOKEN,
+                         example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getScientificObjectsGeometries(
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
+        @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam(GlobalWebserviceValues.PAGE_SIZE) @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int pageSize,
+        @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam(GlobalWebserviceValues.PAGE) @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
+        @ApiParam(value = "Search by experiment URI", example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_URI) @QueryParam("experiment") @URL String experimentURI,
+        @ApiParam(value = "Search by rdfType", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_TYPE) @QueryParam("rdfType") @URL String rdfType,
+        @ApiParam(value = "Search in a bounding box: min longitude, min latitude, max longitude, max latitude", example = "3.97,43.61,3.98,43.62") @QueryParam("bbox") String bbox,
+        @ApiParam(value = "Search the scientific objects intersecting a WKT geometry (EPSG:4326)", example = DocumentationAnnotation.EXAMPLE_SCIENTIFIC_OBJECT_POLYGON) @QueryParam("geometry") String geometry,
+        @ApiParam(value = "Search the scientific objects at less than a distance in meters of the geometry", example = "10") @QueryParam("distance") @Min(0) Double distance,
+        @ApiParam(value = "Map zoom level, the geometries are simplified to the pixel size", example = "18") @QueryParam("zoom") @Min(0) @Max(MAX_ZOOM) Integer zoom
+    ) {
+        // Check the parameters before queuing the search
+        final boolean hasGeometry = geometry != null && !geometry.trim().isEmpty();
+        if (distance != null && !hasGeometry) {
+            final Status status = new Status(StatusCodeMsg.BAD_DATA_FORMAT, StatusCodeMsg.ERR, "The distance needs a geometry");
+            asyncResponse.resume(Response.status(Response.Status.BAD_REQUEST).entity(new ResponseFormGET(status)).build());
+            return;
+        }
+        double[] coordinatesValues = null;
+        if (bbox != null) {
+            String[] coordinates = bbox.split(",");
+            try {
+                if (coordinates.length != 4) {
+                    throw new NumberFormatException("4 coordinates expected");
+                }
+                coordinatesValues = new double[coordinates.length];
+                for (int i = 0; i < coordinates.length; i++) {
+                    coordinatesValues[i] = Double.parseDouble(coordinates[i].trim());
+                }
+            } catch (NumberFormatException ex) {
+                final Status status = new Status(StatusCodeMsg.BAD_DATA_FORMAT, StatusCodeMsg.ERR, "Wrong bounding box " + bbox + ": " + ex.getMessage());
+                asyncResponse.resume(Response.status(Response.Status.BAD_REQUEST).entity(new ResponseFormGET(status)).build());
+                return;
+            }
+        }
+        final double[] bboxCoordinates = coordinatesValues;
+        
+        resumeAsync(asyncResponse, Backend.POSTGRESQL, () -> {
+            ArrayList<Status> statusList = new ArrayList<>();
+        
+            ScientificObjectSQLDAO scientificObjectSQLDAO = new ScientificObjectSQLDAO();
+            scientificObjectSQLDAO.useSearchDataSource();
+            scientificObjectSQLDAO.setPage(page);
+            scientificObjectSQLDAO.setPageSize(pageSize);
+            scientificObjectSQLDAO.namedGraph = experimentURI;
+            scientificObjectSQLDAO.rdfType = rdfType;
+            scientificObjectSQLDAO.searchedGeometry = hasGeometry ? geometry : null;
+            scientificObjectSQLDAO.distance = distance;
+            scientificObjectSQLDAO.zoom = zoom;
+            scientificObjectSQLDAO.bbox = bboxCoordinates;
+        
+            if (hasGeometry) {
+                Boolean validGeometry = scientificObjectSQLDAO.isValidGeometry(geometry);
+                if (validGeometry == null) { //Request failure
+                    final Status status = new Status(StatusCodeMsg.ERR, StatusCodeMsg.POSTGRESQL_ERROR, DocumentationAnnotation.ERROR_FETCH_DATA);
+                    return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(new ResponseFormGET(status)).build();
+                } else if (!validGeometry) {
+                    final Status status = new Status(StatusCodeMsg.BAD_DATA_FORMAT, StatusCodeMsg.ERR, "Wrong WKT geometry " + geometry);
+                    return Response.status(Response.Status.BAD_REQUEST).entity(new ResponseFormGET(status)).build();
+                }
+            }
+        
+            //1. Get count
+            Integer totalCount = scientificObjectSQLDAO.count();
+            ArrayList<ScientificObject> scientificObjects = new ArrayList<>();
+            if (totalCount != null && totalCount > 0) {
+                //2. Get the scientific objects of the page
+                scientificObjects = scientificObjectSQLDAO.allPaginate();
+            }
+        
+            if (totalCount == null || scientificObjects == null) { //Request failure
+                final Status status = new Status(StatusCodeMsg.ERR, StatusCodeMsg.POSTGRESQL_ERROR, DocumentationAnnotation.ERROR_FETCH_DATA);
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(new ResponseFormGET(status)).build();
+            }
+        
+            ArrayList<ScientificObjectDTO> scientificObjectsToReturn = new ArrayList<>();
             scientificObjects.forEach((scientificObject) -> {
                 scientificObjectsToReturn.add(new ScientificObjectDTO(scientificObject));
             });
-            
-            getResponse = new ResultForm<>(scientificObjectDaoSesame.getPageSize(), scientificObjectDaoSesame.getPage(), scientificObjectsToReturn, true, totalCount);
-            if (getResponse.getResult().dataSize() == 0) {
+            ResultForm<ScientificObjectDTO> getResponse = new ResultForm<>(scientificObjectSQLDAO.getPageSize(), scientificObjectSQLDAO.getPage(), scientificObjectsToReturn, true, totalCount);
+            if (scientificObjectsToReturn.isEmpty()) {
                 return noResultFound(getResponse, statusList);
-            } else {
-                getResponse.setStatus(statusList);
-                return Response.status(Response.Status.OK).entity(getResponse).build();
             }
-        }
+            getResponse.setStatus(statusList);
+            return Response.status(Response.Status.OK).entity(getResponse).build();
+        });
     }
 }
@@ -14,24 +14,44 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import opensilex.service.PropertiesFileManager;
 import opensilex.service.configuration.GlobalWebserviceValues;
 import opensilex.service.dao.UserDAO;
 import opensilex.service.dao.TripletDAO;
 import opensilex.service.documentation.DocumentationAnnotation;
+import opensilex.service.documentation.StatusCodeMsg;
 import opensilex.service.resource.dto.TripletDTO;
 import opensilex.service.resource.validation.interfaces.Required;
+import opensilex.service.resource.validation.interfaces.URL;
 import opensilex.service.utils.POSTResultsReturn;
+import opensilex.service.view.brapi.Status;
 import opensilex.service.view.brapi.form.AbstractResultForm;
 import opensilex.service.view.brapi.form.ResponseFormPOST;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * RDF Triplet resource service.
@@ -41,11 +61,19 @@ import opensilex.service.view.brapi.form.ResponseFormPOST;
  * "o"
  * "o_type" = "literal" or "uri" ("bnode" is not implemented yet)
  * "o_lang" = "en-US" for example
+ * RDF documents can also be loaded in Turtle, N-Triples or N-Quads.
+ * @update [agent] 18 Oct. 2026: Load RDF documents
  * @author Morgane Vidal <morgane.vidal@inra.fr>
  */
 @Api("/triplets")
 @Path("/triplets")
 public class TripletsResourceService extends ResourceService {
+    final static Logger LOGGER = LoggerFactory.getLogger(TripletsResourceService.class);
+    
+    final static String TURTLE_MEDIA_TYPE = "text/turtle";
+    final static String N_TRIPLES_MEDIA_TYPE = "application/n-triples";
+    final static String N_QUADS_MEDIA_TYPE = "application/n-quads";
+    
     /**
      * Inserts triplets.
      * @param triplets triplets list to save. 
@@ -77,6 +105,7 @@ public class TripletsResourceService extends ResourceService {
                   notes = "Register new triplets in the triplestore")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "Triplets saved", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
         @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
         @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
         @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_SEND_DATA)
@@ -89,6 +118,8 @@ public class TripletsResourceService extends ResourceService {
     })
     public Response postTriplets(
             @ApiParam(value = DocumentationAnnotation.TRIPLET_POST_DATA_DEFINITION, required = true) @Required @Valid ArrayList<ArrayList<TripletDTO>> triplets,
+            @ApiParam(value = DocumentationAnnotation.JOB_ASYNC_DEFINITION) @QueryParam("async") @DefaultValue("false") boolean async,
+            @Context UriInfo uriInfo,
             @Context HttpServletRequest context) {
         
         //SILEX:warning
@@ -109,6 +140,10 @@ public class TripletsResourceService extends ResourceService {
                 String graphUri = PropertiesFileManager.getConfigFileProperty("sesame_rdf_config", "baseURI") 
                         + Long.toString(new Timestamp(System.currentTimeMillis()).getTime());
                 
+                if (async) {
+                    return getAcceptedResponseFromJob("triplets", (jobContext) -> tripletDao.checkAndInsert(triplets, graphUri), uriInfo);
+                }
+                
                 POSTResultsReturn insertResult = tripletDao.checkAndInsert(triplets, graphUri);
                 
                 //triplets inserted
@@ -130,6 +165,103 @@ public class TripletsResourceService extends ResourceService {
         }
     }
     
+    /**
+     * Loads an RDF document in the triplestore.
+     * The document is streamed to the triplestore by chunks of statements, each
+     * chunk being checked then loaded in its own transaction.
+     * In asynchronous mode, the document is first copied to a temporary file
+     * and the job progress is the part of the file loaded.
+     * @see TripletDAO#load(java.io.InputStream, long, org.eclipse.rdf4j.rio.RDFFormat, java.lang.String, opensilex.service.job.JobContext)
+     * @param document
+     * @param contentType
+     * @param graph
+     * @param async
+     * @param uriInfo
+     * @param context
+     * @return the number of statements loaded or the errors found
+     */
+    @POST
+    @Path("load")
+    @ApiOperation(value = "Load an RDF document",
+                  notes = "Register the statements of a Turtle, N-Triples or N-Quads document in the triplestore. "
+                          + "The statements are loaded by chunks: if an error is found, the previous chunks stay loaded.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 201, message = "Statements loaded", response = ResponseFormPOST.class),
+        @ApiResponse(code = 202, message = DocumentationAnnotation.JOB_ASYNC_DEFINITION, response = ResponseFormPOST.class),
+        @ApiResponse(code = 400, message = DocumentationAnnotation.BAD_USER_INFORMATION),
+        @ApiResponse(code = 401, message = DocumentationAnnotation.USER_NOT_AUTHORIZED),
+        @ApiResponse(code = 500, message = DocumentationAnnotation.ERROR_SEND_DATA)
+    })
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = GlobalWebserviceValues.AUTHORIZATION, required = true,
+                dataType = GlobalWebserviceValues.DATA_TYPE_STRING, paramType = GlobalWebserviceValues.HEADER,
+                value = DocumentationAnnotation.ACCES_TOKEN,
+                example = GlobalWebserviceValues.AUTHENTICATION_SCHEME + " ")
+    })
+    @Consumes({TURTLE_MEDIA_TYPE, N_TRIPLES_MEDIA_TYPE, N_QUADS_MEDIA_TYPE})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response loadTriplets(
+            @ApiParam(value = DocumentationAnnotation.TRIPLET_LOAD_DATA_DEFINITION, required = true) InputStream document,
+            @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+            @ApiParam(value = DocumentationAnnotation.TRIPLET_LOAD_GRAPH_DEFINITION) @QueryParam("graph") @URL String graph,
+            @ApiParam(value = DocumentationAnnotation.JOB_ASYNC_DEFINITION) @QueryParam("async") @DefaultValue("false") boolean async,
+            @Context UriInfo uriInfo,
+            @Context HttpServletRequest context) {
+        if (!canUserAddTriplets()) {
+            return Response.status(Response.Status.FORBIDDEN).entity(new ResponseFormPOST()).build();
+        }
+        
+        MediaType mediaType = MediaType.valueOf(contentType);
+        RDFFormat format = Rio.getParserFormatForMIMEType(mediaType.getType() + "/" + mediaType.getSubtype()).orElse(null);
+        if (format == null) {
+            return Response.status(Response.Status.UNSUPPORTED_MEDIA_TYPE).entity(new ResponseFormPOST()).build();
+        }
+        
+        TripletDAO tripletDao = new TripletDAO();
+        if (context.getRemoteAddr() != null) {
+            tripletDao.remoteUserAdress = context.getRemoteAddr();
+        }
+        tripletDao.user = userSession.getUser();
+        
+        String graphUri = graph != null 
+                ? graph 
+                : PropertiesFileManager.getConfigFileProperty("sesame_rdf_config", "baseURI") 
+                        + Long.toString(new Timestamp(System.currentTimeMillis()).getTime());
+        
+        if (async) {
+            java.nio.file.Path documentFile;
+            try {
+                documentFile = Files.createTempFile("triplets", "." + format.getDefaultFileExtension());
+                Files.copy(document, documentFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                LOGGER.error(ex.getMessage(), ex);
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity(new ResponseFormPOST(new Status(StatusCodeMsg.ERR, StatusCodeMsg.ERR, ex.getMessage())))
+                        .build();
+            }
+            Response response = getAcceptedResponseFromJob("triplets", (jobContext) -> {
+                try (InputStream documentStream = new BufferedInputStream(Files.newInputStream(documentFile))) {
+                    return tripletDao.load(documentStream, Files.size(documentFile), format, graphUri, jobContext);
+                } finally {
+                    Files.deleteIfExists(documentFile);
+                }
+            }, uriInfo);
+            if (response.getStatus() != Response.Status.ACCEPTED.getStatusCode()) {
+                try {
+                    Files.deleteIfExists(documentFile);
+                } catch (IOException ex) {
+                    LOGGER.warn(ex.getMessage(), ex);
+                }
+            }
+            return response;
+        }
+        
+        POSTResultsReturn loadResult = tripletDao.load(new BufferedInputStream(document), 0, format, graphUri, null);
+        ResponseFormPOST postResponse = new ResponseFormPOST(loadResult.statusList);
+        postResponse.getMetadata().setDatafiles(loadResult.getCreatedResources());
+        return Response.status(loadResult.getHttpStatus()).entity(postResponse).build();
+    }
+    
     /**
      * Checks if the user can insert triplets in the triplestore. 
      * Only admins can insert triplets.
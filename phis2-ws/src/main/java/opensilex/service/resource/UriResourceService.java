@@ -23,8 +23,10 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
 import opensilex.service.dao.UriDAO;
@@ -195,8 +197,12 @@ public class UriResourceService extends ResourceService {
      * @param language
      * @param limit
      * @param page
+     * @param cursor URI of the last instance of the previous page
+     * @param uriInfo
      * @update [Arnaud Charleroy] 18 Jul. 2018: change deep string type to real 
      * boolean type
+     * @update [agent] 18 Oct. 2026: paginate in the triplestore and 
+     * add the cursor
      * @return the query result, with the list of the instances or the errors
      */
     @GET
@@ -221,12 +227,15 @@ public class UriResourceService extends ResourceService {
             @ApiParam(value = DocumentationAnnotation.DEEP) @QueryParam("deep") @DefaultValue(DocumentationAnnotation.EXAMPLE_DEEP) Boolean deep,
             @ApiParam(value = DocumentationAnnotation.DEEP) @QueryParam("language") @DefaultValue(DocumentationAnnotation.EXAMPLE_LANGUAGE) String language,
             @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam("pageSize") @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int limit,
-            @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam("page") @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page) {
+            @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam("page") @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page,
+            @ApiParam(value = DocumentationAnnotation.INSTANCES_CURSOR, example = DocumentationAnnotation.EXAMPLE_INSTANCE_URI) @QueryParam("cursor") @URL String cursor,
+            @Context UriInfo uriInfo) {
 
         UriDAO uriDao = new UriDAO();
         if (uri != null) {
             uriDao.uri = uri;
         }
+        uriDao.cursor = cursor;
 
         if (deep != null) {
             uriDao.deep = deep;
@@ -244,7 +253,7 @@ public class UriResourceService extends ResourceService {
         uriDao.setPage(page);
         uriDao.user = userSession.getUser();
 
-        return getInstancesData(uriDao);
+        return getInstancesData(uriDao, uriInfo);
     }
 
     /**
@@ -470,29 +479,31 @@ public class UriResourceService extends ResourceService {
 
     /**
      * Collects all the data for the instances request.
+     * When the page is full, the Link header gives the URL of the next page.
      * @param uriDao
+     * @param uriInfo
      * @return Response
      */
-    private Response getInstancesData(UriDAO uriDao) {
+    private Response getInstancesData(UriDAO uriDao, UriInfo uriInfo) {
         ArrayList<Uri> uris;
         ArrayList<Status> statusList = new ArrayList<>();
         ResultForm<Uri> getResponse;
 
         uris = uriDao.instancesPaginate();
-        if (uris == null) { //no result found
-            getResponse = new ResultForm<>(0, 0, uris, true);
+        if (uris == null || uris.isEmpty()) { //no result found
+            getResponse = new ResultForm<>(0, 0, new ArrayList<>(), true);
             return noResultFound(getResponse, statusList);
-        } else if (!uris.isEmpty()) { //result founded
-            getResponse = new ResultForm<>(uriDao.getPageSize(), uriDao.getPage(), uris, false);
-            if (getResponse.getResult().dataSize() == 0) { //no result found
-                return noResultFound(getResponse, statusList);
-            } else { //return instances metadata
-                getResponse.setStatus(statusList);
-                return Response.status(Response.Status.OK).entity(getResponse).build();
+        } else { //return instances metadata
+            getResponse = new ResultForm<>(uriDao.getPageSize(), uriDao.getPage(), uris, true, uriDao.instancesCount());
+            getResponse.setStatus(statusList);
+            Response.ResponseBuilder response = Response.status(Response.Status.OK).entity(getResponse);
+            if (uris.size() == uriDao.getPageSize()) {
+                response.link(uriInfo.getRequestUriBuilder()
+                        .replaceQueryParam("page")
+                        .replaceQueryParam("cursor", uris.get(uris.size() - 1).getUri())
+                        .build(), "next");
             }
-        } else { //no result found
-            getResponse = new ResultForm<>(0, 0, uris, true);
-            return noResultFound(getResponse, statusList);
+            return response.build();
         }
     }
 
@@ -104,6 +104,7 @@ public class UserResourceService extends ResourceService {
     @ApiParam(value = "Search by available", example = DocumentationAnnotation.EXAMPLE_USER_AVAILABLE) @QueryParam("available") String available,
     @ApiParam(value = "Search by uri", example = DocumentationAnnotation.EXAMPLE_USER_URI) @QueryParam("uri") @URL String uri) {
         UserDAO userDao = new UserDAO();
+        userDao.useSearchDataSource();
         if (email != null) {
             userDao.email = email;
         }
@@ -7,6 +7,7 @@
 //******************************************************************************
 package opensilex.service.resource.brapi;
 
+import opensilex.service.metrics.Backend;
 import opensilex.service.resource.dto.experiment.StudyDTO;
 import opensilex.service.dao.StudySQLDAO;
 import io.swagger.annotations.Api;
@@ -30,6 +31,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import opensilex.service.configuration.DateFormat;
 import opensilex.service.configuration.DefaultBrapiPaginationValues;
 import opensilex.service.configuration.GlobalWebserviceValues;
@@ -65,6 +68,7 @@ import org.slf4j.LoggerFactory;
  * Study services :
  * GET Studies/{studyDbId}
  * GET Studies/{studyDbId}/observations
+ * @update [agent] 18 Oct. 2026: Process the searches asynchronously
  * @author Alice Boizet <alice.boizet@inra.fr>
  */
 public class StudiesResourceService extends ResourceService implements BrapiCall {    
@@ -313,6 +317,7 @@ public class StudiesResourceService extends ResourceService implements BrapiCall
 
     /**
      * Retrieve one study observations
+     * @param asyncResponse resumed with the response when the search ends
      * @param studyDbId
      * @param observationVariableDbIds
      * @param limit
@@ -370,29 +375,32 @@ public class StudiesResourceService extends ResourceService implements BrapiCall
 
     @Produces(MediaType.APPLICATION_JSON)   
 
-    public Response getObservations (
+    public void getObservations (
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = "studyDbId", required = true, example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_URI ) @PathParam("studyDbId") @URL @Required String studyDbId,
         @ApiParam(value = "observationVariableDbIds") @QueryParam(value = "observationVariableDbIds") @URL List<String> observationVariableDbIds,  
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam("pageSize") @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int limit,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam("page") @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page
-    ) throws SQLException {               
+    ) {
+        resumeAsync(asyncResponse, Backend.MONGODB, () -> {
 
-        StudySQLDAO studyDAO = new StudySQLDAO();
-        List<String> variableURIs = new ArrayList();
+            StudySQLDAO studyDAO = new StudySQLDAO();
+            List<String> variableURIs = new ArrayList();
 
-        if (studyDbId != null) {
-            studyDAO.studyDbIds = new ArrayList();
-            studyDAO.studyDbIds.add(studyDbId);
-        }      
+            if (studyDbId != null) {
+                studyDAO.studyDbIds = new ArrayList();
+                studyDAO.studyDbIds.add(studyDbId);
+            }      
 
-        studyDAO.setPageSize(1);
-        studyDAO.user = userSession.getUser();
+            studyDAO.setPageSize(1);
+            studyDAO.user = userSession.getUser();
 
-        if (observationVariableDbIds != null) {
-            variableURIs = observationVariableDbIds;
-        }
+            if (observationVariableDbIds != null) {
+                variableURIs = observationVariableDbIds;
+            }
 
-        return getStudyObservations(studyDAO, variableURIs, limit, page);
+            return getStudyObservations(studyDAO, variableURIs, limit, page);
+        });
     }
     /**
      * Brapi Call GET studies/{studyDbId}/observationvariables V1.3
@@ -649,45 +657,48 @@ public class StudiesResourceService extends ResourceService implements BrapiCall
 
     @Produces(MediaType.APPLICATION_JSON)   
 
-    public Response getObservationUnits (
+    public void getObservationUnits (
+        @ApiParam(hidden = true) @Suspended final AsyncResponse asyncResponse,
         @ApiParam(value = "studyDbId", required = true, example = DocumentationAnnotation.EXAMPLE_EXPERIMENT_URI ) @PathParam("studyDbId") @URL @Required String studyDbId,
         @ApiParam(value = "observationLevel", example = "Plot" ) @QueryParam("observationLevel") String  observationLevel,
         @ApiParam(value = DocumentationAnnotation.PAGE_SIZE) @QueryParam("pageSize") @DefaultValue(DefaultBrapiPaginationValues.PAGE_SIZE) @Min(0) int limit,
         @ApiParam(value = DocumentationAnnotation.PAGE) @QueryParam("page") @DefaultValue(DefaultBrapiPaginationValues.PAGE) @Min(0) int page
-    ) throws SQLException {           
+    ) {
+        resumeAsync(asyncResponse, Backend.TRIPLESTORE, () -> {
 
-        ArrayList<Status> statusList = new ArrayList<>();  
+            ArrayList<Status> statusList = new ArrayList<>();  
 
-        ScientificObjectRdf4jDAO scientificObjectsDAO = new ScientificObjectRdf4jDAO();
-        String rdfType = null;
-        if (observationLevel != null) {
-            rdfType =  Oeso.NAMESPACE + observationLevel;
-        }
+            ScientificObjectRdf4jDAO scientificObjectsDAO = new ScientificObjectRdf4jDAO();
+            String rdfType = null;
+            if (observationLevel != null) {
+                rdfType =  Oeso.NAMESPACE + observationLevel;
+            }
         
-        ArrayList<ScientificObject> scientificObjects = scientificObjectsDAO.find(null, null, null, rdfType, studyDbId, null);
+            ArrayList<ScientificObject> scientificObjects = scientificObjectsDAO.find(null, null, null, rdfType, studyDbId, null);
 
-        ExperimentSQLDAO experimentDAO = new ExperimentSQLDAO();
-        experimentDAO.uri = studyDbId;
-        experimentDAO.setPageSize(1);
-        experimentDAO.user = userSession.getUser();
+            ExperimentSQLDAO experimentDAO = new ExperimentSQLDAO();
+            experimentDAO.uri = studyDbId;
+            experimentDAO.setPageSize(1);
+            experimentDAO.user = userSession.getUser();
         
-        if (!experimentDAO.allPaginate().isEmpty()) {
-            Experiment experiment = experimentDAO.allPaginate().get(0);
-            ArrayList<BrapiObservationUnitDTO> observationUnits= getObservationUnitsResult(scientificObjects,experiment);
-
-            if (observationUnits.isEmpty()) {
-                BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(0, 0, observationUnits, true);
-                return noResultFound(getResponse, statusList);
-            } else {
-                BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(limit, page, observationUnits, false);
-                return Response.status(Response.Status.OK).entity(getResponse).build();
-            }  
+            if (!experimentDAO.allPaginate().isEmpty()) {
+                Experiment experiment = experimentDAO.allPaginate().get(0);
+                ArrayList<BrapiObservationUnitDTO> observationUnits= getObservationUnitsResult(scientificObjects,experiment);
+
+                if (observationUnits.isEmpty()) {
+                    BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(0, 0, observationUnits, true);
+                    return noResultFound(getResponse, statusList);
+                } else {
+                    BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(limit, page, observationUnits, false);
+                    return Response.status(Response.Status.OK).entity(getResponse).build();
+                }  
             
-        } else {
-            BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(0, 0, experimentDAO.allPaginate(), true);
-            return noResultFound(getResponse, statusList);
-        }        
+            } else {
+                BrapiMultiResponseForm getResponse = new BrapiMultiResponseForm(0, 0, experimentDAO.allPaginate(), true);
+                return noResultFound(getResponse, statusList);
+            }        
 
+        });
     }
 
     private Response noResultFound(BrapiMultiResponseForm getResponse, ArrayList<Status> insertStatusList) {
@@ -112,6 +112,7 @@ public class StudiesSearchResourceService extends ResourceService implements Bra
         if (studySearch != null) {                    
             // get studies from postgresql DB
             StudySQLDAO studySqlDAO = new StudySQLDAO();
+            studySqlDAO.useSearchDataSource();
             
 //          //get studies from rdf4j based on germplasms --> to implement when germplasm services implemented;
 //            if (studySearch.getGermplasmDbIds() != null) {
@@ -286,6 +287,7 @@ public class StudiesSearchResourceService extends ResourceService implements Bra
         ) throws SQLException {               
 
          StudySQLDAO studySqlDAO = new StudySQLDAO();
+         studySqlDAO.useSearchDataSource();
 
         if (studyDbId != null) {
             studySqlDAO.studyDbIds = new ArrayList();
@@ -0,0 +1,142 @@
+//******************************************************************************
+//                                 JobDTO.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource.dto.job;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import opensilex.service.configuration.DateFormat;
+import opensilex.service.model.Job;
+
+/**
+ * Asynchronous job DTO.
+ * @author agent <agent@local>
+ */
+public class JobDTO {
+
+    /**
+     * Job identifier.
+     * @example 5dcd2d8c7a6a1e3b1c4e8f21
+     */
+    protected String id;
+
+    /**
+     * Kind of operation.
+     * @example datasets
+     */
+    protected String type;
+
+    /**
+     * Email of the user who submitted the job.
+     * @example admin@opensilex.org
+     */
+    protected String owner;
+
+    /**
+     * Job status (pending, running, succeeded, failed, cancelled).
+     * @example running
+     */
+    protected String status;
+
+    /**
+     * Progress in percent.
+     * @example 40
+     */
+    protected Integer progress;
+
+    /**
+     * Dates of the job. The format is yyyy-MM-ddTHH:mm:ssZ
+     * @example 2019-11-14T10:51:00+0100
+     */
+    protected String creationDate;
+    protected String startDate;
+    protected String endDate;
+
+    public JobDTO(Job job) {
+        SimpleDateFormat df = new SimpleDateFormat(DateFormat.YMDTHMSZ.toString());
+
+        setId(job.getId());
+        setType(job.getType());
+        setOwner(job.getOwner());
+        setStatus(job.getStatus());
+        setProgress(job.getProgress());
+        setCreationDate(formatDate(df, job.getCreationDate()));
+        setStartDate(formatDate(df, job.getStartDate()));
+        setEndDate(formatDate(df, job.getEndDate()));
+    }
+
+    private static String formatDate(SimpleDateFormat df, Date date) {
+        if (date == null) {
+            return null;
+        }
+        return df.format(date);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public String getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(String creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+}
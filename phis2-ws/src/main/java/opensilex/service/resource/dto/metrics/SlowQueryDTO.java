@@ -0,0 +1,164 @@
+//******************************************************************************
+//                               SlowQueryDTO.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource.dto.metrics;
+
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+import opensilex.service.configuration.DateFormat;
+import opensilex.service.metrics.SlowQueryLog.SlowQuery;
+
+/**
+ * Slow query DTO.
+ * @author agent <agent@local>
+ */
+public class SlowQueryDTO {
+
+    /**
+     * Backend which executed the query (triplestore, mongodb, postgresql).
+     * @example triplestore
+     */
+    protected String backend;
+
+    /**
+     * Query with the literals replaced by "?".
+     * @example SELECT ?uri WHERE { ?uri <http://www.w3.org/2000/01/rdf-schema#label> ?label . FILTER ( REGEX ( str(?label),?,?) ) }
+     */
+    protected String fingerprint;
+
+    /**
+     * Number of slow executions.
+     * @example 12
+     */
+    protected Long count;
+
+    /**
+     * Durations of the slow executions, in milliseconds.
+     * The percentiles are computed on the last executions.
+     */
+    protected Long totalMs;
+    protected Long meanMs;
+    protected Long maxMs;
+    protected Long p50Ms;
+    protected Long p95Ms;
+    protected Long p99Ms;
+
+    /**
+     * Dates of the first and the last slow executions. The format is yyyy-MM-ddTHH:mm:ssZ
+     * @example 2019-11-14T10:51:00+0100
+     */
+    protected String firstSeen;
+    protected String lastSeen;
+
+    public SlowQueryDTO(SlowQuery slowQuery) {
+        SimpleDateFormat df = new SimpleDateFormat(DateFormat.YMDTHMSZ.toString());
+
+        setBackend(slowQuery.getBackend().toString());
+        setFingerprint(slowQuery.getFingerprint());
+        setCount(slowQuery.getCount());
+        setTotalMs(toMillis(slowQuery.getTotalNanos()));
+        setMeanMs(toMillis(slowQuery.getTotalNanos() / Math.max(1, slowQuery.getCount())));
+        setMaxMs(toMillis(slowQuery.getMaxNanos()));
+        setP50Ms(toMillis(slowQuery.getPercentileNanos(50)));
+        setP95Ms(toMillis(slowQuery.getPercentileNanos(95)));
+        setP99Ms(toMillis(slowQuery.getPercentileNanos(99)));
+        setFirstSeen(df.format(slowQuery.getFirstSeen()));
+        setLastSeen(df.format(slowQuery.getLastSeen()));
+    }
+
+    private static Long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Long getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(Long totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public Long getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(Long meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public Long getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(Long maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public Long getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(Long p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public Long getP95Ms() {
+        return p95Ms;
+    }
+
+    public void setP95Ms(Long p95Ms) {
+        this.p95Ms = p95Ms;
+    }
+
+    public Long getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(Long p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public String getFirstSeen() {
+        return firstSeen;
+    }
+
+    public void setFirstSeen(String firstSeen) {
+        this.firstSeen = firstSeen;
+    }
+
+    public String getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(String lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+}
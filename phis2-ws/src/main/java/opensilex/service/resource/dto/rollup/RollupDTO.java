@@ -0,0 +1,158 @@
+//******************************************************************************
+//                                 RollupDTO.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource.dto.rollup;
+
+import java.text.SimpleDateFormat;
+import opensilex.service.configuration.DateFormat;
+import opensilex.service.model.Rollup;
+
+/**
+ * Rollup DTO: summary of the numeric measures of an interval.
+ * @author agent <agent@local>
+ */
+public class RollupDTO {
+
+    /**
+     * Start of the interval.
+     * The format should be yyyy-MM-ddTHH:mm:ssZ.
+     * @example 2018-06-25T02:00:00+0200
+     */
+    protected String date;
+
+    /**
+     * URI of the variable of the measures.
+     * @example http://www.opensilex.org/demo/id/variables/v004
+     */
+    protected String variableUri;
+
+    /**
+     * URI of the scientific object or sensor of the measures.
+     * @example http://www.phenome-fppn.fr/mtp/2018/s18003
+     */
+    protected String subjectUri;
+
+    /**
+     * URI of the provenance of the measures.
+     * @example http://www.phenome-fppn.fr/mtp/2018/pv181515071552
+     */
+    protected String provenanceUri;
+
+    /**
+     * Number of measures.
+     * @example 24
+     */
+    protected long count;
+
+    /**
+     * @example 29.5
+     */
+    protected double sum;
+
+    /**
+     * @example 0.4
+     */
+    protected Double min;
+
+    /**
+     * @example 2.1
+     */
+    protected Double max;
+
+    /**
+     * @example 1.23
+     */
+    protected Double mean;
+
+    public RollupDTO(Rollup rollup) {
+        if (rollup.getDate() != null) {
+            SimpleDateFormat df = new SimpleDateFormat(DateFormat.YMDTHMSZ.toString());
+            setDate(df.format(rollup.getDate()));
+        }
+
+        setVariableUri(rollup.getVariableUri());
+        setSubjectUri(rollup.getSubjectUri());
+        setProvenanceUri(rollup.getProvenanceUri());
+        setCount(rollup.getCount());
+        setSum(rollup.getSum());
+        setMin(rollup.getMin());
+        setMax(rollup.getMax());
+        setMean(rollup.getMean());
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getVariableUri() {
+        return variableUri;
+    }
+
+    public void setVariableUri(String variableUri) {
+        this.variableUri = variableUri;
+    }
+
+    public String getSubjectUri() {
+        return subjectUri;
+    }
+
+    public void setSubjectUri(String subjectUri) {
+        this.subjectUri = subjectUri;
+    }
+
+    public String getProvenanceUri() {
+        return provenanceUri;
+    }
+
+    public void setProvenanceUri(String provenanceUri) {
+        this.provenanceUri = provenanceUri;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+}
@@ -0,0 +1,116 @@
+//******************************************************************************
+//                              MetricsFilter.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.resource.request.filter;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Priority;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.Provider;
+import opensilex.service.PropertiesFileManager;
+import opensilex.service.metrics.MetricsRegistry;
+import opensilex.service.metrics.RequestMetrics;
+
+/**
+ * Metrics filter.
+ * Records the duration of each request by resource method and binds the
+ * request to the thread processing it, so that the backend calls are
+ * attributed to the request. If the metricsResponseHeader property is true,
+ * the backend calls of the request are sent in a Server-Timing header.
+ * It runs before the authentication filter to measure it too.
+ * @see MetricsRegistry
+ * @author agent <agent@local>
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION - 100)
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public final static String SERVER_TIMING_HEADER = "Server-Timing";
+    private final static String START_TIME_PROPERTY = "opensilex.metrics.startTime";
+    private final static String REQUEST_METRICS_PROPERTY = "opensilex.metrics.request";
+    private final static String UNMATCHED_ENDPOINT = "unmatched";
+
+    private final static boolean RESPONSE_HEADER = Boolean.parseBoolean(
+            PropertiesFileManager.getConfigFileProperty("service", "metricsResponseHeader"));
+
+    // Path templates by resource method
+    private final static Map<Method, String> ENDPOINTS = new ConcurrentHashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    /**
+     * Starts the request metrics.
+     * @param requestContext
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_TIME_PROPERTY, System.nanoTime());
+        requestContext.setProperty(REQUEST_METRICS_PROPERTY, RequestMetrics.start());
+    }
+
+    /**
+     * Records the request metrics.
+     * @param requestContext
+     * @param responseContext
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object startTime = requestContext.getProperty(START_TIME_PROPERTY);
+        if (startTime == null) {
+            return;
+        }
+        long duration = System.nanoTime() - (Long) startTime;
+        // An asynchronous response may be sent by another thread than the one
+        // which processed the request
+        RequestMetrics.end();
+        RequestMetrics request = (RequestMetrics) requestContext.getProperty(REQUEST_METRICS_PROPERTY);
+
+        MetricsRegistry.getInstance().recordRequest(
+                requestContext.getMethod() + " " + getEndpoint(), duration, request);
+
+        if (RESPONSE_HEADER && request != null) {
+            responseContext.getHeaders().add(SERVER_TIMING_HEADER, request.toServerTiming(duration));
+        }
+    }
+
+    /**
+     * @return the path template of the matched resource method
+     * @example /experiments/{uri}/variables
+     */
+    private String getEndpoint() {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return UNMATCHED_ENDPOINT;
+        }
+        return ENDPOINTS.computeIfAbsent(method, (resourceMethod) -> {
+            StringBuilder path = new StringBuilder();
+            Path classPath = resourceInfo.getResourceClass().getAnnotation(Path.class);
+            if (classPath != null) {
+                path.append("/").append(classPath.value());
+            }
+            Path methodPath = resourceMethod.getAnnotation(Path.class);
+            if (methodPath != null) {
+                path.append("/").append(methodPath.value());
+            }
+            String endpoint = path.toString().replaceAll("/+", "/");
+            if (endpoint.length() > 1 && endpoint.endsWith("/")) {
+                endpoint = endpoint.substring(0, endpoint.length() - 1);
+            }
+            return endpoint.isEmpty() ? "/" : endpoint;
+        });
+    }
+}
@@ -64,7 +64,7 @@ public class Result<T> {
      */
      final ArrayList<T> copyList(ArrayList<T> list, Pagination pagination) {
         ArrayList<T> finalList = new ArrayList();
-        if (pagination.getCurrentPage() > pagination.getTotalPages()) {
+        if (pagination.getTotalPages() != null && pagination.getCurrentPage() > pagination.getTotalPages()) {
             return finalList;
         }
         int i = (pagination.getCurrentPage()) * pagination.getPageSize();
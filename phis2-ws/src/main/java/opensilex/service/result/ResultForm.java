@@ -56,6 +56,23 @@ public class ResultForm<T> {
         }
     }
     
+    /**
+     * Initializes metadata and result fields, without the total count.
+     * @param pageSize results per page
+     * @param currentPage current page
+     * @param list results list
+     * @param paginate 
+     * @param hasNextPage true if there may be results after the current page
+     */
+    public ResultForm(int pageSize, int currentPage, ArrayList<T> list, boolean paginate, boolean hasNextPage) {
+        metadata = new Metadata(pageSize, currentPage, hasNextPage);
+        if (list.size() > 1) {
+            result = new Result<>(list, metadata.getPagination(), paginate);
+        } else {
+            result = new Result<>(list);
+        }
+    }
+    
     public int resultSize() {
         return result.dataSize();
     }
@@ -65,7 +65,7 @@ import opensilex.service.model.Group;
 public class UriGenerator {    
     private static final String URI_CODE_ACTUATOR = "a";
     private static final String URI_CODE_SCIENTIFIC_OBJECT = "o";
-    private static final String URI_CODE_IMAGE = "i";
+    public static final String URI_CODE_IMAGE = "i";
     private static final String URI_CODE_METHOD = "m";
     private static final String URI_CODE_SENSOR = "s";
     private static final String URI_CODE_RADIOMETRIC_TARGET = "rt";
@@ -576,35 +576,22 @@ public class UriGenerator {
      * digit
      * @example http://www.phenome-fppn.fr/diaphen/2018/i180000000001
      * @param year the year of insertion of the image
-     * @param lastGeneratedUri if a few URI has been generated but not inserted,
-     * corresponds to the last generated URI
+     * @param lastGeneratedUri not used anymore, each call reserves a new image
+     * number in the images counter
      * @return the new URI
      */
     private static String generateImageUri(String year, String lastGeneratedUri) {
-        if (lastGeneratedUri == null) {
-            ImageMetadataMongoDAO imageMongoDao = new ImageMetadataMongoDAO();
-            long imagesNumber = imageMongoDao.getImagesCountOfCurrentYear();
-            imagesNumber++;
-
-            //calculate the number of 0 to add before the number of the image
-            String nbImagesByYear = Long.toString(imagesNumber);
-            while (nbImagesByYear.length() < 10) {
-                nbImagesByYear = "0" + nbImagesByYear;
-            }
-
-            String uniqueId = URI_CODE_IMAGE + year.substring(2, 4) + nbImagesByYear;
-            return PLATFORM_URI + year + "/" + uniqueId;
-        } else {
-            int uniqueId = Integer.parseInt(lastGeneratedUri.split("/" + URI_CODE_IMAGE + year.substring(2, 4))[1]);
-            uniqueId++;
-
-            String nbImagesByYear = Long.toString(uniqueId);
-            while (nbImagesByYear.length() < 10) {
-                nbImagesByYear = "0" + nbImagesByYear;
-            }
+        ImageMetadataMongoDAO imageMongoDao = new ImageMetadataMongoDAO();
+        long imagesNumber = imageMongoDao.getNextImageNumber(year);
 
-            return PLATFORM_URI + year + nbImagesByYear;
+        //calculate the number of 0 to add before the number of the image
+        String nbImagesByYear = Long.toString(imagesNumber);
+        while (nbImagesByYear.length() < 10) {
+            nbImagesByYear = "0" + nbImagesByYear;
         }
+
+        String uniqueId = URI_CODE_IMAGE + year.substring(2, 4) + nbImagesByYear;
+        return PLATFORM_URI + year + "/" + uniqueId;
     }
     
     /**
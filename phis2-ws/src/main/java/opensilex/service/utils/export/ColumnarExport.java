@@ -0,0 +1,309 @@
+//******************************************************************************
+//                              ColumnarExport.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.utils.export;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.StreamingOutput;
+import opensilex.service.PropertiesFileManager;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Streams measures as an Apache Arrow IPC stream, readable by
+ * pyarrow.ipc.open_stream or arrow::read_ipc_stream.
+ * There is one row by measure, with typed columns: the date as a UTC
+ * timestamp, the numeric value as a double, the other values as a string.
+ * The variables, subjects and provenances URIs are dictionary encoded.
+ * The Arrow stream writes the dictionaries before the record batches, so the
+ * subjects and provenances of the export must be given before it is written.
+ * The measures are read from the cursors in a single pass and written by
+ * record batches of RECORD_BATCH_SIZE rows.
+ * @author agent <agent@local>
+ */
+public class ColumnarExport implements StreamingOutput {
+
+    /**
+     * Name of the export format.
+     */
+    public final static String FORMAT = "arrow";
+
+    private final static String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+    private final static String EXTENSION = "arrows";
+
+    // Number of rows of each record batch
+    private final static int RECORD_BATCH_SIZE = PropertiesFileManager.getConfigFileIntegerProperty("service", "exportRecordBatchSize", 65536);
+
+    // Memory of the record batches and of the dictionaries, shared by the exports
+    private final static BufferAllocator ROOT_ALLOCATOR = new RootAllocator(Long.MAX_VALUE);
+
+    private final static String DATE_COLUMN = "date";
+    private final static String VARIABLE_COLUMN = "variable";
+    private final static String PROVENANCE_COLUMN = "provenance";
+    private final static String VALUE_COLUMN = "value";
+    private final static String TEXT_VALUE_COLUMN = "textValue";
+
+    private final static long VARIABLES_DICTIONARY_ID = 0;
+    private final static long SUBJECTS_DICTIONARY_ID = 1;
+    private final static long PROVENANCES_DICTIONARY_ID = 2;
+
+    private final boolean gzip;
+    // Name of the subject column, e.g. object or sensor
+    private final String subjectColumn;
+    // true to add the provenance column
+    private final boolean withProvenance;
+    // true to add the text value column, for the values which are not numbers
+    private final boolean withTextValues;
+
+    private final List<String> variables = new ArrayList<>();
+    private final List<MongoIterable<Measure>> measures = new ArrayList<>();
+    private final Set<String> subjects = new LinkedHashSet<>();
+    private final Set<String> provenances = new LinkedHashSet<>();
+
+    /**
+     * @param gzip true to compress the stream
+     * @param subjectColumn name of the subject column
+     * @param withProvenance true to add the provenance column
+     * @param withTextValues true to add the text value column
+     */
+    public ColumnarExport(boolean gzip, String subjectColumn, boolean withProvenance, boolean withTextValues) {
+        this.gzip = gzip;
+        this.subjectColumn = subjectColumn;
+        this.withProvenance = withProvenance;
+        this.withTextValues = withTextValues;
+    }
+
+    /**
+     * Adds a variable to the export.
+     * @param variableUri
+     * @param variableMeasures the measures of the variable
+     */
+    public void addVariable(String variableUri, MongoIterable<Measure> variableMeasures) {
+        variables.add(variableUri);
+        measures.add(variableMeasures);
+    }
+
+    /**
+     * Adds subjects to the subjects dictionary. The measures of a subject
+     * which is not in the dictionary have a null subject.
+     * @param subjectsUris
+     */
+    public void addSubjects(Collection<String> subjectsUris) {
+        subjects.addAll(subjectsUris);
+    }
+
+    /**
+     * Adds provenances to the provenances dictionary. The measures of a
+     * provenance which is not in the dictionary have a null provenance.
+     * @param provenancesUris
+     */
+    public void addProvenances(Collection<String> provenancesUris) {
+        provenances.addAll(provenancesUris);
+    }
+
+    /**
+     * @param name name of the exported stream, without extension
+     * @return the file name of the export
+     */
+    public String getFilename(String name) {
+        return name + "." + EXTENSION + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * @return the media type of the export
+     */
+    public String getMediaType() {
+        return gzip ? "application/gzip" : MEDIA_TYPE;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        OutputStream stream = gzip ? new GZIPOutputStream(output, 64 * 1024) : output;
+
+        List<FieldVector> dictionariesVectors = new ArrayList<>();
+        try (BufferAllocator allocator = ROOT_ALLOCATOR.newChildAllocator("export", 0, Long.MAX_VALUE)) {
+            try {
+                DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+                List<Field> fields = new ArrayList<>();
+
+                fields.add(new Field(DATE_COLUMN,
+                        FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC")), null));
+                Map<String, Integer> variablesIndexes = addDictionary(allocator, provider, fields, dictionariesVectors,
+                        VARIABLE_COLUMN, VARIABLES_DICTIONARY_ID, variables);
+                Map<String, Integer> subjectsIndexes = addDictionary(allocator, provider, fields, dictionariesVectors,
+                        subjectColumn, SUBJECTS_DICTIONARY_ID, subjects);
+                Map<String, Integer> provenancesIndexes = null;
+                if (withProvenance) {
+                    provenancesIndexes = addDictionary(allocator, provider, fields, dictionariesVectors,
+                            PROVENANCE_COLUMN, PROVENANCES_DICTIONARY_ID, provenances);
+                }
+                fields.add(new Field(VALUE_COLUMN,
+                        FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null));
+                if (withTextValues) {
+                    fields.add(new Field(TEXT_VALUE_COLUMN, FieldType.nullable(new ArrowType.Utf8()), null));
+                }
+
+                try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator);
+                        ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, stream)) {
+                    writer.start();
+                    writeBatches(root, writer, variablesIndexes, subjectsIndexes, provenancesIndexes);
+                    writer.end();
+                }
+            } finally {
+                for (FieldVector dictionaryVector : dictionariesVectors) {
+                    dictionaryVector.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a dictionary encoded column.
+     * @param allocator
+     * @param provider dictionaries of the stream
+     * @param fields columns of the stream
+     * @param dictionariesVectors vectors of the dictionaries, closed at the end
+     *        of the export
+     * @param column column name
+     * @param id dictionary id
+     * @param values dictionary values
+     * @return the index of each value in the dictionary
+     */
+    private static Map<String, Integer> addDictionary(BufferAllocator allocator, DictionaryProvider.MapDictionaryProvider provider,
+            List<Field> fields, List<FieldVector> dictionariesVectors, String column, long id, Collection<String> values) {
+        VarCharVector dictionaryVector = new VarCharVector(column, allocator);
+        dictionariesVectors.add(dictionaryVector);
+        dictionaryVector.allocateNew();
+
+        Map<String, Integer> indexes = new HashMap<>();
+        for (String value : values) {
+            if (value != null && !indexes.containsKey(value)) {
+                int index = indexes.size();
+                dictionaryVector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+                indexes.put(value, index);
+            }
+        }
+        dictionaryVector.setValueCount(indexes.size());
+
+        DictionaryEncoding encoding = new DictionaryEncoding(id, false, new ArrowType.Int(32, true));
+        provider.put(new Dictionary(dictionaryVector, encoding));
+        fields.add(new Field(column, new FieldType(true, new ArrowType.Int(32, true), encoding), null));
+        return indexes;
+    }
+
+    /**
+     * Reads the measures of each variable and writes them by record batches.
+     * @param root record batch
+     * @param writer
+     * @param variablesIndexes
+     * @param subjectsIndexes
+     * @param provenancesIndexes
+     * @throws IOException
+     */
+    private void writeBatches(VectorSchemaRoot root, ArrowStreamWriter writer, Map<String, Integer> variablesIndexes,
+            Map<String, Integer> subjectsIndexes, Map<String, Integer> provenancesIndexes) throws IOException {
+        TimeStampMilliTZVector datesVector = (TimeStampMilliTZVector) root.getVector(DATE_COLUMN);
+        IntVector variablesVector = (IntVector) root.getVector(VARIABLE_COLUMN);
+        IntVector subjectsVector = (IntVector) root.getVector(subjectColumn);
+        IntVector provenancesVector = withProvenance ? (IntVector) root.getVector(PROVENANCE_COLUMN) : null;
+        Float8Vector valuesVector = (Float8Vector) root.getVector(VALUE_COLUMN);
+        VarCharVector textValuesVector = withTextValues ? (VarCharVector) root.getVector(TEXT_VALUE_COLUMN) : null;
+
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.allocateNew();
+        }
+
+        int row = 0;
+        for (int i = 0; i < variables.size(); i++) {
+            int variableIndex = variablesIndexes.get(variables.get(i));
+            try (MongoCursor<Measure> cursor = measures.get(i).iterator()) {
+                while (cursor.hasNext()) {
+                    Measure measure = cursor.next();
+
+                    datesVector.setSafe(row, measure.getDate().getTime());
+                    variablesVector.setSafe(row, variableIndex);
+                    setIndex(subjectsVector, row, subjectsIndexes.get(measure.getSubject()));
+                    if (provenancesVector != null) {
+                        setIndex(provenancesVector, row, provenancesIndexes.get(measure.getProvenance()));
+                    }
+
+                    Object value = measure.getValue();
+                    if (value instanceof Number) {
+                        valuesVector.setSafe(row, ((Number) value).doubleValue());
+                    } else if (value != null && textValuesVector != null) {
+                        textValuesVector.setSafe(row, value.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+
+                    row++;
+                    if (row == RECORD_BATCH_SIZE) {
+                        writeBatch(root, writer, row);
+                        row = 0;
+                    }
+                }
+            }
+        }
+        if (row > 0) {
+            writeBatch(root, writer, row);
+        }
+    }
+
+    /**
+     * Sets a dictionary index. The row is left null if the value is not in
+     * the dictionary.
+     * @param vector
+     * @param row
+     * @param index
+     */
+    private static void setIndex(IntVector vector, int row, Integer index) {
+        if (index != null) {
+            vector.setSafe(row, index);
+        }
+    }
+
+    /**
+     * Writes the record batch and resets it for the next rows.
+     * @param root
+     * @param writer
+     * @param rowCount
+     * @throws IOException
+     */
+    private static void writeBatch(VectorSchemaRoot root, ArrowStreamWriter writer, int rowCount) throws IOException {
+        root.setRowCount(rowCount);
+        writer.writeBatch();
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+    }
+}
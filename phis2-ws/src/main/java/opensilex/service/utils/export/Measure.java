@@ -0,0 +1,46 @@
+//******************************************************************************
+//                                 Measure.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.utils.export;
+
+import java.util.Date;
+
+/**
+ * Exported measure of a variable on a subject (scientific object, sensor).
+ * @see TabularExport
+ * @see ColumnarExport
+ * @author agent <agent@local>
+ */
+public class Measure {
+    private final Date date;
+    private final String subject;
+    private final String provenance;
+    private final Object value;
+
+    public Measure(Date date, String subject, String provenance, Object value) {
+        this.date = date;
+        this.subject = subject;
+        this.provenance = provenance;
+        this.value = value;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getProvenance() {
+        return provenance;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,395 @@
+//******************************************************************************
+//                              TabularExport.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.utils.export;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.StreamingOutput;
+import opensilex.service.configuration.DateFormat;
+
+/**
+ * Streams measures as a CSV or TSV table.
+ * The measures of each variable are read from a cursor sorted by date, in a
+ * single pass. In the long layout, there is one row by measure. In the wide
+ * layout, the cursors are merged by date and there is one row by date,
+ * subject and provenance, with one column by variable.
+ * The labels of the subjects and of the provenances are resolved by batch of
+ * rows and kept for the whole export, so each label is searched once.
+ * @author agent <agent@local>
+ */
+public class TabularExport implements StreamingOutput {
+
+    // Number of rows written between two labels resolutions
+    private final static int ROWS_BATCH_SIZE = 1000;
+
+    private final static String LABEL_COLUMN_SUFFIX = "Label";
+    private final static String DATE_COLUMN = "date";
+    private final static String PROVENANCE_COLUMN = "provenance";
+    private final static String VARIABLE_COLUMN = "variable";
+    private final static String VALUE_COLUMN = "value";
+
+    /**
+     * Export file formats.
+     */
+    public enum Format {
+        CSV(',', "text/csv", "csv"),
+        TSV('\t', "text/tab-separated-values", "tsv");
+
+        private final char separator;
+        private final String mediaType;
+        private final String extension;
+
+        Format(char separator, String mediaType, String extension) {
+            this.separator = separator;
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Export table layouts.
+     */
+    public enum Layout {
+        // One row by measure
+        LONG,
+        // One row by date, subject and provenance, one column by variable
+        WIDE
+    }
+
+    /**
+     * Table row : the values of the variables in the wide layout, the value of
+     * one variable in the long layout.
+     */
+    private static class Row {
+        final Measure measure;
+        final int variableIndex;
+        final Object[] values;
+
+        Row(Measure measure, int variableIndex, Object[] values) {
+            this.measure = measure;
+            this.variableIndex = variableIndex;
+            this.values = values;
+        }
+    }
+
+    private final Format format;
+    private final Layout layout;
+    private final boolean dateSortAsc;
+    private final boolean gzip;
+    // Name of the subject column, e.g. object or sensor
+    private final String subjectColumn;
+
+    private final List<String> variables = new ArrayList<>();
+    private final List<String> variablesLabels = new ArrayList<>();
+    private final List<MongoIterable<Measure>> measures = new ArrayList<>();
+
+    private Function<Collection<String>, Map<String, String>> subjectsLabelsResolver;
+    private Function<Collection<String>, Map<String, String>> provenancesLabelsResolver;
+    private final Map<String, String> subjectsLabels = new HashMap<>();
+    private final Map<String, String> provenancesLabels = new HashMap<>();
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat(DateFormat.YMDTHMSZ.toString());
+
+    /**
+     * @param format
+     * @param layout
+     * @param dateSortAsc order of the measures cursors
+     * @param gzip true to compress the table
+     * @param subjectColumn name of the subject column
+     */
+    public TabularExport(Format format, Layout layout, boolean dateSortAsc, boolean gzip, String subjectColumn) {
+        this.format = format;
+        this.layout = layout;
+        this.dateSortAsc = dateSortAsc;
+        this.gzip = gzip;
+        this.subjectColumn = subjectColumn;
+    }
+
+    /**
+     * Adds a variable to the export.
+     * @param variableUri
+     * @param variableLabel
+     * @param variableMeasures the measures of the variable, sorted by date
+     *        according to dateSortAsc
+     */
+    public void addVariable(String variableUri, String variableLabel, MongoIterable<Measure> variableMeasures) {
+        variables.add(variableUri);
+        variablesLabels.add(variableLabel != null ? variableLabel : variableUri);
+        measures.add(variableMeasures);
+    }
+
+    /**
+     * @param subjectsLabelsResolver gets the labels of a list of subjects
+     */
+    public void setSubjectsLabelsResolver(Function<Collection<String>, Map<String, String>> subjectsLabelsResolver) {
+        this.subjectsLabelsResolver = subjectsLabelsResolver;
+    }
+
+    /**
+     * @param provenancesLabelsResolver gets the labels of a list of
+     *        provenances. Without it, there is no provenance column.
+     */
+    public void setProvenancesLabelsResolver(Function<Collection<String>, Map<String, String>> provenancesLabelsResolver) {
+        this.provenancesLabelsResolver = provenancesLabelsResolver;
+    }
+
+    /**
+     * @param name name of the exported table, without extension
+     * @return the file name of the export
+     */
+    public String getFilename(String name) {
+        return name + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * @return the media type of the export
+     */
+    public String getMediaType() {
+        return gzip ? "application/gzip" : format.getMediaType();
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        OutputStream stream = gzip ? new GZIPOutputStream(output, 64 * 1024) : output;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024);
+
+        List<MongoCursor<Measure>> cursors = new ArrayList<>();
+        try {
+            for (MongoIterable<Measure> variableMeasures : measures) {
+                cursors.add(variableMeasures.iterator());
+            }
+            writeHeader(writer);
+            if (layout == Layout.WIDE) {
+                writeWideRows(writer, cursors);
+            } else {
+                writeLongRows(writer, cursors);
+            }
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) stream).finish();
+            }
+        } finally {
+            for (MongoCursor<Measure> cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        List<String> header = new ArrayList<>();
+        header.add(DATE_COLUMN);
+        header.add(subjectColumn);
+        header.add(subjectColumn + LABEL_COLUMN_SUFFIX);
+        if (provenancesLabelsResolver != null) {
+            header.add(PROVENANCE_COLUMN);
+            header.add(PROVENANCE_COLUMN + LABEL_COLUMN_SUFFIX);
+        }
+        if (layout == Layout.WIDE) {
+            header.addAll(variablesLabels);
+        } else {
+            header.add(VARIABLE_COLUMN);
+            header.add(VARIABLE_COLUMN + LABEL_COLUMN_SUFFIX);
+            header.add(VALUE_COLUMN);
+        }
+        writeLine(writer, header);
+    }
+
+    /**
+     * Writes the measures of each variable, one after the other.
+     * @param writer
+     * @param cursors
+     * @throws IOException
+     */
+    private void writeLongRows(Writer writer, List<MongoCursor<Measure>> cursors) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (int variableIndex = 0; variableIndex < cursors.size(); variableIndex++) {
+            MongoCursor<Measure> cursor = cursors.get(variableIndex);
+            while (cursor.hasNext()) {
+                rows.add(new Row(cursor.next(), variableIndex, null));
+                if (rows.size() == ROWS_BATCH_SIZE) {
+                    writeRows(writer, rows);
+                }
+            }
+        }
+        writeRows(writer, rows);
+    }
+
+    /**
+     * Merges the cursors by date. The measures of the same date are gathered
+     * by subject and provenance.
+     * @param writer
+     * @param cursors
+     * @throws IOException
+     */
+    private void writeWideRows(Writer writer, List<MongoCursor<Measure>> cursors) throws IOException {
+        // Next measure of each cursor
+        Measure[] heads = new Measure[cursors.size()];
+        for (int i = 0; i < cursors.size(); i++) {
+            heads[i] = cursors.get(i).hasNext() ? cursors.get(i).next() : null;
+        }
+
+        List<Row> rows = new ArrayList<>();
+        Date date;
+        while ((date = nextDate(heads)) != null) {
+            Map<String, Row> dateRows = new LinkedHashMap<>();
+            for (int i = 0; i < heads.length; i++) {
+                while (heads[i] != null && heads[i].getDate().equals(date)) {
+                    Measure measure = heads[i];
+                    Row row = dateRows.computeIfAbsent(
+                            measure.getSubject() + " " + measure.getProvenance(),
+                            (key) -> new Row(measure, -1, new Object[heads.length]));
+                    row.values[i] = measure.getValue();
+                    heads[i] = cursors.get(i).hasNext() ? cursors.get(i).next() : null;
+                }
+            }
+            rows.addAll(dateRows.values());
+            if (rows.size() >= ROWS_BATCH_SIZE) {
+                writeRows(writer, rows);
+            }
+        }
+        writeRows(writer, rows);
+    }
+
+    /**
+     * @param heads
+     * @return the first date of the cursors heads according to the sort order,
+     *         null if all the cursors are consumed
+     */
+    private Date nextDate(Measure[] heads) {
+        Date next = null;
+        for (Measure head : heads) {
+            if (head != null && (next == null
+                    || (dateSortAsc ? head.getDate().before(next) : head.getDate().after(next)))) {
+                next = head.getDate();
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Resolves the unknown labels of the rows, writes and clears the rows.
+     * @param writer
+     * @param rows
+     * @throws IOException
+     */
+    private void writeRows(Writer writer, List<Row> rows) throws IOException {
+        Set<String> unknownSubjects = new HashSet<>();
+        Set<String> unknownProvenances = new HashSet<>();
+        for (Row row : rows) {
+            if (row.measure.getSubject() != null && !subjectsLabels.containsKey(row.measure.getSubject())) {
+                unknownSubjects.add(row.measure.getSubject());
+            }
+            if (row.measure.getProvenance() != null && !provenancesLabels.containsKey(row.measure.getProvenance())) {
+                unknownProvenances.add(row.measure.getProvenance());
+            }
+        }
+        resolveLabels(unknownSubjects, subjectsLabelsResolver, subjectsLabels);
+        resolveLabels(unknownProvenances, provenancesLabelsResolver, provenancesLabels);
+
+        List<String> line = new ArrayList<>();
+        for (Row row : rows) {
+            line.clear();
+            line.add(dateFormat.format(row.measure.getDate()));
+            line.add(row.measure.getSubject());
+            line.add(subjectsLabels.get(row.measure.getSubject()));
+            if (provenancesLabelsResolver != null) {
+                line.add(row.measure.getProvenance());
+                line.add(provenancesLabels.get(row.measure.getProvenance()));
+            }
+            if (row.values != null) {
+                for (Object value : row.values) {
+                    line.add(value != null ? value.toString() : null);
+                }
+            } else {
+                line.add(variables.get(row.variableIndex));
+                line.add(variablesLabels.get(row.variableIndex));
+                line.add(row.measure.getValue() != null ? row.measure.getValue().toString() : null);
+            }
+            writeLine(writer, line);
+        }
+        rows.clear();
+    }
+
+    private static void resolveLabels(Set<String> uris, Function<Collection<String>, Map<String, String>> resolver, Map<String, String> labels) {
+        if (uris.isEmpty() || resolver == null) {
+            return;
+        }
+        Map<String, String> resolvedLabels = resolver.apply(uris);
+        for (String uri : uris) {
+            // Kept even if null, so that a URI without label is searched once
+            labels.put(uri, resolvedLabels.get(uri));
+        }
+    }
+
+    /**
+     * @param labels the labels of URIs
+     * @return the labels of each URI joined in one label
+     */
+    public static Map<String, String> joinLabels(Map<String, List<String>> labels) {
+        Map<String, String> joinedLabels = new HashMap<>();
+        labels.forEach((uri, uriLabels) -> {
+            joinedLabels.put(uri, String.join(", ", uriLabels));
+        });
+        return joinedLabels;
+    }
+
+    private void writeLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(format.separator);
+            }
+            writer.write(escape(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * @param value
+     * @return the value quoted if needed in CSV, without tabulations and line
+     *         breaks in TSV
+     */
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (format == Format.TSV) {
+            return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+        if (value.indexOf(format.separator) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -267,6 +267,19 @@ public class SQLQueryBuilder {
         }
     }
     
+    /**
+     * Adds a WHERE (AND) condition written in SQL, e.g. a sub query condition.
+     * @param condition the SQL condition
+     */
+    public void appendANDCondition(String condition) {
+        if (condition != null) {
+            if (where.length() > 0) {
+                this.where += " AND ";
+            }
+            this.where += condition;
+        }
+    }
+    
     /**
      * Adds a LIMIT clause to the query.
      * @param limit limit value
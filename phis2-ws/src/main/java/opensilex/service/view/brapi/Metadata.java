@@ -16,6 +16,7 @@ import java.util.List;
  * Request metadata model.
  * @see Pagination, ResultForm
  * @update [Arnaud Charleroy] Oct. 2016: BrAPI datafiles update
+ * @update [agent] 18 Oct. 2026: Pagination without total count
  * @author Samuël Chérimont
  */
 
@@ -69,6 +70,19 @@ public class Metadata {
         datafiles = new ArrayList<>();
     }
 
+    /**
+     * Constructor, when the total count is not known.
+     * @param pageSize
+     * @param currentPage
+     * @param hasNextPage true if there may be results after the current page
+     * @see Pagination
+     */
+    public Metadata(int pageSize, int currentPage, boolean hasNextPage) {
+        pagination = new Pagination(pageSize, currentPage, hasNextPage);
+        status = null;
+        datafiles = new ArrayList<>();
+    }
+
     public Metadata(int pageSize, int currentPage, int sizeList, List<Status> statuslist) {
         if (sizeList > 1) {
             pagination = new Pagination(pageSize, currentPage, sizeList);
@@ -9,6 +9,8 @@ package opensilex.service.view.brapi;
 
 /**
  * Pagination model.
+ * @update [agent] 18 Oct. 2026: Tell if there is a next page, the 
+ * total count may be skipped
  * @author Samuël Cherimont
  */
 public class Pagination {
@@ -17,6 +19,7 @@ public class Pagination {
     private Integer currentPage;
     private Integer totalCount;
     private Integer totalPages;
+    private Boolean hasNextPage;
 
     public Pagination() {
     }
@@ -50,6 +53,27 @@ public class Pagination {
         } else {
             totalPages = (totalCount / this.pageSize) + 1;
         }
+        hasNextPage = this.currentPage + 1 < totalPages;
+    }
+    
+    /**
+     * Constructor, when the total count is not known.
+     * @param pageSize
+     * @param currentPage
+     * @param hasNextPage true if there may be results after the current page
+     */
+    public Pagination(Integer pageSize, Integer currentPage, boolean hasNextPage) {
+        if (pageSize <= 0) {
+            this.pageSize = 1;
+        } else {
+            this.pageSize = pageSize;
+        }
+        if (currentPage <= 0) {
+            this.currentPage = 0;
+        } else {
+            this.currentPage = currentPage;
+        }
+        this.hasNextPage = hasNextPage;
     }
     
     public Integer getPageSize() {
@@ -67,4 +91,8 @@ public class Pagination {
     public Integer getTotalPages() {
         return totalPages;
     }
+    
+    public Boolean getHasNextPage() {
+        return hasNextPage;
+    }
 }
@@ -0,0 +1,25 @@
+--******************************************************************************
+--                         agronomical_object_indexes.sql
+-- SILEX-PHIS
+-- Copyright © INRA 2026
+-- Creation date: 18 Oct. 2026
+-- Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+--******************************************************************************
+-- Indexes of the scientific objects search by location
+-- (GET /scientificObjects/geometries).
+-- To be run once by an administrator, outside of a transaction:
+--   psql -d <database> -f agronomical_object_indexes.sql
+-- The indexes are built without locking the writes on the table and are not
+-- created again if they already exist (PostgreSQL 9.5 or later).
+
+-- Bounding box and intersection searches
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "agronomical_object_geometry_idx"
+    ON "agronomical_object" USING GIST ("geometry");
+
+-- Distance searches, in meters on the spheroid
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "agronomical_object_geography_idx"
+    ON "agronomical_object" USING GIST (("geometry"::geography));
+
+-- Searches by experiment
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "agronomical_object_named_graph_idx"
+    ON "agronomical_object" ("named_graph");
@@ -0,0 +1,102 @@
+//******************************************************************************
+//                               FanOutTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the propagation of the errors and of the deadline of a request to
+ * its concurrent backend calls.
+ * @author agent <agent@local>
+ */
+public class FanOutTest {
+
+    // Released at the end of each test, so that no call is left blocked
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        RequestDeadline.detach();
+    }
+
+    /**
+     * @return a call blocked until the end of the test or its cancellation
+     */
+    private Integer blockedCall() throws InterruptedException {
+        release.await();
+        return 0;
+    }
+
+    @Test
+    public void testResultsAreJoined() throws Exception {
+        try (FanOut fanOut = new FanOut()) {
+            Future<Integer> count = fanOut.submit(() -> 2);
+            Future<String> page = fanOut.submit(() -> "page");
+            assertEquals("page", fanOut.join(page));
+            assertEquals(2, (int) fanOut.join(count));
+        }
+    }
+
+    @Test
+    public void testErrorIsPropagated() throws Exception {
+        IllegalStateException error = new IllegalStateException("backend failure");
+        try (FanOut fanOut = new FanOut()) {
+            Future<Integer> blocked = fanOut.submit(this::blockedCall);
+            Future<Integer> failed = fanOut.submit(() -> {
+                throw error;
+            });
+
+            assertSame(error, assertThrows(IllegalStateException.class, () -> fanOut.join(failed)));
+            // The other calls of the fan-out are cancelled
+            assertTrue(blocked.isCancelled());
+        }
+    }
+
+    @Test
+    public void testTimeoutIsPropagated() throws Exception {
+        RequestDeadline.attach(new RequestDeadline(200, TimeUnit.MILLISECONDS));
+        try (FanOut fanOut = new FanOut()) {
+            Future<Integer> blocked = fanOut.submit(this::blockedCall);
+            Future<Integer> other = fanOut.submit(this::blockedCall);
+
+            assertThrows(CancellationException.class, () -> fanOut.join(blocked));
+            assertTrue(blocked.isCancelled());
+            assertTrue(other.isCancelled());
+        }
+    }
+
+    @Test
+    public void testExpiredRequestIsNotCalled() throws Exception {
+        RequestDeadline deadline = new RequestDeadline(1, TimeUnit.MINUTES);
+        deadline.cancel();
+        RequestDeadline.attach(deadline);
+        try (FanOut fanOut = new FanOut()) {
+            Future<Integer> call = fanOut.submit(() -> 1);
+            assertThrows(CancellationException.class, () -> fanOut.join(call));
+        }
+    }
+
+    @Test
+    public void testCloseCancelsTheCallsNotJoined() {
+        Future<Integer> blocked;
+        try (FanOut fanOut = new FanOut()) {
+            blocked = fanOut.submit(this::blockedCall);
+        }
+        assertTrue(blocked.isCancelled());
+    }
+}
@@ -0,0 +1,76 @@
+//******************************************************************************
+//                             RollupPeriodTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.configuration;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the bucketing of the measures dates in the rollups periods.
+ * @author agent <agent@local>
+ */
+public class RollupPeriodTest {
+
+    private static Date date(String isoDate) {
+        return Date.from(Instant.parse(isoDate));
+    }
+
+    @Test
+    public void testStartOfPeriod() {
+        Date measureDate = date("2018-06-15T10:51:27.125Z");
+        assertEquals(date("2018-06-15T10:00:00Z"), RollupPeriod.HOUR.getStart(measureDate));
+        assertEquals(date("2018-06-15T00:00:00Z"), RollupPeriod.DAY.getStart(measureDate));
+    }
+
+    @Test
+    public void testStartOfPeriodIsAlignedOnUTC() {
+        // 00:30 in Paris is still the previous day in UTC
+        Date measureDate = date("2018-06-14T22:30:00Z");
+        assertEquals(date("2018-06-14T00:00:00Z"), RollupPeriod.DAY.getStart(measureDate));
+    }
+
+    @Test
+    public void testStartOfPeriodBeforeEpoch() {
+        assertEquals(date("1969-12-31T23:00:00Z"), RollupPeriod.HOUR.getStart(date("1969-12-31T23:59:59Z")));
+        assertEquals(date("1969-12-31T00:00:00Z"), RollupPeriod.DAY.getStart(date("1969-12-31T23:59:59Z")));
+    }
+
+    @Test
+    public void testStartIsInItsPeriod() {
+        Date start = date("2018-06-15T10:00:00Z");
+        assertTrue(RollupPeriod.HOUR.isStart(start));
+        assertFalse(RollupPeriod.DAY.isStart(start));
+        assertEquals(start, RollupPeriod.HOUR.getStart(start));
+        assertEquals(start, RollupPeriod.HOUR.getStart(new Date(start.getTime() + RollupPeriod.HOUR.getDuration() - 1)));
+    }
+
+    @Test
+    public void testCoarsestPeriod() {
+        long day = TimeUnit.DAYS.toMillis(1);
+        long hour = TimeUnit.HOURS.toMillis(1);
+        assertEquals(RollupPeriod.DAY, RollupPeriod.getCoarsest(7 * day, date("2018-06-01T00:00:00Z"), date("2018-07-01T00:00:00Z")));
+        assertEquals(RollupPeriod.DAY, RollupPeriod.getCoarsest(day, null, null));
+        // The dates are not at the start of a day
+        assertEquals(RollupPeriod.HOUR, RollupPeriod.getCoarsest(day, date("2018-06-01T06:00:00Z"), null));
+        assertEquals(RollupPeriod.HOUR, RollupPeriod.getCoarsest(6 * hour, null, date("2018-07-01T00:00:00Z")));
+    }
+
+    @Test
+    public void testNoPeriod() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        assertNull(RollupPeriod.getCoarsest(0, null, null));
+        assertNull(RollupPeriod.getCoarsest(hour / 2, null, null));
+        assertNull(RollupPeriod.getCoarsest(hour, date("2018-06-01T06:30:00Z"), null));
+    }
+}
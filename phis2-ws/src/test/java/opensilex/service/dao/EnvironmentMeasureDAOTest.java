@@ -0,0 +1,114 @@
+//******************************************************************************
+//                          EnvironmentMeasureDAOTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import opensilex.service.model.EnvironmentMeasure;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the buckets updates of the environment measures, used by the
+ * insertions and by the migration to the buckets storage. The buckets span is
+ * the default one, one hour.
+ * @author agent <agent@local>
+ */
+public class EnvironmentMeasureDAOTest {
+
+    private final static String SENSOR_1 = "http://www.phenome-fppn.fr/diaphen/2018/s18521";
+    private final static String SENSOR_2 = "http://www.phenome-fppn.fr/diaphen/2018/s18522";
+    private final static String VARIABLE_1 = "http://www.phenome-fppn.fr/id/variables/v001";
+    private final static String VARIABLE_2 = "http://www.phenome-fppn.fr/id/variables/v002";
+
+    private static Date date(String isoDate) {
+        return Date.from(Instant.parse(isoDate));
+    }
+
+    private static EnvironmentMeasure measure(String sensor, String variable, String isoDate, String value) {
+        EnvironmentMeasure measure = new EnvironmentMeasure();
+        measure.setSensorUri(sensor);
+        measure.setVariableUri(variable);
+        measure.setDate(date(isoDate));
+        measure.setValue(new BigDecimal(value));
+        return measure;
+    }
+
+    private static BsonDocument toBson(Bson bson) {
+        return bson.toBsonDocument(Document.class, MongoClient.getDefaultCodecRegistry());
+    }
+
+    @Test
+    public void testBucketStart() {
+        assertEquals(date("2017-06-15T08:00:00Z"), EnvironmentMeasureDAO.getBucketStart(date("2017-06-15T08:51:00Z")));
+        assertEquals(date("2017-06-15T08:00:00Z"), EnvironmentMeasureDAO.getBucketStart(date("2017-06-15T08:00:00Z")));
+        assertEquals(date("1969-12-31T23:00:00Z"), EnvironmentMeasureDAO.getBucketStart(date("1969-12-31T23:59:59Z")));
+    }
+
+    @Test
+    public void testMeasuresAreGroupedByBucket() {
+        List<EnvironmentMeasure> measures = Arrays.asList(
+                measure(SENSOR_1, VARIABLE_1, "2017-06-15T08:51:00Z", "0.5"),
+                measure(SENSOR_1, VARIABLE_1, "2017-06-15T08:52:00Z", "1.5"),
+                // Next bucket
+                measure(SENSOR_1, VARIABLE_1, "2017-06-15T09:01:00Z", "2"),
+                // Other sensor
+                measure(SENSOR_2, VARIABLE_1, "2017-06-15T08:51:00Z", "3"),
+                // Other variable
+                measure(SENSOR_1, VARIABLE_2, "2017-06-15T08:51:00Z", "4"));
+
+        Map<String, List<WriteModel<Document>>> updates = EnvironmentMeasureDAO.prepareBucketsUpdates(measures);
+        assertEquals(Arrays.asList(VARIABLE_1, VARIABLE_2), new ArrayList<>(updates.keySet()));
+        assertEquals(3, updates.get(VARIABLE_1).size());
+        assertEquals(1, updates.get(VARIABLE_2).size());
+    }
+
+    @Test
+    public void testMeasuresAreMergedInTheirBucket() {
+        List<EnvironmentMeasure> measures = Arrays.asList(
+                measure(SENSOR_1, VARIABLE_1, "2017-06-15T08:51:00Z", "0.5"),
+                measure(SENSOR_1, VARIABLE_1, "2017-06-15T08:52:00Z", "-1.5"));
+
+        UpdateOneModel<Document> update = (UpdateOneModel<Document>) EnvironmentMeasureDAO.prepareBucketsUpdates(measures)
+                .get(VARIABLE_1).get(0);
+        // The bucket is created if it does not exist yet
+        assertTrue(update.getOptions().isUpsert());
+
+        // The bucket is only updated if none of the measures is already in it
+        BsonDocument expectedFilter = toBson(Filters.and(
+                Filters.eq("bucketStart", date("2017-06-15T08:00:00Z")),
+                Filters.eq("sensor", SENSOR_1),
+                Filters.eq("variable", VARIABLE_1),
+                Filters.nin("measures.date",
+                        Arrays.asList(date("2017-06-15T08:51:00Z"), date("2017-06-15T08:52:00Z")))));
+        assertEquals(expectedFilter, toBson(update.getFilter()));
+
+        BsonDocument updates = toBson(update.getUpdate());
+        assertEquals(new BsonDateTime(date("2017-06-15T09:00:00Z").getTime()),
+                updates.getDocument("$setOnInsert").get("bucketEnd"));
+        assertEquals(2, updates.getDocument("$push").getDocument("measures").getArray("$each").size());
+        assertEquals(2, updates.getDocument("$inc").getNumber("count").intValue());
+        assertEquals(new Decimal128(new BigDecimal("-1.5")), updates.getDocument("$min").getDecimal128("min").getValue());
+        assertEquals(new Decimal128(new BigDecimal("0.5")), updates.getDocument("$max").getDecimal128("max").getValue());
+    }
+}
@@ -0,0 +1,117 @@
+//******************************************************************************
+//                              CountCacheTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao.manager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import opensilex.service.configuration.TotalCountModes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the search counts cache and of the total count modes of the
+ * searches.
+ * @author agent <agent@local>
+ */
+public class CountCacheTest {
+
+    private final static long TTL = TimeUnit.MINUTES.toMillis(1);
+
+    // Number of counts made on the backend
+    private AtomicInteger counts;
+
+    @BeforeEach
+    public void setUp() {
+        counts = new AtomicInteger();
+    }
+
+    /**
+     * @param result
+     * @return a count returning the given result
+     */
+    private Supplier<Integer> count(Integer result) {
+        return () -> {
+            counts.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    public void testCountIsKept() {
+        CountCache cache = new CountCache(TTL, 10);
+        assertEquals(12, (int) cache.get("DataDAO v1", count(12)));
+        assertEquals(12, (int) cache.get("DataDAO v1", count(13)));
+        assertEquals(1, counts.get());
+
+        assertEquals(5, (int) cache.get("DataDAO v2", count(5)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        CountCache cache = new CountCache(0, 10);
+        assertEquals(12, (int) cache.get("DataDAO v1", count(12)));
+        assertEquals(13, (int) cache.get("DataDAO v1", count(13)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void testExpiredCountIsCountedAgain() throws InterruptedException {
+        CountCache cache = new CountCache(1, 10);
+        cache.get("DataDAO v1", count(12));
+        Thread.sleep(5);
+        assertEquals(13, (int) cache.get("DataDAO v1", count(13)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void testFailedCountIsNotKept() {
+        CountCache cache = new CountCache(TTL, 10);
+        assertNull(cache.get("DataDAO v1", count(null)));
+        assertEquals(12, (int) cache.get("DataDAO v1", count(12)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void testInvalidateByPrefix() {
+        CountCache cache = new CountCache(TTL, 10);
+        cache.get("DataDAO v1", count(12));
+        cache.get("ExperimentSQLDAO trial", count(3));
+
+        cache.invalidate("DataDAO ");
+        assertEquals(14, (int) cache.get("DataDAO v1", count(14)));
+        assertEquals(3, (int) cache.get("ExperimentSQLDAO trial", count(4)));
+        assertEquals(3, counts.get());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        CountCache cache = new CountCache(TTL, 2);
+        cache.get("DataDAO v1", count(1));
+        cache.get("DataDAO v2", count(2));
+        // The cache is full, the kept counts are dropped
+        cache.get("DataDAO v3", count(3));
+        assertEquals(3, counts.get());
+
+        assertEquals(3, (int) cache.get("DataDAO v3", count(30)));
+        assertEquals(10, (int) cache.get("DataDAO v1", count(10)));
+        assertEquals(4, counts.get());
+    }
+
+    @Test
+    public void testTotalCountModes() {
+        assertEquals(TotalCountModes.EXACT, TotalCountModes.fromString("exact"));
+        assertEquals(TotalCountModes.ESTIMATED, TotalCountModes.fromString("estimated"));
+        assertEquals(TotalCountModes.NONE, TotalCountModes.fromString("none"));
+        assertNull(TotalCountModes.fromString("EXACT"));
+        assertNull(TotalCountModes.fromString(null));
+    }
+}
@@ -0,0 +1,217 @@
+//******************************************************************************
+//                         TriplestoreQueryCacheTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.dao.manager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the invalidation of the triplestore query results cache, with an
+ * in memory triplestore.
+ * @author agent <agent@local>
+ */
+public class TriplestoreQueryCacheTest {
+
+    private final static String GRAPH_1 = "http://www.opensilex.org/test/graph1";
+    private final static String GRAPH_2 = "http://www.opensilex.org/test/graph2";
+
+    private final TriplestoreQueryCache cache = TriplestoreQueryCache.getInstance();
+
+    private Repository repository;
+    // Connection used by the web service, through the cache
+    private RepositoryConnection connection;
+    // Connection of a client writing outside of the web service
+    private RepositoryConnection externalConnection;
+    private ValueFactory factory;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+        factory = repository.getValueFactory();
+        connection = TriplestoreQueryCache.wrap(repository.getConnection());
+        externalConnection = repository.getConnection();
+        cache.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connection.close();
+        externalConnection.close();
+        repository.shutDown();
+        cache.clear();
+    }
+
+    private void addLabel(RepositoryConnection connection, String graph, String label) {
+        IRI subject = factory.createIRI("http://www.opensilex.org/test/" + label);
+        connection.add(subject, RDFS.LABEL, factory.createLiteral(label), factory.createIRI(graph));
+    }
+
+    /**
+     * @param graph
+     * @return the number of labels of the graph, null to read all the graphs
+     */
+    private int countLabels(String graph) {
+        String query = "SELECT ?s " + (graph != null ? "FROM <" + graph + "> " : "")
+                + "WHERE { ?s <" + RDFS.LABEL + "> ?label }";
+        int count = 0;
+        try (TupleQueryResult result = connection.prepareTupleQuery(QueryLanguage.SPARQL, query).evaluate()) {
+            while (result.hasNext()) {
+                result.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testWrapOnce() {
+        assertNotSame(externalConnection, connection);
+        assertSame(connection, TriplestoreQueryCache.wrap(connection));
+    }
+
+    @Test
+    public void testResultIsCached() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+
+        // A write made outside of the web service is not seen before the TTL
+        addLabel(externalConnection, GRAPH_1, "plot2");
+        long hits = cache.getHits();
+        assertEquals(1, countLabels(GRAPH_1));
+        assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    public void testWriteInvalidatesReadGraph() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+
+        addLabel(connection, GRAPH_1, "plot2");
+        assertEquals(2, countLabels(GRAPH_1));
+    }
+
+    @Test
+    public void testWriteKeepsOtherGraphs() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+
+        addLabel(connection, GRAPH_2, "plot2");
+        long hits = cache.getHits();
+        assertEquals(1, countLabels(GRAPH_1));
+        assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    public void testWriteInvalidatesQueryWithoutGraph() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(null));
+
+        addLabel(connection, GRAPH_2, "plot2");
+        assertEquals(2, countLabels(null));
+    }
+
+    @Test
+    public void testUpdateInvalidatesWrittenGraph() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+        assertEquals(0, countLabels(GRAPH_2));
+
+        connection.prepareUpdate(QueryLanguage.SPARQL, "INSERT DATA { GRAPH <" + GRAPH_2 + "> { "
+                + "<http://www.opensilex.org/test/plot2> <" + RDFS.LABEL + "> \"plot2\" } }").execute();
+        long hits = cache.getHits();
+        assertEquals(1, countLabels(GRAPH_1));
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals(1, countLabels(GRAPH_2));
+    }
+
+    @Test
+    public void testUpdateKeepsGraphOnlyRead() {
+        addLabel(connection, GRAPH_2, "plot2");
+        assertEquals(1, countLabels(GRAPH_2));
+
+        // Copies the labels of the graph 2 in the graph 1
+        connection.prepareUpdate(QueryLanguage.SPARQL, "INSERT { GRAPH <" + GRAPH_1 + "> { ?s ?p ?o } } "
+                + "WHERE { GRAPH <" + GRAPH_2 + "> { ?s ?p ?o } }").execute();
+        long hits = cache.getHits();
+        assertEquals(1, countLabels(GRAPH_2));
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals(1, countLabels(GRAPH_1));
+    }
+
+    @Test
+    public void testTransactionInvalidatesOnCommit() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+        assertEquals(1, cache.getSize());
+
+        connection.begin();
+        addLabel(connection, GRAPH_1, "plot2");
+        assertEquals(1, cache.getSize());
+        connection.commit();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(2, countLabels(GRAPH_1));
+    }
+
+    @Test
+    public void testTransactionRollbackKeepsResults() {
+        addLabel(connection, GRAPH_1, "plot1");
+        assertEquals(1, countLabels(GRAPH_1));
+
+        connection.begin();
+        addLabel(connection, GRAPH_1, "plot2");
+        connection.rollback();
+
+        assertEquals(1, cache.getSize());
+        assertEquals(1, countLabels(GRAPH_1));
+    }
+
+    @Test
+    public void testWrittenGraphs() {
+        assertTrue(TriplestoreQueryCache.getGraphs(new Resource[0]).isEmpty());
+        assertTrue(TriplestoreQueryCache.getGraphs(new Resource[]{factory.createIRI(GRAPH_1), null}).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(GRAPH_1, GRAPH_2)), TriplestoreQueryCache.getGraphs(
+                new Resource[]{factory.createIRI(GRAPH_1), factory.createIRI(GRAPH_2)}));
+    }
+
+    @Test
+    public void testUpdateGraphs() {
+        assertEquals(new HashSet<>(Arrays.asList(GRAPH_1)), TriplestoreQueryCache.getUpdateGraphs(
+                "DELETE { GRAPH <" + GRAPH_1 + "> { ?s ?p ?o } } WHERE { GRAPH <" + GRAPH_2 + "> { ?s ?p ?o } }"));
+        assertEquals(new HashSet<>(Arrays.asList(GRAPH_1, GRAPH_2)), TriplestoreQueryCache.getUpdateGraphs(
+                "WITH <" + GRAPH_1 + "> DELETE { ?s ?p ?o } INSERT { GRAPH <" + GRAPH_2 + "> { ?s ?p \"}\" } } WHERE { ?s ?p ?o }"));
+        assertEquals(new HashSet<>(Arrays.asList(GRAPH_1)), TriplestoreQueryCache.getUpdateGraphs(
+                "CLEAR GRAPH <" + GRAPH_1 + ">"));
+        // Templates writing the default graph or a graph variable
+        assertTrue(TriplestoreQueryCache.getUpdateGraphs(
+                "DELETE { ?s ?p ?o } WHERE { GRAPH <" + GRAPH_2 + "> { ?s ?p ?o } }").isEmpty());
+        assertTrue(TriplestoreQueryCache.getUpdateGraphs(
+                "DELETE { GRAPH ?g { ?s ?p ?o } } WHERE { GRAPH ?g { ?s ?p ?o } }").isEmpty());
+        assertTrue(TriplestoreQueryCache.getUpdateGraphs(
+                "INSERT DATA { GRAPH <" + GRAPH_1 + "> { <s> <p> <o> } } ; INSERT DATA { <s> <p> <o> }").isEmpty());
+        assertTrue(TriplestoreQueryCache.getUpdateGraphs("CLEAR ALL").isEmpty());
+    }
+}
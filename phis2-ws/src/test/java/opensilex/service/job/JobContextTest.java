@@ -0,0 +1,85 @@
+//******************************************************************************
+//                              JobContextTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.job;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import opensilex.service.configuration.JobStatus;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the state transitions of a job, as driven by the {@link JobManager}:
+ * the worker starts the job, the user can only cancel it while it is pending.
+ * @author agent <agent@local>
+ */
+public class JobContextTest {
+
+    private JobContext context;
+    private FutureTask<Void> future;
+    // Number of times the task of the job has been run
+    private AtomicInteger runs;
+
+    @BeforeEach
+    public void setUp() {
+        context = new JobContext("job");
+        runs = new AtomicInteger();
+        // Same wiring as JobManager.submit: the task only runs if the job starts
+        future = new FutureTask<>(() -> {
+            if (context.start()) {
+                runs.incrementAndGet();
+            }
+        }, null);
+        context.setFuture(future);
+    }
+
+    @Test
+    public void testPendingJobIsCancelled() {
+        assertTrue(context.cancel());
+        assertTrue(future.isCancelled());
+
+        // The worker picks the cancelled job: its task does not run
+        future.run();
+        assertEquals(0, runs.get());
+        assertFalse(context.start());
+    }
+
+    @Test
+    public void testRunningJobIsNotCancelled() {
+        assertTrue(context.start());
+
+        assertFalse(context.cancel());
+        assertFalse(future.isCancelled());
+    }
+
+    @Test
+    public void testJobIsCancelledOnce() {
+        assertTrue(context.cancel());
+        assertFalse(context.cancel());
+    }
+
+    @Test
+    public void testJobIsStartedOnce() {
+        future.run();
+        assertEquals(1, runs.get());
+        assertFalse(context.start());
+        assertFalse(context.cancel());
+    }
+
+    @Test
+    public void testFinishedStatus() {
+        assertFalse(JobStatus.isFinished(JobStatus.PENDING.toString()));
+        assertFalse(JobStatus.isFinished(JobStatus.RUNNING.toString()));
+        assertTrue(JobStatus.isFinished(JobStatus.SUCCEEDED.toString()));
+        assertTrue(JobStatus.isFinished(JobStatus.FAILED.toString()));
+        assertTrue(JobStatus.isFinished(JobStatus.CANCELLED.toString()));
+    }
+}
@@ -0,0 +1,88 @@
+//******************************************************************************
+//                           QueryFingerprintTest.java
+// SILEX-PHIS
+// Copyright © INRA 2026
+// Creation date: 18 Oct. 2026
+// Contact: arnaud.charleroy@inra.fr, anne.tireau@inra.fr, pascal.neveu@inra.fr
+//******************************************************************************
+package opensilex.service.metrics;
+
+import org.bson.BsonDocument;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the normalisation of the queries into fingerprints.
+ * @author agent <agent@local>
+ */
+public class QueryFingerprintTest {
+
+    @Test
+    public void testSparqlLiteralsAreReplaced() {
+        String fingerprint = QueryFingerprint.sparql("SELECT ?label WHERE {\n"
+                + "  <http://www.opensilex.org/demo/2018/o18000076> rdfs:label ?label .\n"
+                + "  FILTER (?label = \"Plot 1\")\n"
+                + "} LIMIT 20 OFFSET 40");
+        assertEquals("SELECT ?label WHERE { <http://www.opensilex.org/demo/2018/o18000076> rdfs:label ?label . "
+                + "FILTER (?label = ?) } LIMIT ? OFFSET ?", fingerprint);
+    }
+
+    @Test
+    public void testSparqlQueriesWithOtherValuesHaveTheSameFingerprint() {
+        assertEquals(
+                QueryFingerprint.sparql("SELECT ?s WHERE { ?s rdfs:label \"Plot 1\" . FILTER (?o > 10) } LIMIT 20"),
+                QueryFingerprint.sparql("SELECT ?s WHERE { ?s rdfs:label 'Plot \\'2\\'' . FILTER (?o > -1.5e3) } LIMIT 100"));
+    }
+
+    @Test
+    public void testSparqlNamesAreKept() {
+        // Digits of the variables, prefixed names and URIs are not literals
+        String query = "SELECT ?v2 WHERE { ?v2 <http://www.opensilex.org/demo/2018/s18001> oeso:hasVariable2 ?o }";
+        assertEquals(query, QueryFingerprint.sparql(query));
+    }
+
+    @Test
+    public void testSparqlListsAreMerged() {
+        assertEquals("SELECT ?uri WHERE { VALUES ?uri { ? } ?uri a ?type }",
+                QueryFingerprint.sparql("SELECT ?uri WHERE { VALUES ?uri { <http://a/1> <http://a/2> <http://a/3> } ?uri a ?type }"));
+        assertEquals("SELECT ?uri WHERE { ?uri a ?type FILTER (?type IN (?)) }",
+                QueryFingerprint.sparql("SELECT ?uri WHERE { ?uri a ?type FILTER (?type IN (<http://a/1>, <http://a/2>)) }"));
+    }
+
+    @Test
+    public void testSqlLiteralsAreReplaced() {
+        assertEquals("SELECT * FROM \"trial\" WHERE \"uri\" = ? AND \"level\" = ?",
+                QueryFingerprint.sql("SELECT * FROM \"trial\" WHERE \"uri\" = 'http://www.opensilex.org/demo/DMO2018-1' AND \"level\" = 3"));
+        assertEquals("SELECT * FROM trial WHERE name = ? LIMIT ? OFFSET ?",
+                QueryFingerprint.sql("SELECT * FROM trial WHERE name = 'O''Brien' LIMIT 20 OFFSET 40"));
+    }
+
+    @Test
+    public void testSqlPlaceholdersListsAreMerged() {
+        assertEquals(
+                QueryFingerprint.sql("SELECT * FROM trial WHERE uri IN (?, ?, ?) AND t2.level = 1"),
+                QueryFingerprint.sql("SELECT * FROM trial WHERE uri IN (?,?) AND t2.level = 2"));
+    }
+
+    @Test
+    public void testMongoValuesAreReplaced() {
+        BsonDocument command = BsonDocument.parse("{\"find\": \"data\", "
+                + "\"filter\": {\"variable\": \"http://www.opensilex.org/demo/id/variables/v001\", "
+                + "\"date\": {\"$gte\": {\"$date\": 1497513600000}}}, "
+                + "\"sort\": {\"date\": 1}, "
+                + "\"limit\": 20}");
+        assertEquals(BsonDocument.parse("{\"find\": \"data\", "
+                + "\"filter\": {\"variable\": \"?\", \"date\": {\"$gte\": \"?\"}}, "
+                + "\"sort\": {\"date\": \"?\"}, "
+                + "\"limit\": \"?\"}").toJson(), QueryFingerprint.mongo(command));
+    }
+
+    @Test
+    public void testMongoArraysAreMerged() {
+        BsonDocument command = BsonDocument.parse("{\"find\": \"data\", "
+                + "\"filter\": {\"$or\": [{\"sensor\": \"s1\"}, {\"sensor\": \"s2\"}, {\"variable\": \"v1\"}]}}");
+        assertEquals(BsonDocument.parse("{\"find\": \"data\", "
+                + "\"filter\": {\"$or\": [{\"sensor\": \"?\"}, {\"variable\": \"?\"}]}}").toJson(),
+                QueryFingerprint.mongo(command));
+    }
+}